@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -119,6 +120,22 @@ function ws_changed(type, eltId) {
     });
 }
 
+/**
+ * Fetch the options of a list that are not rendered from its option source.
+ * @param {string} eltId DOM element id
+ * @param {string} total number of options of the source
+ * @param {string} pageSize number of options fetched per request
+ * @param {string} listId id of the select element to page, or null
+ * @param {string} linkedListId id of a select element whose options are
+ * not added to the paged list, or null
+ * @returns {undefined}
+ */
+function ws_listbox_init_pager(eltId, total, pageSize, listId, linkedListId) {
+    require(["webui/suntheme/listbox"], function (listbox) {
+        listbox.initPager(eltId, total, pageSize, listId, linkedListId);
+    });
+}
+
 /**
  * Invoke the {@code onChange} method on a given drop down.
  * @param {string} eltId DOM element id of a drop down
@@ -243,6 +260,31 @@ function ws_upload_set_encoding_type(eltId) {
     });
 }
 
+/**
+ * Send the file selected in an upload in chunks.
+ * @param {string} eltId DOM element id
+ * @param {string} chunkSize size of the chunks in bytes
+ * @returns {undefined}
+ */
+function ws_upload_init_chunked(eltId, chunkSize) {
+    require(["webui/suntheme/upload"], function (upload) {
+        upload.initChunked(eltId, chunkSize);
+    });
+}
+
+/**
+ * Show the progress of an upload in a progress bar.
+ * @param {string} eltId DOM element id
+ * @param {string} progressBarId DOM element id of the progress bar
+ * @param {string} refreshRate polling interval in milliseconds
+ * @returns {undefined}
+ */
+function ws_upload_init_progress(eltId, progressBarId, refreshRate) {
+    require(["webui/suntheme/upload"], function (upload) {
+        upload.initProgress(eltId, progressBarId, refreshRate);
+    });
+}
+
 /**
  * Trigger widget parsing.
  * @param {array} moduleNames array of DOJO modules to import
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -14,6 +15,8 @@
  * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
  */
 
+/* global DynaFaces */
+
 define([
     "webui/suntheme/props",
     "webui/suntheme/common"
@@ -157,6 +160,270 @@ define([
             } else {
                 return listbox.options[index].label;
             }
+        },
+
+        /**
+         * This function is invoked for the lists whose items are bound to an
+         * option source, of which only the first page of options is
+         * rendered. Further options are fetched from the server on demand:
+         * <ul>
+         * <li>the next page, as a list box is scrolled close to its last
+         * option, or as the selection of a drop down is moved with the
+         * keyboard to one of its last options. The native popup of a drop
+         * down does not report scrolling.</li>
+         * <li>the options whose label starts with the text typed in the
+         * list (type-ahead search), which are added after the loaded
+         * options and selected as the browser would.</li>
+         * </ul>
+         *
+         * The options are fetched with the JSF Extensions library, the list
+         * is left as rendered if it is not available.
+         *
+         * @param elementId The component id of the JSF component (this id is
+         * rendered in the div tag enclosing the HTML elements that make up
+         * the list).
+         * @param total The number of options of the option source, or -1 if
+         * unknown.
+         * @param pageSize The number of options fetched per request.
+         * @param listId The id of the select element to page, or null for
+         * the list of the component.
+         * @param linkedListId The id of a select element whose options are
+         * not added to the paged list, or null. The available list of an
+         * add remove is linked to its selected list.
+         * @return true if successful; otherwise, false
+         */
+        initPager: function (elementId, total, pageSize, listId,
+                linkedListId) {
+            var list;
+            if (listId) {
+                list = document.getElementById(listId);
+            } else {
+                list = this.getSelectElement(elementId);
+            }
+            if (list === null || typeof DynaFaces === "undefined") {
+                return false;
+            }
+            pageSize = parseInt(pageSize, 10);
+            list.pager = {
+                id: elementId,
+                total: parseInt(total, 10),
+                pageSize: pageSize,
+                // The first page is rendered, followed by the selected
+                // options that are not part of it.
+                loaded: pageSize,
+                loading: false,
+                values: {},
+                // The last option of an add remove list is a disabled
+                // ruler, options are inserted before it.
+                ruler: null,
+                prefix: "",
+                typed: 0,
+                timer: null
+            };
+            if (listId && list.options.length > 0) {
+                list.pager.ruler = list.options[list.options.length - 1];
+            }
+            this.addValues(list.pager, list);
+            if (linkedListId) {
+                this.addValues(list.pager,
+                        document.getElementById(linkedListId));
+            }
+            var _this = this;
+            if (list.size > 1 || list.multiple) {
+                list.addEventListener("scroll", function () {
+                    if (list.scrollTop + 2 * list.clientHeight
+                            >= list.scrollHeight) {
+                        _this.loadOptions(list);
+                    }
+                });
+            } else {
+                var loadTail = function () {
+                    // Keep a few options ahead of the selection.
+                    if (list.selectedIndex + 10 >= list.options.length) {
+                        _this.loadOptions(list);
+                    }
+                };
+                list.addEventListener("keyup", loadTail);
+                list.addEventListener("change", loadTail);
+            }
+            list.addEventListener("keypress", function (event) {
+                _this.typeAhead(list, event);
+            });
+            return true;
+        },
+
+        /**
+         * Record the values of the options of a select element, so that
+         * they are not added again to a paged list.
+         *
+         * @param pager The pager of the paged list.
+         * @param list The select element.
+         * @return true if successful; otherwise, false
+         */
+        addValues: function (pager, list) {
+            if (list === null) {
+                return false;
+            }
+            for (var i = 0; i < list.options.length; i++) {
+                pager.values[list.options[i].value] = true;
+            }
+            return true;
+        },
+
+        /**
+         * Fetch the next page of options of a paged list.
+         *
+         * @param list The paged select element.
+         * @return true if a page is requested; otherwise, false
+         */
+        loadOptions: function (list) {
+            var pager = list.pager;
+            if (pager === undefined || pager.loading
+                    || (pager.total >= 0 && pager.loaded >= pager.total)) {
+                return false;
+            }
+            pager.loading = true;
+            var _this = this;
+            new DynaFaces.fireAjaxTransaction(list, {
+                execute: "none",
+                render: pager.id,
+                replaceElement: function (id, content) {
+                    var json = JSON.parse(content);
+                    _this.addOptions(list, json);
+                    pager.loaded = json.first + json.options.length;
+                    pager.total = json.total;
+                    if (json.options.length < pager.pageSize) {
+                        // The last page, or the option source changed since
+                        // the list was rendered.
+                        pager.total = pager.loaded;
+                    }
+                    pager.loading = false;
+                },
+                xjson: {
+                    first: pager.loaded,
+                    rows: pager.pageSize
+                }
+            });
+            return true;
+        },
+
+        /**
+         * Collect the characters typed in a paged list, and search the
+         * option source for the options whose label starts with them once
+         * the user pauses. The list is searched by the browser as usual
+         * meanwhile.
+         *
+         * @param list The paged select element.
+         * @param event The keypress event.
+         * @return true if a search is scheduled; otherwise, false
+         */
+        typeAhead: function (list, event) {
+            var pager = list.pager;
+            if (pager === undefined || event.ctrlKey || event.altKey
+                    || event.metaKey || event.key === undefined
+                    || event.key.length !== 1) {
+                return false;
+            }
+            var now = new Date().getTime();
+            if (now - pager.typed > 1000) {
+                pager.prefix = "";
+            }
+            pager.prefix += event.key;
+            pager.typed = now;
+            if (pager.total >= 0 && pager.loaded >= pager.total) {
+                // All the options are loaded.
+                return false;
+            }
+            if (pager.timer !== null) {
+                clearTimeout(pager.timer);
+            }
+            var _this = this;
+            var prefix = pager.prefix;
+            pager.timer = setTimeout(function () {
+                pager.timer = null;
+                _this.searchOptions(list, prefix);
+            }, 300);
+            return true;
+        },
+
+        /**
+         * Fetch the options of a paged list whose label starts with the
+         * given prefix, add them to the list and select the first one, if
+         * the selected option does not match the prefix.
+         *
+         * @param list The paged select element.
+         * @param prefix The text typed by the user.
+         * @return true if the options are requested; otherwise, false
+         */
+        searchOptions: function (list, prefix) {
+            var pager = list.pager;
+            var _this = this;
+            new DynaFaces.fireAjaxTransaction(list, {
+                execute: "none",
+                render: pager.id,
+                replaceElement: function (id, content) {
+                    _this.addOptions(list, JSON.parse(content));
+                    if (pager.prefix !== prefix) {
+                        // The user typed on.
+                        return;
+                    }
+                    var lower = prefix.toLowerCase();
+                    var index = list.selectedIndex;
+                    if (index !== -1 && list.options[index].text
+                            .toLowerCase().indexOf(lower) === 0) {
+                        return;
+                    }
+                    for (var i = 0; i < list.options.length; i++) {
+                        var option = list.options[i];
+                        if (!option.disabled && option.text.toLowerCase()
+                                .indexOf(lower) === 0) {
+                            list.selectedIndex = i;
+                            list.dispatchEvent(new Event("change"));
+                            return;
+                        }
+                    }
+                },
+                xjson: {
+                    filter: prefix,
+                    rows: pager.pageSize
+                }
+            });
+            return true;
+        },
+
+        /**
+         * Append options to a paged list, styled like the rendered
+         * options. The options already in the list are skipped.
+         *
+         * @param list The paged select element.
+         * @param json The options.
+         * @return true if successful; otherwise, false
+         */
+        addOptions: function (list, json) {
+            var pager = list.pager;
+            var styleClasses = {};
+            for (var j = 0; j < list.options.length; j++) {
+                var rendered = list.options[j];
+                if (!rendered.selected && rendered !== pager.ruler
+                        && styleClasses[rendered.disabled] === undefined) {
+                    styleClasses[rendered.disabled] = rendered.className;
+                }
+            }
+            for (var i = 0; i < json.options.length; i++) {
+                if (pager.values[json.options[i].value]) {
+                    continue;
+                }
+                var option = document.createElement("option");
+                option.value = json.options[i].value;
+                option.text = json.options[i].label;
+                option.disabled = json.options[i].disabled;
+                if (styleClasses[option.disabled] !== undefined) {
+                    option.className = styleClasses[option.disabled];
+                }
+                list.insertBefore(option, pager.ruler);
+                pager.values[option.value] = true;
+            }
+            return true;
         }
     };
 });
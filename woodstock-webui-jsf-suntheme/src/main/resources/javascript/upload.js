@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,107 @@ define([
     "webui/suntheme/field"
 ], function (field) {
 
+    /**
+     * Maximum number of consecutive failed requests of a chunked upload.
+     */
+    var MAX_RETRIES = 10;
+
+    /**
+     * Query string parameter of the progress id of a form submission.
+     */
+    var PROGRESS_PARAM = "com.sun.webui.jsf.uploadProgress";
+
+    /**
+     * Default polling interval of the upload progress in milliseconds.
+     */
+    var DEFAULT_REFRESH_RATE = 1000;
+
+    /**
+     * Create a random progress id.
+     * @return the id as an hexadecimal string
+     */
+    var newProgressId = function () {
+        var i, id = "";
+        var bytes = new Uint8Array(16);
+        if (window.crypto && window.crypto.getRandomValues) {
+            window.crypto.getRandomValues(bytes);
+        } else {
+            for (i = 0; i < bytes.length; i++) {
+                bytes[i] = Math.floor(Math.random() * 256);
+            }
+        }
+        for (i = 0; i < bytes.length; i++) {
+            id += (bytes[i] < 16 ? "0" : "") + bytes[i].toString(16);
+        }
+        return id;
+    };
+
+    /**
+     * Update a progress bar.
+     * @param progressBarId The element ID of the progress bar
+     * @param percent The progress in percent
+     */
+    var showProgress = function (progressBarId, percent) {
+        var bar = document.getElementById(progressBarId);
+        if (bar !== null && typeof bar._setProgress === "function") {
+            bar._setProgress({
+                progress: percent
+            });
+        }
+    };
+
+    /**
+     * CRC-32 lookup table, created on first use.
+     */
+    var crcTable = null;
+
+    /**
+     * Compute the CRC-32 checksum of an array of bytes.
+     * @param bytes Uint8Array
+     * @return the checksum as an unsigned number
+     */
+    var crc32 = function (bytes) {
+        var i, j, c;
+        if (crcTable === null) {
+            crcTable = [];
+            for (i = 0; i < 256; i++) {
+                c = i;
+                for (j = 0; j < 8; j++) {
+                    c = (c & 1) ? (0xEDB88320 ^ (c >>> 1)) : (c >>> 1);
+                }
+                crcTable[i] = c;
+            }
+        }
+        var crc = 0xFFFFFFFF;
+        for (i = 0; i < bytes.length; i++) {
+            crc = crcTable[(crc ^ bytes[i]) & 0xFF] ^ (crc >>> 8);
+        }
+        return (crc ^ 0xFFFFFFFF) >>> 0;
+    };
+
+    /**
+     * Read or write the id of an unfinished chunked upload, the storage may
+     * not be available.
+     * @param key storage key
+     * @param value the id to store, null to remove it or undefined to read it
+     * @return the stored id, or null
+     */
+    var storedId = function (key, value) {
+        try {
+            if (value === undefined) {
+                return window.localStorage.getItem(key);
+            }
+            if (value === null) {
+                window.localStorage.removeItem(key);
+            } else {
+                window.localStorage.setItem(key, value);
+            }
+        } catch (e) {
+            // no storage, uploads are not resumed across page loads
+        }
+        return null;
+    };
+
     return {
         /**
          * Use this function to get the HTML input element associated with the
@@ -55,6 +157,244 @@ define([
             return field.setDisabled(input.id, disabled);
         },
 
+        /**
+         * Use this function to send the file selected in an Upload component
+         * in chunks as soon as it is selected. Each chunk is sent with its
+         * CRC-32 checksum, and the upload resumes from the last acknowledged
+         * offset after a failure or a page reload. When the whole file is
+         * received, the upload id is stored in a hidden field and the file
+         * input is cleared so that the form does not send the file again.
+         * If the upload does not complete, the file is sent with the form.
+         *
+         * @param elementId The element ID of the Upload
+         * @param chunkSize The size of the chunks in bytes
+         * @return true if successful; otherwise, false
+         */
+        initChunked: function (elementId, chunkSize) {
+            var input = this.getInputElement(elementId);
+            var hidden = document.getElementById(elementId
+                    + "_com.sun.webui.jsf.uploadChunked");
+            var size = parseInt(chunkSize, 10);
+            if (input === null || hidden === null || !(size > 0)
+                    || input.form === null
+                    || typeof window.FileReader === "undefined") {
+                return false;
+            }
+            var _this = this;
+            input.addEventListener("change", function () {
+                hidden.value = "";
+                if (input.files && input.files.length === 1) {
+                    _this.sendChunked(input.form.action, input, hidden,
+                            input.files[0], size);
+                }
+            });
+            return true;
+        },
+
+        /**
+         * Send a file in chunks.
+         *
+         * @param url The URL of the upload filter
+         * @param input The file input element
+         * @param hidden The hidden field receiving the upload id
+         * @param file The file to send
+         * @param chunkSize The size of the chunks in bytes
+         */
+        sendChunked: function (url, input, hidden, file, chunkSize) {
+            var key = "ws_upload:" + file.name + ":" + file.size + ":"
+                    + file.lastModified;
+            var retries = 0;
+            var create, resume, send;
+
+            var request = function (method, headers, body, callback) {
+                var xhr = new XMLHttpRequest();
+                xhr.open(method, url, true);
+                for (var name in headers) {
+                    if (headers.hasOwnProperty(name)) {
+                        xhr.setRequestHeader(name, headers[name]);
+                    }
+                }
+                xhr.onload = function () {
+                    var status = null;
+                    if (xhr.status === 200 || xhr.status === 409) {
+                        try {
+                            status = JSON.parse(xhr.responseText);
+                        } catch (e) {
+                            status = null;
+                        }
+                    }
+                    callback(xhr.status, status);
+                };
+                xhr.onerror = function () {
+                    callback(0, null);
+                };
+                xhr.send(body);
+            };
+
+            // give up after too many failures, the form sends the file
+            var retry = function (action) {
+                if (retries < MAX_RETRIES) {
+                    retries++;
+                    setTimeout(action,
+                            Math.min(30000, 500 * Math.pow(2, retries)));
+                }
+            };
+
+            create = function () {
+                request("POST", {
+                    "X-Woodstock-Upload": "create",
+                    "X-Upload-Length": String(file.size),
+                    "X-Upload-Name": encodeURIComponent(file.name),
+                    "X-Upload-Type": file.type || "application/octet-stream"
+                }, null, function (code, status) {
+                    if (status !== null) {
+                        storedId(key, status.id);
+                        send(status);
+                    } else if (code !== 404 && code !== 413) {
+                        retry(create);
+                    }
+                });
+            };
+
+            resume = function (id) {
+                request("GET", {
+                    "X-Woodstock-Upload": id
+                }, null, function (code, status) {
+                    if (status !== null) {
+                        send(status);
+                    } else if (code === 404) {
+                        // unknown upload, start again
+                        storedId(key, null);
+                        create();
+                    } else {
+                        retry(function () {
+                            resume(id);
+                        });
+                    }
+                });
+            };
+
+            send = function (status) {
+                if (input.files.length !== 1 || input.files[0] !== file) {
+                    // another file was selected
+                    return;
+                }
+                if (input._progressBarId) {
+                    showProgress(input._progressBarId, status.length > 0
+                            ? Math.floor(status.offset * 100 / status.length)
+                            : 100);
+                }
+                if (status.offset >= status.length) {
+                    storedId(key, null);
+                    hidden.value = status.id;
+                    input.value = "";
+                    return;
+                }
+                var end = Math.min(status.offset + chunkSize, status.length);
+                var reader = new FileReader();
+                reader.onload = function () {
+                    var bytes = new Uint8Array(reader.result);
+                    request("PUT", {
+                        "X-Woodstock-Upload": status.id,
+                        "X-Upload-Offset": String(status.offset),
+                        "X-Upload-Checksum": String(crc32(bytes))
+                    }, bytes, function (code, next) {
+                        if (code === 200) {
+                            retries = 0;
+                            send(next);
+                        } else if (code === 409 && next !== null) {
+                            // rejected chunk, continue from the server offset
+                            retry(function () {
+                                send(next);
+                            });
+                        } else if (code === 404) {
+                            storedId(key, null);
+                            create();
+                        } else {
+                            retry(function () {
+                                resume(status.id);
+                            });
+                        }
+                    });
+                };
+                reader.readAsArrayBuffer(file.slice(status.offset, end));
+            };
+
+            var id = storedId(key);
+            if (id !== null) {
+                resume(id);
+            } else {
+                create();
+            }
+        },
+
+        /**
+         * Use this function to show the progress of the file sent with the
+         * form of an Upload component in a ProgressBar. When the form is
+         * submitted, a progress id is added to the form action and the
+         * progress recorded by the upload filter is polled until the upload
+         * completes. The progress of the chunks sent by a chunked upload is
+         * shown as well.
+         *
+         * @param elementId The element ID of the Upload
+         * @param progressBarId The element ID of the ProgressBar
+         * @param refreshRate The polling interval in milliseconds
+         * @return true if successful; otherwise, false
+         */
+        initProgress: function (elementId, progressBarId, refreshRate) {
+            var input = this.getInputElement(elementId);
+            if (input === null || input.form === null) {
+                return false;
+            }
+            var rate = parseInt(refreshRate, 10);
+            if (!(rate > 0)) {
+                rate = DEFAULT_REFRESH_RATE;
+            }
+            input._progressBarId = progressBarId;
+            var form = input.form;
+            form.addEventListener("submit", function () {
+                if (!input.value) {
+                    // no file is sent with the form
+                    return;
+                }
+                var id = newProgressId();
+                var url = form.action
+                        .replace(new RegExp("([?&])" + PROGRESS_PARAM
+                                + "=[^&]*&?"), "$1")
+                        .replace(/[?&]$/, "");
+                form.action = url + (url.indexOf("?") === -1 ? "?" : "&")
+                        + PROGRESS_PARAM + "=" + id;
+                var poll = function () {
+                    var xhr = new XMLHttpRequest();
+                    xhr.open("GET", url, true);
+                    xhr.setRequestHeader("X-Woodstock-Upload-Progress", id);
+                    xhr.onload = function () {
+                        var status = null;
+                        if (xhr.status === 200) {
+                            try {
+                                status = JSON.parse(xhr.responseText);
+                            } catch (e) {
+                                status = null;
+                            }
+                        }
+                        if (status !== null && status.percent >= 0) {
+                            showProgress(progressBarId, status.percent);
+                        }
+                        // not found until the filter starts reading the form
+                        if (status === null || !status.complete) {
+                            setTimeout(poll, rate);
+                        }
+                    };
+                    xhr.onerror = function () {
+                        setTimeout(poll, rate);
+                    };
+                    xhr.send(null);
+                };
+                setTimeout(poll, rate);
+            });
+            return true;
+        },
+
         setEncodingType: function (elementId) {
             var upload = this.getInputElement(elementId);
             var form = upload;
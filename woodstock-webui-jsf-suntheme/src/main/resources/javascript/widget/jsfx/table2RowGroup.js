@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,7 +52,9 @@ require([
             render: domNode.id,
             replaceElement: update,
             xjson: {
-                first: domNode._first
+                first: domNode._first,
+                rows: domNode._props.maxRows,
+                virtual: true
             }
         });
         return true;
@@ -73,11 +76,25 @@ require([
         // Parse JSON text.
         var json = JSON.parse(content);
 
+        // Convert the column oriented window into rows.
+        var rows = [];
+        if (json.cells) {
+            for (var i = 0; i < json.rows; i++) {
+                var cols = [];
+                for (var k = 0; k < json.cells.length; k++) {
+                    cols.push(json.cells[k][i]);
+                }
+                rows.push(cols);
+            }
+        } else {
+            rows = json;
+        }
+
         // Add rows.
         var domNode = document.getElementById(elementId);
         domNode._addRows({
-            first: xjson.first,
-            rows: json
+            first: (json.cells) ? json.first : xjson.first,
+            rows: rows
         });
 
         // Publish an event for custom AJAX implementations to listen for.
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -30,10 +31,13 @@ import com.sun.webui.jsf.util.JavaScriptUtilities;
 import com.sun.webui.jsf.util.LogUtil;
 import com.sun.webui.theme.Theme;
 
+import java.text.CollationKey;
 import java.text.Collator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -324,6 +328,12 @@ public class AddRemove extends ListSelector implements ListManager {
      */
     private static final String DUP_STRING = "1";
 
+    /**
+     * The number of digits of the keys of the lists that keep the insertion
+     * order.
+     */
+    private static final int ORDER_KEY_LENGTH = 10;
+
     /**
      * The string used as a separator between the selected values.
      */
@@ -339,18 +349,23 @@ public class AddRemove extends ListSelector implements ListManager {
     /**
      * The available items.
      */
-    private TreeMap<String, ListItem> availableItems = null;
+    private TreeMap<CollationKey, ListItem> availableItems = null;
 
     /**
      * The selected items.
      */
-    private TreeMap<String, ListItem> selectedItems = null;
+    private TreeMap<CollationKey, ListItem> selectedItems = null;
 
     /**
      * Text collator.
      */
     private Collator collator = null;
 
+    /**
+     * Locale of {@link #collator}.
+     */
+    private Locale collatorLocale = null;
+
     /**
      * All values.
      */
@@ -1169,11 +1184,16 @@ public class AddRemove extends ListSelector implements ListManager {
         if (DEBUG) {
             log("\tLocale is " + locale.toString());
         }
-        collator = Collator.getInstance(locale);
-        collator.setStrength(Collator.IDENTICAL);
+        if (collator == null || !locale.equals(collatorLocale)) {
+            collator = Collator.getInstance(locale);
+            collator.setStrength(Collator.IDENTICAL);
+            collatorLocale = locale;
+        }
 
-        availableItems = new TreeMap<String, ListItem>(collator);
-        selectedItems = new TreeMap<String, ListItem>(collator);
+        // The items are keyed by the collation keys of their labels, each
+        // label is decomposed once instead of on every comparison.
+        availableItems = new TreeMap<CollationKey, ListItem>();
+        selectedItems = new TreeMap<CollationKey, ListItem>();
 
         // Retrieve the current selections. If there are selected
         // objects, mark the corresponding items as selected.
@@ -1217,9 +1237,9 @@ public class AddRemove extends ListSelector implements ListManager {
 
         ListItem listItem;
         String label;
-        String lastKey = "";
+        CollationKey lastKey = zCollator.getCollationKey("");
         String longestString = "";
-        StringBuilder unsortedKeyBuffer = new StringBuilder();
+        int position = 0;
         boolean isSorted = isSorted();
 
         for (int counter = 0; counter < length; ++counter) {
@@ -1247,9 +1267,10 @@ public class AddRemove extends ListSelector implements ListManager {
             }
 
             if (isSorted) {
-                availableItems.put(label, listItem);
-                if (zCollator.compare(label, lastKey) > 0) {
-                    lastKey = label;
+                CollationKey key = zCollator.getCollationKey(label);
+                availableItems.put(key, listItem);
+                if (key.compareTo(lastKey) > 0) {
+                    lastKey = key;
                 }
             } else {
                 // If the page author does not want the list items to be
@@ -1257,11 +1278,11 @@ public class AddRemove extends ListSelector implements ListManager {
                 // supposed to be sorted by the order they were added.
                 // Maps are not guaranteed to return items in the order
                 // they were added, so we have to create this order
-                // artificially. We do that by creating a successively
-                // longer key for each element. (a, aa, aaa...).
-                unsortedKeyBuffer.append(KEY_STRING);
-                availableItems.put(unsortedKeyBuffer.toString(), listItem);
-                lastKey = unsortedKeyBuffer.toString();
+                // artificially. We do that by keying each element with
+                // its position.
+                position++;
+                availableItems.put(getOrderKey(zCollator, position),
+                        listItem);
             }
         }
 
@@ -1283,27 +1304,52 @@ public class AddRemove extends ListSelector implements ListManager {
             item.setDisabled(true);
             item.setValue(SEPARATOR_VALUE);
             if (isSorted) {
-                lastKey = lastKey.concat(KEY_STRING);
-                availableItems.put(lastKey, item);
-                lastKey = lastKey.concat(KEY_STRING);
-                selectedItems.put(lastKey, item);
+                String lastLabel = lastKey.getSourceString()
+                        .concat(KEY_STRING);
+                availableItems.put(zCollator.getCollationKey(lastLabel),
+                        item);
+                lastLabel = lastLabel.concat(KEY_STRING);
+                selectedItems.put(zCollator.getCollationKey(lastLabel),
+                        item);
             } else {
-                unsortedKeyBuffer.append(KEY_STRING);
-                availableItems.put(unsortedKeyBuffer.toString(), item);
-                unsortedKeyBuffer.append(KEY_STRING);
-                selectedItems.put(unsortedKeyBuffer.toString(), item);
+                position++;
+                availableItems.put(getOrderKey(zCollator, position), item);
+                position++;
+                selectedItems.put(getOrderKey(zCollator, position), item);
             }
         }
 
         if (DEBUG) {
             log("AvailableItems keys");
-            Iterator iterator = availableItems.keySet().iterator();
+            Iterator<CollationKey> iterator = availableItems.keySet()
+                    .iterator();
             while (iterator.hasNext()) {
-                log("next key " + iterator.next().toString());
+                log("next key " + iterator.next().getSourceString());
             }
         }
     }
 
+    /**
+     * Get the key of the item at a given position of a list that keeps the
+     * order in which the items were added. The keys are numbers of
+     * {@link #ORDER_KEY_LENGTH} digits: they collate in the order of the
+     * positions, and a key followed by {@link #DUP_STRING} collates between
+     * its position and the next one.
+     * @param zCollator text collator
+     * @param position item position
+     * @return CollationKey
+     */
+    private static CollationKey getOrderKey(final Collator zCollator,
+            final int position) {
+
+        String digits = String.valueOf(position);
+        StringBuilder key = new StringBuilder(ORDER_KEY_LENGTH);
+        for (int i = digits.length(); i < ORDER_KEY_LENGTH; i++) {
+            key.append('0');
+        }
+        return zCollator.getCollationKey(key.append(digits).toString());
+    }
+
     /**
      * Build the value string from the specified tree map.
      * @param map tree map
@@ -1391,45 +1437,41 @@ public class AddRemove extends ListSelector implements ListManager {
         // This allows us to not use the available item keys in the
         // selectedItems list, enabling the
         // selectedItems to be sorted as inserted.
-        Set<String> removeItems = new HashSet<String>();
+        Set<CollationKey> removeItems = new HashSet<CollationKey>();
 
         // Devise a key to use for the selectedItems. Use the same
-        // strategy as used for available items. Create an increasing
-        // String of the letter KEY_STRING as selected items are recorded.
+        // strategy as used for available items. Key the selected items with
+        // their position as they are recorded.
         // If sorting, use the available item key.
-        String selectedKey = "";
+        CollationKey selectedKey;
+        int selectedPosition = 0;
+
+        // Index the available items once by value object, or by converted
+        // String value when matching submitted values, keeping the first key
+        // in display order for each value.
+        Map<Object, CollationKey> keysByValue =
+                new HashMap<Object, CollationKey>();
+        for (Map.Entry<CollationKey, ListItem> entry
+                : availableItems.entrySet()) {
+            Object value;
+            if (processed) {
+                value = entry.getValue().getValueObject();
+            } else {
+                value = entry.getValue().getValue();
+            }
+            if (value != null && !keysByValue.containsKey(value)) {
+                keysByValue.put(value, entry.getKey());
+            }
+        }
 
         while (selected.hasNext()) {
 
             Object selectedValue = selected.next();
 
-            // The "keys" are the keys of the options on the available map
-            // Need to "rewind" for every selected item.
-            Iterator<String> keys = availableItems.keySet().iterator();
-
-            // Does the current listItem match the selected value?
-            boolean match = false;
-
-            while (keys.hasNext()) {
-
-                String key = keys.next();
-                // The next object from the available map
-                //
-                Object nextItem = availableItems.get(key);
-                ListItem listItem = null;
-
-                // If we get an exception just log it and continue.
-                // It's cheaper this way than testing with "instanceof".
-                try {
-                    listItem = (ListItem) nextItem;
-                } catch (Exception e) {
-                    log("An available item was not a ListItem.");
-                    continue;
-                }
-
+            // The key of the matching option on the available map.
+            CollationKey key = null;
+            if (selectedValue != null) {
                 if (DEBUG) {
-                    log("Now processing ListItem "
-                            + listItem.getValue());
                     log("\tSelected object value: "
                             + String.valueOf(selectedValue));
                     log("\tSelected object type: "
@@ -1442,81 +1484,80 @@ public class AddRemove extends ListSelector implements ListManager {
                                 + "comparison on converted values.");
                     }
                 }
-
                 if (processed) {
-                    match = listItem.getValueObject().equals(selectedValue);
+                    key = keysByValue.get(selectedValue);
                 } else {
                     // Recall that "processed" means that we compare using the
                     // actual value of this component, and this case means that
                     // we compare from the submitted values. In other words, in
                     // this scenario, the selectedValue is an already converted
                     // String.
-                    match = selectedValue.toString()
-                            .equals(listItem.getValue());
-                }
-
-                // Note that elements in the selected list that do
-                // not match will not appear in the "selectedItems"
-                // TreeMap.
-                if (!match) {
-                    continue;
+                    key = keysByValue.get(selectedValue.toString());
                 }
+            }
 
+            // Note that elements in the selected list that do
+            // not match will not appear in the "selectedItems"
+            // TreeMap.
+            if (key == null) {
                 if (DEBUG) {
-                    log("\tListItem and selected item match");
-                }
-                // Ensure that the selectedItems are sorted appropriately.
-                // Use the sort order of the available items if sorted
-                // and the insertion order if not.
-                if (isSorted) {
-                    selectedKey = key;
-                } else {
-                    selectedKey = selectedKey.concat(KEY_STRING);
+                    log("\tSelected value "
+                            + String.valueOf(selectedValue)
+                            + " not present on the list of options.");
                 }
+                continue;
+            }
 
-                // See if we have a dup. If dups are allowed
-                // create a new unique key for the dup and add it
-                // to the selectedItems.
-                // If not a dup, add it to the removeItems map
-                // and add it to the selectedItems.
-                if (removeItems.contains(key)) {
-                    if (allowDups) {
-                        // In case users are allowed to add the same
-                        // item more than once, use this complicated
-                        // procedure.
-                        // The assumption is that "1" comes before "a".
-                        //
-                        if (DEBUG) {
-                            log("\tAdding duplicate "
-                                    + "and creating unique key.");
-                        }
-                        String key2 = selectedKey.concat(DUP_STRING);
-                        while (selectedItems.containsKey(key2)) {
-                            key2 = key2.concat(DUP_STRING);
-                        }
-                        selectedItems.put(key2, listItem);
-                    } else {
-                        if (DEBUG) {
-                            log("\tDuplicates not allowed "
-                                    + "ignoring this duplicate selected item.");
-                        }
-                    }
-                } else {
-                    // Add the found key to the removeItems map
-                    // and add to the selectedItems.
-                    removeItems.add(key);
-                    selectedItems.put(selectedKey, listItem);
-                }
+            if (DEBUG) {
+                log("\tListItem and selected item match");
+            }
+            ListItem listItem = availableItems.get(key);
 
-                // We have a match break the loop
-                break;
+            // Ensure that the selectedItems are sorted appropriately.
+            // Use the sort order of the available items if sorted
+            // and the insertion order if not.
+            if (isSorted) {
+                selectedKey = key;
+            } else {
+                selectedPosition++;
+                selectedKey = getOrderKey(collator, selectedPosition);
             }
-            if (DEBUG) {
-                if (!match) {
-                    log("\tSelected value "
-                            + String.valueOf(selectedValue)
-                            + " not present on the list of options.");
+
+            // See if we have a dup. If dups are allowed
+            // create a new unique key for the dup and add it
+            // to the selectedItems.
+            // If not a dup, add it to the removeItems map
+            // and add it to the selectedItems.
+            if (removeItems.contains(key)) {
+                if (allowDups) {
+                    // In case users are allowed to add the same
+                    // item more than once, use this complicated
+                    // procedure.
+                    // The assumption is that "1" comes before "a".
+                    //
+                    if (DEBUG) {
+                        log("\tAdding duplicate "
+                                + "and creating unique key.");
+                    }
+                    String dupKey = selectedKey.getSourceString()
+                            .concat(DUP_STRING);
+                    CollationKey key2 = collator.getCollationKey(dupKey);
+                    while (selectedItems.containsKey(key2)) {
+                        dupKey = dupKey.concat(DUP_STRING);
+                        key2 = collator.getCollationKey(dupKey);
+                    }
+                    selectedItems.put(key2, listItem);
+                } else {
+                    if (DEBUG) {
+                        log("\tDuplicates not allowed "
+                                + "ignoring this duplicate selected item.");
+                    }
                 }
+            } else {
+                // Add the found key to the removeItems map
+                // and add to the selectedItems.
+                removeItems.add(key);
+                selectedItems.put(selectedKey, listItem);
             }
         }
 
@@ -1525,8 +1566,8 @@ public class AddRemove extends ListSelector implements ListManager {
                 log("\tRemove the selected items from "
                         + "the available items");
             }
-            Iterator<String> keys = removeItems.iterator();
-            String key;
+            Iterator<CollationKey> keys = removeItems.iterator();
+            CollationKey key;
             while (keys.hasNext()) {
                 key = keys.next();
                 availableItems.remove(key);
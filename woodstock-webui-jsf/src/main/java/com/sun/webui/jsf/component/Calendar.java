@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,7 @@ import com.sun.faces.annotation.Property;
 import com.sun.webui.jsf.converter.DateConverter;
 import com.sun.webui.jsf.validator.DateInRangeValidator;
 import com.sun.webui.jsf.util.JavaScriptUtilities;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.TimeZone;
@@ -291,6 +293,11 @@ public final class Calendar extends Field
         return getDatePicker().getDateFormat();
     }
 
+    @Override
+    public SharedDateFormat getSharedDateFormat() {
+        return getDatePicker().getSharedDateFormat();
+    }
+
     // Since the value of the minDate attribute could change, we can't
     // cache this in an attribute.
     @Override
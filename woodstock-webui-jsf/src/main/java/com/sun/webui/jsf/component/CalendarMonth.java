@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -24,11 +25,14 @@ import com.sun.webui.jsf.theme.ThemeImages;
 import com.sun.webui.jsf.model.Option;
 import com.sun.webui.jsf.model.ScheduledEvent;
 import com.sun.webui.jsf.util.LogUtil;
+import com.sun.webui.jsf.util.MonthGrid;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import java.beans.Beans;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Iterator;
@@ -93,7 +97,9 @@ public final class CalendarMonth extends UIOutput implements NamingContainer {
     public static final String DATE_FIELD_ID = "dateField";
 
     /**
-     * Date format attribute.
+     * Date format attribute. The date format is no longer stored in the
+     * component attributes, this attribute is only removed for components
+     * restored from an older state.
      */
     public static final String DATE_FORMAT_ATTR = "dateFormatAttr";
 
@@ -192,6 +198,67 @@ public final class CalendarMonth extends UIOutput implements NamingContainer {
         return false;
     }
 
+    /**
+     * Get the selected days of a month grid. The value of this component is
+     * evaluated once for the whole grid, where
+     * {@link #isDateSelected(java.util.Calendar, java.util.Calendar)}
+     * evaluates it for each day. Only the visible rows of the grid are
+     * considered.
+     * @param grid month grid
+     * @return {@code boolean[]} indexed like the days of the grid
+     */
+    public boolean[] getSelectedDays(final MonthGrid grid) {
+        boolean[] selected = new boolean[grid.size()];
+        Object value = getValue();
+        if (value instanceof Date) {
+            Calendar cal = getCalendar();
+            cal.setTime((Date) value);
+            selectDay(selected, grid, cal);
+        } else if (value instanceof ScheduledEvent) {
+            // the start times from the first day of the grid to the end of
+            // the last visible day
+            Calendar startDate = getCalendar();
+            setDay(startDate, grid.getFirstDate());
+            Calendar endDate = getCalendar();
+            setDay(endDate, grid.getLastVisibleDate().plusDays(1));
+            Iterator dates = ((ScheduledEvent) value).getDates(startDate,
+                    endDate);
+            while (dates.hasNext()) {
+                selectDay(selected, grid, (Calendar) dates.next());
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Set a calendar to the start of an ISO date, in the time zone of the
+     * calendar. The calendar may not be Gregorian.
+     * @param calendar calendar to set
+     * @param date ISO date
+     */
+    private static void setDay(final java.util.Calendar calendar,
+            final LocalDate date) {
+
+        calendar.setTime(Date.from(date.atStartOfDay(
+                calendar.getTimeZone().toZoneId()).toInstant()));
+    }
+
+    /**
+     * Mark the day of a date as selected if it is visible in a month grid.
+     * @param selected selected days of the grid
+     * @param grid month grid
+     * @param date date to select
+     */
+    private static void selectDay(final boolean[] selected,
+            final MonthGrid grid, final java.util.Calendar date) {
+
+        int index = grid.indexOf(MonthGrid.toLocalDate(date));
+        if (index >= 0
+                && index < grid.getVisibleRows() * MonthGrid.DAYS_PER_WEEK) {
+            selected[index] = true;
+        }
+    }
+
     /**
      * Compare the two specified dates.
      * @param selected first date to compare
@@ -263,45 +330,28 @@ public final class CalendarMonth extends UIOutput implements NamingContainer {
     }
 
     /**
-     * Return the DateFormat object for this CalendarMonth.
+     * Return the DateFormat object for this CalendarMonth. The returned
+     * instance is a copy of {@link #getSharedDateFormat()} that can be
+     * modified by the caller.
      * @return DateFormat
      */
     public DateFormat getDateFormat() {
         if (DEBUG) {
             log("getDateFormat()");
         }
+        return getSharedDateFormat().toDateFormat();
+    }
 
-        Object o = getAttributes().get(DATE_FORMAT_ATTR);
-        DateFormat dateFormat;
-        if (o != null && o instanceof DateFormat) {
-            if (DEBUG) {
-                log("DateFormat was already set");
-            }
-            dateFormat = (DateFormat) o;
-            return dateFormat;
-        }
-
-        // Derive it
-        if (DEBUG) {
-            log("Dateformat not calculated");
-        }
-        SimpleDateFormat simpleDateFormat = (SimpleDateFormat)
-                SimpleDateFormat.getDateInstance(DateFormat.SHORT, getLocale());
-
-        // We need to set the locale and the timeZone of the dateFormat.
-        // I can't tell from the spec whether just setting the Calendar
-        // does this correctly (the Calendar does know both).
-        simpleDateFormat.setCalendar(getCalendar());
-        ((SimpleDateFormat) simpleDateFormat).applyPattern(
-                getDateFormatPattern(simpleDateFormat));
-
-        // For creator don't store the value, always derive it.
-        // It's not clear if storing the value prevents responding
-        // to a dymnamic locale change.
-        if (!Beans.isDesignTime()) {
-            getAttributes().put(DATE_FORMAT_ATTR, simpleDateFormat);
-        }
-        return simpleDateFormat;
+    /**
+     * Return the shared date format for this CalendarMonth, derived from the
+     * date format pattern, the locale and the time zone. Only the pattern is
+     * kept in the component attributes, the format itself is shared between
+     * components and requests.
+     * @return SharedDateFormat
+     */
+    public SharedDateFormat getSharedDateFormat() {
+        return SharedDateFormat.getInstance(getDateFormatPattern(),
+                getLocale(), getTimeZone());
     }
 
     /**
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,9 +17,13 @@
 
 package com.sun.webui.jsf.component;
 
+import com.sun.webui.jsf.util.SharedDateFormat;
 import java.text.DateFormat;
 import java.util.Date;
+import java.util.Locale;
 import java.util.TimeZone;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
 
 /**
  * Date manager.
@@ -31,6 +36,29 @@ public interface DateManager {
      */
     DateFormat getDateFormat();
 
+    /**
+     * Get the shared date format, an immutable and thread safe equivalent of
+     * {@link #getDateFormat()}. The default implementation uses
+     * {@link #getDateFormatPattern()}, {@link #getTimeZone()} and the locale
+     * of the current view.
+     * @return SharedDateFormat
+     */
+    default SharedDateFormat getSharedDateFormat() {
+        Locale locale = null;
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context != null) {
+            UIViewRoot viewRoot = context.getViewRoot();
+            if (viewRoot != null) {
+                locale = viewRoot.getLocale();
+            }
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        return SharedDateFormat.getInstance(getDateFormatPattern(), locale,
+                getTimeZone());
+    }
+
     /**
      * Get the date format pattern.
      * @return String
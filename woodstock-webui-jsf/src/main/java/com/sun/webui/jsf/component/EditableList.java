@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -29,6 +30,7 @@ import com.sun.webui.jsf.util.JavaScriptUtilities;
 import com.sun.webui.jsf.util.LogUtil;
 import java.lang.reflect.Array;
 import java.io.Serializable;
+import java.text.CollationKey;
 import java.text.Collator;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -275,6 +277,11 @@ public final class EditableList extends WebuiInput implements ListManager,
      */
     private static final String DUP_STRING = "\t";
 
+    /**
+     * The number of digits of the keys of the unsorted list items.
+     */
+    private static final int ORDER_KEY_LENGTH = 10;
+
     // FIXME: This should be part of the theme.
 
     /**
@@ -290,7 +297,7 @@ public final class EditableList extends WebuiInput implements ListManager,
     /**
      * ListItems.
      */
-    private TreeMap<String, ListItem> listItems = null;
+    private TreeMap<CollationKey, ListItem> listItems = null;
 
     /**
      * Text collator.
@@ -1291,7 +1298,9 @@ public final class EditableList extends WebuiInput implements ListManager,
             log("\tLocale is " + locale.toString());
         }
         collator = Collator.getInstance(locale);
-        listItems = new TreeMap<String, ListItem>(collator);
+        // The items are keyed by the collation keys of their labels, each
+        // label is decomposed once instead of on every comparison.
+        listItems = new TreeMap<CollationKey, ListItem>();
 
         // Are we sorting ?
         boolean zSorted = isSorted();
@@ -1315,7 +1324,7 @@ public final class EditableList extends WebuiInput implements ListManager,
         // possible to use a constant for this, since an o with an
         // umlaut comes after z in Swedish, but before it in German,
         // for example).
-        String lastKey = "";
+        CollationKey lastKey = collator.getCollationKey("");
         String[] currentValues = getCurrentValueAsStringArray();
         if (DEBUG) {
             log("\tValues are:");
@@ -1333,10 +1342,9 @@ public final class EditableList extends WebuiInput implements ListManager,
         // themselves. The last key is set to the string that the
         // collator deems to be the last.
         // Second case: the list is sorted by the order they were
-        // added to the map. We deal with that by generating a
-        // successively longer key for each entry (maps do not
-        // conserve the order the items were added). The last key
-        // is set to the last key generated.
+        // added to the map. We deal with that by keying each entry
+        // with its position (maps do not conserve the order the items
+        // were added). The last key is set to the last key generated.
         ListItem listItem;
 
         // Keep track of the last ListItem that matches the
@@ -1350,16 +1358,9 @@ public final class EditableList extends WebuiInput implements ListManager,
         // supposed to be sorted by the order they were added.
         // Maps are not guaranteed to return items in the order
         // they were added, so we have to create this order
-        // artificially. We do that by creating a successively
-        // longer key for each element. (a, aa, aaa...).
-        //
-        // Only need this when not sorting
-        StringBuilder unsortedKeyBuffer;
-        if (zSorted) {
-            unsortedKeyBuffer = null;
-        } else {
-            unsortedKeyBuffer = new StringBuilder(KEY_STRING);
-        }
+        // artificially. We do that by keying each element with its
+        // position.
+        int position = 0;
 
         for (int counter = 0; counter < currentValues.length; ++counter) {
             currentString = currentValues[counter];
@@ -1411,13 +1412,14 @@ public final class EditableList extends WebuiInput implements ListManager,
                 } else {
                     keysSeen.put(key, DUP_STRING);
                 }
-                if (collator.compare(key, lastKey) > 0) {
-                    lastKey = key;
+                CollationKey collationKey = collator.getCollationKey(key);
+                if (collationKey.compareTo(lastKey) > 0) {
+                    lastKey = collationKey;
                 }
-                listItems.put(key, listItem);
+                listItems.put(collationKey, listItem);
             } else {
-                listItems.put(unsortedKeyBuffer.toString(), listItem);
-                unsortedKeyBuffer.append(KEY_STRING);
+                listItems.put(getOrderKey(position), listItem);
+                position++;
             }
         }
 
@@ -1428,7 +1430,7 @@ public final class EditableList extends WebuiInput implements ListManager,
         }
 
         if (!zSorted) {
-            lastKey = unsortedKeyBuffer.toString();
+            lastKey = getOrderKey(position);
         }
 
         // rulerAtEnd will be true if the invoker needs a blank
@@ -1446,11 +1448,28 @@ public final class EditableList extends WebuiInput implements ListManager,
             }
             ListItem item = new ListItem(labelBuffer.toString());
             item.setDisabled(true);
-            listItems.put(lastKey.concat(KEY_STRING), item);
+            listItems.put(collator.getCollationKey(
+                    lastKey.getSourceString().concat(KEY_STRING)), item);
         }
         return listItems.values().iterator();
     }
 
+    /**
+     * Get the key of an unsorted list item. The keys are numbers of
+     * {@link #ORDER_KEY_LENGTH} digits, so that they collate in the order
+     * of the positions.
+     * @param position item position
+     * @return CollationKey
+     */
+    private CollationKey getOrderKey(final int position) {
+        String digits = String.valueOf(position);
+        StringBuilder key = new StringBuilder(ORDER_KEY_LENGTH);
+        for (int i = digits.length(); i < ORDER_KEY_LENGTH; i++) {
+            key.append('0');
+        }
+        return collator.getCollationKey(key.append(digits).toString());
+    }
+
     /**
      * Get current values as string array.
      * @return String[]
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,7 @@ import com.sun.faces.annotation.Component;
 import com.sun.faces.annotation.Property;
 import com.sun.webui.jsf.model.FileChooserModel;
 import com.sun.webui.jsf.model.Option;
+import com.sun.webui.jsf.model.OptionSource;
 import com.sun.webui.jsf.model.ResourceItem;
 import com.sun.webui.jsf.model.ResourceModel;
 import com.sun.webui.jsf.model.ResourceModelException;
@@ -354,6 +356,22 @@ public final class FileChooser extends WebuiInput implements NamingContainer {
      */
     private boolean tabIndexSet = false;
 
+    /**
+     * Set ajaxify to true to render only the first entries of the list and
+     * fetch the next entries with Ajax as the list is scrolled. This
+     * requires the JSF Extensions library on the page. The default is false,
+     * which renders all the entries of the folder.
+     */
+    @Property(name = "ajaxify",
+            displayName = "Ajaxify",
+            category = "Javascript")
+    private boolean ajaxify = false;
+
+    /**
+     * ajaxify set flag.
+     */
+    private boolean ajaxifySet = false;
+
     /**
      * Set this attribute to true to sort from the highest value to lowest
      * value, such as Z-A for alphabetic, or largest file to smallest for
@@ -1924,6 +1942,27 @@ public final class FileChooser extends WebuiInput implements NamingContainer {
 
         // No need to check for null, getModel throws FacesException if null.
         ResourceModel zModel = getModel();
+
+        // The file chooser model formats the options of the list from a
+        // shared listing of the folder. If ajaxify is set only the first
+        // options are rendered, the list fetches the others as it is
+        // scrolled.
+        if (zModel instanceof FileChooserModel) {
+            // If a folder chooser always disable files
+            OptionSource source = ((FileChooserModel) zModel)
+                    .getFolderOptions(zModel.getCurrentDir(),
+                            isFolderChooser());
+            int count = source.getOptionCount();
+            if (count == 0) {
+                populateEmptyList(fileList);
+            } else if (isAjaxify()) {
+                fileList.setItems(source);
+            } else {
+                fileList.setItems(source.getOptions(0, count));
+            }
+            return fileList;
+        }
+
         ResourceItem[] items;
         // If a folder chooser always disable files
 
@@ -2987,6 +3026,39 @@ public final class FileChooser extends WebuiInput implements NamingContainer {
         return super.getValue();
     }
 
+    /**
+     * Test if the list entries are fetched with Ajax as the list is
+     * scrolled.
+     * @return {@code boolean}
+     */
+    public boolean isAjaxify() {
+        if (this.ajaxifySet) {
+            return this.ajaxify;
+        }
+        ValueExpression vb = getValueExpression("ajaxify");
+        if (vb != null) {
+            Object result = vb.getValue(getFacesContext().getELContext());
+            if (result == null) {
+                return false;
+            } else {
+                return ((Boolean) result);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set ajaxify to true to render only the first entries of the list and
+     * fetch the next entries with Ajax as the list is scrolled.
+     *
+     * @see #isAjaxify()
+     * @param newAjaxify ajaxify
+     */
+    public void setAjaxify(final boolean newAjaxify) {
+        this.ajaxify = newAjaxify;
+        this.ajaxifySet = true;
+    }
+
     /**
      * Get the descending flag.
      * @return {@code boolean}
@@ -3493,6 +3565,8 @@ public final class FileChooser extends WebuiInput implements NamingContainer {
         this.style = (String) values[16];
         this.styleClass = (String) values[17];
         this.fileAndFolderChooser = ((Boolean) ((Object[]) state)[1]);
+        this.ajaxify = ((Boolean) ((Object[]) state)[2]);
+        this.ajaxifySet = ((Boolean) ((Object[]) state)[3]);
         //this.valueChangeListenerExpression =(MethodExpression)
         //        restoreAttachedState(_context, _values[2]);
         //this.validatorExpression = (MethodExpression)
@@ -3565,13 +3639,23 @@ public final class FileChooser extends WebuiInput implements NamingContainer {
         values[15] = this.sortField;
         values[16] = this.style;
         values[17] = this.styleClass;
-        Object[] values2 = new Object[2];
+        Object[] values2 = new Object[4];
         values2[0] = values;
         if (this.fileAndFolderChooser) {
             values2[1] = Boolean.TRUE;
         } else {
             values2[1] = Boolean.FALSE;
         }
+        if (this.ajaxify) {
+            values2[2] = Boolean.TRUE;
+        } else {
+            values2[2] = Boolean.FALSE;
+        }
+        if (this.ajaxifySet) {
+            values2[3] = Boolean.TRUE;
+        } else {
+            values2[3] = Boolean.FALSE;
+        }
         //values[2] = saveAttachedState(_context,
         //      valueChangeListenerExpression);
         //values[3] = saveAttachedState(_context, validatorExpression);
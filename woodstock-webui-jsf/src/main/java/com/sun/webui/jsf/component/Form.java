@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +28,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -83,6 +85,12 @@ public final class Form extends UIForm {
      */
     private static final String ID_WILD = String.valueOf(ID_WILD_CHAR);
 
+    /**
+     * Request attribute key of the component id indexes.
+     */
+    private static final String ID_INDEX_KEY =
+            "com.sun.webui.jsf.component.Form.idIndex";
+
     /**
      * Has an EditableValueHolder as the key, and an Object[] value pair or a
      * TableValues as the value.
@@ -438,8 +446,10 @@ public final class Form extends UIForm {
             //if the children of the Form are known to participate in
             // submittedVirtualForm,
             //then don't bother erasing
-            if (!childrenAreKnownToParticipate(this, submittedVirtualForm)) {
-                eraseVirtualFormNonParticipants(this, null, null);
+            if (!childrenAreKnownToParticipate(ID_SEP, submittedVirtualForm)) {
+                eraseVirtualFormNonParticipants(this, ID_SEP, null, null,
+                        new HashMap<String, Boolean>(),
+                        new HashMap<String, Boolean>());
             }
         }
     }
@@ -566,26 +576,9 @@ public final class Form extends UIForm {
         while (currentFqId.length() > 0) {
             for (int v = 0; v < vfds.length; v++) {
                 VirtualFormDescriptor vfd = vfds[v];
-                String[] submitters = vfd.getSubmittingIds();
-                for (int s = 0; submitters != null
-                        && s < submitters.length; s++) {
-                    String submitter = submitters[s];
-                    if (submitter == null) {
-                        continue;
-                    }
-                    String wildSuffix = ID_SEP + ID_WILD;
-                    if (submitter.endsWith(wildSuffix)) {
-                        submitter = submitter.substring(0, submitter.length()
-                                - wildSuffix.length());
-                    }
-                    if (submitter.length() < 1) {
-                        continue;
-                    }
-                    boolean fqIdMatches = fQIdMatchesPattern(
-                            currentFqId, submitter);
-                    if (fqIdMatches) {
-                        return vfd;
-                    }
+                if (vfd != null
+                        && vfd.getSubmitterIndex(true).matches(currentFqId)) {
+                    return vfd;
                 }
             }
             int lastIndexOfSep = currentFqId.lastIndexOf(ID_SEP);
@@ -651,6 +644,13 @@ public final class Form extends UIForm {
      * Given a bare, partially qualified, or fully qualified id, find the
      * component. Unlike the inherited {@code findComponent} method, this method
      * does recursively search NamingContainers.
+     * <p>
+     * Lookups are answered from an index of the form's subtree that is built
+     * once per request. A component found in the index is checked against its
+     * current position in the tree, and the index is rebuilt when the check
+     * fails or when the id is not found, so that components added, moved or
+     * removed since the index was built are handled.
+     * </p>
      * @param id component Id
      * @return UIComponent
      */
@@ -664,38 +664,50 @@ public final class Form extends UIForm {
                 && id.endsWith(ID_SEP))) {
             return null;
         }
-        // see if id indicates the Form itself
-        String fqId = getFullyQualifiedId(this);
-        if (fQIdMatchesPattern(fqId, id)) {
-            return this;
+        // the remaining wildcard positions and spaces never match
+        if (id.indexOf(ID_WILD_CHAR) != -1 || id.indexOf(' ') != -1) {
+            return null;
         }
-        return searchKidsRecursivelyForId(this, id);
+        FacesContext context = FacesContext.getCurrentInstance();
+        ComponentIdIndex index = null;
+        if (context != null) {
+            Map<Form, ComponentIdIndex> map = getIdIndexMap(context, false);
+            if (map != null) {
+                index = map.get(this);
+            }
+        }
+        if (index != null) {
+            UIComponent match = index.find(id);
+            if (match != null && index.isCurrent(match, this)) {
+                return match;
+            }
+        }
+        index = new ComponentIdIndex(this);
+        if (context != null) {
+            getIdIndexMap(context, true).put(this, index);
+        }
+        return index.find(id);
     }
 
     /**
-     * Search children recursively.
-     * @param parent parent to traverse.
-     * @param id component id
-     * @return UIComponent
+     * Helper method to get the map of component id indexes.
+     *
+     * @param context FacesContext for the current request.
+     * @param create Flag indicating the map should be created.
+     * @return Map of ComponentIdIndex, keyed by Form.
      */
-    private UIComponent searchKidsRecursivelyForId(
-            final UIComponent parent, final String id) {
+    @SuppressWarnings("unchecked")
+    private static Map<Form, ComponentIdIndex> getIdIndexMap(
+            final FacesContext context, final boolean create) {
 
-        Iterator kids = parent.getFacetsAndChildren();
-        while (kids.hasNext()) {
-            UIComponent kid = (UIComponent) kids.next();
-            String fqId = getFullyQualifiedId(kid);
-            //see if id indicates kid
-            boolean fqIdMatches = fQIdMatchesPattern(fqId, id);
-            if (fqIdMatches) {
-                return kid;
-            }
-            UIComponent match = searchKidsRecursivelyForId(kid, id);
-            if (match != null) {
-                return match;
-            }
+        Map<Object, Object> attributes = context.getAttributes();
+        Map<Form, ComponentIdIndex> map =
+                (Map<Form, ComponentIdIndex>) attributes.get(ID_INDEX_KEY);
+        if (map == null && create) {
+            map = new IdentityHashMap<Form, ComponentIdIndex>();
+            attributes.put(ID_INDEX_KEY, map);
         }
-        return null;
+        return map;
     }
 
     /**
@@ -714,6 +726,28 @@ public final class Form extends UIForm {
         return submittedVirtualForm.hasParticipant(fqId);
     }
 
+    /**
+     * Return true if a virtual form has been submitted and the component with
+     * the given fully qualified id participates in that virtual form. The
+     * result is cached in the supplied map.
+     * @param fqId fully qualified id
+     * @param cache results by fully qualified id
+     * @return {@code boolean}
+     */
+    private boolean participatesInSubmittedVirtualForm(final String fqId,
+            final Map<String, Boolean> cache) {
+
+        if (submittedVirtualForm == null || fqId == null) {
+            return false;
+        }
+        Boolean result = cache.get(fqId);
+        if (result == null) {
+            result = submittedVirtualForm.hasParticipant(fqId);
+            cache.put(fqId, result);
+        }
+        return result;
+    }
+
     // Be sure to keep this method in sync with the version in
     // {@code jakarta.faces.component.html.HtmlFormDesignInfo}
     // (in jsfcl).
@@ -877,11 +911,14 @@ public final class Form extends UIForm {
         if (compId == null) {
             return null;
         }
-        StringBuilder sb = new StringBuilder(compId);
+        // collect the ids up to the form, then append them in order
+        List<String> ids = new ArrayList<String>();
+        ids.add(compId);
+        int length = compId.length();
         UIComponent currentComp = component.getParent();
         boolean formEncountered = false;
         while (currentComp != null) {
-            sb.insert(0, ID_SEP);
+            length++;
             if (currentComp instanceof Form) {
                 formEncountered = true;
                 break;
@@ -890,15 +927,43 @@ public final class Form extends UIForm {
                 if (currentCompId == null) {
                     return null;
                 }
-                sb.insert(0, currentCompId);
+                ids.add(currentCompId);
+                length += currentCompId.length();
             }
             currentComp = currentComp.getParent();
         }
-        if (formEncountered) {
-            return sb.toString();
-        } else {
+        if (!formEncountered) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            sb.append(ID_SEP);
+            sb.append(ids.get(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Obtain the fully qualified id of a child component from the fully
+     * qualified id of its parent, without walking up the component tree.
+     * @param parentFqId fully qualified id of the parent, or {@code null}
+     * @param child child component
+     * @return String, or {@code null} if the child has no fully qualified id
+     */
+    private static String getChildFullyQualifiedId(final String parentFqId,
+            final UIComponent child) {
+
+        if (child instanceof Form) {
+            return ID_SEP;
+        }
+        String childId = child.getId();
+        if (parentFqId == null || childId == null) {
             return null;
         }
+        if (parentFqId.equals(ID_SEP)) {
+            return ID_SEP + childId;
+        }
+        return parentFqId + ID_SEP + childId;
     }
 
     // Be sure to keep this method in sync with the version in
@@ -1062,6 +1127,26 @@ public final class Form extends UIForm {
          */
         private String[] submittingIds;
 
+        /**
+         * Compiled participating ids.
+         */
+        private transient IdPatternIndex participantIndex;
+
+        /**
+         * Compiled participating ids that end with the wildcard.
+         */
+        private transient IdPatternIndex wildParticipantIndex;
+
+        /**
+         * Compiled submitting ids.
+         */
+        private transient IdPatternIndex submitterIndex;
+
+        /**
+         * Compiled submitting ids, without trailing wildcard.
+         */
+        private transient IdPatternIndex submitterPrefixIndex;
+
         /**
          * Create a new instance.
          */
@@ -1130,6 +1215,8 @@ public final class Form extends UIForm {
                 }
             }
             this.participatingIds = newParticipatingIds;
+            this.participantIndex = null;
+            this.wildParticipantIndex = null;
         }
 
         /**
@@ -1161,6 +1248,8 @@ public final class Form extends UIForm {
                 }
             }
             this.submittingIds = newSubmittingIds;
+            this.submitterIndex = null;
+            this.submitterPrefixIndex = null;
         }
 
         /**
@@ -1169,17 +1258,7 @@ public final class Form extends UIForm {
          * @return {@code boolean}
          */
         public boolean isSubmittedBy(final String fqId) {
-            if (!isValidFullyQualifiedId(fqId)) {
-                return false;
-            }
-            for (int i = 0; submittingIds != null
-                    && i < submittingIds.length; i++) {
-
-                if (Form.fQIdMatchesPattern(fqId, submittingIds[i])) {
-                    return true;
-                }
-            }
-            return false;
+            return getSubmitterIndex(false).matches(fqId);
         }
 
         /**
@@ -1189,16 +1268,81 @@ public final class Form extends UIForm {
          * @return {@code boolean}
          */
         public boolean hasParticipant(final String fqId) {
-            if (!isValidFullyQualifiedId(fqId)) {
-                return false;
+            return getParticipantIndex(false).matches(fqId);
+        }
+
+        /**
+         * Get the compiled participating ids.
+         * @param wildOnly if true, only the ids that end with the wildcard
+         * are included
+         * @return IdPatternIndex
+         */
+        private IdPatternIndex getParticipantIndex(final boolean wildOnly) {
+            if (wildOnly) {
+                if (wildParticipantIndex == null) {
+                    wildParticipantIndex = new IdPatternIndex(
+                            getPatterns(participatingIds, true, false));
+                }
+                return wildParticipantIndex;
             }
-            for (int i = 0; participatingIds != null
-                    && i < participatingIds.length; i++) {
-                if (Form.fQIdMatchesPattern(fqId, participatingIds[i])) {
-                    return true;
+            if (participantIndex == null) {
+                participantIndex = new IdPatternIndex(
+                        getPatterns(participatingIds, false, false));
+            }
+            return participantIndex;
+        }
+
+        /**
+         * Get the compiled submitting ids.
+         * @param stripWild if true, the trailing wildcard of the ids is
+         * removed
+         * @return IdPatternIndex
+         */
+        private IdPatternIndex getSubmitterIndex(final boolean stripWild) {
+            if (stripWild) {
+                if (submitterPrefixIndex == null) {
+                    submitterPrefixIndex = new IdPatternIndex(
+                            getPatterns(submittingIds, false, true));
                 }
+                return submitterPrefixIndex;
             }
-            return false;
+            if (submitterIndex == null) {
+                submitterIndex = new IdPatternIndex(
+                        getPatterns(submittingIds, false, false));
+            }
+            return submitterIndex;
+        }
+
+        /**
+         * Get the patterns to compile.
+         * @param ids configured ids
+         * @param wildOnly if true, only the ids that end with the wildcard
+         * are included
+         * @param stripWild if true, the trailing wildcard is removed
+         * @return list of patterns
+         */
+        private static List<String> getPatterns(final String[] ids,
+                final boolean wildOnly, final boolean stripWild) {
+
+            List<String> patterns = new ArrayList<String>();
+            String wildSuffix = ID_SEP + ID_WILD;
+            for (int i = 0; ids != null && i < ids.length; i++) {
+                String id = ids[i];
+                if (id == null) {
+                    continue;
+                }
+                boolean wild = id.endsWith(wildSuffix);
+                if (wildOnly && !wild) {
+                    continue;
+                }
+                if (stripWild && wild) {
+                    id = id.substring(0, id.length() - wildSuffix.length());
+                }
+                if (id.length() > 0) {
+                    patterns.add(id);
+                }
+            }
+            return patterns;
         }
 
         @Override
@@ -1224,39 +1368,399 @@ public final class Form extends UIForm {
         }
     }
 
+    /**
+     * Index of the components in the subtree of a form, by fully qualified id
+     * and by bare id. The index records the components in the same depth
+     * first order as the tree, so that a lookup returns the same component as
+     * a search of the tree would.
+     */
+    private static final class ComponentIdIndex {
+
+        /**
+         * First component for each fully qualified id.
+         */
+        private final Map<String, UIComponent> byFqId =
+                new HashMap<String, UIComponent>();
+
+        /**
+         * Components for each bare id, in tree order.
+         */
+        private final Map<String, List<UIComponent>> byBareId =
+                new HashMap<String, List<UIComponent>>();
+
+        /**
+         * Fully qualified id of each indexed component.
+         */
+        private final Map<UIComponent, String> fqIds =
+                new IdentityHashMap<UIComponent, String>();
+
+        /**
+         * Create a new index of the subtree of the given form.
+         * @param form form to index
+         */
+        ComponentIdIndex(final Form form) {
+            byFqId.put(ID_SEP, form);
+            fqIds.put(form, ID_SEP);
+            addKids(form, ID_SEP);
+        }
+
+        /**
+         * Add the descendants of a component to the index.
+         * @param parent parent component
+         * @param parentFqId fully qualified id of the parent
+         */
+        private void addKids(final UIComponent parent,
+                final String parentFqId) {
+
+            Iterator<UIComponent> kids = parent.getFacetsAndChildren();
+            while (kids.hasNext()) {
+                UIComponent kid = kids.next();
+                String kidFqId = getChildFullyQualifiedId(parentFqId, kid);
+                if (isValidFullyQualifiedId(kidFqId)) {
+                    if (!byFqId.containsKey(kidFqId)) {
+                        byFqId.put(kidFqId, kid);
+                    }
+                    fqIds.put(kid, kidFqId);
+                    if (!kidFqId.equals(ID_SEP)) {
+                        String bareId = kidFqId.substring(
+                                kidFqId.lastIndexOf(ID_SEP) + 1);
+                        List<UIComponent> list = byBareId.get(bareId);
+                        if (list == null) {
+                            list = new ArrayList<UIComponent>(1);
+                            byBareId.put(bareId, list);
+                        }
+                        list.add(kid);
+                    }
+                }
+                addKids(kid, kidFqId);
+            }
+        }
+
+        /**
+         * Find the first component matching a bare, partially qualified or
+         * fully qualified id without wildcard.
+         * @param id id to find
+         * @return UIComponent or {@code null} if not found
+         */
+        UIComponent find(final String id) {
+            if (id.startsWith(ID_SEP)) {
+                return byFqId.get(id);
+            }
+            List<UIComponent> list = byBareId.get(
+                    id.substring(id.lastIndexOf(ID_SEP) + 1));
+            if (list == null) {
+                return null;
+            }
+            String suffix = ID_SEP + id;
+            for (UIComponent component : list) {
+                if (fqIds.get(component).endsWith(suffix)) {
+                    return component;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Test if a component found in this index is still a descendant of
+         * the given form with the same fully qualified id.
+         * @param component indexed component
+         * @param form indexed form
+         * @return {@code boolean}
+         */
+        boolean isCurrent(final UIComponent component, final Form form) {
+            UIComponent current = component;
+            while (current != null && current != form) {
+                current = current.getParent();
+            }
+            return current != null
+                    && fqIds.get(component).equals(
+                            getFullyQualifiedId(component));
+        }
+    }
+
+    /**
+     * Compiled index of virtual form id patterns.
+     * <p>
+     * Patterns are split into id segments and stored in tries: absolute
+     * patterns are matched from the {@code Form}, bare or partially qualified
+     * patterns are matched from the end of the fully qualified id, and
+     * partially qualified patterns ending with the wildcard are matched at
+     * any segment. Matching a fully qualified id is linear in its number of
+     * segments for the first two and does not depend on the number of
+     * patterns. Unusual patterns that contain empty segments are matched with
+     * {@link Form#fQIdMatchesPattern}.
+     * </p>
+     */
+    static final class IdPatternIndex {
+
+        /**
+         * Trie of absolute patterns, from the form.
+         */
+        private final Node absolute = new Node();
+
+        /**
+         * Reversed trie of bare or partially qualified patterns.
+         */
+        private final Node suffixes = new Node();
+
+        /**
+         * Trie of bare or partially qualified wildcard patterns.
+         */
+        private final Node infixes = new Node();
+
+        /**
+         * Patterns not compiled into a trie.
+         */
+        private final List<String> others = new ArrayList<String>();
+
+        /**
+         * True if a pattern matches every fully qualified id.
+         */
+        private boolean matchAll;
+
+        /**
+         * True if the infixes trie is not empty.
+         */
+        private boolean hasInfixes;
+
+        /**
+         * Compile the given patterns.
+         * @param patterns patterns to compile
+         */
+        IdPatternIndex(final List<String> patterns) {
+            for (String pattern : patterns) {
+                add(pattern);
+            }
+        }
+
+        /**
+         * Compile a pattern, invalid patterns are ignored since they never
+         * match.
+         * @param pattern pattern to compile
+         */
+        private void add(final String pattern) {
+            if (pattern == null
+                    || pattern.length() < 1
+                    || pattern.indexOf(' ') != -1) {
+                return;
+            }
+            if (pattern.endsWith(ID_SEP) && !pattern.equals(ID_SEP)) {
+                return;
+            }
+            String path = pattern;
+            boolean subtree = false;
+            int indexOfWild = pattern.indexOf(ID_WILD_CHAR);
+            if (indexOfWild != -1) {
+                if (indexOfWild != pattern.length() - 1
+                        || !pattern.endsWith(ID_SEP + ID_WILD)) {
+                    return;
+                }
+                subtree = true;
+                path = pattern.substring(0, pattern.length() - 2);
+                if (path.length() == 0) {
+                    matchAll = true;
+                    return;
+                }
+            }
+            boolean isAbsolute = path.startsWith(ID_SEP);
+            if (isAbsolute && path.length() == 1) {
+                if (subtree) {
+                    others.add(pattern);
+                } else {
+                    absolute.exact = true;
+                }
+                return;
+            }
+            String[] segments;
+            if (isAbsolute) {
+                segments = getSegments(path);
+            } else {
+                segments = getSegments(ID_SEP + path);
+            }
+            for (String segment : segments) {
+                if (segment.length() == 0) {
+                    others.add(pattern);
+                    return;
+                }
+            }
+            Node node;
+            if (isAbsolute) {
+                node = absolute;
+                for (String segment : segments) {
+                    node = node.add(segment);
+                }
+            } else if (subtree) {
+                node = infixes;
+                for (String segment : segments) {
+                    node = node.add(segment);
+                }
+                hasInfixes = true;
+            } else {
+                node = suffixes;
+                for (int i = segments.length - 1; i >= 0; i--) {
+                    node = node.add(segments[i]);
+                }
+            }
+            if (subtree) {
+                node.subtree = true;
+            } else {
+                node.exact = true;
+            }
+        }
+
+        /**
+         * Test if a fully qualified id matches one of the patterns.
+         * @param fqId fully qualified id
+         * @return {@code boolean}
+         */
+        boolean matches(final String fqId) {
+            if (!isValidFullyQualifiedId(fqId)) {
+                return false;
+            }
+            if (matchAll) {
+                return true;
+            }
+            String[] segments = getSegments(fqId);
+            int length = segments.length;
+
+            // absolute patterns
+            Node node = absolute;
+            if (length == 0 && node.exact) {
+                return true;
+            }
+            for (int i = 0; i < length; i++) {
+                node = node.get(segments[i]);
+                if (node == null) {
+                    break;
+                }
+                if (node.subtree || (node.exact && i == length - 1)) {
+                    return true;
+                }
+            }
+
+            // bare or partially qualified patterns
+            node = suffixes;
+            for (int i = length - 1; i >= 0; i--) {
+                node = node.get(segments[i]);
+                if (node == null) {
+                    break;
+                }
+                if (node.exact) {
+                    return true;
+                }
+            }
+
+            // bare or partially qualified wildcard patterns
+            for (int start = 0; hasInfixes && start < length; start++) {
+                node = infixes;
+                for (int i = start; i < length; i++) {
+                    node = node.get(segments[i]);
+                    if (node == null) {
+                        break;
+                    }
+                    if (node.subtree) {
+                        return true;
+                    }
+                }
+            }
+
+            for (String pattern : others) {
+                if (fQIdMatchesPattern(fqId, pattern)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Split a fully qualified id into its segments, the leading
+         * separator is dropped.
+         * @param fqId fully qualified id
+         * @return String[]
+         */
+        private static String[] getSegments(final String fqId) {
+            if (fqId.length() == 1) {
+                return new String[0];
+            }
+            List<String> segments = new ArrayList<String>();
+            int start = 1;
+            int end = fqId.indexOf(NamingContainer.SEPARATOR_CHAR, start);
+            while (end != -1) {
+                segments.add(fqId.substring(start, end));
+                start = end + 1;
+                end = fqId.indexOf(NamingContainer.SEPARATOR_CHAR, start);
+            }
+            segments.add(fqId.substring(start));
+            return segments.toArray(new String[segments.size()]);
+        }
+
+        /**
+         * Trie node.
+         */
+        private static final class Node {
+
+            /**
+             * Child nodes by segment.
+             */
+            private Map<String, Node> children;
+
+            /**
+             * True if a pattern ends at this node.
+             */
+            private boolean exact;
+
+            /**
+             * True if a wildcard pattern ends at this node.
+             */
+            private boolean subtree;
+
+            /**
+             * Get a child node.
+             * @param segment id segment
+             * @return Node or {@code null}
+             */
+            Node get(final String segment) {
+                if (children == null) {
+                    return null;
+                }
+                return children.get(segment);
+            }
+
+            /**
+             * Get or create a child node.
+             * @param segment id segment
+             * @return Node
+             */
+            Node add(final String segment) {
+                if (children == null) {
+                    children = new HashMap<String, Node>();
+                }
+                Node node = children.get(segment);
+                if (node == null) {
+                    node = new Node();
+                    children.put(segment, node);
+                }
+                return node;
+            }
+        }
+    }
+
     /**
      * Examine the participating ids that end in ID_WILD. If any of them match
      * the component's fully qualified id, then the component's children are
      * known to participate in the virtual form descriptor.
      *
-     * @param component UI component
+     * @param fqId fully qualified id of the component
      * @param vfd virtual form descriptor
      * @return {@code boolean}
      */
     private static boolean childrenAreKnownToParticipate(
-            final UIComponent component, final VirtualFormDescriptor vfd) {
-
-        if (vfd == null) {
-            return false;
-        }
+            final String fqId, final VirtualFormDescriptor vfd) {
 
-        String fqId = getFullyQualifiedId(component);
-        if (fqId == null) {
+        if (vfd == null || fqId == null) {
             return false;
         }
-
-        String[] participants = vfd.getParticipatingIds();
-        for (int i = 0; participants != null && i < participants.length; i++) {
-            String participant = participants[i];
-            String wildSuffix = ID_SEP + ID_WILD;
-            if (participant == null || !participant.endsWith(wildSuffix)) {
-                continue;
-            }
-            if (fQIdMatchesPattern(fqId, participant)) {
-                return true;
-            }
-        }
-        return false;
+        return vfd.getParticipantIndex(true).matches(fqId);
     }
 
     /**
@@ -1276,6 +1780,7 @@ public final class Form extends UIForm {
      *
      * @param parent A parent component whose children will be examined and
      * possibly erased
+     * @param parentFqId the fully qualified id of the parent, or {@code null}
      * @param contextualTables an array of UIData or TableRowGroup components in
      * the parent's ancestry (with the most distant ancestor as the first member
      * of the array), or {@code null} if the parent is not embedded within any
@@ -1283,10 +1788,17 @@ public final class Form extends UIForm {
      * @param contextualRows a parallel array of {@code Integer} or
      * {@code RowKey} objects representing a row in the corresponding contextual
      * table, or {@code null} if the parent is not embedded within any tables
+     * @param participants participation by fully qualified id, computed once
+     * per id for all the rows of the tables
+     * @param knownParents result of {@code childrenAreKnownToParticipate} by
+     * fully qualified id
      */
+    @SuppressWarnings("checkstyle:parameternumber")
     private void eraseVirtualFormNonParticipants(
-            final UIComponent parent, final Object[] contextualTables,
-            final Object[] contextualRows) {
+            final UIComponent parent, final String parentFqId,
+            final Object[] contextualTables, final Object[] contextualRows,
+            final Map<String, Boolean> participants,
+            final Map<String, Boolean> knownParents) {
 
         // Process all facets and children of this component
         // FIXME check the synchronization issue here
@@ -1296,10 +1808,12 @@ public final class Form extends UIForm {
             Iterator kids = parent.getFacetsAndChildren();
             while (kids.hasNext()) {
                 UIComponent kid = (UIComponent) kids.next();
+                String kidFqId = getChildFullyQualifiedId(parentFqId, kid);
                 // if this kid is an EditableValueHolder, and it does not
                 // participate, set submitted value to null
                 if (kid instanceof EditableValueHolder
-                        && !participatesInSubmittedVirtualForm(kid)) {
+                        && !participatesInSubmittedVirtualForm(kidFqId,
+                                participants)) {
                     EditableValueHolder kidEvh = (EditableValueHolder) kid;
                     //cache the submitted value to be erased in eraseMap
                     Object submittedValueToErase = kidEvh.getSubmittedValue();
@@ -1316,8 +1830,16 @@ public final class Form extends UIForm {
                 // if children of kid are known to participate in
                 // submittedVirtualForm,
                 // then no need to recurse on kid
-                if (childrenAreKnownToParticipate(kid, submittedVirtualForm)) {
-                    continue;   //continue to next kid
+                if (kidFqId != null) {
+                    Boolean known = knownParents.get(kidFqId);
+                    if (known == null) {
+                        known = childrenAreKnownToParticipate(kidFqId,
+                                submittedVirtualForm);
+                        knownParents.put(kidFqId, known);
+                    }
+                    if (known) {
+                        continue;   //continue to next kid
+                    }
                 }
 
                 // recurse. if kid is a UIData or TableRowGroup, perform a
@@ -1334,8 +1856,9 @@ public final class Form extends UIForm {
                                 appendToArray(contextualTables, kidTable);
                         Object[] localContextualRows =
                                 appendToArray(contextualRows, rowIndex);
-                        eraseVirtualFormNonParticipants(kidTable,
-                                localContextualTables, localContextualRows);
+                        eraseVirtualFormNonParticipants(kidTable, kidFqId,
+                                localContextualTables, localContextualRows,
+                                participants, knownParents);
                         kidTable.setRowIndex(++rowIndex);
                     }
                     kidTable.setRowIndex(originalRowIndex);
@@ -1356,15 +1879,17 @@ public final class Form extends UIForm {
                                     appendToArray(contextualTables, group);
                             Object[] localContextualRows =
                                     appendToArray(contextualRows, rowKey);
-                            eraseVirtualFormNonParticipants(group,
-                                    localContextualTables, localContextualRows);
+                            eraseVirtualFormNonParticipants(group, kidFqId,
+                                    localContextualTables, localContextualRows,
+                                    participants, knownParents);
                         }
                     }
                     // Restore RowKey.
                     group.setRowKey(oldRowKey);
                 } else {
-                    eraseVirtualFormNonParticipants(kid, contextualTables,
-                            contextualRows);
+                    eraseVirtualFormNonParticipants(kid, kidFqId,
+                            contextualTables, contextualRows, participants,
+                            knownParents);
                 }
             }
         }
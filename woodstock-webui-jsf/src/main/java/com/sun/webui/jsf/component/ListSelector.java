@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -17,8 +18,10 @@
 package com.sun.webui.jsf.component;
 
 import com.sun.faces.annotation.Property;
+import com.sun.faces.extensions.avatar.lifecycle.AsyncResponse;
 import com.sun.webui.jsf.model.Option;
 import com.sun.webui.jsf.model.OptionGroup;
+import com.sun.webui.jsf.model.OptionSource;
 import com.sun.webui.jsf.model.OptionTitle;
 import com.sun.webui.jsf.model.Separator;
 import com.sun.webui.jsf.model.list.EndGroup;
@@ -34,13 +37,19 @@ import java.beans.Beans;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import jakarta.el.ValueExpression;
 import jakarta.faces.FacesException;
 import jakarta.faces.component.NamingContainer;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.convert.ConverterException;
 
 /**
  * Base component for UI components that allow the user to make a selection from
@@ -54,6 +63,17 @@ public class ListSelector extends Selector implements ListManager,
      */
     private static final boolean DEBUG = false;
 
+    /**
+     * Number of options fetched from an {@link OptionSource} when rendering.
+     */
+    private static final int OPTION_PAGE_SIZE = 100;
+
+    /**
+     * The FacesContext attribute key used to store the option value sets.
+     */
+    private static final String OPTION_VALUES_KEY =
+            "com.sun.webui.jsf.component.ListSelector.optionValues";
+
     /**
      * Holds the options for this component.
      */
@@ -176,6 +196,24 @@ public class ListSelector extends Selector implements ListManager,
         return "com.sun.webui.jsf.ListSelector";
     }
 
+    /**
+     * Ajax requests with an {@code XJSON} header made to a list whose items
+     * are bound to an {@link OptionSource} are answered with pages of
+     * options.
+     * @return String
+     */
+    @Override
+    public String getRendererType() {
+        if (AsyncResponse.isAjaxRequest() && getFacesContext()
+                .getExternalContext().getRequestHeaderMap()
+                .containsKey(AsyncResponse.XJSON_HEADER)
+                && getOptionSource() != null) {
+            return "com.sun.webui.jsf.ajax.ListSelector";
+        } else {
+            return super.getRendererType();
+        }
+    }
+
     /**
      * Check that this component has a value binding that matches the value of
      * the "multiple" attribute.
@@ -293,6 +331,8 @@ public class ListSelector extends Selector implements ListManager,
         } else if (optionsObject instanceof Map) {
             Collection itemsCollection = ((Map) optionsObject).values();
             options = (Option[]) (itemsCollection.toArray());
+        } else if (optionsObject instanceof OptionSource) {
+            options = getOptionWindow((OptionSource) optionsObject);
         } else {
             // The items attribute has not been specified
             // do nothing
@@ -301,6 +341,101 @@ public class ListSelector extends Selector implements ListManager,
         return options;
     }
 
+    /**
+     * Get the {@link OptionSource} the items are bound to.
+     * @return OptionSource, or {@code null} if the items are not an
+     * {@code OptionSource}
+     */
+    public OptionSource getOptionSource() {
+        Object optionsObject = getItems();
+        if (optionsObject instanceof OptionSource) {
+            return (OptionSource) optionsObject;
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of options fetched from an {@link OptionSource} when
+     * rendering. Further options are fetched over AJAX.
+     * @return int
+     */
+    public int getOptionPageSize() {
+        return OPTION_PAGE_SIZE;
+    }
+
+    /**
+     * Get the options to render from an {@link OptionSource}: the first page
+     * of options, followed by the options of the selected values that are not
+     * part of the first page so that the selection is always rendered.
+     * @param source option source
+     * @return Option[]
+     */
+    protected Option[] getOptionWindow(final OptionSource source) {
+
+        if (DEBUG) {
+            log("getOptionWindow()");
+        }
+        Option[] page = source.getOptions(0, getOptionPageSize());
+        ArrayList<Option> options = new ArrayList<Option>(page.length);
+        Set<Object> values = new HashSet<Object>();
+        for (Option option : page) {
+            options.add(option);
+            if (option != null && option.getValue() != null) {
+                values.add(option.getValue());
+            }
+        }
+        for (Object value : getSelectedObjects()) {
+            if (value == null || values.contains(value)) {
+                continue;
+            }
+            Option option = source.getOption(value);
+            if (option != null) {
+                options.add(option);
+                values.add(value);
+            }
+        }
+        return options.toArray(new Option[options.size()]);
+    }
+
+    /**
+     * Get the current selections as objects. Submitted values are converted,
+     * values that cannot be converted are ignored.
+     * @return list of selected objects
+     */
+    private java.util.List<Object> getSelectedObjects() {
+        ArrayList<Object> selected = new ArrayList<Object>();
+        Object value = getSubmittedValue();
+        if (value instanceof String[]) {
+            FacesContext context = FacesContext.getCurrentInstance();
+            for (String s : (String[]) value) {
+                try {
+                    selected.add(ConversionUtilities
+                            .convertValueToObject(this, s, context));
+                } catch (ConverterException e) {
+                    if (DEBUG) {
+                        log("\tCannot convert " + s);
+                    }
+                }
+            }
+            return selected;
+        }
+        value = getValue();
+        if (value == null) {
+            return selected;
+        }
+        if (value instanceof Collection) {
+            selected.addAll((Collection) value);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            for (int counter = 0; counter < length; ++counter) {
+                selected.add(Array.get(value, counter));
+            }
+        } else {
+            selected.add(value);
+        }
+        return selected;
+    }
+
     /**
      * Process the specified options.
      * @param options options to process
@@ -446,10 +581,30 @@ public class ListSelector extends Selector implements ListManager,
         if (DEBUG) {
             log("markSelectedListItems()");
         }
+        // Index the selected values once, counting duplicates so that each
+        // selected value marks at most one option, in option order.
+        // A null value never matches an option.
+        Map<Object, Integer> remaining = new HashMap<Object, Integer>();
+        boolean unmatched = false;
+        for (Object o : list) {
+            if (o == null) {
+                unmatched = true;
+                continue;
+            }
+            Integer count = remaining.get(o);
+            if (count == null) {
+                remaining.put(o, 1);
+            } else {
+                remaining.put(o, count + 1);
+            }
+        }
+
+        // Collect the option values on the way, for the validators.
+        Set<Object> optionValues = new HashSet<Object>();
+
         ListItem option;
         Object nextItem;
         Iterator items = listItems.iterator();
-        Iterator selected;
 
         while (items.hasNext()) {
             nextItem = items.next();
@@ -461,6 +616,9 @@ public class ListSelector extends Selector implements ListManager,
             }
 
             option = (ListItem) nextItem;
+            if (option.getValueObject() != null) {
+                optionValues.add(option.getValueObject());
+            }
 
             // By default, the option will not be marked as selected
             option.setSelected(false);
@@ -473,47 +631,38 @@ public class ListSelector extends Selector implements ListManager,
 
             // There are no more selected items, continue with the
             // next option
-            if (list.isEmpty()) {
+            if (remaining.isEmpty()) {
                 if (DEBUG) {
                     log("No more selected items");
                 }
                 continue;
             }
 
-            // There are still selected items to account for
-            selected = list.iterator();
-            while (selected.hasNext()) {
-                if (processed) {
-                    Object o = selected.next();
-                    if (DEBUG) {
-                        log("\tSelected object value: " + String.valueOf(o));
-                        log("\tSelected object type: "
-                                + o.getClass().getName());
-                    }
-                    if (option.getValueObject().equals(o)) {
-                        if (DEBUG) {
-                            log("\tFound a match: " + String.valueOf(o));
-                        }
-                        option.setSelected(true);
-                        list.remove(o);
-                        break;
-                    }
-                } else {
-                    String s = (String) selected.next();
-                    if (s.equals(option.getValue())) {
-                        if (DEBUG) {
-                            log("\tFound a match: " + s);
-                        }
-                        option.setSelected(true);
-                        list.remove(s);
-                        break;
-                    }
-                }
+            Object key;
+            if (processed) {
+                key = option.getValueObject();
+            } else {
+                key = option.getValue();
+            }
+            Integer count = remaining.get(key);
+            if (count == null) {
+                continue;
+            }
+            if (DEBUG) {
+                log("\tFound a match: " + String.valueOf(key));
+            }
+            option.setSelected(true);
+            if (count == 1) {
+                remaining.remove(key);
+            } else {
+                remaining.put(key, count - 1);
             }
         }
 
-        // At this point the selected list should be empty.
-        if (!list.isEmpty() && !Beans.isDesignTime()) {
+        setOptionValues(FacesContext.getCurrentInstance(), optionValues);
+
+        // At this point all the selected values should have been matched.
+        if ((unmatched || !remaining.isEmpty()) && !Beans.isDesignTime()) {
             String msg = MessageUtil.getMessage(
                     "com.sun.webui.jsf.resources.LogMessages",
                     "List.badValue",
@@ -524,6 +673,78 @@ public class ListSelector extends Selector implements ListManager,
         }
     }
 
+    /**
+     * Get the values of the options of this component as an immutable set.
+     * The set is built once per request for the current list items, either
+     * by the selection marking pass of the renderer or by the first call to
+     * this method, and is used by {@code ValueMatchesOptionsValidator} to
+     * check submitted values without scanning the options.
+     * @return set of option value objects
+     */
+    public Set<Object> getOptionValues() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        Iterator items = getListItems();
+        if (context != null) {
+            Map<ListSelector, OptionValues> map =
+                    getOptionValuesMap(context, false);
+            if (map != null) {
+                OptionValues optionValues = map.get(this);
+                if (optionValues != null
+                        && optionValues.getListItems() == listItems) {
+                    return optionValues.getValues();
+                }
+            }
+        }
+        Set<Object> values = new HashSet<Object>();
+        while (items.hasNext()) {
+            Object item = items.next();
+            if (item instanceof ListItem
+                    && ((ListItem) item).getValueObject() != null) {
+                values.add(((ListItem) item).getValueObject());
+            }
+        }
+        return setOptionValues(context, values);
+    }
+
+    /**
+     * Store the option values of the current list items for this request.
+     * @param context faces context, may be {@code null}
+     * @param values option values
+     * @return the immutable set of option values
+     */
+    private Set<Object> setOptionValues(final FacesContext context,
+            final Set<Object> values) {
+
+        Set<Object> immutable = Collections.unmodifiableSet(values);
+        if (context != null) {
+            getOptionValuesMap(context, true).put(this,
+                    new OptionValues(listItems, immutable));
+        }
+        return immutable;
+    }
+
+    /**
+     * Helper method to get the map of option value sets.
+     *
+     * @param context FacesContext for the current request.
+     * @param create Flag indicating the map should be created.
+     * @return Map of OptionValues, keyed by ListSelector.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<ListSelector, OptionValues> getOptionValuesMap(
+            final FacesContext context, final boolean create) {
+
+        Map<Object, Object> attributes = context.getAttributes();
+        Map<ListSelector, OptionValues> map =
+                (Map<ListSelector, OptionValues>) attributes
+                        .get(OPTION_VALUES_KEY);
+        if (map == null && create) {
+            map = new IdentityHashMap<ListSelector, OptionValues>();
+            attributes.put(OPTION_VALUES_KEY, map);
+        }
+        return map;
+    }
+
     /**
      * Add an option to the list.
      * @param si separator item
@@ -1088,4 +1309,46 @@ public class ListSelector extends Selector implements ListManager,
     private static void log(final String msg) {
         LogUtil.finest(AddRemove.class.getName() + "::" + msg);
     }
+
+    /**
+     * Option values computed for the current request.
+     */
+    private static final class OptionValues {
+
+        /**
+         * The list items the values were computed from.
+         */
+        private final Object listItems;
+
+        /**
+         * The option values.
+         */
+        private final Set<Object> values;
+
+        /**
+         * Create a new instance.
+         * @param newListItems list items
+         * @param newValues option values
+         */
+        OptionValues(final Object newListItems, final Set<Object> newValues) {
+            this.listItems = newListItems;
+            this.values = newValues;
+        }
+
+        /**
+         * Get the list items the values were computed from.
+         * @return Object
+         */
+        Object getListItems() {
+            return listItems;
+        }
+
+        /**
+         * Get the option values.
+         * @return Set
+         */
+        Set<Object> getValues() {
+            return values;
+        }
+    }
 }
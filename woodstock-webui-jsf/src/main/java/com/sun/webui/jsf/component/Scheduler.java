@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -35,6 +36,7 @@ import com.sun.webui.jsf.util.JavaScriptUtilities;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import com.sun.webui.jsf.util.ConversionUtilities;
 import com.sun.webui.jsf.util.LogUtil;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import com.sun.webui.jsf.validator.DateInRangeValidator;
 import com.sun.webui.theme.Theme;
 import java.io.IOException;
@@ -1368,6 +1370,11 @@ public final class Scheduler extends WebuiInput
         return getDatePicker().getDateFormat();
     }
 
+    @Override
+    public SharedDateFormat getSharedDateFormat() {
+        return getDatePicker().getSharedDateFormat();
+    }
+
     /**
      * Get the JS object name.
      * @param context faces context
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -26,8 +27,10 @@ import com.sun.webui.jsf.util.ThemeUtilities;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import jakarta.el.ValueExpression;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.component.NamingContainer;
@@ -186,24 +189,10 @@ public class Table extends UIComponentBase implements NamingContainer {
     public static final String TITLE_FACET = "title";
 
     /**
-     * The number of rows to be displayed per page for a paginated table.
+     * The FacesContext attribute key used to store table statistics.
      */
-    private int rows = -1;
-
-    /**
-     * The max number of pages.
-     */
-    private int first = -1;
-
-    /**
-     * The number of rows.
-     */
-    private int rowCount = -1;
-
-    /**
-     * The max number of pages.
-     */
-    private int pageCount = -1;
+    private static final String STATS_KEY =
+            "com.sun.webui.jsf.component.Table.stats";
 
     /**
      * The max number of columns.
@@ -215,11 +204,6 @@ public class Table extends UIComponentBase implements NamingContainer {
      */
     private int columnHeadersCount = -1;
 
-    /**
-     * The number of hidden selected rows.
-     */
-    private int hiddenSelectedRowsCount = -1;
-
     /**
      * The number of column footers.
      */
@@ -1037,13 +1021,9 @@ public class Table extends UIComponentBase implements NamingContainer {
      * </p>
      */
     public void clear() {
-        rows = -1;
-        first = -1;
-        rowCount = -1;
-        pageCount = -1;
+        clearStats();
         columnCount = -1;
         columnHeadersCount = -1;
-        hiddenSelectedRowsCount = -1;
         tableColumnFootersCount = -1;
         tableRowGroupChildren = null;
         tableRowGroupCount = -1;
@@ -1094,17 +1074,19 @@ public class Table extends UIComponentBase implements NamingContainer {
      * @return The number of hidden selected rows.
      */
     public int getHiddenSelectedRowsCount() {
+        TableStats stats = getStats();
         // Get hidden selected rows count.
-        if (hiddenSelectedRowsCount == -1) {
+        if (stats.hiddenSelectedRowsCount == -1) {
             // Initialize min value.
-            hiddenSelectedRowsCount = 0;
+            int count = 0;
             Iterator kids = getTableRowGroupChildren();
             while (kids.hasNext()) {
                 TableRowGroup group = (TableRowGroup) kids.next();
-                hiddenSelectedRowsCount += group.getHiddenSelectedRowsCount();
+                count += group.getHiddenSelectedRowsCount();
             }
+            stats.hiddenSelectedRowsCount = count;
         }
-        return hiddenSelectedRowsCount;
+        return stats.hiddenSelectedRowsCount;
     }
 
     /**
@@ -1114,16 +1096,7 @@ public class Table extends UIComponentBase implements NamingContainer {
      * @return The first row to be displayed.
      */
     public int getFirst() {
-        // Get first row.
-        if (first == -1) {
-            first = 0; // Initialize min value.
-            Iterator kids = getTableRowGroupChildren();
-            while (kids.hasNext()) {
-                TableRowGroup group = (TableRowGroup) kids.next();
-                first += group.getFirst();
-            }
-        }
-        return first;
+        return getPagingStats().first;
     }
 
     /**
@@ -1132,20 +1105,7 @@ public class Table extends UIComponentBase implements NamingContainer {
      * @return The max number of pages.
      */
     public int getPageCount() {
-        // Get page count.
-        if (pageCount == -1) {
-            // Initialize min value.
-            pageCount = 1;
-            Iterator kids = getTableRowGroupChildren();
-            while (kids.hasNext()) {
-                TableRowGroup group = (TableRowGroup) kids.next();
-                int pages = group.getPages();
-                if (pageCount < pages) {
-                    pageCount = pages;
-                }
-            }
-        }
-        return pageCount;
+        return getPagingStats().pageCount;
     }
 
     /**
@@ -1156,17 +1116,7 @@ public class Table extends UIComponentBase implements NamingContainer {
      * table.
      */
     public int getRows() {
-        // Get rows per page.
-        if (rows == -1) {
-            // Initialize min value.
-            rows = 0;
-            Iterator kids = getTableRowGroupChildren();
-            while (kids.hasNext()) {
-                TableRowGroup group = (TableRowGroup) kids.next();
-                rows += group.getRows();
-            }
-        }
-        return rows;
+        return getPagingStats().rows;
     }
 
     /**
@@ -1176,17 +1126,7 @@ public class Table extends UIComponentBase implements NamingContainer {
      * @return The number of rows.
      */
     public int getRowCount() {
-        // Get row count.
-        if (rowCount == -1) {
-            // Initialize min value.
-            rowCount = 0;
-            Iterator kids = getTableRowGroupChildren();
-            while (kids.hasNext()) {
-                TableRowGroup group = (TableRowGroup) kids.next();
-                rowCount += group.getRowCount();
-            }
-        }
-        return rowCount;
+        return getPagingStats().rowCount;
     }
 
     /**
@@ -3515,6 +3455,123 @@ public class Table extends UIComponentBase implements NamingContainer {
         return values;
     }
 
+    /**
+     * Clear the statistics snapshot of the current request.
+     * <p>
+     * Note: This method is invoked by TableRowGroup children when sort,
+     * filter, or pagination properties change.
+     * </p>
+     */
+    void clearStats() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return;
+        }
+        Map<Table, TableStats> map = getStatsMap(context, false);
+        if (map != null) {
+            map.remove(this);
+        }
+    }
+
+    /**
+     * Clear the selection counts of the statistics snapshot of the current
+     * request.
+     * <p>
+     * Note: This method is invoked by TableRowGroup children when the
+     * selected state of rows may have changed.
+     * </p>
+     */
+    void clearSelectionStats() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null) {
+            return;
+        }
+        Map<Table, TableStats> map = getStatsMap(context, false);
+        if (map != null) {
+            TableStats stats = map.get(this);
+            if (stats != null) {
+                stats.hiddenSelectedRowsCount = -1;
+            }
+        }
+    }
+
+    /**
+     * Helper method to get the statistics snapshot of the current request.
+     * <p>
+     * Note: Counts are computed once per request, as facets such as the table
+     * header, footer, and actions may query them many times while rendering.
+     * The snapshot is stored in the FacesContext attributes, so that it never
+     * outlives the request.
+     * </p>
+     *
+     * @return TableStats
+     */
+    private TableStats getStats() {
+        FacesContext context = getFacesContext();
+        if (context == null) {
+            // Not available outside of a request, don't cache.
+            return new TableStats();
+        }
+        Map<Table, TableStats> map = getStatsMap(context, true);
+        TableStats stats = map.get(this);
+        if (stats == null) {
+            stats = new TableStats();
+            map.put(this, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Helper method to get the statistics snapshot of the current request,
+     * with row, page, and pagination counts computed.
+     *
+     * @return TableStats
+     */
+    private TableStats getPagingStats() {
+        TableStats stats = getStats();
+        if (stats.rowCount == -1) {
+            // Compute all counts in a single pass over TableRowGroup children.
+            int newRowCount = 0;
+            int newPageCount = 1;
+            int newFirst = 0;
+            int newRows = 0;
+            Iterator kids = getTableRowGroupChildren();
+            while (kids.hasNext()) {
+                TableRowGroup group = (TableRowGroup) kids.next();
+                newRowCount += group.getRowCount();
+                newPageCount = Math.max(newPageCount, group.getPages());
+                newFirst += group.getFirst();
+                newRows += group.getRows();
+            }
+            stats.pageCount = newPageCount;
+            stats.first = newFirst;
+            stats.rows = newRows;
+            stats.rowCount = newRowCount;
+        }
+        return stats;
+    }
+
+    /**
+     * Helper method to get the map of statistics snapshots.
+     *
+     * @param context FacesContext for the current request.
+     * @param create Flag indicating the map should be created.
+     * @return Map of TableStats, keyed by Table.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Table, TableStats> getStatsMap(
+            final FacesContext context, final boolean create) {
+
+        Map<Object, Object> attributes = context.getAttributes();
+        Map<Table, TableStats> map =
+                (Map<Table, TableStats>) attributes.get(STATS_KEY);
+        if (map == null && create) {
+            map = new IdentityHashMap<Table, TableStats>();
+            attributes.put(STATS_KEY, map);
+        }
+        return map;
+    }
+
     /**
      * Log fine messages.
      * @param method method to log
@@ -3529,4 +3586,35 @@ public class Table extends UIComponentBase implements NamingContainer {
                     + msg);
         }
     }
+
+    /**
+     * Table statistics computed for the current request.
+     */
+    private static final class TableStats {
+
+        /**
+         * The number of rows.
+         */
+        private int rowCount = -1;
+
+        /**
+         * The max number of pages.
+         */
+        private int pageCount = -1;
+
+        /**
+         * The zero-relative row number of the first row to be displayed.
+         */
+        private int first = -1;
+
+        /**
+         * The number of rows to be displayed per page.
+         */
+        private int rows = -1;
+
+        /**
+         * The number of hidden selected rows.
+         */
+        private int hiddenSelectedRowsCount = -1;
+    }
 }
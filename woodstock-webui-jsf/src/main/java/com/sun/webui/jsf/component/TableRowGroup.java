@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,18 +31,26 @@ import com.sun.data.provider.impl.ObjectArrayDataProvider;
 import com.sun.data.provider.impl.ObjectListDataProvider;
 import com.sun.data.provider.impl.TableRowDataProvider;
 import com.sun.webui.theme.Theme;
+import com.sun.webui.jsf.model.TableDataPage;
+import com.sun.webui.jsf.model.TableDataQueryProvider;
+import com.sun.webui.jsf.model.TableDataRevisionProvider;
 import com.sun.webui.jsf.theme.ThemeStyles;
 import com.sun.webui.jsf.util.ConversionUtilities;
 import com.sun.webui.jsf.util.LogUtil;
+import com.sun.webui.jsf.util.SortedOrderCache;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import java.beans.Beans;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import jakarta.el.ValueExpression;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
@@ -171,12 +180,47 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
             "_tableColumnFooterBar";
 
     /**
-     * This map contains SavedState instances for each descendant component,
-     * keyed by the client identifier of the descendant. Because descendant
-     * client identifiers will contain the RowKey value of the parent, per-row
-     * state information is actually preserved.
+     * This map contains SavedRows instances keyed by the client identifier of
+     * this component without RowKey, which only varies when nested within
+     * another TableRowGroup. Each SavedRows instance holds the per-row state
+     * of the EditableValueHolder descendants in columnar form, i.e. one
+     * SavedState instance per descendant with arrays indexed by row position.
      */
-    private Map<String, SavedState> saved = new HashMap<String, SavedState>();
+    private Map<String, SavedRows> saved = new HashMap<String, SavedRows>();
+
+    /**
+     * Flattened list of the descendants of the rendered TableColumn children.
+     * This list is built once per phase rather than walking the component
+     * tree for each row.
+     */
+    private transient UIComponent[] descendants = null;
+
+    /**
+     * The EditableValueHolder components found in the list of descendants.
+     */
+    private transient UIComponent[] editableDescendants = null;
+
+    /**
+     * The keys of the EditableValueHolder descendants, relative to this
+     * component.
+     */
+    private transient String[] editableKeys = null;
+
+    /**
+     * The client identifier without RowKey the saved state was resolved for.
+     */
+    private transient String resolvedClientId = null;
+
+    /**
+     * The saved rows resolved for the current client identifier.
+     */
+    private transient SavedRows resolvedRows = null;
+
+    /**
+     * The saved state columns resolved for the EditableValueHolder
+     * descendants.
+     */
+    private transient SavedState[] resolvedStates = null;
 
     /**
      * TableDataFilter object used to apply filter. This object is not part of
@@ -229,6 +273,37 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      */
     private RowKey[] sortedRowKeys = null;
 
+    /**
+     * Page of RowKey objects obtained from a TableDataQueryProvider. This page
+     * will be cached and used to iterate over children during the decode,
+     * validate, and update phases.
+     */
+    private TableDataPage queriedPage = null;
+
+    /**
+     * The first row of the cached page obtained from a TableDataQueryProvider.
+     */
+    private int queriedFirst = -1;
+
+    /**
+     * The number of rows of the cached page obtained from a
+     * TableDataQueryProvider.
+     */
+    private int queriedRows = -1;
+
+    /**
+     * Array containing the selected RowKey objects in filtered order. This
+     * selection index is built once and cached until the selection may have
+     * changed (e.g., when the model is updated, the filter is cleared, or the
+     * Table ancestor is rendered).
+     */
+    private transient RowKey[] selectedRowKeys = null;
+
+    /**
+     * Row identifiers of the RowKey objects in the selection index.
+     */
+    private transient Set<String> selectedRowIds = null;
+
     /**
      * The number of columns to be rendered.
      */
@@ -818,7 +893,11 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         tableColumnChildren = null;
         filteredRowKeys = null;
         sortedRowKeys = null;
+        queriedPage = null;
         columnCount = -1;
+        clearDescendants();
+        clearSelectionIndex();
+        clearTableStats();
 
         // Clear properties of TableColumn children.
         Iterator kids = getTableColumnChildren();
@@ -877,7 +956,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         // Get column count.
         if (columnCount == -1) {
             columnCount = 0; // Initialize min value.
-            Iterator kids = getTableColumnChildren();
+            Iterator<TableColumn> kids = getTableColumnChildren();
             while (kids.hasNext()) {
                 TableColumn col = (TableColumn) kids.next();
                 columnCount += col.getColumnCount();
@@ -928,6 +1007,15 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         String msg = null;
         if (getEmptyDataMsg() != null) {
             msg = getEmptyDataMsg();
+        } else if (getTableDataQueryProvider() != null) {
+            // Count the unfiltered rows without fetching them.
+            TableDataPage page = getTableDataQueryProvider().executeQuery(
+                    null, null, 0, 1);
+            if (page != null && page.getRowCount() > 0) {
+                msg = theme.getMessage("table.filteredData");
+            } else {
+                msg = theme.getMessage("table.emptyData");
+            }
         } else {
             // Get unfiltered row keys.
             RowKey[] rowKeys = getRowKeys();
@@ -1038,6 +1126,9 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         setPage(1);
         filteredRowKeys = null; // Clear filtered row keys.
         sortedRowKeys = null; // Clear sorted row keys.
+        queriedPage = null; // Clear queried page.
+        clearSelectionIndex();
+        clearTableStats();
     }
 
     /**
@@ -1048,6 +1139,10 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * size of the returned array may be less than the total number of RowKey
      * objects for the underlying TableDataProvider.
      * </p><p>
+     * Note: When the underlying TableDataProvider implements
+     * TableDataQueryProvider, this method queries the keys of every row
+     * matching the filter. Use getRenderedRowKeys for the rendered page.
+     * </p><p>
      * Note: The returned RowKey objects are cached. If the TableDataFilter
      * instance used by this component is modified directly, invoke the
      * clearFilter method to clear the previous filter.
@@ -1059,10 +1154,16 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         // Initialize RowKey objects, if not cached already.
         if (filteredRowKeys != null) {
             return filteredRowKeys;
-        } else {
-            filteredRowKeys = getRowKeys();
         }
 
+        // Let the data source filter rows when query push-down is supported.
+        TableDataQueryProvider query = getTableDataQueryProvider();
+        if (query != null) {
+            filteredRowKeys = getQueriedRowKeys(query);
+            return filteredRowKeys;
+        }
+        filteredRowKeys = getRowKeys();
+
         // Do not attempt to filter with a null provider.
         TableDataProvider tableProvider = getTableRowDataProvider().
                 getTableDataProvider();
@@ -1142,6 +1243,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     public void setTableDataFilter(final TableDataFilter newFilter) {
         // Method is overriden because TableDataFilter is not serializable.
         this.filter = newFilter;
+        clearTableStats();
     }
 
     /**
@@ -1159,35 +1261,43 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     public int getFirst() {
         // Ensure the first row is less than the row number of the last page.
         int last = getLast();
-        int firstRow;
-        if (isPaginated()) {
-            int zFirst;
-            if (this.firstSet) {
-                zFirst = this.first;
-            } else {
-                ValueExpression vb = getValueExpression("first");
-                if (vb != null) {
-                    Object result = vb.getValue(getFacesContext()
-                            .getELContext());
-                    if (result == null) {
-                        zFirst = Integer.MIN_VALUE;
-                    } else {
-                        zFirst = ((Integer) result);
-                    }
-                } else {
-                    zFirst = 0;
-                }
-            }
-            firstRow = Math.max(0, zFirst);
-        } else {
-            firstRow = 0;
-        }
+        int firstRow = getRequestedFirst();
         if (firstRow < last) {
             return firstRow;
         }
         return last;
     }
 
+    /**
+     * Get the zero-relative row number of the first row as requested, without
+     * taking the number of available rows into account.
+     *
+     * @return The requested first row number.
+     */
+    private int getRequestedFirst() {
+        if (!isPaginated()) {
+            return 0;
+        }
+        int zFirst;
+        if (this.firstSet) {
+            zFirst = this.first;
+        } else {
+            ValueExpression vb = getValueExpression("first");
+            if (vb != null) {
+                Object result = vb.getValue(getFacesContext()
+                        .getELContext());
+                if (result == null) {
+                    zFirst = Integer.MIN_VALUE;
+                } else {
+                    zFirst = ((Integer) result);
+                }
+            } else {
+                zFirst = 0;
+            }
+        }
+        return Math.max(0, zFirst);
+    }
+
     /**
      * Set the zero-relative row number of the first row to be displayed for a
      * paginated table.
@@ -1214,6 +1324,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         }
         this.first = newFirst;
         this.firstSet = true;
+        clearTableStats();
     }
 
     /**
@@ -1297,7 +1408,10 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         if (!paginatedSet) {
             Table table = getTableAncestor();
             if (table != null) {
-                setPaginated(table.isPaginationControls());
+                // Initialize without clearing table statistics, which may be
+                // in the process of being computed.
+                paginated = table.isPaginationControls();
+                paginatedSet = true;
             } else {
                 log("isPaginated",
                         "Cannot initialize paginated state, Table is null");
@@ -1353,6 +1467,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     public void setPaginated(final boolean newPaginated) {
         this.paginated = newPaginated;
         paginatedSet = true;
+        clearTableStats();
     }
 
     /**
@@ -1401,6 +1516,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         }
         this.rows = newRows;
         this.rowsSet = true;
+        clearTableStats();
     }
 
     /**
@@ -1499,6 +1615,17 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return The number of rows in the underlying TableDataProvider.
      */
     public int getRowCount() {
+        // Use the total row count of the queried page, if applicable.
+        TableDataQueryProvider query = getTableDataQueryProvider();
+        if (query != null) {
+            int firstRow;
+            if (queriedPage != null) {
+                firstRow = queriedFirst;
+            } else {
+                firstRow = getRequestedFirst();
+            }
+            return getQueriedPage(query, firstRow).getRowCount();
+        }
         RowKey[] rowKeys = getFilteredRowKeys();
         if (rowKeys != null) {
             return rowKeys.length;
@@ -1612,6 +1739,80 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         return provider;
     }
 
+    /**
+     * Get the TableDataQueryProvider used to push filtering, sorting, and
+     * pagination down to the underlying data source.
+     * <p>
+     * Note: Query push-down is used when the underlying TableDataProvider
+     * implements the TableDataQueryProvider interface. Dummy data is used
+     * instead during design-time.
+     * </p>
+     *
+     * @return The TableDataQueryProvider or null if the underlying
+     * TableDataProvider does not support query push-down.
+     */
+    protected TableDataQueryProvider getTableDataQueryProvider() {
+        if (Beans.isDesignTime()) {
+            return null;
+        }
+        TableDataProvider tableProvider = getTableRowDataProvider().
+                getTableDataProvider();
+        if (tableProvider instanceof TableDataQueryProvider) {
+            return (TableDataQueryProvider) tableProvider;
+        }
+        return null;
+    }
+
+    /**
+     * Helper method to get the page of RowKey objects starting at the given
+     * row from a TableDataQueryProvider. The page is cached until the first
+     * row or the number of rows to be displayed changes, or until the sort or
+     * filter is cleared.
+     *
+     * @param query The TableDataQueryProvider to query.
+     * @param firstRow The zero-relative row number of the first row.
+     * @return The queried page.
+     */
+    private TableDataPage getQueriedPage(final TableDataQueryProvider query,
+            final int firstRow) {
+
+        int tableRows = getRows();
+        if (queriedPage == null
+                || queriedFirst != firstRow
+                || queriedRows != tableRows) {
+            log("getQueriedPage", "Querying TableDataQueryProvider");
+            queriedPage = query.executeQuery(
+                    getTableDataFilter().getFilterCriteria(),
+                    getTableDataSorter().getSortCriteria(),
+                    firstRow, tableRows);
+            if (queriedPage == null) {
+                queriedPage = new TableDataPage(null, 0);
+            }
+            queriedFirst = firstRow;
+            queriedRows = tableRows;
+        }
+        return queriedPage;
+    }
+
+    /**
+     * Helper method to get all filtered and sorted RowKey objects from a
+     * TableDataQueryProvider.
+     *
+     * @param query The TableDataQueryProvider to query.
+     * @return An array containing filtered and sorted RowKey objects.
+     */
+    private RowKey[] getQueriedRowKeys(final TableDataQueryProvider query) {
+        log("getQueriedRowKeys", "Querying all rows of"
+                + " TableDataQueryProvider");
+        TableDataPage page = query.executeQuery(
+                getTableDataFilter().getFilterCriteria(),
+                getTableDataSorter().getSortCriteria(), 0, 0);
+        if (page == null) {
+            return new RowKey[0];
+        }
+        return page.getRowKeys();
+    }
+
     /**
      * Get the data type of the data element referenced by the given FieldKey.
      *
@@ -1638,6 +1839,12 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return An array of RowKey objects.
      */
     public RowKey[] getRenderedRowKeys() {
+        // Only the rendered page is fetched when query push-down is supported.
+        TableDataQueryProvider query = getTableDataQueryProvider();
+        if (query != null) {
+            return getQueriedPage(query, getFirst()).getRowKeys();
+        }
+
         // Get sorted RowKey objects.
         RowKey[] rowKeys = getSortedRowKeys();
         if (rowKeys == null) {
@@ -1659,6 +1866,49 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         return (RowKey[]) list.toArray(rowKeys);
     }
 
+    /**
+     * Get an array containing the filtered and sorted RowKey objects of the
+     * given window of rows, regardless of the current page.
+     * <p>
+     * Note: This method does not change the first row or the number of rows
+     * of this component, and is intended for clients that request rows by
+     * index (e.g., virtual scrolling). The window is taken from the cached
+     * sort. When query push-down is supported, only the window is queried.
+     * </p>
+     *
+     * @param firstRow The zero-relative row number of the first row.
+     * @param maxRows The maximum number of rows.
+     * @return An array containing RowKey objects.
+     */
+    public RowKey[] getWindowRowKeys(final int firstRow, final int maxRows) {
+        if (firstRow < 0 || maxRows <= 0) {
+            return new RowKey[0];
+        }
+        TableDataQueryProvider query = getTableDataQueryProvider();
+        if (query != null) {
+            TableDataPage page = query.executeQuery(
+                    getTableDataFilter().getFilterCriteria(),
+                    getTableDataSorter().getSortCriteria(),
+                    firstRow, maxRows);
+            if (page == null) {
+                return new RowKey[0];
+            }
+            RowKey[] rowKeys = page.getRowKeys();
+            if (rowKeys.length > maxRows) {
+                return Arrays.copyOf(rowKeys, maxRows);
+            }
+            return rowKeys;
+        }
+
+        RowKey[] rowKeys = getSortedRowKeys();
+        if (rowKeys == null || firstRow >= rowKeys.length) {
+            return new RowKey[0];
+        }
+        int lastRow = (int) Math.min((long) firstRow + maxRows,
+                rowKeys.length);
+        return Arrays.copyOfRange(rowKeys, firstRow, lastRow);
+    }
+
     /**
      * Set the RowKey associated with the current row or null for no current row
      * association.
@@ -1790,9 +2040,12 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return The number of selected rows currently hidden from view.
      */
     public int getHiddenSelectedRowsCount() {
-        RowKey[] rowKeys = getHiddenSelectedRowKeys();
+        if (!isPaginated()) {
+            return 0; // No rows are hidden during scroll mode.
+        }
+        RowKey[] rowKeys = getSelectionIndex();
         if (rowKeys != null) {
-            return rowKeys.length;
+            return rowKeys.length - getRenderedSelectedRowsCount();
         }
         return 0;
     }
@@ -1814,30 +2067,39 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * instances used by this component. If TableDataFilter and TableDataSorter
      * are modified directly, invoke the clearSort and clearFilter method to
      * clear the previous sort and filter.
+     * </p><p>
+     * Note: The returned RowKey objects are in filtered order.
      * </p>
      *
      * @return An array of RowKey objects.
      */
     public RowKey[] getHiddenSelectedRowKeys() {
-        // Get hidden RowKey objects.
-        RowKey[] rowKeys = getHiddenRowKeys();
+        if (!isPaginated()) {
+            return null; // No rows are hidden during scroll mode.
+        }
+
+        // Get selected RowKey objects.
+        RowKey[] rowKeys = getSelectionIndex();
         if (rowKeys == null) {
             return rowKeys;
         }
 
-        // Save the current RowKey.
-        RowKey rowKey = getRowKey();
+        // Get the identifiers of the rows in view.
+        Set<String> renderedRowIds = new HashSet<String>();
+        RowKey[] renderedRowKeys = getRenderedRowKeys();
+        if (renderedRowKeys != null) {
+            for (RowKey renderedRowKey : renderedRowKeys) {
+                renderedRowIds.add(renderedRowKey.getRowId());
+            }
+        }
 
-        // Find the number of selected rows hidden from view.
+        // Find the selected rows hidden from view.
         ArrayList<RowKey> list = new ArrayList<RowKey>();
-        for (RowKey rowKey1 : rowKeys) {
-            setRowKey(rowKey1);
-            if (isRowAvailable() && isSelected()) {
-                list.add(rowKey1);
+        for (RowKey rowKey : rowKeys) {
+            if (!renderedRowIds.contains(rowKey.getRowId())) {
+                list.add(rowKey);
             }
         }
-        setRowKey(rowKey);
-        // Restore the current RowKey.
         rowKeys = new RowKey[list.size()];
         return (RowKey[]) list.toArray(rowKeys);
     }
@@ -1855,7 +2117,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return The number of selected rows.
      */
     public int getSelectedRowsCount() {
-        RowKey[] rowKeys = getSelectedRowKeys();
+        RowKey[] rowKeys = getSelectionIndex();
         if (rowKeys != null) {
             return rowKeys.length;
         }
@@ -1870,31 +2132,21 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * provided to the TableDataFilter instance used by this component. If
      * TableDataFilter is modified directly, invoke the clearFilter method to
      * clear the previous filter.
+     * </p><p>
+     * Note: When the underlying TableDataProvider implements
+     * TableDataQueryProvider, only the rows of the rendered page are
+     * considered, so that the selection does not query every row. The
+     * selected rows of other pages are then not counted as hidden.
      * </p>
      *
      * @return An array of RowKey objects.
      */
     public RowKey[] getSelectedRowKeys() {
-        // Get filtered RowKey objects.
-        RowKey[] rowKeys = getFilteredRowKeys();
+        RowKey[] rowKeys = getSelectionIndex();
         if (rowKeys == null) {
             return rowKeys;
         }
-
-        // Save the current RowKey.
-        RowKey rowKey = getRowKey();
-
-        // Find the number of selected rows.
-        ArrayList<RowKey> list = new ArrayList<RowKey>();
-        for (RowKey rowKey1 : rowKeys) {
-            setRowKey(rowKey1);
-            if (isRowAvailable() && isSelected()) {
-                list.add(rowKey1);
-            }
-        }
-        setRowKey(rowKey); // Restore the current RowKey.
-        rowKeys = new RowKey[list.size()];
-        return (RowKey[]) list.toArray(rowKeys);
+        return Arrays.copyOf(rowKeys, rowKeys.length);
     }
 
     /**
@@ -1919,11 +2171,20 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return The number of selected rows currently hidden from view.
      */
     public int getRenderedSelectedRowsCount() {
-        RowKey[] rowKeys = getRenderedSelectedRowKeys();
-        if (rowKeys != null) {
-            return rowKeys.length;
+        // Get rendered RowKey objects.
+        RowKey[] rowKeys = getRenderedRowKeys();
+        if (rowKeys == null || getSelectionIndex() == null) {
+            return 0;
         }
-        return 0;
+
+        // Find the number of selected rows in view.
+        int count = 0;
+        for (RowKey rowKey : rowKeys) {
+            if (selectedRowIds.contains(rowKey.getRowId())) {
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -1954,22 +2215,108 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
             return rowKeys;
         }
 
-        // Save the current RowKey.
-        RowKey rowKey = getRowKey();
-
-        // Find the number of selected rows in view.
+        // Find the selected rows in view.
         ArrayList<RowKey> list = new ArrayList<RowKey>();
-        for (RowKey rowKey1 : rowKeys) {
-            setRowKey(rowKey1);
-            if (isRowAvailable() && isSelected()) {
-                list.add(rowKey1);
+        if (getSelectionIndex() != null) {
+            for (RowKey rowKey : rowKeys) {
+                if (selectedRowIds.contains(rowKey.getRowId())) {
+                    list.add(rowKey);
+                }
             }
         }
-        setRowKey(rowKey); // Restore the current RowKey.
         rowKeys = new RowKey[list.size()];
         return (RowKey[]) list.toArray(rowKeys);
     }
 
+    /**
+     * Helper method to get the selection index, an array containing the
+     * selected RowKey objects in filtered order.
+     * <p>
+     * Note: The selection index is built with a single pass over the filtered
+     * rows and cached until the selection may have changed. When query
+     * push-down is supported, the index only covers the rendered page. While building the
+     * index, only the current row of the TableDataProvider and the sourceVar
+     * request attribute are updated; the per-row state of descendant
+     * components is not saved and restored since the selected property does
+     * not depend on it.
+     * </p>
+     *
+     * @return An array of RowKey objects, or null if there are no filtered
+     * rows.
+     */
+    private RowKey[] getSelectionIndex() {
+        if (selectedRowKeys != null) {
+            return selectedRowKeys;
+        }
+
+        // Get filtered RowKey objects. Only the rendered page is scanned when
+        // query push-down is supported, rather than querying every row.
+        RowKey[] rowKeys;
+        if (getTableDataQueryProvider() != null) {
+            rowKeys = getRenderedRowKeys();
+        } else {
+            rowKeys = getFilteredRowKeys();
+        }
+        if (rowKeys == null) {
+            return rowKeys;
+        }
+
+        TableRowDataProvider rowProvider = getTableRowDataProvider();
+        TableDataProvider tableProvider = rowProvider.getTableDataProvider();
+        if (tableProvider == null) {
+            log("getSelectionIndex",
+                    "Cannot obtain selected rows, TableDataProvider is null");
+            selectedRowKeys = new RowKey[0];
+            selectedRowIds = new HashSet<String>();
+            return selectedRowKeys;
+        }
+
+        // Save the current RowKey and request attribute.
+        RowKey rowKey = getRowKey();
+        String tableSourceVar = getSourceVar();
+        Map<String, Object> requestMap = getFacesContext()
+                .getExternalContext().getRequestMap();
+        Object sourceVarValue;
+        if (tableSourceVar != null) {
+            sourceVarValue = requestMap.get(tableSourceVar);
+        } else {
+            sourceVarValue = null;
+        }
+
+        // Find the selected rows.
+        ArrayList<RowKey> list = new ArrayList<RowKey>();
+        Set<String> rowIds = new HashSet<String>();
+        try {
+            for (RowKey rowKey1 : rowKeys) {
+                if (!tableProvider.isRowAvailable(rowKey1)) {
+                    continue;
+                }
+                rowProvider.setTableRow(rowKey1);
+                if (tableSourceVar != null) {
+                    requestMap.put(tableSourceVar, rowProvider);
+                }
+                if (isSelected()) {
+                    list.add(rowKey1);
+                    rowIds.add(rowKey1.getRowId());
+                }
+            }
+        } finally {
+            // Restore the current RowKey and request attribute.
+            rowProvider.setTableRow(rowKey);
+            if (tableSourceVar != null) {
+                if (sourceVarValue != null) {
+                    requestMap.put(tableSourceVar, sourceVarValue);
+                } else {
+                    requestMap.remove(tableSourceVar);
+                }
+            }
+        }
+        selectedRowKeys = new RowKey[list.size()];
+        selectedRowKeys = (RowKey[]) list.toArray(selectedRowKeys);
+        selectedRowIds = rowIds;
+        return selectedRowKeys;
+    }
+
     /**
      * Add a SortCriteria object to sort.
      * <p>
@@ -2006,6 +2353,8 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
                 String key = oldCriteria[i].getCriteriaKey();
                 if (key != null && key.equals(criteria.getCriteriaKey())) {
                     oldCriteria[i] = criteria;
+                    // The sort order may have changed.
+                    queriedPage = null;
                     // No further processing is required.
                     return;
                 }
@@ -2029,6 +2378,8 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         tableSorter.setSortCriteria(newCriteria);
         // Clear sorted row keys.
         sortedRowKeys = null;
+        // Clear queried page.
+        queriedPage = null;
         // Reset to first page.
         setPage(1);
     }
@@ -2046,6 +2397,8 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         getTableDataSorter().setSortCriteria(null);
         // Clear sorted row keys.
         sortedRowKeys = null;
+        // Clear queried page.
+        queriedPage = null;
         // Reset to first page.
         setPage(1);
     }
@@ -2152,8 +2505,12 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         // Initialize RowKey objects, if not cached already.
         if (sortedRowKeys != null) {
             return sortedRowKeys;
-        } else {
-            sortedRowKeys = getFilteredRowKeys();
+        }
+        sortedRowKeys = getFilteredRowKeys();
+
+        // Rows queried from the data source are sorted already.
+        if (getTableDataQueryProvider() != null) {
+            return sortedRowKeys;
         }
 
         // Do not attempt to sort with a null provider. BasicTableDataSorter
@@ -2171,11 +2528,80 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         // intrinsic in the row order of the TableDataProvider.
         TableDataSorter tableSorter = getTableDataSorter();
         if (tableProvider != tableSorter) {
-            sortedRowKeys = tableSorter.sort(tableProvider, sortedRowKeys);
+            sortedRowKeys = sort(tableProvider, tableSorter, sortedRowKeys);
         }
         return sortedRowKeys;
     }
 
+    /**
+     * Helper method to sort the given RowKey objects.
+     * <p>
+     * Note: If the TableDataProvider implements TableDataRevisionProvider, the
+     * sort order is looked up in the shared SortedOrderCache first, so that
+     * toggling between the same sorts of unchanged data does not sort rows
+     * again.
+     * </p>
+     *
+     * @param tableProvider The TableDataProvider containing the rows.
+     * @param tableSorter The TableDataSorter used to sort rows.
+     * @param rowKeys The RowKey objects to sort.
+     * @return The sorted RowKey objects.
+     */
+    private RowKey[] sort(final TableDataProvider tableProvider,
+            final TableDataSorter tableSorter, final RowKey[] rowKeys) {
+
+        SortedOrderCache cache = SortedOrderCache.getInstance();
+        String sortKey = null;
+        if (cache.isEnabled()
+                && tableProvider instanceof TableDataRevisionProvider) {
+            sortKey = getSortKey(tableSorter);
+        }
+        if (sortKey == null) {
+            return tableSorter.sort(tableProvider, rowKeys);
+        }
+        long revision = ((TableDataRevisionProvider) tableProvider)
+                .getDataRevision();
+        RowKey[] result = cache.get(tableProvider, revision, sortKey,
+                rowKeys);
+        if (result == null) {
+            result = tableSorter.sort(tableProvider, rowKeys);
+            cache.put(tableProvider, revision, sortKey, rowKeys, result);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method to get a key describing the sort applied by the given
+     * TableDataSorter, used to look up cached sort orders.
+     *
+     * @param tableSorter The TableDataSorter used to sort rows.
+     * @return The sort key, or null if the sort cannot be described.
+     */
+    private String getSortKey(final TableDataSorter tableSorter) {
+        SortCriteria[] criteria = tableSorter.getSortCriteria();
+        if (criteria == null || criteria.length == 0) {
+            return null;
+        }
+        StringBuilder buf = new StringBuilder(tableSorter.getClass()
+                .getName());
+        FacesContext context = getFacesContext();
+        if (context != null && context.getViewRoot() != null) {
+            buf.append('|').append(context.getViewRoot().getLocale());
+        }
+        for (SortCriteria c : criteria) {
+            if (c == null || c.getCriteriaKey() == null) {
+                return null;
+            }
+            buf.append('|').append(c.getCriteriaKey());
+            if (c.isAscending()) {
+                buf.append('+');
+            } else {
+                buf.append('-');
+            }
+        }
+        return buf.toString();
+    }
+
     /**
      * Get the TableDataSorter object used to sort rows.
      *
@@ -2214,6 +2640,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     public void setTableDataSorter(final TableDataSorter newSorter) {
         // Method is overriden because TableDataSorter is not serializable.
         this.sorter = newSorter;
+        clearTableStats();
     }
 
     /**
@@ -2294,6 +2721,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         Object[] values2 = (Object[]) state;
         values2[0] = values;
         saved = (Map) values2[1];
+        clearDescendants();
         setPaginated(((Boolean) values2[2]));
 
         // Note: When the iterate method is called (during the decode, validate,
@@ -2316,6 +2744,17 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         filteredRowKeys = (RowKey[]) values2[5];
         // Clear sorted row keys.
         sortedRowKeys = (RowKey[]) values2[6];
+
+        // Restore previously queried page.
+        Object[] query = (Object[]) values2[7];
+        if (query != null) {
+            queriedPage = (TableDataPage) query[0];
+            queriedFirst = ((Integer) query[1]);
+            queriedRows = ((Integer) query[2]);
+        } else {
+            queriedPage = null;
+        }
+        clearSelectionIndex();
     }
 
     /**
@@ -2468,10 +2907,16 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         values2[3] = getTableDataSorter().getSortCriteria();
         // Save FilterCriteria.
         values2[4] = getTableDataFilter().getFilterCriteria();
-        // Save filtered RowKey objects.
-        values2[5] = getFilteredRowKeys();
-        // Save sorted RowKey objects.
-        values2[6] = getSortedRowKeys();
+        if (getTableDataQueryProvider() != null) {
+            // Save the queried page only, rather than all RowKey objects.
+            getRenderedRowKeys();
+            values2[7] = new Object[]{queriedPage, queriedFirst, queriedRows};
+        } else {
+            // Save filtered RowKey objects.
+            values2[5] = getFilteredRowKeys();
+            // Save sorted RowKey objects.
+            values2[6] = getSortedRowKeys();
+        }
         return values2;
     }
 
@@ -2607,8 +3052,9 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         if (isNestedWithinTableRowGroup()) {
             clear(); // Clear cached properties.
         }
+        clearDescendants();
         if (!keepSaved(context)) {
-            saved = new HashMap<String, SavedState>();
+            clearSaved();
         }
         super.encodeBegin(context);
     }
@@ -2653,12 +3099,15 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
             log("processDecodes", "Component not rendered, nothing to decode");
             return;
         }
+        clearDescendants();
         if (saved == null || !keepSaved(context)) {
             // We don't need saved state here
-            saved = new HashMap<String, SavedState>();
+            clearSaved();
         }
         iterate(context, PhaseId.APPLY_REQUEST_VALUES);
         decode(context);
+        // Selected state may be submitted by descendants.
+        clearSelectionIndex();
     }
 
     /**
@@ -2699,6 +3148,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
                     "Component not rendered, nothing to validate");
             return;
         }
+        clearDescendants();
         iterate(context, PhaseId.PROCESS_VALIDATIONS);
         // This is not a EditableValueHolder, so no further processing is
         // required
@@ -2741,7 +3191,10 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
             log("processUpdates", "Component not rendered, nothing to update");
             return;
         }
+        clearDescendants();
         iterate(context, PhaseId.UPDATE_MODEL_VALUES);
+        // Selected state may be updated by descendants.
+        clearSelectionIndex();
 
         // Set collapsed property applied client-side.
         UIComponent header = getFacet(GROUP_HEADER_ID);
@@ -3603,6 +4056,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     public void setSelected(final boolean newSelected) {
         this.selected = newSelected;
         this.selectedSet = true;
+        clearSelectionIndex();
     }
 
     /**
@@ -3926,7 +4380,7 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
             // setRowKey(null) already)
             kids = getTableColumnChildren();
             while (kids.hasNext()) {
-                TableColumn kid = (TableColumn) kids.next();
+                TableColumn kid = kids.next();
                 if (!kid.isRendered()) {
                     log("iterate", "Cannot process TableColumn, not rendered");
                     continue;
@@ -4051,10 +4505,9 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
      * @return true if state should be saved, else false.
      */
     private boolean keepSaved(final FacesContext context) {
-        for (String clientId : saved.keySet()) {
+        for (SavedRows rows : saved.values()) {
             // Fix for immediate property -- see CR #6269737.
-            SavedState state = (SavedState) saved.get(clientId);
-            if (state != null && state.getSubmittedValue() != null) {
+            if (rows.hasSubmittedValue()) {
                 return (true);
             }
         }
@@ -4089,119 +4542,325 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
     }
 
     /**
-     * Helper method to restore state information for all descendant components,
-     * as described for setRowKey().
-     */
-    private void restoreDescendantState() {
-        FacesContext context = getFacesContext();
-        Iterator kids = getTableColumnChildren();
-        while (kids.hasNext()) {
-            TableColumn kid = (TableColumn) kids.next();
-            if (!kid.isRendered()) {
-                continue;
+     * Helper method to get the flattened list of descendants of the rendered
+     * TableColumn children, lazily built once per phase. The list is in the
+     * order of a depth first traversal, and includes the TableColumn children
+     * themselves.
+     *
+     * @return The descendant components.
+     */
+    private UIComponent[] getDescendants() {
+        if (descendants == null) {
+            List<UIComponent> all = new ArrayList<UIComponent>();
+            List<UIComponent> editable = new ArrayList<UIComponent>();
+            List<String> keys = new ArrayList<String>();
+            Iterator<TableColumn> kids = getTableColumnChildren();
+            int index = 0;
+            while (kids.hasNext()) {
+                TableColumn kid = kids.next();
+                index++;
+                if (!kid.isRendered()) {
+                    log("getDescendants",
+                            "Cannot save descendant state,"
+                            + " TableColumn not rendered");
+                    continue;
+                }
+                addDescendants(kid, getDescendantKey(kid, null, index), all,
+                        editable, keys);
             }
-            restoreDescendantState(kid, context);
+            descendants = all.toArray(new UIComponent[all.size()]);
+            editableDescendants = editable.toArray(
+                    new UIComponent[editable.size()]);
+            editableKeys = keys.toArray(new String[keys.size()]);
+            resolvedClientId = null;
+            resolvedRows = null;
+            resolvedStates = null;
         }
+        return descendants;
     }
 
     /**
-     * Helper method to restore state information for the specified component
-     * and its descendants.
+     * Helper method to add the given component and its descendants to the
+     * flattened list of descendants.
      *
-     * @param component Component for which to restore state information.
-     * @param context FacesContext for the current request.
+     * @param component The component to add.
+     * @param key The key of the component, relative to this component.
+     * @param all The list of all descendants.
+     * @param editable The list of EditableValueHolder descendants.
+     * @param keys The keys of the EditableValueHolder descendants.
+     */
+    private static void addDescendants(final UIComponent component,
+            final String key, final List<UIComponent> all,
+            final List<UIComponent> editable, final List<String> keys) {
+
+        all.add(component);
+        if (component instanceof EditableValueHolder) {
+            editable.add(component);
+            keys.add(key);
+        }
+        int index = 0;
+        for (UIComponent kid : component.getChildren()) {
+            addDescendants(kid, getDescendantKey(kid, key, index++), all,
+                    editable, keys);
+        }
+    }
+
+    /**
+     * Helper method to get the key of a descendant relative to this component.
+     * The key is composed of the component identifiers from the TableColumn
+     * child down to the descendant, and does not depend on the current row.
+     *
+     * @param component The descendant component.
+     * @param parentKey The key of the parent or null for a TableColumn child.
+     * @param index The index of the component within its parent.
+     * @return The key.
      */
-    private void restoreDescendantState(final UIComponent component,
-            final FacesContext context) {
+    private static String getDescendantKey(final UIComponent component,
+            final String parentKey, final int index) {
 
-        // Reset the client identifier for this component
         String id = component.getId();
-        component.setId(id); // Forces client id to be reset
+        if (id == null) {
+            id = "#" + index;
+        }
+        if (parentKey == null) {
+            return id;
+        }
+        return parentKey + ":" + id;
+    }
 
-        // Restore state for this component (if it is a EditableValueHolder)
-        if (component instanceof EditableValueHolder) {
-            EditableValueHolder input = (EditableValueHolder) component;
-            String clientId = component.getClientId(context);
-            SavedState state = (SavedState) saved.get(clientId);
-            if (state == null) {
-                state = new SavedState();
+    /**
+     * Helper method to get the saved state columns of the EditableValueHolder
+     * descendants for the current client identifier of this component. The
+     * client identifier (without RowKey) only varies when this component is
+     * nested within another TableRowGroup component.
+     *
+     * @param context FacesContext for the current request.
+     * @return The saved state columns, in the same order as the
+     * EditableValueHolder descendants.
+     */
+    private SavedState[] getSavedStates(final FacesContext context) {
+        getDescendants();
+        String baseClientId = super.getClientId(context);
+        if (resolvedStates == null
+                || !baseClientId.equals(resolvedClientId)) {
+            SavedRows rows = saved.get(baseClientId);
+            if (rows == null) {
+                rows = new SavedRows();
+                saved.put(baseClientId, rows);
             }
-            input.setValue(state.getValue());
-            input.setValid(state.isValid());
-            input.setSubmittedValue(state.getSubmittedValue());
-            // This *must* be set after the call to setValue(), since
-            // calling setValue() always resets "localValueSet" to true.
-            input.setLocalValueSet(state.isLocalValueSet());
+            resolvedStates = new SavedState[editableKeys.length];
+            for (int i = 0; i < editableKeys.length; i++) {
+                resolvedStates[i] = rows.getState(editableKeys[i]);
+            }
+            resolvedClientId = baseClientId;
+            resolvedRows = rows;
+        }
+        return resolvedStates;
+    }
+
+    /**
+     * Helper method to clear the flattened list of descendants and the saved
+     * state columns resolved for it.
+     */
+    private void clearDescendants() {
+        descendants = null;
+        editableDescendants = null;
+        editableKeys = null;
+        resolvedClientId = null;
+        resolvedRows = null;
+        resolvedStates = null;
+    }
 
-            ConversionUtilities.restoreRenderedValueState(context, component);
+    /**
+     * Helper method to clear the saved per-row state of descendants. The
+     * rendered null flags are kept, they are needed to convert the values
+     * submitted for the rows rendered by a previous request.
+     */
+    private void clearSaved() {
+        if (saved == null) {
+            saved = new HashMap<String, SavedRows>();
+        } else {
+            Iterator<SavedRows> rows = saved.values().iterator();
+            while (rows.hasNext()) {
+                if (!rows.next().clearValues()) {
+                    rows.remove();
+                }
+            }
         }
+        resolvedClientId = null;
+        resolvedRows = null;
+        resolvedStates = null;
+    }
 
-        // Restore state for children of this component
-        Iterator kids = component.getChildren().iterator();
-        while (kids.hasNext()) {
-            restoreDescendantState((UIComponent) kids.next(), context);
+    /**
+     * Helper method to restore state information for all descendant components,
+     * as described for setRowKey().
+     */
+    private void restoreDescendantState() {
+        FacesContext context = getFacesContext();
+
+        // Reset the client identifier of all descendants.
+        for (UIComponent component : getDescendants()) {
+            String id = component.getId();
+            component.setId(id); // Forces client id to be reset
+        }
+        if (editableDescendants.length == 0) {
+            return;
+        }
+
+        // Restore state of EditableValueHolder descendants.
+        SavedState[] states = getSavedStates(context);
+        int position = resolvedRows.getPosition(getRowKey(), false);
+        for (int i = 0; i < editableDescendants.length; i++) {
+            states[i].restore(position, editableDescendants[i]);
         }
     }
 
     /**
      * Helper method to save state information for all descendant components, as
      * described for setRowKey().
+     * <p>
+     * Note: Rows for which all EditableValueHolder descendants have default
+     * state are not recorded.
+     * </p>
      */
     private void saveDescendantState() {
         FacesContext context = getFacesContext();
-        Iterator kids = getTableColumnChildren();
-        while (kids.hasNext()) {
-            TableColumn kid = (TableColumn) kids.next();
-            if (!kid.isRendered()) {
-                log("saveDescendantState",
-                        "Cannot save descendant state,"
-                        + " TableColumn not rendered");
-                continue;
+        getDescendants();
+        if (editableDescendants.length == 0) {
+            return;
+        }
+        SavedState[] states = getSavedStates(context);
+        RowKey rowKey = getRowKey();
+        int position = resolvedRows.getPosition(rowKey, false);
+        if (position < 0) {
+            // Skip rows for which only default state would be saved.
+            boolean defaults = true;
+            for (UIComponent component : editableDescendants) {
+                if (!SavedState.isDefault(component)) {
+                    defaults = false;
+                    break;
+                }
+            }
+            if (defaults) {
+                return;
             }
-            saveDescendantState(kid, context);
+            position = resolvedRows.getPosition(rowKey, true);
+        }
+        for (int i = 0; i < editableDescendants.length; i++) {
+            states[i].save(position, editableDescendants[i]);
         }
     }
 
     /**
-     * Helper method to save state information for the specified component and
-     * its descendants.
-     *
-     * @param component Component for which to save state information.
-     * @param context FacesContext for the current request.
+     * Represent the saved state of the EditableValueHolder descendants for
+     * a given client identifier of this component (i.e., the client
+     * identifier without the RowKey).
      */
-    private void saveDescendantState(final UIComponent component,
-            final FacesContext context) {
+    static final class SavedRows implements Serializable {
 
-        // Save state for this component (if it is a EditableValueHolder)
-        if (component instanceof EditableValueHolder) {
-            EditableValueHolder input = (EditableValueHolder) component;
-            String clientId = component.getClientId(context);
-            SavedState state = (SavedState) saved.get(clientId);
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = 8410537715423851254L;
+
+        /**
+         * Position of the null row.
+         */
+        private static final int NULL_ROW = 0;
+
+        /**
+         * Row positions, keyed by row identifier.
+         */
+        private final Map<String, Integer> positions =
+                new HashMap<String, Integer>();
+
+        /**
+         * Saved state columns, keyed by descendant key.
+         */
+        private final Map<String, SavedState> states =
+                new HashMap<String, SavedState>();
+
+        /**
+         * Get the position of a row.
+         *
+         * @param rowKey The row key, may be null.
+         * @param create If true, a position is assigned to unknown rows.
+         * @return The row position, or -1 if unknown.
+         */
+        int getPosition(final RowKey rowKey, final boolean create) {
+            if (rowKey == null) {
+                return NULL_ROW;
+            }
+            String rowId = rowKey.getRowId();
+            Integer position = positions.get(rowId);
+            if (position != null) {
+                return position;
+            }
+            if (!create) {
+                return -1;
+            }
+            // Position 0 is reserved for the null row.
+            int newPosition = positions.size() + 1;
+            positions.put(rowId, newPosition);
+            return newPosition;
+        }
+
+        /**
+         * Get the saved state column for a descendant.
+         *
+         * @param key The descendant key.
+         * @return SavedState
+         */
+        SavedState getState(final String key) {
+            SavedState state = states.get(key);
             if (state == null) {
                 state = new SavedState();
-                saved.put(clientId, state);
+                states.put(key, state);
             }
-            state.setValue(input.getLocalValue());
-            state.setValid(input.isValid());
-            state.setSubmittedValue(input.getSubmittedValue());
-            state.setLocalValueSet(input.isLocalValueSet());
+            return state;
+        }
 
-            ConversionUtilities.saveRenderedValueState(context, component);
+        /**
+         * Clear the saved values of all rows, keeping the rendered null
+         * flags.
+         *
+         * @return {@code true} if any rendered null flag is kept
+         */
+        boolean clearValues() {
+            boolean renderedNull = false;
+            for (SavedState state : states.values()) {
+                if (state.clearValues()) {
+                    renderedNull = true;
+                }
+            }
+            if (!renderedNull) {
+                positions.clear();
+                states.clear();
+            }
+            return renderedNull;
         }
 
-        // Note: Don't bother logging messages here -- too many messages.
-        // For example, staticText is not an EditableValueHolder.
-        // Save state for children of this component
-        Iterator kids = component.getChildren().iterator();
-        while (kids.hasNext()) {
-            saveDescendantState((UIComponent) kids.next(), context);
+        /**
+         * Test if any submitted value is saved.
+         *
+         * @return {@code boolean}
+         */
+        boolean hasSubmittedValue() {
+            for (SavedState state : states.values()) {
+                if (state.hasSubmittedValue()) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
     /**
-     * Represent saved state information.
+     * Represent saved state information of one EditableValueHolder descendant
+     * for all rows, stored in arrays indexed by row position.
      */
-    private static final class SavedState implements Serializable {
+    static final class SavedState implements Serializable {
 
         /**
          * Serialization UID.
@@ -4209,104 +4868,197 @@ public class TableRowGroup extends UIComponentBase implements NamingContainer {
         private static final long serialVersionUID = -5042211238247402956L;
 
         /**
-         * Submitted value.
+         * Submitted values.
          */
-        private Object submittedValue;
+        private Object[] submittedValues = null;
 
         /**
-         * Valid flag.
+         * Local values.
          */
-        private boolean valid = true;
+        private Object[] values = null;
 
         /**
-         * Local value.
+         * Invalid flags.
          */
-        private Object value;
+        private final BitSet invalid = new BitSet();
 
         /**
-         * Local value set flag.
+         * Local value set flags.
          */
-        private boolean localValueSet;
+        private final BitSet localValueSet = new BitSet();
 
         /**
-         * Get the submitted value.
-         *
-         * @return Object
+         * Rendered null value flags.
          */
-        public Object getSubmittedValue() {
-            return (this.submittedValue);
-        }
+        private final BitSet renderedNull = new BitSet();
 
         /**
-         * Set the submitted value.
+         * Test if the given component has default state.
          *
-         * @param newSubmittedValue submittedValue
+         * @param component EditableValueHolder component
+         * @return {@code boolean}
          */
-        public void setSubmittedValue(final Object newSubmittedValue) {
-            this.submittedValue = newSubmittedValue;
+        static boolean isDefault(final UIComponent component) {
+            EditableValueHolder input = (EditableValueHolder) component;
+            return input.getLocalValue() == null
+                    && input.getSubmittedValue() == null
+                    && input.isValid()
+                    && !input.isLocalValueSet()
+                    && !ConversionUtilities.renderedNull(component);
         }
 
         /**
-         * Get the valid flag value.
+         * Save the state of the given component for a row.
          *
-         * @return {@code boolean}
+         * @param position row position
+         * @param component EditableValueHolder component
          */
-        public boolean isValid() {
-            return (this.valid);
+        void save(final int position, final UIComponent component) {
+            EditableValueHolder input = (EditableValueHolder) component;
+            values = set(values, position, input.getLocalValue());
+            submittedValues = set(submittedValues, position,
+                    input.getSubmittedValue());
+            invalid.set(position, !input.isValid());
+            localValueSet.set(position, input.isLocalValueSet());
+            renderedNull.set(position,
+                    ConversionUtilities.renderedNull(component));
         }
 
         /**
-         * Set the valid flag value.
+         * Restore the state of the given component for a row.
          *
-         * @param newValid valid
+         * @param position row position, or -1 for default state
+         * @param component EditableValueHolder component
          */
-        public void setValid(final boolean newValid) {
-            this.valid = newValid;
+        void restore(final int position, final UIComponent component) {
+            EditableValueHolder input = (EditableValueHolder) component;
+            if (position < 0) {
+                input.setValue(null);
+                input.setValid(true);
+                input.setSubmittedValue(null);
+                input.setLocalValueSet(false);
+                ConversionUtilities.removeRenderedValue(component);
+                return;
+            }
+            input.setValue(get(values, position));
+            input.setValid(!invalid.get(position));
+            input.setSubmittedValue(get(submittedValues, position));
+            // This *must* be set after the call to setValue(), since
+            // calling setValue() always resets "localValueSet" to true.
+            input.setLocalValueSet(localValueSet.get(position));
+            if (renderedNull.get(position)) {
+                ConversionUtilities.setRenderedValue(component, null);
+            } else {
+                ConversionUtilities.removeRenderedValue(component);
+            }
         }
 
         /**
-         * Get the local value.
+         * Clear the saved values, keeping the rendered null flags.
          *
-         * @return Object
+         * @return {@code true} if any rendered null flag is kept
          */
-        public Object getValue() {
-            return (this.value);
+        boolean clearValues() {
+            submittedValues = null;
+            values = null;
+            invalid.clear();
+            localValueSet.clear();
+            return !renderedNull.isEmpty();
         }
 
         /**
-         * Set the local value.
+         * Test if any submitted value is saved.
          *
-         * @param newValue value
+         * @return {@code boolean}
          */
-        public void setValue(final Object newValue) {
-            this.value = newValue;
+        boolean hasSubmittedValue() {
+            if (submittedValues != null) {
+                for (Object value : submittedValues) {
+                    if (value != null) {
+                        return true;
+                    }
+                }
+            }
+            return false;
         }
 
         /**
-         * Get the local value set flag.
+         * Get an array element, returning null when out of bounds.
          *
-         * @return {@code boolean}
+         * @param array array, may be null
+         * @param position element position
+         * @return Object
          */
-        public boolean isLocalValueSet() {
-            return (this.localValueSet);
+        private static Object get(final Object[] array, final int position) {
+            if (array == null || position >= array.length) {
+                return null;
+            }
+            return array[position];
         }
 
         /**
-         * Set the local value set flag.
+         * Set an array element, growing the array as needed. The array is not
+         * allocated or grown to store null values.
          *
-         * @param newLocalValueSet localValueSet
+         * @param array array, may be null
+         * @param position element position
+         * @param value element value
+         * @return the array
          */
-        public void setLocalValueSet(final boolean newLocalValueSet) {
-            this.localValueSet = newLocalValueSet;
+        private static Object[] set(final Object[] array, final int position,
+                final Object value) {
+
+            if (array == null || position >= array.length) {
+                if (value == null) {
+                    return array;
+                }
+                int length = position + 1;
+                if (array != null) {
+                    length = Math.max(length, array.length * 2);
+                }
+                Object[] newArray = new Object[length];
+                if (array != null) {
+                    System.arraycopy(array, 0, newArray, 0, array.length);
+                }
+                newArray[position] = value;
+                return newArray;
+            }
+            array[position] = value;
+            return array;
         }
 
         @Override
         public String toString() {
-            return ("submittedValue: " + submittedValue + " value: " + value
+            return ("submittedValues: " + Arrays.toString(submittedValues)
+                    + " values: " + Arrays.toString(values)
                     + " localValueSet: " + localValueSet);
         }
     }
 
+    /**
+     * Helper method to clear the selection index and the selection counts
+     * cached by the Table ancestor.
+     */
+    private void clearSelectionIndex() {
+        selectedRowKeys = null;
+        selectedRowIds = null;
+        Table table = getTableAncestor();
+        if (table != null) {
+            table.clearSelectionStats();
+        }
+    }
+
+    /**
+     * Helper method to clear the statistics cached by the Table ancestor,
+     * when sort, filter, or pagination properties change.
+     */
+    private void clearTableStats() {
+        Table table = getTableAncestor();
+        if (table != null) {
+            table.clearStats();
+        }
+    }
+
     /**
      * Wrap an event with a RowKey.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -62,6 +63,12 @@ public final class Upload extends Field implements Serializable {
     public static final String INPUT_PARAM_ID =
             "_com.sun.webui.jsf.uploadParam";
 
+    /**
+     * A string concatenated with the component ID to form the ID and name of
+     * the hidden field holding the id of a complete chunked upload.
+     */
+    public static final String CHUNKED_ID = "_com.sun.webui.jsf.uploadChunked";
+
     /**
      * Script id.
      */
@@ -114,6 +121,43 @@ public final class Upload extends Field implements Serializable {
      */
     private boolean columnsSet = false;
 
+    /**
+     * Size in bytes of the chunks in which the client script sends the
+     * selected file, before the form is submitted. A file sent in chunks can
+     * be resumed after a connection failure. Its size is limited by the
+     * {@code chunkedMaxSize} of the upload filter, which defaults to the
+     * {@code maxSize}, and the filter must have the {@code chunked} init
+     * parameter set. The default is 0, meaning that the file is sent with the
+     * form.
+     */
+    @Property(name = "chunkSize",
+            displayName = "Chunk Size",
+            category = "Advanced",
+            //CHECKSTYLE:OFF
+            editorClassName = "com.sun.rave.propertyeditors.IntegerPropertyEditor")
+            //CHECKSTYLE:ON
+    private int chunkSize = Integer.MIN_VALUE;
+
+    /**
+     * chunkSize set flag.
+     */
+    private boolean chunkSizeSet = false;
+
+    /**
+     * The id of a ProgressBar component that shows the progress of the upload
+     * once the form is submitted, and of the chunks sent when a
+     * {@code chunkSize} is set. The id is resolved relative to this
+     * component. The upload filter must have the {@code progress} init
+     * parameter set.
+     */
+    @Property(name = "progressBar",
+            displayName = "Progress Bar",
+            category = "Advanced",
+            //CHECKSTYLE:OFF
+            editorClassName = "com.sun.rave.propertyeditors.StringPropertyEditor")
+            //CHECKSTYLE:ON
+    private String progressBar = null;
+
     /**
      * Default constructor.
      */
@@ -147,7 +191,15 @@ public final class Upload extends Field implements Serializable {
         if (DEBUG) {
             log("getConvertedValue");
         }
-        UploadedFileImpl uf = new UploadedFileImpl(value, context);
+        // the upload filter stores an UploadedFile in streaming mode
+        Object attribute = context.getExternalContext().getRequestMap()
+                .get(value);
+        UploadedFile uf;
+        if (attribute instanceof UploadedFile) {
+            uf = (UploadedFile) attribute;
+        } else {
+            uf = new UploadedFileImpl(value, context);
+        }
         if (DEBUG) {
             log("\tSize is " + String.valueOf(uf.getSize()));
             log("\tName is " + uf.getOriginalName());
@@ -411,6 +463,65 @@ public final class Upload extends Field implements Serializable {
         this.columnsSet = true;
     }
 
+    /**
+     * Size in bytes of the chunks in which the client script sends the
+     * selected file, before the form is submitted. The default is 0, meaning
+     * that the file is sent with the form.
+     * @return int
+     */
+    public int getChunkSize() {
+        if (this.chunkSizeSet) {
+            return this.chunkSize;
+        }
+        ValueExpression vb = getValueExpression("chunkSize");
+        if (vb != null) {
+            Object result = vb.getValue(getFacesContext().getELContext());
+            if (result != null) {
+                return ((Integer) result);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Size in bytes of the chunks in which the client script sends the
+     * selected file, before the form is submitted.
+     *
+     * @see #getChunkSize()
+     * @param newChunkSize chunkSize
+     */
+    public void setChunkSize(final int newChunkSize) {
+        this.chunkSize = newChunkSize;
+        this.chunkSizeSet = true;
+    }
+
+    /**
+     * The id of a ProgressBar component that shows the progress of the
+     * upload.
+     * @return String
+     */
+    public String getProgressBar() {
+        if (this.progressBar != null) {
+            return this.progressBar;
+        }
+        ValueExpression vb = getValueExpression("progressBar");
+        if (vb != null) {
+            return (String) vb.getValue(getFacesContext().getELContext());
+        }
+        return null;
+    }
+
+    /**
+     * The id of a ProgressBar component that shows the progress of the
+     * upload.
+     *
+     * @see #getProgressBar()
+     * @param newProgressBar progressBar
+     */
+    public void setProgressBar(final String newProgressBar) {
+        this.progressBar = newProgressBar;
+    }
+
     /**
      * The value of this attribute must be a JSF EL expression, and it must
      * resolve to an object of type
@@ -447,12 +558,15 @@ public final class Upload extends Field implements Serializable {
         super.restoreState(context, values[0]);
         this.columns = ((Integer) values[1]);
         this.columnsSet = ((Boolean) values[2]);
+        this.chunkSize = ((Integer) values[3]);
+        this.chunkSizeSet = ((Boolean) values[4]);
+        this.progressBar = (String) values[5];
     }
 
     @Override
     @SuppressWarnings("checkstyle:magicnumber")
     public Object saveState(final FacesContext context) {
-        Object[] values = new Object[3];
+        Object[] values = new Object[6];
         values[0] = super.saveState(context);
         values[1] = this.columns;
         if (this.columnsSet) {
@@ -460,6 +574,13 @@ public final class Upload extends Field implements Serializable {
         } else {
             values[2] = Boolean.FALSE;
         }
+        values[3] = this.chunkSize;
+        if (this.chunkSizeSet) {
+            values[4] = Boolean.TRUE;
+        } else {
+            values[4] = Boolean.FALSE;
+        }
+        values[5] = this.progressBar;
         return values;
     }
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,8 +23,8 @@ import jakarta.faces.context.FacesContext;
 import jakarta.faces.convert.Converter;
 import jakarta.faces.convert.ConverterException;
 import com.sun.webui.jsf.component.DateManager;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import com.sun.webui.jsf.util.ThemeUtilities;
-import java.text.DateFormat;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import jakarta.faces.application.FacesMessage;
@@ -55,7 +56,8 @@ public final class DateConverter implements Converter, Serializable {
             throws ConverterException {
 
         try {
-            return getDateManager(component).getDateFormat().format((Date) o);
+            return getDateManager(component).getSharedDateFormat()
+                    .format((Date) o);
         } catch (Exception ex) {
             throw new ConverterException(ex);
         }
@@ -66,17 +68,14 @@ public final class DateConverter implements Converter, Serializable {
             final UIComponent component, final String s)
             throws ConverterException {
 
-        if (s.length() == 0) {
+        String text = s.trim();
+        if (text.length() == 0) {
             return null;
         }
         // Generate errors for dates that don't strictly follow format 6347646
-        DateFormat df = getDateManager(component).getDateFormat();
-        // Save old state in case there is other code that relies on it
-        boolean saveLenient = df.isLenient();
-        df.setLenient(false);
+        SharedDateFormat df = getDateManager(component).getSharedDateFormat();
         try {
-            Date date = df.parse(s);
-            return date;
+            return df.parse(text);
         } catch (ParseException ex) {
             FacesMessage facesMessage = null;
             try {
@@ -84,17 +83,13 @@ public final class DateConverter implements Converter, Serializable {
                         .getMessage(INVALID_DATE_ID);
                 MessageFormat mf = new MessageFormat(message,
                         context.getViewRoot().getLocale());
-                String example = getDateManager(component).getDateFormat()
-                        .format(new Date());
+                String example = df.format(new Date());
                 Object[] params = {s, example};
                 facesMessage = new FacesMessage(mf.format(params));
             } catch (Exception e) {
                 throw new ConverterException(ex);
             }
             throw new ConverterException(facesMessage);
-        } finally {
-            // Restore original state
-            df.setLenient(saveLenient);
         }
     }
 
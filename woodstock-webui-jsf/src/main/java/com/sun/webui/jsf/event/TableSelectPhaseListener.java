@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@ package com.sun.webui.jsf.event;
 
 import com.sun.data.provider.RowKey;
 import com.sun.webui.jsf.util.LogUtil;
+import com.sun.webui.jsf.util.RowIdSet;
 import java.util.HashMap;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.lifecycle.Lifecycle;
@@ -39,6 +41,12 @@ import jakarta.faces.event.PhaseListener;
  * response phase. That said, there are cases when maintaining state across
  * table pages is necessary. In this scenario, use the keepSelected method to
  * prevent state from being cleared by this instance.
+ * </p><p>
+ * Note: Selected state is kept in compact row identifier sets, so that large
+ * selections (e.g., when all filtered rows are selected and keepSelected is
+ * used) only take a few bits per row. Selected objects are only stored
+ * individually when they are neither equal to the row identifier nor to the
+ * selected object of the other rows.
  * </p>
  * <p>
  * <pre>
@@ -60,10 +68,29 @@ public final class TableSelectPhaseListener implements PhaseListener {
     private Object unselected = null;
 
     /**
-     * Selected values map.
+     * Rows for which the selected object is the row identifier.
      */
-    private final HashMap<String, Object> selected =
-            new HashMap<String, Object>();
+    private final RowIdSet rowIdSelected = new RowIdSet();
+
+    /**
+     * Rows for which the selected object is the shared selected object.
+     */
+    private final RowIdSet sharedSelected = new RowIdSet();
+
+    /**
+     * Rows explicitly set to the unselected object.
+     */
+    private final RowIdSet unselectedRows = new RowIdSet();
+
+    /**
+     * Selected object shared by the rows of {@code sharedSelected}.
+     */
+    private Object sharedValue = null;
+
+    /**
+     * Selected objects of the remaining rows, lazily created.
+     */
+    private HashMap<String, Object> selected = null;
 
     /**
      *  Do not clear selected flag.
@@ -120,7 +147,7 @@ public final class TableSelectPhaseListener implements PhaseListener {
     @Override
     public void afterPhase(final PhaseEvent event) {
         if (!keepSelected) {
-            selected.clear();
+            clear();
         } else {
             log("afterPhase",
                     "Selected values not cleared, keepSelected is false");
@@ -149,7 +176,11 @@ public final class TableSelectPhaseListener implements PhaseListener {
      * Clear all selected objects.
      */
     public void clear() {
-        selected.clear();
+        rowIdSelected.clear();
+        sharedSelected.clear();
+        unselectedRows.clear();
+        sharedValue = null;
+        selected = null;
     }
 
     /**
@@ -163,10 +194,33 @@ public final class TableSelectPhaseListener implements PhaseListener {
      * @return The selected object.
      */
     public Object getSelected(final RowKey rowKey) {
-        if (rowKey != null) {
-            return selected.get(rowKey.getRowId());
+        if (rowKey == null) {
+            return unselected;
+        }
+        String rowId = rowKey.getRowId();
+        if (rowIdSelected.contains(rowId)) {
+            return rowId;
+        } else if (sharedSelected.contains(rowId)) {
+            return sharedValue;
+        } else if (unselectedRows.contains(rowId)) {
+            return unselected;
+        } else if (selected != null) {
+            return selected.get(rowId);
         }
-        return unselected;
+        return null;
+    }
+
+    /**
+     * Get the number of selected rows.
+     *
+     * @return The number of selected rows.
+     */
+    public int getSelectedCount() {
+        int count = rowIdSelected.size() + sharedSelected.size();
+        if (selected != null) {
+            count += selected.size();
+        }
+        return count;
     }
 
     /**
@@ -186,8 +240,13 @@ public final class TableSelectPhaseListener implements PhaseListener {
      * @return A true or false value.
      */
     public boolean isSelected(final RowKey rowKey) {
-        Object object = getSelected(rowKey);
-        return (object != null && object != unselected);
+        if (rowKey == null) {
+            return false;
+        }
+        String rowId = rowKey.getRowId();
+        return rowIdSelected.contains(rowId)
+                || sharedSelected.contains(rowId)
+                || (selected != null && selected.containsKey(rowId));
     }
 
     /**
@@ -211,8 +270,103 @@ public final class TableSelectPhaseListener implements PhaseListener {
      * @param object The selected object.
      */
     public void setSelected(final RowKey rowKey, final Object object) {
-        if (rowKey != null) {
-            selected.put(rowKey.getRowId(), object);
+        if (rowKey == null) {
+            return;
+        }
+        String rowId = rowKey.getRowId();
+        rowIdSelected.remove(rowId);
+        sharedSelected.remove(rowId);
+        unselectedRows.remove(rowId);
+        if (selected != null) {
+            selected.remove(rowId);
+        }
+        if (object == null) {
+            return;
+        }
+        if (object == unselected) {
+            unselectedRows.add(rowId);
+        } else if (object.equals(rowId)) {
+            rowIdSelected.add(rowId);
+        } else if (sharedValue == null || sharedSelected.isEmpty()) {
+            sharedValue = object;
+            sharedSelected.add(rowId);
+        } else if (object.equals(sharedValue)) {
+            sharedSelected.add(rowId);
+        } else {
+            if (selected == null) {
+                selected = new HashMap<String, Object>();
+            }
+            selected.put(rowId, object);
+        }
+    }
+
+    /**
+     * Select the given rows, using the row identifier of each row as the
+     * selected object.
+     * <p>
+     * Note: Use {@code TableRowGroup.getRenderedRowKeys()} to select the
+     * current page or {@code TableRowGroup.getFilteredRowKeys()} to select all
+     * filtered rows. With a {@code TableDataQueryProvider}, the latter
+     * queries the keys of every matching row.
+     * </p>
+     *
+     * @param rowKeys The RowKey objects to select.
+     */
+    public void select(final RowKey[] rowKeys) {
+        if (rowKeys == null) {
+            return;
+        }
+        for (RowKey rowKey : rowKeys) {
+            if (rowKey != null) {
+                setSelected(rowKey, rowKey.getRowId());
+            }
+        }
+    }
+
+    /**
+     * Select the given rows, using the given selected object for each row.
+     *
+     * @param rowKeys The RowKey objects to select.
+     * @param object The selected object.
+     */
+    public void select(final RowKey[] rowKeys, final Object object) {
+        if (rowKeys == null) {
+            return;
+        }
+        for (RowKey rowKey : rowKeys) {
+            setSelected(rowKey, object);
+        }
+    }
+
+    /**
+     * Deselect the given rows.
+     *
+     * @param rowKeys The RowKey objects to deselect.
+     */
+    public void deselect(final RowKey[] rowKeys) {
+        select(rowKeys, unselected);
+    }
+
+    /**
+     * Invert the selected state of the given rows. Rows that are not selected
+     * are selected using the row identifier of each row as the selected
+     * object.
+     *
+     * @param rowKeys The RowKey objects to invert.
+     */
+    public void invert(final RowKey[] rowKeys) {
+        if (rowKeys == null) {
+            return;
+        }
+        for (RowKey rowKey : rowKeys) {
+            if (rowKey == null) {
+                continue;
+            }
+            if (isSelected(rowKey)) {
+                setSelected(rowKey, unselected);
+            } else {
+                setSelected(rowKey, rowKey.getRowId());
+            }
         }
     }
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -19,10 +20,15 @@ package com.sun.webui.jsf.faces;
 
 import com.sun.faces.annotation.Resolver;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import jakarta.el.ELResolver;
 import jakarta.el.ELContext;
 import jakarta.el.PropertyNotFoundException;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PhaseId;
 import jakarta.faces.model.SelectItem;
 import com.sun.data.provider.DataProvider;
 import com.sun.data.provider.DataProviderException;
@@ -104,6 +110,11 @@ import java.util.Arrays;
  * resulting String[] will have one element. Note that the special :ROWKEY: and
  * :ROWID: field IDs can be used here.</li>
  * </ul>
+ *
+ * The wrapper objects handed out for {@code value}, {@code selectItems},
+ * {@code options} and {@code stringList} are created once per provider and
+ * per request phase, and reused within it. Field ids are resolved to
+ * {@link FieldKey} instances through a cache that lives just as long.
  */
 @Resolver
 public final class DataProviderELResolver extends ELResolver {
@@ -138,6 +149,43 @@ public final class DataProviderELResolver extends ELResolver {
      */
     public static final String ROWKEY_FKEY = ":ROWKEY:";
 
+    /**
+     * Faces context attribute holding the per request provider data.
+     */
+    private static final String PROVIDER_DATA_KEY =
+            DataProviderELResolver.class.getName() + ".PROVIDER_DATA";
+
+    /**
+     * Get the cached data for the given provider, creating it if needed. The
+     * data is kept in the faces context attributes and dropped whenever the
+     * request moves to another phase, so that a provider modified by an
+     * action is not resolved with field keys cached before the change.
+     * @param context EL context
+     * @param provider data provider
+     * @return ProviderData
+     */
+    private static ProviderData getProviderData(final ELContext context,
+            final DataProvider provider) {
+
+        FacesContext facesContext = (FacesContext) context
+                .getContext(FacesContext.class);
+        if (facesContext == null) {
+            facesContext = FacesContext.getCurrentInstance();
+        }
+        if (facesContext == null) {
+            return new ProviderData(provider);
+        }
+        Map<Object, Object> attributes = facesContext.getAttributes();
+        PhaseId phaseId = facesContext.getCurrentPhaseId();
+        RequestData requestData = (RequestData) attributes
+                .get(PROVIDER_DATA_KEY);
+        if (requestData == null || requestData.getPhaseId() != phaseId) {
+            requestData = new RequestData(phaseId);
+            attributes.put(PROVIDER_DATA_KEY, requestData);
+        }
+        return requestData.getProviderData(provider);
+    }
+
     @Override
     public Object getValue(final ELContext context, final Object base,
             final Object property) {
@@ -150,22 +198,26 @@ public final class DataProviderELResolver extends ELResolver {
             DataProvider provider = (DataProvider) base;
 
             if (VALUE_KEY.equals(property)) {
-                result = new ValueData(provider);
+                result = getProviderData(context, provider)
+                        .getValueData();
                 context.setPropertyResolved(true);
                 return result;
 
             } else if (SELECT_ITEMS_KEY.equals(property)) {
-                result = new SelectItemsData(provider);
+                result = getProviderData(context, provider)
+                        .getSelectItemsData();
                 context.setPropertyResolved(true);
                 return result;
 
             } else if (OPTIONS_KEY.equals(property)) {
-                result = new OptionsData(provider);
+                result = getProviderData(context, provider)
+                        .getOptionsData();
                 context.setPropertyResolved(true);
                 return result;
 
             } else if (STRING_LIST_KEY.equals(property)) {
-                result = new StringListData(provider);
+                result = getProviderData(context, provider)
+                        .getStringListData();
                 context.setPropertyResolved(true);
                 return result;
             }
@@ -343,21 +395,183 @@ public final class DataProviderELResolver extends ELResolver {
     }
 
     /**
-     * Value data.
+     * Provider data cached for one phase of a request.
+     */
+    private static final class RequestData {
+
+        /**
+         * Phase the data was cached for.
+         */
+        private final PhaseId phaseId;
+
+        /**
+         * Data by provider instance.
+         */
+        private final Map<DataProvider, ProviderData> providers =
+                new IdentityHashMap<DataProvider, ProviderData>();
+
+        /**
+         * Create a new instance.
+         * @param newPhaseId current phase
+         */
+        RequestData(final PhaseId newPhaseId) {
+            this.phaseId = newPhaseId;
+        }
+
+        /**
+         * Get the phase the data was cached for.
+         * @return PhaseId
+         */
+        PhaseId getPhaseId() {
+            return phaseId;
+        }
+
+        /**
+         * Get the data for the given provider, creating it if needed.
+         * @param provider data provider
+         * @return ProviderData
+         */
+        ProviderData getProviderData(final DataProvider provider) {
+            ProviderData data = providers.get(provider);
+            if (data == null) {
+                data = new ProviderData(provider);
+                providers.put(provider, data);
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Per provider data: field key cache and reusable wrappers.
      */
-    private final class ValueData {
+    private static final class ProviderData {
 
         /**
          * Data provider.
          */
         private final DataProvider provider;
 
+        /**
+         * Field keys by field id.
+         */
+        private final Map<String, FieldKey> fieldKeys =
+                new HashMap<String, FieldKey>();
+
+        /**
+         * Value wrapper.
+         */
+        private final ValueData valueData;
+
+        /**
+         * Select items wrapper.
+         */
+        private final SelectItemsData selectItemsData;
+
+        /**
+         * Options wrapper.
+         */
+        private final OptionsData optionsData;
+
+        /**
+         * String list wrapper.
+         */
+        private final StringListData stringListData;
+
         /**
          * Create a new instance.
-         * @param newProvider new provider
+         * @param newProvider data provider
          */
-        ValueData(final DataProvider newProvider) {
+        ProviderData(final DataProvider newProvider) {
             this.provider = newProvider;
+            this.valueData = new ValueData(this);
+            this.selectItemsData = new SelectItemsData(this);
+            this.optionsData = new OptionsData(this);
+            this.stringListData = new StringListData(this);
+        }
+
+        /**
+         * Get the data provider.
+         * @return DataProvider
+         */
+        DataProvider getProvider() {
+            return provider;
+        }
+
+        /**
+         * Get the value wrapper.
+         * @return ValueData
+         */
+        ValueData getValueData() {
+            return valueData;
+        }
+
+        /**
+         * Get the select items wrapper.
+         * @return SelectItemsData
+         */
+        SelectItemsData getSelectItemsData() {
+            return selectItemsData;
+        }
+
+        /**
+         * Get the options wrapper.
+         * @return OptionsData
+         */
+        OptionsData getOptionsData() {
+            return optionsData;
+        }
+
+        /**
+         * Get the string list wrapper.
+         * @return StringListData
+         */
+        StringListData getStringListData() {
+            return stringListData;
+        }
+
+        /**
+         * Get the field key for a field id, looking up the provider only if
+         * the field id has not been resolved yet.
+         * @param fieldId field id
+         * @return FieldKey or {@code null} if not found
+         * @throws DataProviderException if an error occurs
+         */
+        FieldKey getFieldKey(final String fieldId)
+                throws DataProviderException {
+
+            FieldKey fk = fieldKeys.get(fieldId);
+            if (fk == null) {
+                fk = provider.getFieldKey(fieldId);
+                if (fk != null) {
+                    fieldKeys.put(fieldId, fk);
+                }
+            }
+            return fk;
+        }
+    }
+
+    /**
+     * Value data.
+     */
+    private static final class ValueData {
+
+        /**
+         * Provider data.
+         */
+        private final ProviderData data;
+
+        /**
+         * Data provider.
+         */
+        private final DataProvider provider;
+
+        /**
+         * Create a new instance.
+         * @param newData provider data
+         */
+        ValueData(final ProviderData newData) {
+            this.data = newData;
+            this.provider = newData.getProvider();
         }
 
         /**
@@ -403,7 +617,7 @@ public final class DataProviderELResolver extends ELResolver {
 
             } else {
                 try {
-                    FieldKey fk = provider.getFieldKey(fieldId);
+                    FieldKey fk = data.getFieldKey(fieldId);
                     if (fk != null) {
                         try {
                             value = provider.getValue(fk);
@@ -478,7 +692,7 @@ public final class DataProviderELResolver extends ELResolver {
                 }
             } else {
                 try {
-                    FieldKey fk = provider.getFieldKey(fieldId);
+                    FieldKey fk = data.getFieldKey(fieldId);
                     if (fk != null) {
                         // <RAVE> - 6334873 - No exception on empty TDP
                         // provider.setValue(fk, value);
@@ -515,7 +729,7 @@ public final class DataProviderELResolver extends ELResolver {
             }
 
             try {
-                FieldKey fk = provider.getFieldKey(fieldId);
+                FieldKey fk = data.getFieldKey(fieldId);
                 if (fk != null) {
                     return provider.isReadOnly(fk);
                 } else {
@@ -546,7 +760,7 @@ public final class DataProviderELResolver extends ELResolver {
             }
 
             try {
-                FieldKey fk = provider.getFieldKey(fieldId);
+                FieldKey fk = data.getFieldKey(fieldId);
                 if (fk != null) {
                     return provider.getType(fk);
                 } else {
@@ -564,7 +778,12 @@ public final class DataProviderELResolver extends ELResolver {
     /**
      * Select items data.
      */
-    private class SelectItemsData {
+    private static class SelectItemsData {
+
+        /**
+         * Provider data.
+         */
+        private final ProviderData data;
 
         /**
          * Data provider.
@@ -573,10 +792,11 @@ public final class DataProviderELResolver extends ELResolver {
 
         /**
          * Create a new instance.
-         * @param newProvider data provider.
+         * @param newData provider data.
          */
-        SelectItemsData(final DataProvider newProvider) {
-            this.provider = newProvider;
+        SelectItemsData(final ProviderData newData) {
+            this.data = newData;
+            this.provider = newData.getProvider();
         }
 
         /**
@@ -612,7 +832,7 @@ public final class DataProviderELResolver extends ELResolver {
                     value = null;
                 }
             } else {
-                FieldKey fk = dataProvider.getFieldKey(fieldId);
+                FieldKey fk = data.getFieldKey(fieldId);
                 if (fk != null) {
                     if (row != null
                             && dataProvider instanceof TableDataProvider) {
@@ -747,14 +967,14 @@ public final class DataProviderELResolver extends ELResolver {
     /**
      * Options data.
      */
-    private final class OptionsData extends SelectItemsData {
+    private static final class OptionsData extends SelectItemsData {
 
         /**
          * Create a new instance.
-         * @param provider data provider
+         * @param newData provider data
          */
-        OptionsData(final DataProvider provider) {
-            super(provider);
+        OptionsData(final ProviderData newData) {
+            super(newData);
         }
 
         @Override
@@ -776,14 +996,14 @@ public final class DataProviderELResolver extends ELResolver {
     /**
      * String list data.
      */
-    private final class StringListData extends SelectItemsData {
+    private static final class StringListData extends SelectItemsData {
 
         /**
          * Create a new instance.
-         * @param provider data provider
+         * @param newData provider data
          */
-        StringListData(final DataProvider provider) {
-            super(provider);
+        StringListData(final ProviderData newData) {
+            super(newData);
         }
 
         @Override
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -13,18 +14,18 @@
  *
  * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
  */
-
 package com.sun.webui.jsf.faces;
 
 import com.sun.data.provider.FieldKey;
 import com.sun.data.provider.RowKey;
 import com.sun.data.provider.TableDataProvider;
-import java.util.AbstractCollection;
+import com.sun.webui.jsf.model.TableDataRevisionProvider;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import jakarta.faces.model.DataModel;
 import jakarta.faces.model.DataModelEvent;
@@ -36,6 +37,20 @@ import jakarta.faces.model.DataModelListener;
  * Note that setting the {@code rowIndex} property of this
  * {@code DataModel} does <strong>NOT</strong> cause the cursor of
  * the wrapped {@link TableDataProvider} to be repositioned.
+ * <p>
+ * The row data returned by {@code getRowData()} is a single, reusable
+ * {@code Map} view that is re-pointed at the current row whenever the
+ * {@code rowIndex} changes, rather than a new {@code Map} per row. Field
+ * identifiers are resolved through a hash table built once per wrapped
+ * {@link TableDataProvider}. Callers that need to keep the data of a row
+ * must copy it. For columnar reads, use {@link #getValues}.
+ * </p><p>
+ * The row keys are fetched once per iteration over the rows: they are
+ * fetched again when the {@code rowIndex} is reset to -1, as done by
+ * {@code UIData} before and after each iteration, when the wrapped data
+ * changes, and when the revision of a {@link TableDataRevisionProvider}
+ * or, for other providers, the row count changes.
+ * </p>
  */
 public final class TableDataProviderDataModel extends DataModel {
 
@@ -45,6 +60,24 @@ public final class TableDataProviderDataModel extends DataModel {
      */
     private FieldKey[] fieldKeys = null;
 
+    /**
+     * The index of each {@link FieldKey} in {@code fieldKeys}, keyed by
+     * field identifier.
+     */
+    private Map<String, Integer> fieldIndex = null;
+
+    /**
+     * The row keys of the wrapped {@link TableDataProvider}, fetched once
+     * per iteration.
+     */
+    private RowKey[] rowKeys = null;
+
+    /**
+     * The revision of the wrapped {@link TableDataRevisionProvider} when the
+     * row keys were fetched.
+     */
+    private long rowKeysRevision = 0;
+
     /**
      * The row index to which this {@code DataModel} is positioned.
      */
@@ -55,6 +88,11 @@ public final class TableDataProviderDataModel extends DataModel {
      */
     private TableDataProvider tdp = null;
 
+    /**
+     * The reusable row data view.
+     */
+    private final TableDataProviderMap rowMap = new TableDataProviderMap();
+
     /**
      * Construct an uninitialized {@link TableDataProviderDataModel}.
      */
@@ -86,12 +124,26 @@ public final class TableDataProviderDataModel extends DataModel {
      */
     public void setTableDataProvider(final TableDataProvider newTdp) {
         this.tdp = newTdp;
+        this.rowKeys = null;
         if (newTdp == null) {
             this.fieldKeys = null;
+            this.fieldIndex = null;
             this.rowIndex = -1;
         } else {
             this.fieldKeys = newTdp.getFieldKeys();
+            if (this.fieldKeys == null) {
+                this.fieldKeys = new FieldKey[0];
+            }
+            this.fieldIndex = new HashMap<String, Integer>(
+                    fieldKeys.length * 2);
+            for (int i = 0; i < fieldKeys.length; i++) {
+                // Keep the first FieldKey of duplicate field identifiers.
+                if (!fieldIndex.containsKey(fieldKeys[i].getFieldId())) {
+                    fieldIndex.put(fieldKeys[i].getFieldId(), i);
+                }
+            }
         }
+        rowMap.setRowKey(getRowKey());
     }
 
     /**
@@ -129,9 +181,12 @@ public final class TableDataProviderDataModel extends DataModel {
      * {@code getValue()} and {@code setValue()} calls on the
      * wrapped {@link TableDataProvider}.  Operations that attempt to add,
      * delete, or replace keys will be rejected.
+     * <p>
+     * Note: The same {@code Map} instance is returned for every row, and
+     * always reflects the current row.
+     * </p>
      * @return Object
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Object getRowData() {
         if (getTableDataProvider() == null) {
@@ -140,12 +195,7 @@ public final class TableDataProviderDataModel extends DataModel {
         if (!getTableDataProvider().isRowAvailable(getRowKey())) {
             throw new IllegalArgumentException("" + getRowIndex());
         }
-        Map map = new TableDataProviderMap();
-        for (FieldKey fieldKey : fieldKeys) {
-            map.put(fieldKey.getFieldId(), tdp.getValue(fieldKey,
-                    getRowKey()));
-        }
-        return map;
+        return rowMap;
     }
 
     /**
@@ -164,13 +214,59 @@ public final class TableDataProviderDataModel extends DataModel {
      */
     public RowKey getRowKey() {
         int i = getRowIndex();
-        RowKey[] rks = tdp.getRowKeys(i + 1, null);
-        if (rks.length > i) {
-            return rks[i];
+        if (tdp == null || i < 0) {
+            return null;
+        }
+        // Fetch row keys once, and again if the data changed.
+        int count = tdp.getRowCount();
+        long revision = 0;
+        boolean changed;
+        if (tdp instanceof TableDataRevisionProvider) {
+            revision = ((TableDataRevisionProvider) tdp).getDataRevision();
+            changed = revision != rowKeysRevision;
+        } else {
+            changed = rowKeys != null && count >= 0
+                    && count != rowKeys.length;
+        }
+        if (rowKeys == null || i >= rowKeys.length || changed) {
+            rowKeys = tdp.getRowKeys(Math.max(i + 1, count), null);
+            if (rowKeys == null) {
+                rowKeys = new RowKey[0];
+            }
+            rowKeysRevision = revision;
+        }
+        if (rowKeys.length > i) {
+            return rowKeys[i];
         }
         return null;
     }
 
+    /**
+     * Get the values of the given fields for the given rows, in column
+     * oriented form.
+     *
+     * @param keys The {@link FieldKey}s of the fields to read.
+     * @param rows The {@link RowKey}s of the rows to read.
+     * @return An array of columns, each containing the values of one field
+     * for all rows (i.e., {@code values[field][row]}).
+     */
+    public Object[][] getValues(final FieldKey[] keys, final RowKey[] rows) {
+        if (keys == null || rows == null) {
+            throw new NullPointerException();
+        }
+        Object[][] values = new Object[keys.length][];
+        for (int f = 0; f < keys.length; f++) {
+            Object[] column = new Object[rows.length];
+            if (tdp != null) {
+                for (int r = 0; r < rows.length; r++) {
+                    column[r] = tdp.getValue(keys[f], rows[r]);
+                }
+            }
+            values[f] = column;
+        }
+        return values;
+    }
+
     /**
      * Set the currently selected {@code rowIndex}.  The cursor
      * position of the wrapped {@link TableDataProvider} is <strong>NOT</strong>
@@ -185,9 +281,14 @@ public final class TableDataProviderDataModel extends DataModel {
         }
         int oldIndex = this.rowIndex;
         this.rowIndex = newRowIndex;
+        if (newRowIndex == -1) {
+            // the rows may change before the next iteration
+            rowKeys = null;
+        }
         if (getTableDataProvider() == null) {
             return;
         }
+        rowMap.setRowKey(getRowKey());
         DataModelListener[] listeners = getDataModelListeners();
         if ((oldIndex != newRowIndex) && (listeners != null)) {
             Object rowData = null;
@@ -222,42 +323,48 @@ public final class TableDataProviderDataModel extends DataModel {
         setTableDataProvider((TableDataProvider) data);
     }
 
+    /**
+     * Get the index of the {@link FieldKey} for the given field identifier.
+     * @param key field identifier
+     * @return int
+     */
+    private int index(final Object key) {
+        if (fieldIndex == null) {
+            return -1;
+        }
+        Integer index = fieldIndex.get(key);
+        if (index == null) {
+            return -1;
+        }
+        return index;
+    }
+
     /**
      * Private implementation of {@code Map} that delegates
      * {@code get()} and {@code put()} operations to
      * {@code getValue()} and {@code setValue()} calls on the
-     * underlying {@link TableDataProvider}.
+     * underlying {@link TableDataProvider}, for the row it is pointed at.
      */
-    private final class TableDataProviderMap extends AbstractMap {
-
-        /**
-         * Row index.
-         */
-        private final int rowIndex;
+    private final class TableDataProviderMap
+            extends AbstractMap<String, Object> {
 
         /**
          * Row key.
          */
-        private final RowKey rowKey;
-
-        /**
-         * Field keys.
-         */
-        private final FieldKey[] fieldKeys =
-                TableDataProviderDataModel.this.fieldKeys;
+        private RowKey rowKey = null;
 
         /**
-         * Table data provider.
+         * Entry set view.
          */
-        private final TableDataProvider tdp =
-                TableDataProviderDataModel.this.tdp;
+        private final Set<Map.Entry<String, Object>> entries =
+                new TableDataProviderEntries();
 
         /**
-         * Create a new instance.
+         * Point this map at the given row.
+         * @param newRowKey row key
          */
-        TableDataProviderMap() {
-            this.rowIndex = TableDataProviderDataModel.this.getRowIndex();
-            this.rowKey = TableDataProviderDataModel.this.getRowKey();
+        void setRowKey(final RowKey newRowKey) {
+            this.rowKey = newRowKey;
         }
 
         @Override
@@ -266,27 +373,13 @@ public final class TableDataProviderDataModel extends DataModel {
         }
 
         @Override
-        public boolean containsValue(final Object value) {
-            Iterator keys = keySet().iterator();
-            while (keys.hasNext()) {
-                Object key = keys.next();
-                Object contained = get(key);
-                if (value == null) {
-                    if (contained == null) {
-                        return true;
-                    }
-                } else {
-                    if (value.equals(contained)) {
-                        return true;
-                    }
-                }
-            }
-            return false;
+        public boolean containsKey(final Object key) {
+            return index(key) >= 0;
         }
 
         @Override
-        public Set entrySet() {
-            return new TableDataProviderEntries(this);
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return entries;
         }
 
         @Override
@@ -299,12 +392,7 @@ public final class TableDataProviderDataModel extends DataModel {
         }
 
         @Override
-        public Set keySet() {
-            return new TableDataProviderKeys(this);
-        }
-
-        @Override
-        public Object put(final Object key, final Object value) {
+        public Object put(final String key, final Object value) {
             int columnIndex = index(key);
             if (columnIndex < 0) {
                 return null;
@@ -314,56 +402,17 @@ public final class TableDataProviderDataModel extends DataModel {
             return previous;
         }
 
-        @Override
-        public void putAll(final Map map) {
-            Iterator keys = map.keySet().iterator();
-            while (keys.hasNext()) {
-                Object key = keys.next();
-                put(key, map.get(key));
-            }
-        }
-
         @Override
         public Object remove(final Object key) {
             throw new UnsupportedOperationException();
         }
 
         @Override
-        public Collection values() {
-            return new TableDataProviderValues(this);
-        }
-
-        /**
-         * Get the index for the given key.
-         * @param key mapped key
-         * @return int
-         */
-        private int index(final Object key) {
-            int index = -1;
-            for (int i = 0; i < fieldKeys.length; i++) {
-                if (key.equals(fieldKeys[i].getFieldId())) {
-                    index = i;
-                    break;
-                }
+        public int size() {
+            if (fieldKeys == null) {
+                return 0;
             }
-            return index;
-        }
-
-        /**
-         * Get the real key.
-         * @param key mapped key
-         * @return Object
-         */
-        Object realKey(final Object key) {
-            return super.get(key);
-        }
-
-        /**
-         * Get the real keys.
-         * @return Iterator
-         */
-        Iterator realKeys() {
-            return super.keySet().iterator();
+            return fieldKeys.length;
         }
     }
 
@@ -371,30 +420,8 @@ public final class TableDataProviderDataModel extends DataModel {
      * Private implementation of {@code Set} for implementing the
      * {@code entrySet()} behavior of {@code TableDataProviderMap}.
      */
-    private final class TableDataProviderEntries extends AbstractSet {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderEntries(final TableDataProviderMap newMap) {
-            this.map = newMap;
-        }
-
-        @Override
-        public boolean add(final Object o) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean addAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
+    private final class TableDataProviderEntries
+            extends AbstractSet<Map.Entry<String, Object>> {
 
         @Override
         public void clear() {
@@ -402,34 +429,8 @@ public final class TableDataProviderDataModel extends DataModel {
         }
 
         @Override
-        public boolean contains(final Object o) {
-            if (o == null) {
-                throw new NullPointerException();
-            }
-            if (!(o instanceof Map.Entry)) {
-                return false;
-            }
-            Map.Entry e = (Map.Entry) o;
-            Object k = e.getKey();
-            Object v = e.getValue();
-            if (!map.containsKey(k)) {
-                return false;
-            }
-            if (v == null) {
-                return map.get(k) == null;
-            } else {
-                return v.equals(map.get(k));
-            }
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return map.isEmpty();
-        }
-
-        @Override
-        public Iterator iterator() {
-            return new TableDataProviderIterator(map);
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new TableDataProviderIterator();
         }
 
         @Override
@@ -437,19 +438,9 @@ public final class TableDataProviderDataModel extends DataModel {
             throw new UnsupportedOperationException();
         }
 
-        @Override
-        public boolean removeAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean retainAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
         @Override
         public int size() {
-            return map.size();
+            return rowMap.size();
         }
     }
 
@@ -457,36 +448,26 @@ public final class TableDataProviderDataModel extends DataModel {
      * Private implementation of {@code Iterator} for the
      * {@code Set} returned by {@code entrySet()}.
      */
-    private final class TableDataProviderIterator implements Iterator {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
+    private final class TableDataProviderIterator
+            implements Iterator<Map.Entry<String, Object>> {
 
         /**
-         * Map keys.
+         * Index of the next field.
          */
-        private Iterator keys = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderIterator(final TableDataProviderMap newMap) {
-            this.map = newMap;
-            this.keys = newMap.keySet().iterator();
-        }
+        private int next = 0;
 
         @Override
         public boolean hasNext() {
-            return keys.hasNext();
+            return next < rowMap.size();
         }
 
         @Override
-        public Object next() {
-            Object key = keys.next();
-            return (new TableDataProviderEntry(map, key));
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new TableDataProviderEntry(
+                    fieldKeys[next++].getFieldId());
         }
 
         @Override
@@ -500,35 +481,24 @@ public final class TableDataProviderDataModel extends DataModel {
      * the behavior for a single entry from the {@code Set} that is
      * returned by {@code entrySet()}.
      */
-    private final class TableDataProviderEntry implements Map.Entry {
-
-        /**
-         * Value.
-         */
-        private TableDataProviderMap map = null;
+    private final class TableDataProviderEntry
+            implements Map.Entry<String, Object> {
 
         /**
          * Key.
          */
-        private Object key = null;
+        private final String key;
 
         /**
          * Create a new instance.
-         * @param newMap value
          * @param newKey key
          */
-        TableDataProviderEntry(final TableDataProviderMap newMap,
-                final Object newKey) {
-
-            this.map = newMap;
+        TableDataProviderEntry(final String newKey) {
             this.key = newKey;
         }
 
         @Override
         public boolean equals(final Object o) {
-            if (o == null) {
-                return false;
-            }
             if (!(o instanceof Map.Entry)) {
                 return false;
             }
@@ -542,32 +512,26 @@ public final class TableDataProviderDataModel extends DataModel {
                     return false;
                 }
             }
-            Object v = map.get(key);
+            Object v = getValue();
             if (v == null) {
-                if (e.getValue() != null) {
-                    return false;
-                }
-            } else {
-                if (!v.equals(e.getValue())) {
-                    return false;
-                }
+                return e.getValue() == null;
             }
-            return true;
+            return v.equals(e.getValue());
         }
 
         @Override
-        public Object getKey() {
+        public String getKey() {
             return this.key;
         }
 
         @Override
         public Object getValue() {
-            return map.get(key);
+            return rowMap.get(key);
         }
 
         @Override
         public int hashCode() {
-            Object value = map.get(key);
+            Object value = getValue();
             if (key == null) {
                 return 0;
             }
@@ -579,230 +543,7 @@ public final class TableDataProviderDataModel extends DataModel {
 
         @Override
         public Object setValue(final Object value) {
-            Object previous = map.get(key);
-            map.put(key, value);
-            return previous;
-        }
-    }
-
-    /**
-     * Private implementation of {@code Set} that implements the
-     * {@code keySet()} behavior.
-     */
-    private final class TableDataProviderKeys extends AbstractSet {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderKeys(final TableDataProviderMap newMap) {
-            this.map = newMap;
-        }
-
-        @Override
-        public boolean add(final Object o) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean addAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void clear() {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean contains(final Object o) {
-            return map.containsKey(o);
-        }
-
-        @Override
-        public boolean isEmpty() {
-            return map.isEmpty();
-        }
-
-        @Override
-        public Iterator iterator() {
-            return new TableDataProviderKeysIterator(map);
-        }
-
-        @Override
-        public boolean remove(final Object o) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean removeAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean retainAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public int size() {
-            return map.size();
-        }
-    }
-
-    /**
-     * Private implementation of {@code Iterator} that implements the
-     * {@code iterator()} method returned by {@code keySet()}.
-     */
-    private final class TableDataProviderKeysIterator implements Iterator {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
-
-        /**
-         * Keys.
-         */
-        private Iterator keys = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderKeysIterator(
-                final TableDataProviderMap newMap) {
-
-            this.map = newMap;
-            this.keys = newMap.realKeys();
-        }
-
-        @Override
-        public boolean hasNext() {
-            return keys.hasNext();
-        }
-
-        @Override
-        public Object next() {
-            return keys.next();
-        }
-
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-    }
-
-    /**
-     * Private implementation of {@code Collection} that implements
-     * the {@code values()} method.
-     */
-    private final class TableDataProviderValues extends AbstractCollection {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderValues(final TableDataProviderMap newMap) {
-            this.map = newMap;
-        }
-
-        @Override
-        public boolean add(final Object o) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean addAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void clear() {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean contains(final Object value) {
-            return map.containsValue(value);
-        }
-
-        @Override
-        public Iterator iterator() {
-            return new TableDataProviderValuesIterator(map);
-        }
-
-        @Override
-        public boolean remove(final Object o) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean removeAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean retainAll(final Collection c) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public int size() {
-            return map.size();
-        }
-    }
-
-    /**
-     * Private implementation of {@code Iterator} that implements the
-     * {@code behavior for the {@code Iterator} returned by
-     * {@code values().iterator()}.
-     */
-    private final class TableDataProviderValuesIterator implements Iterator {
-
-        /**
-         * Underlying map.
-         */
-        private TableDataProviderMap map = null;
-
-        /**
-         * Keys.
-         */
-        private Iterator keys = null;
-
-        /**
-         * Create a new instance.
-         * @param newMap table data provider map
-         */
-        TableDataProviderValuesIterator(
-                final TableDataProviderMap newMap) {
-
-            this.map = newMap;
-            this.keys = newMap.keySet().iterator();
-        }
-        @Override
-        public boolean hasNext() {
-            return keys.hasNext();
-        }
-
-        @Override
-        public Object next() {
-            return map.get(keys.next());
-        }
-
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
+            return rowMap.put(key, value);
         }
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,14 +49,30 @@ public final class FileChooserItem implements ResourceItem, Serializable {
      */
     private boolean itemDisabled = true;
 
+    /**
+     * Directory flag.
+     */
+    private boolean directory = false;
+
     /**
      * Creates a new instance of FileChooserItem.
      * @param file file
      */
     public FileChooserItem(final File file) {
+        this(file, file.isDirectory());
+    }
+
+    /**
+     * Creates a new instance of FileChooserItem for a file whose type is
+     * already known, without accessing the file system.
+     * @param file file
+     * @param isDirectory {@code true} if the file is a directory
+     */
+    public FileChooserItem(final File file, final boolean isDirectory) {
         this.item = file;
+        this.directory = isDirectory;
         StringBuilder buffer = new StringBuilder();
-        if (item.isDirectory()) {
+        if (directory) {
             buffer.append("folder=");
         } else {
             buffer.append("file=");
@@ -147,7 +164,7 @@ public final class FileChooserItem implements ResourceItem, Serializable {
      */
     @Override
     public boolean isContainerItem() {
-        return item.isDirectory();
+        return directory;
     }
 
     @Override
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,21 +18,40 @@ package com.sun.webui.jsf.model;
 
 import java.io.Serializable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.text.CollationKey;
 import java.text.Collator;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import com.sun.webui.jsf.component.FileChooser;
 import com.sun.webui.theme.Theme;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import com.sun.webui.jsf.util.FilterUtil;
+import com.sun.webui.jsf.util.SharedDateFormat;
 
 // FIXME: Should be logging errors that don't have
 // a way of bubbling up, like messages that don't accept arguments.
@@ -111,11 +131,6 @@ public final class FileChooserModel implements ResourceModel, Serializable {
      */
     private String serverName = null;
 
-    /**
-     * Collator.
-     */
-    private transient Collator collator = null;
-
     /**
      * Creates a new instance of FileChooserModel.
      */
@@ -322,10 +337,6 @@ public final class FileChooserModel implements ResourceModel, Serializable {
             final boolean disableFiles, final boolean disableFolders) {
 
         FacesContext context = FacesContext.getCurrentInstance();
-        ArrayList<FileChooserItem> optList = new ArrayList<FileChooserItem>();
-        FileChooserItem[] fileEntries;
-        FilterUtil filter = new FilterUtil(getFilterValue());
-        boolean filesExist = false;
 
         String zFolder;
         if (folder == null) {
@@ -337,81 +348,128 @@ public final class FileChooserModel implements ResourceModel, Serializable {
             return null;
         }
 
-        File file = new File(zFolder);
-        File[] fileList = file.listFiles();
-        if ((fileList == null) || (fileList.length == 0)) {
+        Listing listing = getListing(zFolder, getSortValue(),
+                getFilterValue(), context.getViewRoot().getLocale());
+        if (listing == null || listing.size() == 0) {
             return null;
         }
 
-        // As per SWAED guidelines the list of folders should appear before the
-        // list of files. Hence, we need to sort the dirs followed by the files
-        // and then append the two arrays.
-        // read each entry from the array and store it in one
-        // of the two arraylists based on whether its a file or dir
-        ArrayList<File> justFiles = new ArrayList<File>();
-        ArrayList<File> justDirs = new ArrayList<File>();
-        for (File fileList1 : fileList) {
-            if (fileList1.isDirectory()) {
-                justDirs.add(fileList1);
-            } else {
-                justFiles.add(fileList1);
-            }
+        ItemFormat format = new ItemFormat(context);
+        FileChooserItem[] fileEntries = new FileChooserItem[listing.size()];
+        for (int i = 0; i < fileEntries.length; i++) {
+            Entry entry = listing.get(i);
+            // if folderchooser then files should look as
+            // if they are disabled.
+            boolean disabled = disableFiles && !entry.isDirectory();
+            fileEntries[i] = format.getItem(entry, disabled);
         }
+        return fileEntries;
+    }
 
-        File[] fileArray = new File[justFiles.size()];
-        for (int i = 0; i < justFiles.size(); i++) {
-            fileArray[i] = (File) justFiles.get(i);
-
-        }
+    /**
+     * Returns the list box options of the directory represented by the
+     * {@code folder} parameter, or of the folder returned by
+     * {@code getCurrentDir} if {@code folder} is null. Unlike
+     * {@code getFolderContent}, the options are formatted a page at a time
+     * when they are requested, from a sorted listing of the folder that is
+     * shared for a few seconds and dropped as soon as the folder changes.
+     *
+     * @param folder folder to list, or {@code null}
+     * @param disableFiles if true the files are disabled
+     * @return OptionSource
+     */
+    public OptionSource getFolderOptions(final String folder,
+            final boolean disableFiles) {
 
-        File[] dirArray = new File[justDirs.size()];
-        for (int i = 0; i < justDirs.size(); i++) {
-            dirArray[i] = (File) justDirs.get(i);
+        String zFolder;
+        if (folder == null) {
+            zFolder = getCurrentDir();
+        } else {
+            zFolder = folder;
         }
+        FacesContext context = FacesContext.getCurrentInstance();
+        return new FolderOptions(zFolder, getSortValue(), getFilterValue(),
+                context.getViewRoot().getLocale(), disableFiles);
+    }
 
-        // sort the two files arrays
-        sort(fileArray, getSortValue());
-        sort(dirArray, getSortValue());
+    /**
+     * Get the sorted and filtered listing of a folder. The folder is read
+     * with a single pass over a {@code DirectoryStream}, the listing is
+     * then shared until it expires or the folder is modified.
+     *
+     * @param folder folder to list
+     * @param sortValue sort value
+     * @param filterValue filter value
+     * @param locale locale used to sort the file names
+     * @return Listing, or {@code null} if the folder cannot be read
+     */
+    private static Listing getListing(final String folder,
+            final String sortValue, final String filterValue,
+            final Locale locale) {
 
-        // merge the two files
-        int count = 0;
-        for (; count < justDirs.size(); count++) {
-            fileList[count] = dirArray[count];
+        if (folder == null) {
+            return null;
+        }
+        Path path;
+        try {
+            path = Paths.get(folder).toAbsolutePath().normalize();
+        } catch (InvalidPathException ex) {
+            return null;
+        }
+        String key = path.toString() + '\0' + sortValue + '\0' + filterValue
+                + '\0' + locale.toLanguageTag();
+        Listing listing = ListingCache.get(key);
+        if (listing != null) {
+            return listing;
         }
-        System.arraycopy(fileArray, 0, fileList, count, justFiles.size());
 
-        // end of code change to list of sorted dirs before files.
-        for (File fileList1 : fileList) {
-            String name = fileList1.getName();
-            boolean bSelectable = false;
-            boolean bIsDirectory = fileList1.isDirectory();
-            boolean disabled = false;
-            if (!bIsDirectory) {
-                if (filter.accept(fileList1)) {
-                    bSelectable = true;
-                    // if folderchooser then files should look as
-                    // if they are disabled.
-                    if (disableFiles) {
-                        disabled = true;
-                    }
-                } else {
-                    continue;
+        // Get the modification time of the folder before reading it, so
+        // that changes made while it is read invalidate the listing.
+        FileTime modified = Listing.getModified(path);
+
+        // The file names are keyed once, when the entries are read.
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.SECONDARY);
+        FilterUtil filter = FilterUtil.getInstance(filterValue);
+
+        // Read the attributes of each entry once, and filter the files
+        // before sorting.
+        List<Entry> entries = new ArrayList<Entry>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path child : stream) {
+                Entry entry = new Entry(child, collator);
+                if (entry.isDirectory()
+                        || filter.accept(entry.getFile().getName())) {
+                    entries.add(entry);
                 }
-            } else {
-                // all folders are selectable
-                bSelectable = true;
-            }
-            FileChooserItem item = getItem(fileList1, context, disabled);
-            optList.add(item);
-            filesExist = true;
-        }
-        if (filesExist) {
-            fileEntries = new FileChooserItem[optList.size()];
-            for (int i = 0; i < optList.size(); i++) {
-                fileEntries[i] = optList.get(i);
             }
-            return fileEntries;
-        } else {
+        } catch (IOException | DirectoryIteratorException
+                | SecurityException ex) {
+            return null;
+        }
+
+        // As per SWAED guidelines the list of folders should appear before the
+        // list of files, the comparator sorts the folders first.
+        Collections.sort(entries, new EntryComparator(sortValue));
+
+        listing = new Listing(entries.toArray(new Entry[entries.size()]),
+                path, modified);
+        ListingCache.put(key, listing);
+        return listing;
+    }
+
+    /**
+     * Convert a path to a {@code Path}.
+     * @param path path to convert
+     * @return Path, or {@code null} if the path is invalid
+     */
+    private static Path toPath(final String path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            return Paths.get(path);
+        } catch (InvalidPathException ex) {
             return null;
         }
     }
@@ -437,8 +495,13 @@ public final class FileChooserModel implements ResourceModel, Serializable {
         } else {
             resource = strArray[0];
         }
-        File f = new File(resource);
-        return getItem(f, context, false);
+        Entry entry;
+        try {
+            entry = new Entry(Paths.get(resource), null);
+        } catch (InvalidPathException ex) {
+            entry = new Entry(new File(resource), false, 0, 0, null);
+        }
+        return new ItemFormat(context).getItem(entry, false);
     }
 
     // FIXME: Don't need "Type" should be just "isFolder".
@@ -450,8 +513,8 @@ public final class FileChooserModel implements ResourceModel, Serializable {
      */
     @Override
     public boolean isFolderType(final String path) {
-        File f = new File(path);
-        return f.isDirectory();
+        Path p = toPath(path);
+        return p != null && Files.isDirectory(p);
     }
 
     /**
@@ -464,10 +527,8 @@ public final class FileChooserModel implements ResourceModel, Serializable {
      */
     @Override
     public boolean canRead(final String resourceName) {
-
-        File f = new File(resourceName);
-        return f.canRead();
-
+        Path p = toPath(resourceName);
+        return p != null && Files.isReadable(p);
     }
 
     /**
@@ -481,89 +542,133 @@ public final class FileChooserModel implements ResourceModel, Serializable {
      */
     @Override
     public boolean canWrite(final String resourceName) {
-        File f = new File(resourceName);
-        return f.canWrite();
+        Path p = toPath(resourceName);
+        return p != null && Files.isWritable(p);
     }
 
     /**
-     * Create and return an Option object representing en entry for the list
-     * box.
-     *
-     * @param file file
-     * @param context faces context
-     * @param disabled disabled flag
-     * @return FileChooserItem
+     * Formats of the list box entries, resolved once per listing.
      */
-    private static FileChooserItem getItem(final File file,
-            final FacesContext context, final boolean disabled) {
+    private static final class ItemFormat {
 
-        Theme theme = ThemeUtilities.getTheme(context);
+        /**
+         * Localized date patterns, by locale.
+         */
+        private static final Map<Locale, String> DATE_PATTERNS =
+                new ConcurrentHashMap<Locale, String>();
+
+        /**
+         * Displayed length of the file names.
+         */
+        private final int fileNameLen;
 
-        int fileNameLen = Integer.parseInt(
-                theme.getMessage("filechooser.fileNameLen"));
-        int fileSizeLen = Integer.parseInt(
-                theme.getMessage("filechooser.fileSizeLen"));
-        int fileDateLen = Integer.parseInt(
-                theme.getMessage("filechooser.fileDateLen"));
+        /**
+         * Displayed length of the file sizes.
+         */
+        private final int fileSizeLen;
 
-        Locale locale = context.getViewRoot().getLocale();
+        /**
+         * Date format.
+         */
+        private final SharedDateFormat dateFormat;
 
-        DateFormat dateFormat
-                = SimpleDateFormat.getDateInstance(DateFormat.SHORT, locale);
-        String defaultPattern
-                = ((SimpleDateFormat) dateFormat).toLocalizedPattern();
-        if (!defaultPattern.contains("yyyy")) {
-            defaultPattern = defaultPattern.replaceFirst("yy", "yyyy");
-        }
-        if (!defaultPattern.contains("MM")) {
-            defaultPattern = defaultPattern.replaceFirst("M", "MM");
-        }
-        if (!defaultPattern.contains("dd")) {
-            defaultPattern = defaultPattern.replaceFirst("d", "dd");
-        }
+        /**
+         * Time format.
+         */
+        private final SharedDateFormat timeFormat;
 
-        try {
-            defaultPattern = ThemeUtilities.getTheme(context)
-                    .getMessage("filechooser.".concat(defaultPattern));
-        } catch (MissingResourceException mre) {
-            defaultPattern = "MM/dd/yyyy";
-        }
+        /**
+         * Create a new instance for the theme and locale of the given
+         * context.
+         * @param context faces context
+         */
+        ItemFormat(final FacesContext context) {
+            Theme theme = ThemeUtilities.getTheme(context);
 
-        ((SimpleDateFormat) dateFormat).applyPattern(defaultPattern);
+            fileNameLen = Integer.parseInt(
+                    theme.getMessage("filechooser.fileNameLen"));
+            fileSizeLen = Integer.parseInt(
+                    theme.getMessage("filechooser.fileSizeLen"));
 
-        SimpleDateFormat timeFormat = new SimpleDateFormat(
-                theme.getMessage("filechooser.timeFormat"), locale);
+            Locale locale = context.getViewRoot().getLocale();
+            String defaultPattern;
+            try {
+                defaultPattern = theme.getMessage("filechooser."
+                        .concat(getDefaultDatePattern(locale)));
+            } catch (MissingResourceException mre) {
+                defaultPattern = "MM/dd/yyyy";
+            }
+            dateFormat = SharedDateFormat.getInstance(defaultPattern, locale,
+                    TimeZone.getDefault());
+            timeFormat = SharedDateFormat.getInstance(
+                    theme.getMessage("filechooser.timeFormat"), locale,
+                    TimeZone.getDefault());
+        }
 
-        String name = file.getName();
-        String value;
-        if (file.isDirectory()) {
-            name += File.separator;
-            value = "folder" + "=" + file.getAbsolutePath();
-        } else {
-            value = "file" + "=" + file.getAbsolutePath();
-        }
-        name = getDisplayString(name, fileNameLen);
-        String size = Long.toString(file.length());
-        size = getDisplayString(size, fileSizeLen);
-        Date modifiedDate = new Date(file.lastModified());
-        String date = dateFormat.format(modifiedDate);
-        String time = timeFormat.format(modifiedDate);
-        StringBuilder buffer = new StringBuilder();
-        buffer.append(name)
-                .append(SPACE)
-                .append(SPACE)
-                .append(SPACE)
-                .append(size)
-                .append(SPACE)
-                .append(SPACE)
-                .append(date)
-                .append(SPACE)
-                .append(time);
-        FileChooserItem item = new FileChooserItem(file);
-        item.setItemKey(value);
-        item.setItemLabel(buffer.toString());
-        item.setItemDisabled(disabled);
-        return item;
+        /**
+         * Get the short date pattern of a locale, with four digit years and
+         * two digit months and days.
+         * @param locale locale
+         * @return String
+         */
+        private static String getDefaultDatePattern(final Locale locale) {
+            String pattern = DATE_PATTERNS.get(locale);
+            if (pattern == null) {
+                DateFormat dateFormat = SimpleDateFormat
+                        .getDateInstance(DateFormat.SHORT, locale);
+                pattern = ((SimpleDateFormat) dateFormat).toLocalizedPattern();
+                if (!pattern.contains("yyyy")) {
+                    pattern = pattern.replaceFirst("yy", "yyyy");
+                }
+                if (!pattern.contains("MM")) {
+                    pattern = pattern.replaceFirst("M", "MM");
+                }
+                if (!pattern.contains("dd")) {
+                    pattern = pattern.replaceFirst("d", "dd");
+                }
+                DATE_PATTERNS.put(locale, pattern);
+            }
+            return pattern;
+        }
+
+        /**
+         * Create and return an Option object representing an entry for the
+         * list box.
+         *
+         * @param entry directory entry
+         * @param disabled disabled flag
+         * @return FileChooserItem
+         */
+        FileChooserItem getItem(final Entry entry, final boolean disabled) {
+            File file = entry.getFile();
+            String name = file.getName();
+            if (entry.isDirectory()) {
+                name += File.separator;
+            }
+            name = getDisplayString(name, fileNameLen);
+            String size = Long.toString(entry.getSize());
+            size = getDisplayString(size, fileSizeLen);
+            Date modifiedDate = new Date(entry.getLastModified());
+            String date = dateFormat.format(modifiedDate);
+            String time = timeFormat.format(modifiedDate);
+            StringBuilder buffer = new StringBuilder();
+            buffer.append(name)
+                    .append(SPACE)
+                    .append(SPACE)
+                    .append(SPACE)
+                    .append(size)
+                    .append(SPACE)
+                    .append(SPACE)
+                    .append(date)
+                    .append(SPACE)
+                    .append(time);
+            FileChooserItem item = new FileChooserItem(file,
+                    entry.isDirectory());
+            item.setItemKey(entry.getItemKey());
+            item.setItemLabel(buffer.toString());
+            item.setItemDisabled(disabled);
+            return item;
+        }
     }
 
     /**
@@ -592,137 +697,581 @@ public final class FileChooserModel implements ResourceModel, Serializable {
     }
 
     /**
-     * Sort rule interface.
+     * Directory entry, with the attributes read once from the file system.
      */
-    private interface SortRule {
+    private static final class Entry {
+
+        /**
+         * File of the entry.
+         */
+        private final File file;
+
+        /**
+         * Directory flag.
+         */
+        private final boolean directory;
+
+        /**
+         * File size.
+         */
+        private final long size;
+
+        /**
+         * Last modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * Collation key of the file name, {@code null} if not sorted.
+         */
+        private final CollationKey key;
+
+        /**
+         * Create a new entry reading the attributes of a path. Like
+         * {@code File}, an entry whose attributes cannot be read is a file
+         * of size 0 last modified at time 0.
+         * @param path path of the entry
+         * @param collator collator of the file names, or {@code null}
+         */
+        Entry(final Path path, final Collator collator) {
+            this.file = path.toFile();
+            BasicFileAttributes attrs = null;
+            try {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException | SecurityException ex) {
+                // broken link, or entry removed since it was listed
+            }
+            if (attrs != null) {
+                this.directory = attrs.isDirectory();
+                this.size = attrs.size();
+                this.lastModified = attrs.lastModifiedTime().toMillis();
+            } else {
+                this.directory = false;
+                this.size = 0;
+                this.lastModified = 0;
+            }
+            this.key = getKey(file, collator);
+        }
+
+        /**
+         * Create a new entry with the given attributes.
+         * @param newFile file of the entry
+         * @param isDirectory directory flag
+         * @param newSize file size
+         * @param newLastModified last modification time
+         * @param collator collator of the file names, or {@code null}
+         */
+        Entry(final File newFile, final boolean isDirectory,
+                final long newSize, final long newLastModified,
+                final Collator collator) {
+
+            this.file = newFile;
+            this.directory = isDirectory;
+            this.size = newSize;
+            this.lastModified = newLastModified;
+            this.key = getKey(file, collator);
+        }
 
         /**
-         * Compare two files.
-         * @param f1 first file
-         * @param f2 second file
-         * @return boolean
+         * Get the collation key of a file name.
+         * @param file file
+         * @param collator collator, or {@code null}
+         * @return CollationKey or {@code null} if there is no collator
          */
-        boolean compare(File f1, File f2);
+        private static CollationKey getKey(final File file,
+                final Collator collator) {
+
+            if (collator == null) {
+                return null;
+            }
+            return collator.getCollationKey(file.getName());
+        }
+
+        /**
+         * Get the file of the entry.
+         * @return File
+         */
+        File getFile() {
+            return file;
+        }
+
+        /**
+         * Get the key of the list box item of the entry, the absolute path
+         * prefixed by {@code folder=} or {@code file=}.
+         * @return String
+         */
+        String getItemKey() {
+            if (directory) {
+                return "folder" + "=" + file.getAbsolutePath();
+            }
+            return "file" + "=" + file.getAbsolutePath();
+        }
+
+        /**
+         * Test if the entry is a directory.
+         * @return {@code boolean}
+         */
+        boolean isDirectory() {
+            return directory;
+        }
+
+        /**
+         * Get the file size.
+         * @return long
+         */
+        long getSize() {
+            return size;
+        }
+
+        /**
+         * Get the last modification time.
+         * @return long
+         */
+        long getLastModified() {
+            return lastModified;
+        }
     }
 
     /**
-     * This module sorts the files and directories in a given directory
-     * according to the sort field selected by the user. By default the files
-     * will be sorted alphabetically with all folders first, followed by all
-     * files in alphabetical order. If the sort field is TIME the file will be
-     * sorted in ascending order with the earliest modified file first. if the
-     * sort field is SIZE, the files will be sorted by size with the smallest
-     * first. The bubble sort algorithm is being used here.
-     *
-     * @param fileList array of files to be sorted
-     * @param newSortValue the field to be sorted in
+     * This comparator sorts the files and directories in a given directory
+     * according to the sort field selected by the user. Folders are sorted
+     * before files. By default the files will be sorted alphabetically. If
+     * the sort field is TIME the file will be sorted in ascending order with
+     * the earliest modified file first. if the sort field is SIZE, the files
+     * will be sorted by size with the smallest first. Entries with the same
+     * size or modification time are sorted alphabetically.
      */
-    private void sort(final File[] fileList, final String newSortValue) {
+    private static final class EntryComparator implements Comparator<Entry> {
+
+        /**
+         * Sort by name.
+         */
+        private static final int NAME = 0;
+
+        /**
+         * Sort by size.
+         */
+        private static final int SIZE = 1;
+
+        /**
+         * Sort by modification time.
+         */
+        private static final int TIME = 2;
+
+        /**
+         * Sort field.
+         */
+        private final int field;
 
-        if ((fileList == null) || (fileList.length == 0)) {
-            return;
+        /**
+         * Descending order flag.
+         */
+        private final boolean descending;
+
+        /**
+         * Create a new comparator.
+         * @param sortValue the field to be sorted in
+         */
+        EntryComparator(final String sortValue) {
+            if (FileChooser.ALPHABETIC_DSC.equals(sortValue)) {
+                field = NAME;
+                descending = true;
+            } else if (FileChooser.SIZE_ASC.equals(sortValue)) {
+                field = SIZE;
+                descending = false;
+            } else if (FileChooser.SIZE_DSC.equals(sortValue)) {
+                field = SIZE;
+                descending = true;
+            } else if (FileChooser.LASTMODIFIED_ASC.equals(sortValue)) {
+                field = TIME;
+                descending = false;
+            } else if (FileChooser.LASTMODIFIED_DSC.equals(sortValue)) {
+                field = TIME;
+                descending = true;
+            } else {
+                field = NAME;
+                descending = false;
+            }
         }
 
-        if (fileList.length == 1) {
-            return;
+        @Override
+        public int compare(final Entry entry1, final Entry entry2) {
+            if (entry1.isDirectory() != entry2.isDirectory()) {
+                if (entry1.isDirectory()) {
+                    return -1;
+                }
+                return 1;
+            }
+            int result = 0;
+            if (field == SIZE) {
+                result = Long.compare(entry1.getSize(), entry2.getSize());
+            } else if (field == TIME) {
+                result = Long.compare(entry1.getLastModified(),
+                        entry2.getLastModified());
+            }
+            if (result == 0) {
+                result = entry1.key.compareTo(entry2.key);
+                if (descending && field == NAME) {
+                    result = -result;
+                }
+            } else if (descending) {
+                result = -result;
+            }
+            return result;
         }
+    }
 
-        FacesContext context = FacesContext.getCurrentInstance();
-        Locale locale = context.getViewRoot().getLocale();
-        collator = Collator.getInstance(locale);
-        collator.setStrength(Collator.SECONDARY);
+    /**
+     * Sorted and filtered listing of a folder, shared by the requests listing
+     * the same folder with the same sort, filter and locale.
+     */
+    private static final class Listing {
+
+        /**
+         * Sorted entries.
+         */
+        private final Entry[] entries;
+
+        /**
+         * Listed folder.
+         */
+        private final Path folder;
+
+        /**
+         * Modification time of the folder when it was read, {@code null} if
+         * it is not available.
+         */
+        private final FileTime modified;
+
+        /**
+         * Creation time.
+         */
+        private final long created;
 
-        String zSortValue = newSortValue;
-        if (zSortValue == null) {
-            zSortValue = FileChooser.ALPHABETIC_ASC;
+        /**
+         * Entry indexes by item key, created on the first lookup.
+         */
+        private volatile Map<String, Integer> index;
+
+        /**
+         * Create a new listing.
+         * @param newEntries sorted entries
+         * @param newFolder listed folder
+         * @param newModified modification time of the folder, or
+         * {@code null}
+         */
+        Listing(final Entry[] newEntries, final Path newFolder,
+                final FileTime newModified) {
+
+            this.entries = newEntries;
+            this.folder = newFolder;
+            this.modified = newModified;
+            this.created = System.currentTimeMillis();
         }
 
-        // check if the two files being compared are already
-        // in the desired order
-        SortRule sr = null;
-        if (zSortValue.equals(FileChooser.ALPHABETIC_ASC)) {
-            sr = new SortRule() {
+        /**
+         * Get the number of entries.
+         * @return int
+         */
+        int size() {
+            return entries.length;
+        }
 
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    return (collator.compare(file1.getName(),
-                            file2.getName()) >= 0);
-                }
-            };
-        } else if (zSortValue.equals(FileChooser.ALPHABETIC_DSC)) {
-            sr = new SortRule() {
-
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    return (collator.compare(file2.getName(),
-                            file1.getName()) >= 0);
-                }
-            };
-        } else if (zSortValue.equals(FileChooser.SIZE_ASC)) {
-            sr = new SortRule() {
-
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    if (file1.length() == file2.length()) {
-                        return (collator.compare(file1.getName(),
-                                file2.getName()) >= 0);
-                    } else {
-                        return (file1.length() > file2.length());
-                    }
-                }
-            };
-        } else if (zSortValue.equals(FileChooser.SIZE_DSC)) {
-            sr = new SortRule() {
-
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    if (file1.length() == file2.length()) {
-                        return (collator.compare(file1.getName(),
-                                file2.getName()) >= 0);
-                    } else {
-                        return (file1.length() < file2.length());
-                    }
-                }
-            };
-        } else if (zSortValue.equals(FileChooser.LASTMODIFIED_ASC)) {
-            sr = new SortRule() {
-
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    if (file1.lastModified() == file2.lastModified()) {
-                        return (collator.compare(file1.getName(),
-                                file2.getName()) >= 0);
-                    } else {
-                        return (file1.lastModified() > file2.lastModified());
-                    }
+        /**
+         * Get an entry.
+         * @param i entry index
+         * @return Entry
+         */
+        Entry get(final int i) {
+            return entries[i];
+        }
+
+        /**
+         * Get the index of the entry with the given item key.
+         * @param itemKey item key
+         * @return entry index, or {@code -1} if not found
+         */
+        int indexOf(final String itemKey) {
+            Map<String, Integer> map = index;
+            if (map == null) {
+                map = new HashMap<String, Integer>(entries.length * 2);
+                for (int i = 0; i < entries.length; i++) {
+                    map.put(entries[i].getItemKey(), i);
                 }
-            };
-        } else if (zSortValue.equals(FileChooser.LASTMODIFIED_DSC)) {
-            sr = new SortRule() {
-
-                @Override
-                public boolean compare(final File file1, final File file2) {
-                    if (file1.lastModified() == file2.lastModified()) {
-                        return (collator.compare(file1.getName(),
-                                file2.getName()) >= 0);
-                    } else {
-                        return (file1.lastModified() < file2.lastModified());
+                index = map;
+            }
+            Integer i = map.get(itemKey);
+            if (i == null) {
+                return -1;
+            }
+            return i;
+        }
+
+        /**
+         * Test if the listing can still be used: it has not expired and the
+         * modification time of the folder has not changed since it was read.
+         * The modification time of a folder changes when entries are
+         * created, removed or renamed; changes of the files themselves are
+         * seen when the listing expires.
+         * @param now current time
+         * @return {@code boolean}
+         */
+        boolean isCurrent(final long now) {
+            if (now - created >= ListingCache.TTL) {
+                return false;
+            }
+            if (modified == null) {
+                return true;
+            }
+            return modified.equals(getModified(folder));
+        }
+
+        /**
+         * Get the modification time of a folder.
+         * @param path folder path
+         * @return FileTime, or {@code null} if it cannot be read
+         */
+        static FileTime getModified(final Path path) {
+            try {
+                return Files.getLastModifiedTime(path);
+            } catch (IOException | SecurityException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Cache of the folder listings. The listings expire after a few seconds,
+     * and are dropped as soon as the modification time of their folder
+     * changes. No thread or file system resource is held by the cache.
+     */
+    private static final class ListingCache {
+
+        /**
+         * Maximum number of cached listings.
+         */
+        private static final int MAX_LISTINGS = 32;
+
+        /**
+         * Time to live of a listing, in milliseconds.
+         */
+        private static final long TTL = 10000L;
+
+        /**
+         * Cached listings by key, least recently used first.
+         */
+        private static final Map<String, Listing> LISTINGS =
+                new LinkedHashMap<String, Listing>(MAX_LISTINGS, 1f, true) {
+
+            /**
+             * Serialization UID.
+             */
+            private static final long serialVersionUID = 2741296651539476271L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<String, Listing> eldest) {
+                return size() > MAX_LISTINGS;
+            }
+        };
+
+        /**
+         * Cannot be instanciated.
+         */
+        private ListingCache() {
+        }
+
+        /**
+         * Get a cached listing. The folder is checked outside of the cache
+         * lock.
+         * @param key listing key
+         * @return Listing, or {@code null} if not cached or out of date
+         */
+        static Listing get(final String key) {
+            Listing listing;
+            synchronized (LISTINGS) {
+                listing = LISTINGS.get(key);
+            }
+            if (listing != null && !isCurrent(listing)) {
+                synchronized (LISTINGS) {
+                    if (LISTINGS.get(key) == listing) {
+                        LISTINGS.remove(key);
                     }
                 }
-            };
+                return null;
+            }
+            return listing;
+        }
+
+        /**
+         * Cache a listing.
+         * @param key listing key
+         * @param listing listing to cache
+         */
+        static void put(final String key, final Listing listing) {
+            synchronized (LISTINGS) {
+                LISTINGS.put(key, listing);
+            }
         }
 
-        // sort the file using bubble sort
-        for (int i = fileList.length - 1; i >= 0; i--) {
-            for (int j = 0; j < i; j++) {
+        /**
+         * Test if a listing can still be used.
+         * @param listing listing to test
+         * @return {@code boolean}
+         */
+        static boolean isCurrent(final Listing listing) {
+            return listing.isCurrent(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Options of the list box of a file chooser, formatted a page at a time
+     * from the shared listing of the folder. Only the listing parameters are
+     * serialized with the state of the list box.
+     */
+    private static final class FolderOptions
+            implements OptionSource, Serializable {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = -4165012718446393520L;
+
+        /**
+         * Listed folder.
+         */
+        private final String folder;
+
+        /**
+         * Sort value.
+         */
+        private final String sortValue;
+
+        /**
+         * Filter value.
+         */
+        private final String filterValue;
 
-                // if not swap them
-                if (sr.compare(fileList[j], fileList[j + 1])) {
-                    File tmp = fileList[j];
-                    fileList[j] = fileList[j + 1];
-                    fileList[j + 1] = tmp;
+        /**
+         * Locale used to sort the file names.
+         */
+        private final Locale locale;
+
+        /**
+         * Flag indicating that the files are disabled.
+         */
+        private final boolean disableFiles;
+
+        /**
+         * Listing of the folder.
+         */
+        private transient Listing listing;
+
+        /**
+         * Create new folder options.
+         * @param newFolder listed folder
+         * @param newSortValue sort value
+         * @param newFilterValue filter value
+         * @param newLocale locale used to sort the file names
+         * @param newDisableFiles if true the files are disabled
+         */
+        FolderOptions(final String newFolder, final String newSortValue,
+                final String newFilterValue, final Locale newLocale,
+                final boolean newDisableFiles) {
+
+            this.folder = newFolder;
+            this.sortValue = newSortValue;
+            this.filterValue = newFilterValue;
+            this.locale = newLocale;
+            this.disableFiles = newDisableFiles;
+        }
+
+        /**
+         * Get the listing of the folder, reading it again if it is out of
+         * date.
+         * @return Listing, or {@code null} if the folder cannot be read
+         */
+        private Listing getListing() {
+            if (listing == null || !ListingCache.isCurrent(listing)) {
+                listing = FileChooserModel.getListing(folder, sortValue,
+                        filterValue, locale);
+            }
+            return listing;
+        }
+
+        /**
+         * Create the option of an entry.
+         * @param format item format
+         * @param entry entry
+         * @return Option
+         */
+        private Option getOption(final ItemFormat format, final Entry entry) {
+            // if folderchooser then files should look as
+            // if they are disabled.
+            boolean disabled = disableFiles && !entry.isDirectory();
+            FileChooserItem item = format.getItem(entry, disabled);
+            Option option = new Option(item.getItemKey(), item.getItemLabel());
+            option.setDisabled(disabled);
+            return option;
+        }
+
+        @Override
+        public int getOptionCount() {
+            Listing zListing = getListing();
+            if (zListing == null) {
+                return 0;
+            }
+            return zListing.size();
+        }
+
+        @Override
+        public Option[] getOptions(final int first, final int max) {
+            Listing zListing = getListing();
+            if (zListing == null || first < 0 || first >= zListing.size()) {
+                return new Option[0];
+            }
+            int count = Math.min(zListing.size() - first, Math.max(0, max));
+            ItemFormat format = new ItemFormat(
+                    FacesContext.getCurrentInstance());
+            Option[] options = new Option[count];
+            for (int i = 0; i < count; i++) {
+                options[i] = getOption(format, zListing.get(first + i));
+            }
+            return options;
+        }
+
+        @Override
+        public Option[] findOptions(final String prefix, final int max) {
+            Listing zListing = getListing();
+            if (zListing == null || prefix == null || max <= 0) {
+                return new Option[0];
+            }
+            ItemFormat format = new ItemFormat(
+                    FacesContext.getCurrentInstance());
+            List<Option> options = new ArrayList<Option>();
+            for (int i = 0; i < zListing.size() && options.size() < max;
+                    i++) {
+                Entry entry = zListing.get(i);
+                if (entry.getFile().getName().regionMatches(true, 0, prefix,
+                        0, prefix.length())) {
+                    options.add(getOption(format, entry));
                 }
             }
+            return options.toArray(new Option[options.size()]);
+        }
+
+        @Override
+        public Option getOption(final Object value) {
+            Listing zListing = getListing();
+            if (zListing == null || value == null) {
+                return null;
+            }
+            int i = zListing.indexOf(value.toString());
+            if (i < 0) {
+                return null;
+            }
+            return getOption(new ItemFormat(FacesContext.getCurrentInstance()),
+                    zListing.get(i));
         }
     }
 
@@ -886,7 +1435,8 @@ public final class FileChooserModel implements ResourceModel, Serializable {
                 }
                 // It must exist
                 // Currently we only have an error message for "canRead".
-                if (!folder.canRead()) {
+                Path path = folder.toPath();
+                if (!Files.isReadable(path)) {
                     throw new ResourceModelException(
                             createFacesMessage(
                                     "filechooser.cannotCompleteErrSum",
@@ -896,7 +1446,7 @@ public final class FileChooserModel implements ResourceModel, Serializable {
                 // It must be a folder
                 // FIXME: This error should include an argument to let the
                 // user know which choice was a file.
-                if (!folder.isDirectory()) {
+                if (!Files.isDirectory(path)) {
                     throw new ResourceModelException(
                             createFacesMessage(
                                     "filechooser.cannotCompleteErrSum",
@@ -966,7 +1516,8 @@ public final class FileChooserModel implements ResourceModel, Serializable {
                 }
                 // It must exist
                 // Currently we only have an error message for "canRead".
-                if (!file.canRead()) {
+                Path path = file.toPath();
+                if (!Files.isReadable(path)) {
                     throw new ResourceModelException(
                             createFacesMessage(
                                     "filechooser.cannotCompleteErrSum",
@@ -976,7 +1527,7 @@ public final class FileChooserModel implements ResourceModel, Serializable {
                 // It must be a file
                 // FIXME: This error should include an argument to let the
                 // user know which choice was a folder.
-                if (file.isDirectory()) {
+                if (Files.isDirectory(path)) {
                     // Special case.
                     // If there is only one selection and it is a
                     // directory, use it to set the current directory
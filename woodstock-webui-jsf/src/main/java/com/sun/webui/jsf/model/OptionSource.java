@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.webui.jsf.model;
+
+/**
+ * Paged source of options for list components.
+ * <p>
+ * The {@code items} property of {@code Listbox}, {@code DropDown} and
+ * {@code AddRemove} can be bound to an {@code OptionSource} instead of an
+ * array or collection of {@link Option}. The components then only fetch the
+ * first page of options, plus the options of the selected values, when
+ * rendering. Further pages and type-ahead matches can be requested over
+ * AJAX, and {@code ValueMatchesOptionsValidator} checks submitted values
+ * with {@link #getOption(Object)} instead of scanning all the options.
+ * </p><p>
+ * Implementations backed by directories or databases should push the range
+ * and prefix down to the underlying query.
+ * </p>
+ */
+public interface OptionSource {
+
+    /**
+     * Get the total number of options.
+     *
+     * @return The number of options, or {@code -1} if unknown.
+     */
+    int getOptionCount();
+
+    /**
+     * Get a range of options, in display order.
+     *
+     * @param first Zero-relative index of the first option.
+     * @param max Maximum number of options to return.
+     * @return The options, never {@code null}. Fewer than {@code max}
+     * options are returned at the end of the list.
+     */
+    Option[] getOptions(int first, int max);
+
+    /**
+     * Get the options whose label starts with the given prefix, for
+     * type-ahead search.
+     *
+     * @param prefix The text typed by the user.
+     * @param max Maximum number of options to return.
+     * @return The matching options, never {@code null}.
+     */
+    Option[] findOptions(String prefix, int max);
+
+    /**
+     * Get the option for a value.
+     *
+     * @param value The option value.
+     * @return The option, or {@code null} if no option has this value.
+     */
+    Option getOption(Object value);
+}
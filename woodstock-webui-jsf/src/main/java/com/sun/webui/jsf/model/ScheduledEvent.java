@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,10 +17,14 @@
 package com.sun.webui.jsf.model;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Calendar;
 import java.util.Iterator;
+import com.sun.webui.jsf.model.scheduler.Recurrence;
 import com.sun.webui.jsf.model.scheduler.RepeatInterval;
 import com.sun.webui.jsf.model.scheduler.RepeatUnit;
 import com.sun.webui.jsf.util.LogUtil;
@@ -45,11 +49,6 @@ public final class ScheduledEvent implements Serializable {
      */
     private Date endTime = null;
 
-    /**
-     * Date list.
-     */
-    private ArrayList<Object> dateList = null;
-
     /**
      * Whether the event is repeating or not.
      */
@@ -94,7 +93,6 @@ public final class ScheduledEvent implements Serializable {
      * @param newStartTime The start time, as a {@link java.util.Date}
      */
     public void setStartTime(final Date newStartTime) {
-        dateList = null;
         this.startTime = newStartTime;
     }
 
@@ -114,7 +112,6 @@ public final class ScheduledEvent implements Serializable {
      */
     public void setEndTime(final Date newEndTime) {
         this.endTime = newEndTime;
-        dateList = null;
     }
 
     @Override
@@ -195,7 +192,6 @@ public final class ScheduledEvent implements Serializable {
      */
     public void setRepeatInterval(final RepeatInterval newFrequency) {
         this.frequency = newFrequency;
-        dateList = null;
     }
 
     /**
@@ -222,7 +218,6 @@ public final class ScheduledEvent implements Serializable {
      */
     public void setDurationUnit(final RepeatUnit newDurationUnit) {
         this.durationUnit = newDurationUnit;
-        dateList = null;
     }
 
     /**
@@ -247,7 +242,6 @@ public final class ScheduledEvent implements Serializable {
      */
     public void setDuration(final Integer newDuration) {
         this.duration = newDuration;
-        dateList = null;
     }
 
     @Override
@@ -310,10 +304,6 @@ public final class ScheduledEvent implements Serializable {
             hash = hash + this.endTime.hashCode();
         }
         hash = 23 * hash;
-        if (this.dateList != null) {
-            hash = hash + this.dateList.hashCode();
-        }
-        hash = 23 * hash;
         if (this.repeatingEvent) {
             hash = hash + 1;
         }
@@ -332,6 +322,45 @@ public final class ScheduledEvent implements Serializable {
         return hash;
     }
 
+    /**
+     * Get the start times of this event, in the given time zone.
+     * <p>
+     * If the event is repeating, the start times repeat at the repeat
+     * interval. If a duration is also set, they repeat for that duration
+     * from the start time, otherwise they repeat forever.
+     * </p>
+     *
+     * @param zone time zone of the start times
+     * @return the {@link Recurrence}, or {@code null} if no start time is
+     * set
+     */
+    public Recurrence getRecurrence(final ZoneId zone) {
+        Date date = getStartTime();
+        if (date == null) {
+            if (DEBUG) {
+                log("No events scheduled");
+            }
+            return null;
+        }
+        ZonedDateTime start = ZonedDateTime.ofInstant(date.toInstant(), zone);
+        ChronoUnit unit = null;
+        ZonedDateTime limit = null;
+        if (isRepeatingEvent() && getRepeatInterval() != null) {
+            unit = getRepeatInterval().getChronoUnit();
+            Integer dur = getDuration();
+            RepeatUnit repeatUnit = getDurationUnit();
+            if (unit != null && dur != null && dur > 0 && repeatUnit != null
+                    && repeatUnit.getChronoUnit() != null) {
+                limit = start.plus(dur, repeatUnit.getChronoUnit());
+            }
+        }
+        if (DEBUG) {
+            log("First event on " + start + ", repeat unit " + unit
+                    + ", until " + limit);
+        }
+        return new Recurrence(start, unit, limit);
+    }
+
     /**
      * Returns an iterator of dates which mark the start of scheduled event.If
      * no time has been set, an empty iterator is returned. If a time has been
@@ -349,111 +378,106 @@ public final class ScheduledEvent implements Serializable {
     }
 
     /**
-     * Get an iterator of dates between the specified dates.
+     * Get an iterator of the start times at or after {@code fromDate} and
+     * before {@code untilDate}. The start times are computed as the iterator
+     * advances, starting directly from the first start time of the window.
+     * Each item is a copy of {@code untilDate} set to a start time.
      *
-     * @param fromDate date filter from
-     * @param untilDate date filter until
-     * @return Iterator
+     * @param fromDate date filter from, inclusive, or {@code null}
+     * @param untilDate date filter until, exclusive
+     * @return a {@link java.util.Iterator} whose items are
+     * {@link java.util.Calendar}
      */
     public Iterator getDates(final Calendar fromDate,
             final Calendar untilDate) {
 
-        if (dateList != null) {
-            return dateList.iterator();
+        Recurrence recurrence = getRecurrence(
+                untilDate.getTimeZone().toZoneId());
+        if (recurrence == null) {
+            return Collections.emptyIterator();
         }
+        return new CalendarIterator(recurrence.iterator(
+                toZonedDateTime(fromDate), toZonedDateTime(untilDate)),
+                untilDate);
+    }
 
-        dateList = new ArrayList<Object>();
-        Date date = getStartTime();
+    /**
+     * Count the start times at or after {@code fromDate} and before
+     * {@code untilDate}, without iterating them.
+     *
+     * @param fromDate date filter from, inclusive, or {@code null}
+     * @param untilDate date filter until, exclusive
+     * @return long
+     */
+    public long countDates(final Calendar fromDate,
+            final Calendar untilDate) {
 
-        if (DEBUG) {
-            if (date != null) {
-                log("First event on " + date.toString());
-            } else {
-                log("No events scheduled");
-            }
+        Recurrence recurrence = getRecurrence(
+                untilDate.getTimeZone().toZoneId());
+        if (recurrence == null) {
+            return 0;
         }
+        return recurrence.count(toZonedDateTime(fromDate),
+                toZonedDateTime(untilDate));
+    }
 
-        Date from = null;
-        if (fromDate != null) {
-            if (DEBUG) {
-                log("Start date is " + fromDate.getTime().toString());
-            }
-            from = fromDate.getTime();
-        } else if (DEBUG) {
-            log("No start date");
+    /**
+     * Convert a calendar to a {@code ZonedDateTime}.
+     *
+     * @param calendar calendar to convert, may be {@code null}
+     * @return ZonedDateTime, or {@code null}
+     */
+    private static ZonedDateTime toZonedDateTime(final Calendar calendar) {
+        if (calendar == null) {
+            return null;
         }
+        return ZonedDateTime.ofInstant(calendar.toInstant(),
+                calendar.getTimeZone().toZoneId());
+    }
 
-        if (DEBUG) {
-            log("End date is " + untilDate.getTime().toString());
+    /**
+     * Adapts an iterator of start times to {@link java.util.Calendar} items.
+     */
+    private static final class CalendarIterator implements Iterator<Object> {
+
+        /**
+         * The start times.
+         */
+        private final Iterator<ZonedDateTime> times;
+
+        /**
+         * The calendar copied for each item.
+         */
+        private final Calendar prototype;
+
+        /**
+         * Create a new instance.
+         *
+         * @param newTimes the start times
+         * @param newPrototype the calendar copied for each item
+         */
+        CalendarIterator(final Iterator<ZonedDateTime> newTimes,
+                final Calendar newPrototype) {
+
+            this.times = newTimes;
+            this.prototype = newPrototype;
         }
 
-        if (date != null && date.before(untilDate.getTime())) {
-
-            Calendar startDate = (Calendar) (untilDate.clone());
-            startDate.setTime(date);
+        @Override
+        public boolean hasNext() {
+            return times.hasNext();
+        }
 
-            dateList.add((Calendar) startDate.clone());
+        @Override
+        public Object next() {
+            ZonedDateTime time = times.next();
+            Calendar calendar = (Calendar) prototype.clone();
+            calendar.setTimeInMillis(time.toInstant().toEpochMilli());
             if (DEBUG) {
-                log("Added date " + date.toString());
-            }
-
-            if (isRepeatingEvent()) {
-
-                int interval = getRepeatInterval().getCalendarField();
-                if (interval > -1) {
-
-                    if (DEBUG) {
-                        log("Repeating event");
-                    }
-
-                    Calendar endCalendar = (Calendar) (untilDate.clone());
-
-                    Integer dur = getDuration();
-                    RepeatUnit repeatUnit = getDurationUnit();
-                    Integer durUnit = null;
-                    if (repeatUnit != null) {
-                        durUnit = repeatUnit.getCalendarField();
-                    }
-                    if (dur != null && durUnit != null) {
-                        int durationValue = dur;
-                        int durationField = durUnit;
-                        if (durationValue > 0) {
-                            endCalendar = (Calendar) (startDate.clone());
-                            endCalendar.add(durationField, durationValue);
-                            // now subtract 1 interval unit from the end date
-                            endCalendar.set(interval,
-                                    endCalendar.get(interval) - 1);
-                            endCalendar.getTime();
-                        }
-                    }
-
-                    Date end = endCalendar.getTime();
-                    if (DEBUG) {
-                        log("Using end date " + end.toString());
-                    }
-                    Date current = startDate.getTime();
-
-                    while (current.before(end)) {
-                        startDate.add(interval, 1);
-                        current = startDate.getTime();
-                        if (from != null) {
-                            if (current.after(from)) {
-                                dateList.add(startDate.clone());
-                                if (DEBUG) {
-                                    log("Added date " + current.toString());
-                                }
-                            }
-                        } else {
-                            dateList.add(startDate.clone());
-                            if (DEBUG) {
-                                log("Added date " + current.toString());
-                            }
-                        }
-                    }
-                }
+                log("Next date " + calendar.getTime().toString());
             }
+            return calendar;
         }
-        return dateList.iterator();
     }
 
     /**
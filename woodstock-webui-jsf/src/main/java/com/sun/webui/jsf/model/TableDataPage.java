@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.model;
+
+import com.sun.data.provider.RowKey;
+import java.io.Serializable;
+
+/**
+ * A page of row keys returned by a {@link TableDataQueryProvider}.
+ */
+public final class TableDataPage implements Serializable {
+
+    /**
+     * Serialization UID.
+     */
+    private static final long serialVersionUID = -3177469014290856417L;
+
+    /**
+     * Row keys of the page.
+     */
+    private final RowKey[] rowKeys;
+
+    /**
+     * Total number of rows matching the query filter.
+     */
+    private final int rowCount;
+
+    /**
+     * Create a new instance.
+     *
+     * @param keys The row keys of the page, in sort order.
+     * @param count The total number of rows matching the filter criteria,
+     * regardless of the page window.
+     */
+    public TableDataPage(final RowKey[] keys, final int count) {
+        if (keys != null) {
+            this.rowKeys = keys;
+        } else {
+            this.rowKeys = new RowKey[0];
+        }
+        this.rowCount = Math.max(count, this.rowKeys.length);
+    }
+
+    /**
+     * Get the row keys of this page.
+     *
+     * @return RowKey[]
+     */
+    public RowKey[] getRowKeys() {
+        return rowKeys;
+    }
+
+    /**
+     * Get the total number of rows matching the filter criteria.
+     *
+     * @return int
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.model;
+
+import com.sun.data.provider.FilterCriteria;
+import com.sun.data.provider.SortCriteria;
+
+/**
+ * Query push-down contract for table data.
+ * <p>
+ * A {@code TableDataProvider} that also implements this interface is handed
+ * the complete filter and sort criteria of a {@code TableRowGroup} along with
+ * the window of rows to be displayed. This allows a JDBC or JPA backed
+ * provider to translate the request into a single
+ * {@code WHERE ... ORDER BY ... LIMIT/OFFSET} query instead of having every
+ * row key fetched, filtered and sorted in memory.
+ * </p><p>
+ * When a provider implements this interface, {@code TableRowGroup} no longer
+ * invokes the {@code TableDataFilter} and {@code TableDataSorter} instances
+ * to filter and sort rows; they are only used to hold the criteria.
+ * </p><p>
+ * The selection methods of {@code TableRowGroup} ({@code getSelectedRowKeys},
+ * the selected and hidden selected row counts) only consider the rows of the
+ * rendered page, since the selected state of a row is evaluated per row.
+ * Only {@code getFilteredRowKeys}, {@code getSortedRowKeys} and
+ * {@code getHiddenRowKeys} query the keys of every matching row.
+ * </p>
+ */
+public interface TableDataQueryProvider {
+
+    /**
+     * Execute a query against the underlying data source.
+     *
+     * @param filterCriteria The filter criteria to apply, may be null.
+     * @param sortCriteria The sort criteria to apply, in sort level order, may
+     * be null.
+     * @param first The zero-relative index of the first row to return.
+     * @param rows The maximum number of rows to return, or zero to return all
+     * rows starting at {@code first}.
+     * @return The page of row keys along with the total number of rows
+     * matching the filter criteria.
+     */
+    TableDataPage executeQuery(FilterCriteria[] filterCriteria,
+            SortCriteria[] sortCriteria, int first, int rows);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.model;
+
+/**
+ * Data revision contract for table data.
+ * <p>
+ * A {@code TableDataProvider} that also implements this interface declares
+ * that its row keys and field values only change together with its revision.
+ * This allows {@code TableRowGroup} to reuse a sort order computed earlier,
+ * possibly in another session, for the same provider instance, revision and
+ * sort criteria instead of sorting rows again.
+ * </p><p>
+ * Providers backed by data that is modified in place must increment the
+ * revision on every modification, or not implement this interface.
+ * </p>
+ */
+public interface TableDataRevisionProvider {
+
+    /**
+     * Get the revision of the data.
+     *
+     * @return The data revision.
+     */
+    long getDataRevision();
+}
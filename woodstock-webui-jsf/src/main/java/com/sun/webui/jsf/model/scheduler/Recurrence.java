@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.model.scheduler;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The start times of a recurring event.
+ * <p>
+ * The occurrence at index {@code k} is the start time plus {@code k} times
+ * the repeat unit. Occurrences are computed from the start time rather
+ * than from the previous occurrence, so any occurrence can be computed
+ * directly: iterating a window seeks to its first occurrence, and counting
+ * the occurrences of a window does not iterate them. Hours are added as
+ * elapsed time; days, weeks and months are added to the local date and
+ * time, so that a daily event keeps its time of day across daylight saving
+ * time changes, and a monthly event starting on the 31st occurs on the
+ * last day of shorter months.
+ * </p>
+ * This class is immutable.
+ */
+public final class Recurrence {
+
+    /**
+     * The first occurrence.
+     */
+    private final ZonedDateTime start;
+
+    /**
+     * The repeat unit, {@code null} if the event does not repeat.
+     */
+    private final ChronoUnit unit;
+
+    /**
+     * The number of occurrences, {@code Long.MAX_VALUE} if unbounded.
+     */
+    private final long size;
+
+    /**
+     * Create a new instance.
+     *
+     * @param newStart The first occurrence.
+     * @param newUnit The repeat unit, {@code null} if the event does not
+     * repeat.
+     * @param limit The end of the recurrence, exclusive, or {@code null} if
+     * the event repeats forever.
+     */
+    public Recurrence(final ZonedDateTime newStart, final ChronoUnit newUnit,
+            final ZonedDateTime limit) {
+
+        if (newStart == null) {
+            throw new NullPointerException("start");
+        }
+        this.start = newStart;
+        this.unit = newUnit;
+        if (newUnit == null) {
+            this.size = 1;
+        } else if (limit == null) {
+            this.size = Long.MAX_VALUE;
+        } else {
+            this.size = ceilingIndex(limit, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Get the first occurrence.
+     *
+     * @return ZonedDateTime
+     */
+    public ZonedDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Get the repeat unit.
+     *
+     * @return ChronoUnit, or {@code null} if the event does not repeat.
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Get the number of occurrences.
+     *
+     * @return long, {@code Long.MAX_VALUE} if the recurrence is unbounded.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Get an occurrence.
+     *
+     * @param index The index of the occurrence, from 0.
+     * @return ZonedDateTime
+     * @throws IndexOutOfBoundsException if there is no such occurrence.
+     */
+    public ZonedDateTime get(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return occurrence(index);
+    }
+
+    /**
+     * Get the index of the first occurrence at or after a time.
+     *
+     * @param time The time.
+     * @return long, the number of occurrences if all the occurrences are
+     * before {@code time}.
+     */
+    public long indexOf(final ZonedDateTime time) {
+        return ceilingIndex(time, size);
+    }
+
+    /**
+     * Count the occurrences in a window.
+     *
+     * @param from The start of the window, inclusive, or {@code null} for no
+     * lower bound.
+     * @param until The end of the window, exclusive.
+     * @return long
+     */
+    public long count(final ZonedDateTime from, final ZonedDateTime until) {
+        long first = 0;
+        if (from != null) {
+            first = indexOf(from);
+        }
+        return Math.max(0, indexOf(until) - first);
+    }
+
+    /**
+     * Iterate the occurrences in a window. The occurrences are computed as
+     * the iterator advances.
+     *
+     * @param from The start of the window, inclusive, or {@code null} for no
+     * lower bound.
+     * @param until The end of the window, exclusive.
+     * @return Iterator
+     */
+    public Iterator<ZonedDateTime> iterator(final ZonedDateTime from,
+            final ZonedDateTime until) {
+
+        long first = 0;
+        if (from != null) {
+            first = indexOf(from);
+        }
+        return new OccurrenceIterator(first, indexOf(until));
+    }
+
+    /**
+     * Compute an occurrence.
+     *
+     * @param index The index of the occurrence.
+     * @return ZonedDateTime
+     */
+    private ZonedDateTime occurrence(final long index) {
+        if (index == 0) {
+            return start;
+        }
+        return start.plus(index, unit);
+    }
+
+    /**
+     * Get the index of the first occurrence at or after a time.
+     *
+     * @param time The time.
+     * @param max The number of occurrences.
+     * @return long, {@code max} if all the occurrences are before
+     * {@code time}.
+     */
+    private long ceilingIndex(final ZonedDateTime time, final long max) {
+        if (!start.isBefore(time)) {
+            return 0;
+        }
+        if (unit == null) {
+            return Math.min(1, max);
+        }
+        // The number of whole units between the start and the time is the
+        // index of the occurrence at or just before the time. Adjust for
+        // the days that do not exist in the local time or in the month.
+        long index = Math.min(unit.between(start, time), max);
+        while (index > 0 && !occurrence(index - 1).isBefore(time)) {
+            index--;
+        }
+        while (index < max && occurrence(index).isBefore(time)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * An iterator of the occurrences between two indexes.
+     */
+    private final class OccurrenceIterator
+            implements Iterator<ZonedDateTime> {
+
+        /**
+         * The index of the next occurrence.
+         */
+        private long next;
+
+        /**
+         * The end index, exclusive.
+         */
+        private final long end;
+
+        /**
+         * Create a new instance.
+         *
+         * @param newNext The index of the first occurrence.
+         * @param newEnd The end index, exclusive.
+         */
+        OccurrenceIterator(final long newNext, final long newEnd) {
+            this.next = newNext;
+            this.end = newEnd;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < end;
+        }
+
+        @Override
+        public ZonedDateTime next() {
+            if (next >= end) {
+                throw new NoSuchElementException();
+            }
+            return occurrence(next++);
+        }
+    }
+}
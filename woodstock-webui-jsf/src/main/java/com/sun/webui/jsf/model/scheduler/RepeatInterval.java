@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -20,6 +20,7 @@ package com.sun.webui.jsf.model.scheduler;
 
 import com.sun.webui.jsf.util.LogUtil;
 import java.io.Serializable;
+import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import jakarta.faces.context.FacesContext;
@@ -195,6 +196,14 @@ public final class RepeatInterval implements Serializable {
         return calField;
     }
 
+    /**
+     * Get the {@code java.time} unit of this repeat interval.
+     * @return ChronoUnit, or {@code null} for a one time event.
+     */
+    public ChronoUnit getChronoUnit() {
+        return RepeatUnit.toChronoUnit(calField);
+    }
+
     /**
      * Setter for property calendarField.
      * @param newCalField new value
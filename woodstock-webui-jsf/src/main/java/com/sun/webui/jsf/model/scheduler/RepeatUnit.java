@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -20,6 +20,7 @@ package com.sun.webui.jsf.model.scheduler;
 
 import com.sun.webui.jsf.util.LogUtil;
 import java.io.Serializable;
+import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
 import com.sun.webui.jsf.util.ThemeUtilities;
 
@@ -171,6 +172,40 @@ public final class RepeatUnit implements Serializable {
         return calField;
     }
 
+    /**
+     * Get the {@code java.time} unit of this repeat unit.
+     * @return ChronoUnit, or {@code null} if the calendar field is not
+     * supported.
+     */
+    public ChronoUnit getChronoUnit() {
+        return toChronoUnit(calField);
+    }
+
+    /**
+     * Convert a {@code java.util.Calendar} field to the equivalent
+     * {@code java.time} unit.
+     * @param field calendar field
+     * @return ChronoUnit, or {@code null} if the field is {@code null} or not
+     * supported.
+     */
+    static ChronoUnit toChronoUnit(final Integer field) {
+        if (field == null) {
+            return null;
+        }
+        switch (field) {
+            case Calendar.HOUR_OF_DAY:
+                return ChronoUnit.HOURS;
+            case Calendar.DATE:
+                return ChronoUnit.DAYS;
+            case Calendar.WEEK_OF_YEAR:
+                return ChronoUnit.WEEKS;
+            case Calendar.MONTH:
+                return ChronoUnit.MONTHS;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Setter for property calendarField.
      * @param newCalField new calendar field
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.webui.jsf.renderkit.ajax;
+
+import com.sun.faces.annotation.Renderer;
+import com.sun.faces.extensions.avatar.lifecycle.AsyncResponse;
+import com.sun.webui.jsf.component.ListSelector;
+import com.sun.webui.jsf.model.Option;
+import com.sun.webui.jsf.model.OptionGroup;
+import com.sun.webui.jsf.model.OptionSource;
+import com.sun.webui.jsf.model.Separator;
+import com.sun.webui.jsf.util.ConversionUtilities;
+import java.io.IOException;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+
+import static com.sun.webui.jsf.util.JsonUtilities.JSON_BUILDER_FACTORY;
+import static com.sun.webui.jsf.util.JsonUtilities.parseJsonObject;
+import static com.sun.webui.jsf.util.JsonUtilities.writeCompactJson;
+
+/**
+ * This class responds to Ajax requests for pages of options made to list
+ * components whose items are bound to an {@link OptionSource}.
+ * <p>
+ * The {@code XJSON} request header either contains a range,
+ * {@code {"first": 100, "rows": 100}}, or a type-ahead prefix,
+ * {@code {"filter": "Sm", "rows": 20}}. The response is:
+ * </p><pre>
+ * {
+ *   "first": 100,
+ *   "total": 25000,
+ *   "options": [{"value": "...", "label": "...", "disabled": false}, ...]
+ * }
+ * </pre><p>
+ * Option values are converted to strings with the converter of the
+ * component, as when rendering the list. The number of options returned is
+ * bounded.
+ * </p>
+ */
+@Renderer(@Renderer.Renders(
+        rendererType = "com.sun.webui.jsf.ajax.ListSelector",
+        componentFamily = {
+            "com.sun.webui.jsf.Listbox",
+            "com.sun.webui.jsf.DropDown",
+            "com.sun.webui.jsf.AddRemove"
+        }))
+public final class ListSelectorRenderer
+        extends jakarta.faces.render.Renderer {
+
+    /**
+     * The maximum number of options returned for a request.
+     */
+    private static final int MAX_OPTIONS = 500;
+
+    @Override
+    public void encodeBegin(final FacesContext context,
+            final UIComponent component) throws IOException {
+
+        // Do nothing...
+    }
+
+    @Override
+    public void encodeChildren(final FacesContext context,
+            final UIComponent component) throws IOException {
+
+        // Do nothing...
+    }
+
+    @Override
+    public void encodeEnd(final FacesContext context,
+            final UIComponent component) throws IOException {
+
+        if (context == null || component == null) {
+            throw new NullPointerException();
+        }
+        if (!component.isRendered()) {
+            return;
+        }
+
+        ListSelector list = (ListSelector) component;
+        OptionSource source = list.getOptionSource();
+        if (source == null) {
+            return;
+        }
+
+        String xjson = (String) context.getExternalContext().
+                getRequestHeaderMap().get(AsyncResponse.XJSON_HEADER);
+        JsonObject json = null;
+        if (xjson != null) {
+            json = parseJsonObject(xjson);
+        }
+
+        int first = 0;
+        int rows = list.getOptionPageSize();
+        String filter = null;
+        if (json != null) {
+            first = Math.max(0, json.getInt("first", 0));
+            rows = json.getInt("rows", rows);
+            filter = json.getString("filter", null);
+        }
+        rows = Math.max(0, Math.min(rows, MAX_OPTIONS));
+
+        Option[] options;
+        if (filter != null) {
+            first = 0;
+            options = source.findOptions(filter, rows);
+        } else {
+            options = source.getOptions(first, rows);
+        }
+
+        JsonArrayBuilder builder = JSON_BUILDER_FACTORY.createArrayBuilder();
+        addOptions(list, options, builder);
+
+        JsonObject result = JSON_BUILDER_FACTORY.createObjectBuilder()
+                .add("first", first)
+                .add("total", source.getOptionCount())
+                .add("options", builder)
+                .build();
+        writeCompactJson(result, context.getResponseWriter());
+    }
+
+    /**
+     * Add the given options to a JSON array, flattening option groups and
+     * leaving out separators.
+     * @param list list component
+     * @param options options to add
+     * @param builder JSON array builder
+     */
+    private static void addOptions(final ListSelector list,
+            final Option[] options, final JsonArrayBuilder builder) {
+
+        if (options == null) {
+            return;
+        }
+        for (Option option : options) {
+            if (option == null || option instanceof Separator) {
+                continue;
+            }
+            if (option instanceof OptionGroup) {
+                addOptions(list, ((OptionGroup) option).getOptions(), builder);
+                continue;
+            }
+            String value = ConversionUtilities.convertValueToString(list,
+                    option.getValue());
+            if (value == null) {
+                value = "";
+            }
+            String label = option.getLabel();
+            if (label == null) {
+                label = value;
+            }
+            builder.add(JSON_BUILDER_FACTORY.createObjectBuilder()
+                    .add("value", value)
+                    .add("label", label)
+                    .add("disabled", option.isDisabled()));
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,25 +24,56 @@ import com.sun.webui.jsf.component.Table2Column;
 import com.sun.webui.jsf.component.Table2RowGroup;
 import com.sun.webui.jsf.util.WidgetUtilities;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.ValueHolder;
 import jakarta.faces.context.FacesContext;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
 
 import static com.sun.webui.jsf.util.JsonUtilities.JSON_BUILDER_FACTORY;
+import static com.sun.webui.jsf.util.JsonUtilities.jsonValueOf;
 import static com.sun.webui.jsf.util.JsonUtilities.parseJsonObject;
-import static com.sun.webui.jsf.util.JsonUtilities.writeJsonObject;
+import static com.sun.webui.jsf.util.JsonUtilities.writeCompactJson;
 
 /**
  * This class renders Table2RowGroup components.
+ * <p>
+ * When the {@code XJSON} request header contains {@code "virtual": true},
+ * the client is asking for a window of rows by index (virtual scrolling).
+ * The window is taken from the cached filtered and sorted order without
+ * changing the current page, and returned as a compact, column oriented
+ * payload:
+ * </p><pre>
+ * {
+ *   "first": 100,
+ *   "rows": 25,
+ *   "totalRows": 5000,
+ *   "cells": [[...], [...]],
+ *   "values": [[...], [...]]
+ * }
+ * </pre><p>
+ * Each element of {@code cells} holds the pre-rendered fragments of one
+ * Table2Column child component for all rows of the window, and the matching
+ * element of {@code values} holds its value (null for components that are not
+ * value holders). The window size is bounded, so that the memory used per
+ * request does not depend on the total number of rows.
+ * </p>
  */
 @Renderer(@Renderer.Renders(
         rendererType = "com.sun.webui.jsf.ajax.Table2RowGroup",
         componentFamily = "com.sun.webui.jsf.Table2RowGroup"))
 public final class Table2RowGroupRenderer extends jakarta.faces.render.Renderer {
 
+    /**
+     * The maximum number of rows returned for a window.
+     */
+    private static final int MAX_WINDOW_ROWS = 500;
+
     @Override
     public void encodeBegin(final FacesContext context,
             final UIComponent component) {
@@ -67,6 +99,15 @@ public final class Table2RowGroupRenderer extends jakarta.faces.render.Renderer
         JsonObject json = parseJsonObject(xjson);
         Table2RowGroup group = (Table2RowGroup) component;
 
+        // Render a window of rows for virtual scrolling.
+        if (json != null && json.getBoolean("virtual", false)) {
+            JsonObject window = getWindow(context, group, json);
+            if (window != null) {
+                writeCompactJson(window, context.getResponseWriter());
+            }
+            return;
+        }
+
         // Set first and max rows.
         if (json != null) {
             Integer first = json.getInt("first", -1);
@@ -83,7 +124,7 @@ public final class Table2RowGroupRenderer extends jakarta.faces.render.Renderer
         group.setRows(maxRows);
 
         if (rows != null) {
-            writeJsonObject(json, context.getResponseWriter());
+            writeCompactJson(rows, context.getResponseWriter());
         }
     }
 
@@ -155,7 +196,113 @@ public final class Table2RowGroupRenderer extends jakarta.faces.render.Renderer
             }
             rowBuilder.add(cols);
         }
-            component.setRowKey(null); // Clean up.
+        component.setRowKey(null); // Clean up.
         return rowBuilder.build();
     }
+
+    /**
+     * Helper method to render a window of rows in column oriented form.
+     *
+     * @param context FacesContext for the current request.
+     * @param component UIComponent to be rendered.
+     * @param json The XJSON request parameters.
+     * @return JsonObject
+     * @throws IOException if an IO error occurs
+     */
+    private JsonObject getWindow(final FacesContext context,
+            final Table2RowGroup component, final JsonObject json)
+            throws IOException {
+
+        if (!component.isRendered()) {
+            return null;
+        }
+
+        // Get window parameters.
+        int totalRows = component.getRowCount();
+        int first = Math.min(Math.max(0, json.getInt("first", 0)), totalRows);
+        int maxRows = Math.min(Math.max(0,
+                json.getInt("rows", component.getRows())), MAX_WINDOW_ROWS);
+        RowKey[] rowKeys = component.getWindowRowKeys(first, maxRows);
+
+        // Get the components rendered for each cell.
+        List<UIComponent> cellComponents = new ArrayList<UIComponent>();
+        Iterator kids = component.getTable2ColumnChildren();
+        while (kids.hasNext()) {
+            Table2Column col = (Table2Column) kids.next();
+            if (col.isRendered()) {
+                cellComponents.addAll(col.getChildren());
+            }
+        }
+        int size = cellComponents.size();
+        JsonArrayBuilder[] cells = new JsonArrayBuilder[size];
+        JsonArrayBuilder[] values = new JsonArrayBuilder[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = JSON_BUILDER_FACTORY.createArrayBuilder();
+            values[i] = JSON_BUILDER_FACTORY.createArrayBuilder();
+        }
+
+        // Iterate over the RowKey objects of the window.
+        int count = 0;
+        for (RowKey rowKey : rowKeys) {
+            component.setRowKey(rowKey);
+            if (!component.isRowAvailable()) {
+                break;
+            }
+            for (int i = 0; i < size; i++) {
+                UIComponent kid = cellComponents.get(i);
+                String cell = WidgetUtilities.renderComponent(context, kid);
+                if (cell != null) {
+                    cells[i].add(cell);
+                } else {
+                    cells[i].addNull();
+                }
+                values[i].add(getValue(kid));
+            }
+            count++;
+        }
+        component.setRowKey(null); // Clean up.
+
+        JsonArrayBuilder cellsBuilder = JSON_BUILDER_FACTORY
+                .createArrayBuilder();
+        JsonArrayBuilder valuesBuilder = JSON_BUILDER_FACTORY
+                .createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            cellsBuilder.add(cells[i]);
+            valuesBuilder.add(values[i]);
+        }
+        return JSON_BUILDER_FACTORY.createObjectBuilder()
+                .add("first", first)
+                .add("rows", count)
+                .add("totalRows", totalRows)
+                .add("cells", cellsBuilder)
+                .add("values", valuesBuilder)
+                .build();
+    }
+
+    /**
+     * Helper method to get the value of a cell component.
+     *
+     * @param component The cell component.
+     * @return JsonValue
+     */
+    private static JsonValue getValue(final UIComponent component) {
+        if (!(component instanceof ValueHolder) || !component.isRendered()) {
+            return JsonValue.NULL;
+        }
+        Object value = ((ValueHolder) component).getValue();
+        if (value == null) {
+            return JsonValue.NULL;
+        }
+        if (value instanceof String || value instanceof Integer
+                || value instanceof Long || value instanceof Double) {
+            return jsonValueOf(value);
+        }
+        if (value instanceof Boolean) {
+            if ((Boolean) value) {
+                return JsonValue.TRUE;
+            }
+            return JsonValue.FALSE;
+        }
+        return jsonValueOf(value.toString());
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -164,6 +165,11 @@ public final class AddRemoveRenderer extends ListRendererBase {
             // ws_update_buttons
             renderCall("update_buttons", "addRemove",
                     component.getClientId(context)));
+
+        // Page the available list if the items are an OptionSource, the
+        // selected options are rendered in the selected list.
+        renderPager(component, context, id.concat(AddRemove.AVAILABLE_ID),
+                id.concat(AddRemove.SELECTED_ID));
     }
 
     /**
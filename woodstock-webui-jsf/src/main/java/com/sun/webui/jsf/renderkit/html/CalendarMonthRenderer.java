@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -21,9 +22,7 @@ import com.sun.faces.annotation.Renderer;
 import java.io.IOException;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.TimeZone;
 import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import jakarta.faces.FacesException;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.context.FacesContext;
@@ -39,7 +38,9 @@ import com.sun.webui.jsf.theme.ThemeImages;
 import com.sun.webui.jsf.theme.ThemeStyles;
 import com.sun.webui.jsf.util.LogUtil;
 import com.sun.webui.jsf.util.MessageUtil;
+import com.sun.webui.jsf.util.MonthGrid;
 import com.sun.webui.jsf.util.RenderingUtilities;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import static com.sun.webui.jsf.util.RenderingUtilities.renderAnchor;
 import static com.sun.webui.jsf.util.RenderingUtilities.renderComponent;
 import com.sun.webui.jsf.util.ThemeUtilities;
@@ -119,8 +120,7 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
         }
 
         CalendarMonth calendarMonth = (CalendarMonth) component;
-        SimpleDateFormat dateFormat =
-                (SimpleDateFormat) calendarMonth.getDateFormat();
+        SharedDateFormat dateFormat = calendarMonth.getSharedDateFormat();
         initializeChildren(calendarMonth, dateFormat, context);
 
         ResponseWriter writer = context.getResponseWriter();
@@ -287,7 +287,9 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
     }
 
     /**
-     * Render days.
+     * Render days. The days are read from the shared month grid of the
+     * displayed month; only the selection and today's date are computed for
+     * each rendering.
      * @param calendarMonth UI component
      * @param id element id
      * @param styles CSS styles
@@ -297,120 +299,62 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
      */
     @SuppressWarnings("checkstyle:magicnumber")
     private void renderDays(final CalendarMonth calendarMonth,
-            final String id, final String[] styles, final DateFormat dateFormat,
-            final ResponseWriter writer) throws IOException {
+            final String id, final String[] styles,
+            final SharedDateFormat dateFormat, final ResponseWriter writer)
+            throws IOException {
 
-        // now render each week in a row with each day in a td
+        // The menus hold the fields of the calendar of the locale, which
+        // may not be Gregorian
         Calendar monthToShow = calendarMonth.getCalendar();
         monthToShow.set(Calendar.YEAR, calendarMonth.getCurrentYear());
         monthToShow.set(Calendar.MONTH, calendarMonth.getCurrentMonth() - 1);
         monthToShow.set(Calendar.DAY_OF_MONTH, 1);
-
-        if (DEBUG) {
-            log("Month to show " + monthToShow.getTime().toString());
-        }
-        // get the int constant repsenting the day of the week (i.e. SUNDAY)
-        int weekStartDay = monthToShow.getFirstDayOfWeek();
-
-        // Get the startDate
-        Calendar startDate = (Calendar) (monthToShow.clone());
-        while (startDate.get(Calendar.DAY_OF_WEEK) != weekStartDay) {
-            startDate.add(Calendar.DATE, -1);
-            startDate.getTime();
-        }
+        MonthGrid grid = MonthGrid.getInstance(monthToShow, dateFormat);
         if (DEBUG) {
-            log("First day " + startDate.getTime().toString());
+            log("First day " + grid.getFirstDate().toString());
+            log("Last day " + grid.getLastVisibleDate().toString());
         }
 
-        // Get the end date
-        Calendar endDate = (Calendar) (monthToShow.clone());
-        endDate.add(Calendar.MONTH, 1);
-        endDate.getTime();
-
-        if (endDate.get(Calendar.DAY_OF_WEEK) == weekStartDay) {
-            endDate.add(Calendar.DATE, -1);
-            endDate.getTime();
-        } else {
-            while (endDate.get(Calendar.DAY_OF_WEEK) != weekStartDay) {
-                endDate.add(Calendar.DATE, 1);
-                endDate.getTime();
-            }
-            endDate.add(Calendar.DATE, -1);
-            endDate.getTime();
-        }
-        if (DEBUG) {
-            log("Last day " + endDate.getTime().toString());
-        }
+        boolean[] selected = calendarMonth.getSelectedDays(grid);
+        int today = grid.indexOf(MonthGrid.toLocalDate(
+                calendarMonth.getCalendar()));
 
         String rowIdPrefix = id.concat(":row");
         String dateLinkPrefix = id.concat(":dateLink");
-        boolean selected;
-        boolean dayInMonth;
-        int displayedMonth = monthToShow.get(Calendar.MONTH);
-        Calendar todaysDate = calendarMonth.getCalendar();
-
         int dateLinkId = 0;
-        int rowNum = 0;
-        while (startDate.before(endDate)) {
+        for (int rowNum = 0; rowNum < grid.getRows(); rowNum++) {
+            boolean visible = rowNum < grid.getVisibleRows();
 
             writer.startElement("tr", calendarMonth);
-            String rowId = rowIdPrefix + rowNum++;
-            writer.writeAttribute("id", rowId, null);
+            writer.writeAttribute("id", rowIdPrefix + rowNum, null);
+            if (!visible) {
+                writer.writeAttribute("style", "display:none;", null);
+            }
             writer.write("\n");
 
-            for (int i = 0; i < 7; ++i) {
-
-                if (DEBUG) {
-                    log("Now rendering " + startDate.getTime().toString());
-                }
-
-                selected = calendarMonth.isDateSelected(startDate, endDate);
-                dayInMonth = (startDate.get(Calendar.MONTH) == displayedMonth);
+            for (int i = 0; i < MonthGrid.DAYS_PER_WEEK; ++i) {
                 String style = styles[17];
-
-                if (selected) {
-                    if (dayInMonth) {
-                        style = styles[18];
-                    } else {
-                        style = styles[19];
-                    }
-                } else if (dayInMonth) {
-                    if (calendarMonth.compareDate(startDate, todaysDate)) {
-                        style = styles[20];
-                    } else {
-                        style = styles[16];
+                if (visible) {
+                    boolean dayInMonth = grid.isInMonth(dateLinkId);
+                    if (selected[dateLinkId]) {
+                        if (dayInMonth) {
+                            style = styles[18];
+                        } else {
+                            style = styles[19];
+                        }
+                    } else if (dayInMonth) {
+                        if (dateLinkId == today) {
+                            style = styles[20];
+                        } else {
+                            style = styles[16];
+                        }
                     }
-                } else if (DEBUG) {
-                    log("Date is outside month and selected");
                 }
 
-                renderDateLink(startDate, style,
+                renderDateLink(grid, dateLinkId, style,
                         dateLinkPrefix.concat(String.valueOf(dateLinkId)),
-                        calendarMonth,
-                        dateFormat, writer);
-
+                        calendarMonth, writer);
                 dateLinkId++;
-                startDate.add(Calendar.DAY_OF_YEAR, 1);
-                startDate.getTime();
-            }
-            writer.endElement("tr");
-            writer.write("\n");
-        }
-        if (rowNum < 6) {
-            writer.startElement("tr", calendarMonth);
-            String rowId = rowIdPrefix + rowNum++;
-            writer.writeAttribute("id", rowId, null);
-            writer.writeAttribute("style", "display:none;", null);
-            writer.write("\n");
-
-            for (int i = 0; i < 7; ++i) {
-                renderDateLink(startDate, styles[17],
-                        dateLinkPrefix.concat(String.valueOf(dateLinkId)),
-                        calendarMonth, dateFormat, writer);
-
-                dateLinkId++;
-                startDate.add(Calendar.DAY_OF_YEAR, 1);
-                startDate.getTime();
             }
             writer.endElement("tr");
             writer.write("\n");
@@ -419,33 +363,31 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
 
     /**
      * Render date link.
-     * @param startDate start date
+     * @param grid month grid
+     * @param index index of the day in the grid
      * @param style CSS style
      * @param id element id
      * @param calendarMonth UI component
-     * @param dateFormat date format
      * @param writer writer to use
      * @throws IOException if an IO error occurs
      */
     @SuppressWarnings("checkstyle:magicnumber")
-    private void renderDateLink(final Calendar startDate, final String style,
-            final String id, final CalendarMonth calendarMonth,
-            final DateFormat dateFormat, final ResponseWriter writer)
+    private void renderDateLink(final MonthGrid grid, final int index,
+            final String style, final String id,
+            final CalendarMonth calendarMonth, final ResponseWriter writer)
             throws IOException {
 
         writer.startElement("td", calendarMonth);
         writer.writeAttribute("align", "center", null);
         writer.writeText("\n", null);
 
-        int day = startDate.get(Calendar.DAY_OF_MONTH);
-
         // For performance reasons, don't create a hyperlink component
         // for each date...
         writer.startElement("a", calendarMonth);
         writer.writeAttribute("class", style, null);
         writer.writeAttribute("id", id, null);
 
-        String dateString = dateFormat.format(startDate.getTime());
+        String dateString = grid.getFormattedDate(index);
         writer.writeAttribute("title", dateString, null);
 
         StringBuilder buffer = new StringBuilder(128);
@@ -462,7 +404,7 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
 
         writer.writeAttribute("onclick", buffer.toString(), null);
         writer.writeAttribute("href", "#", null);
-        writer.write(String.valueOf(day));
+        writer.write(grid.getLabel(index));
         writer.endElement("a");
         writer.write("\n");
         writer.endElement("td");
@@ -632,10 +574,9 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
         writer.startElement("div", calendarMonth);
         writer.writeAttribute("class", styles[24], null);
 
-        DateFormat dateFormat =
-                SimpleDateFormat.getDateInstance(DateFormat.MEDIUM,
-                context.getViewRoot().getLocale());
-        dateFormat.setTimeZone((TimeZone) (calendarMonth.getTimeZone()));
+        SharedDateFormat dateFormat = SharedDateFormat.getDateInstance(
+                DateFormat.MEDIUM, context.getViewRoot().getLocale(),
+                calendarMonth.getTimeZone());
         Date today = calendarMonth.getCalendar().getTime();
         if (DEBUG) {
             log("Today is " + today.toString());
@@ -872,7 +813,7 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
     @SuppressWarnings("checkstyle:magicnumber")
     private void renderDateTable(final CalendarMonth calendarMonth,
             final String[] styles, final String id,
-            final DateFormat dateFormat, final FacesContext context,
+            final SharedDateFormat dateFormat, final FacesContext context,
             final ResponseWriter writer) throws IOException {
 
         RenderingUtilities.renderSkipLink(SKIP_SECTION, styles[21], null,
@@ -896,7 +837,7 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
      */
     @SuppressWarnings("checkstyle:magicnumber")
     private void initializeChildren(final CalendarMonth cm,
-            final SimpleDateFormat dateFormat, final FacesContext context) {
+            final SharedDateFormat dateFormat, final FacesContext context) {
 
         if (DEBUG) {
             log("initializeChildren()");
@@ -1005,37 +946,59 @@ public final class CalendarMonthRenderer extends AbstractRenderer {
         calendar.setTime(maxDate);
         int lastYear = calendar.get(Calendar.YEAR);
 
+        // The options are kept with the menus, only create new ones if the
+        // range of years or the locale has changed.
         int numYears = lastYear - firstYear + 1;
-        Integer yearInteger;
-        Option[] yearOptions = new Option[numYears];
-        for (int i = 0; i < numYears; ++i) {
-            yearInteger = firstYear + i;
-            yearOptions[i] = new Option(yearInteger, yearInteger.toString());
+        Option[] yearOptions = getOptions(yearMenu);
+        if (yearOptions == null || yearOptions.length != numYears
+                || !Integer.valueOf(firstYear)
+                        .equals(yearOptions[0].getValue())) {
+            Integer yearInteger;
+            yearOptions = new Option[numYears];
+            for (int i = 0; i < numYears; ++i) {
+                yearInteger = firstYear + i;
+                yearOptions[i] = new Option(yearInteger,
+                        yearInteger.toString());
+            }
+            yearMenu.setItems(yearOptions);
         }
-        yearMenu.setItems(yearOptions);
 
         // Set the items of the month component
         // construct an option[] for the locale specific months
-        String[] monthNames = dateFormat.getDateFormatSymbols().getMonths();
-        Option[] months = new Option[12];
-
-        calendar.set(Calendar.MONTH, Calendar.JANUARY);
-        int monthInt;
-        for (int i = 0; i < 12; i++) {
-            monthInt = calendar.get(Calendar.MONTH);
-            months[i] = new Option(monthInt + 1, monthNames[i]);
-            calendar.add(Calendar.MONTH, 1);
-        }
-        if (DEBUG) {
-            log("Created the month options");
+        String[] monthNames = dateFormat.getMonths();
+        Option[] months = getOptions(monthMenu);
+        if (months == null || months.length != 12
+                || !monthNames[0].equals(months[0].getLabel())
+                || !monthNames[11].equals(months[11].getLabel())) {
+            months = new Option[12];
+            for (int i = 0; i < 12; i++) {
+                months[i] = new Option(i + 1, monthNames[i]);
+            }
+            if (DEBUG) {
+                log("Created the month options");
+            }
+            monthMenu.setItems(months);
         }
-        monthMenu.setItems(months);
 
         if (DEBUG) {
             log("initializeChildren() - END");
         }
     }
 
+    /**
+     * Get the options of a menu if they were set as an array.
+     * @param menu menu
+     * @return Option[], or {@code null} if the menu has no options or if
+     * they are not an array
+     */
+    private static Option[] getOptions(final DropDown menu) {
+        Object items = menu.getItems();
+        if (items instanceof Option[] && ((Option[]) items).length > 0) {
+            return (Option[]) items;
+        }
+        return null;
+    }
+
     /**
      * Get the styles.
      * @param calendarMonth UI component
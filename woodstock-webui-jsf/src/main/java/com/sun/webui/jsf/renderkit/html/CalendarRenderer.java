@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -36,7 +37,6 @@ import static com.sun.webui.jsf.util.JavaScriptUtilities.renderInitScriptTag;
 import com.sun.webui.jsf.util.LogUtil;
 import com.sun.webui.jsf.util.RenderingUtilities;
 import com.sun.webui.jsf.util.ThemeUtilities;
-import java.text.SimpleDateFormat;
 import jakarta.json.JsonObject;
 
 import static com.sun.webui.jsf.util.JsonUtilities.JSON_BUILDER_FACTORY;
@@ -315,8 +315,8 @@ public class CalendarRenderer extends FieldRenderer {
                 hint = ThemeUtilities.getTheme(context).getMessage(
                         "calendar.".concat(pattern));
             } catch (MissingResourceException mre) {
-                hint = ((SimpleDateFormat) (calendar.getDateFormat()))
-                        .toLocalizedPattern()
+                hint = calendar.getSharedDateFormat()
+                        .getLocalizedPattern()
                         .toLowerCase();
             }
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -28,6 +29,7 @@ import jakarta.faces.context.ResponseWriter;
 import jakarta.faces.render.Renderer;
 import com.sun.webui.jsf.component.ListManager;
 import com.sun.webui.jsf.component.ListSelector;
+import com.sun.webui.jsf.model.OptionSource;
 import com.sun.webui.jsf.model.Separator;
 import com.sun.webui.jsf.model.OptionTitle;
 import com.sun.webui.jsf.model.list.ListItem;
@@ -36,6 +38,8 @@ import com.sun.webui.jsf.model.list.EndGroup;
 import com.sun.webui.jsf.util.LogUtil;
 
 import static com.sun.webui.jsf.util.ConversionUtilities.setRenderedValue;
+import static com.sun.webui.jsf.util.JavaScriptUtilities.renderCall;
+import static com.sun.webui.jsf.util.JavaScriptUtilities.renderScripTag;
 import static com.sun.webui.jsf.util.RenderingUtilities.renderComponent;
 import static com.sun.webui.jsf.util.RenderingUtilities.writeStringAttributes;
 
@@ -173,12 +177,46 @@ public abstract class ListRendererBase extends Renderer {
             // If it becomes uncommented remove this call.
             recordRenderedValue(component);
             renderList(component, id, context, styles, label == null);
+            renderPager(component, context, null, null);
         }
         if (label != null) {
             context.getResponseWriter().endElement("span");
         }
     }
 
+    /**
+     * Render the script that fetches the options that are not rendered, if
+     * the items of the list are bound to an {@link OptionSource} with more
+     * than one page of options.
+     * @param component list component
+     * @param context faces context
+     * @param listId id of the select element to page, or {@code null} for
+     * the list of the component
+     * @param linkedListId id of a select element whose options must not be
+     * added to the paged list, such as the selected list of an
+     * {@code AddRemove}, or {@code null}
+     * @throws IOException if an IO error occurs
+     */
+    protected static void renderPager(final ListSelector component,
+            final FacesContext context, final String listId,
+            final String linkedListId) throws IOException {
+
+        OptionSource source = component.getOptionSource();
+        if (source == null) {
+            return;
+        }
+        int total = source.getOptionCount();
+        int pageSize = component.getOptionPageSize();
+        if (total >= 0 && total <= pageSize) {
+            return;
+        }
+        renderScripTag(context.getResponseWriter(),
+                // ws_listbox_init_pager
+                renderCall("listbox_init_pager",
+                        component.getClientId(context), total, pageSize,
+                        listId, linkedListId));
+    }
+
     /**
      * This implementation is empty.
      * @param context faces context
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,7 @@ package com.sun.webui.jsf.renderkit.html;
 import com.sun.faces.annotation.Renderer;
 import java.util.Map;
 import java.util.Date;
+import java.util.TimeZone;
 import java.util.List;
 import java.io.IOException;
 import java.text.DateFormat;
@@ -33,6 +35,7 @@ import com.sun.webui.theme.Theme;
 import com.sun.webui.jsf.theme.ThemeImages;
 import com.sun.webui.jsf.theme.ThemeStyles;
 import com.sun.webui.jsf.util.RenderingUtilities;
+import com.sun.webui.jsf.util.SharedDateFormat;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import com.sun.webui.html.HTMLAttributes;
 import com.sun.webui.html.HTMLElements;
@@ -182,9 +185,10 @@ public class MastheadRenderer extends AbstractRenderer {
                     theme.getStyleClass(ThemeStyles.MASTHEAD_TEXT), null);
 
             // FIXME: This date formatting should be in the theme.
-            DateFormat dateFormat = DateFormat.getDateTimeInstance(
-                    DateFormat.MEDIUM, DateFormat.LONG,
-                    context.getViewRoot().getLocale());
+            SharedDateFormat dateFormat = SharedDateFormat
+                    .getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG,
+                            context.getViewRoot().getLocale(),
+                            TimeZone.getDefault());
 
             writer.write(dateFormat.format(new Date()));
             writer.endElement(HTMLElements.SPAN);
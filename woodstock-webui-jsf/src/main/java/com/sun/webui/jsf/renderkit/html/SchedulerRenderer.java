@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -20,7 +21,6 @@ package com.sun.webui.jsf.renderkit.html;
 import com.sun.faces.annotation.Renderer;
 import java.util.MissingResourceException;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
 import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
@@ -515,8 +515,8 @@ public final class SchedulerRenderer extends jakarta.faces.render.Renderer {
                         .getDateFormatPattern();
                 hint = theme.getMessage("calendar.".concat(pattern));
             } catch (MissingResourceException mre) {
-                hint = ((SimpleDateFormat) (scheduler.getDateFormat()))
-                        .toLocalizedPattern().toLowerCase();
+                hint = scheduler.getSharedDateFormat()
+                        .getLocalizedPattern().toLowerCase();
             }
         }
         return hint;
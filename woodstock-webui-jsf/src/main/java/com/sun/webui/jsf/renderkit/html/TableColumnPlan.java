@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.renderkit.html;
+
+import com.sun.data.provider.SortCriteria;
+import com.sun.webui.jsf.component.Alarm;
+import com.sun.webui.jsf.component.TableColumn;
+import com.sun.webui.jsf.component.TableRowGroup;
+import com.sun.webui.jsf.theme.ThemeStyles;
+import com.sun.webui.theme.Theme;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * This class holds the column plan of a TableRowGroup component, computed once
+ * when the component starts rendering.
+ * <p>
+ * The plan contains the rendered TableColumn children, the resolved theme
+ * style classes and header association of each column cell, and the row style
+ * class cycle. This leaves only data dependent work (e.g., selected state and
+ * alarm severity) to be done for each row.
+ * </p><p>
+ * Note: The plan is stored in the FacesContext attributes for the duration of
+ * the TableRowGroup encoding. Renderers fall back to computing these values
+ * when no plan is available.
+ * </p>
+ */
+final class TableColumnPlan {
+
+    /**
+     * The FacesContext attribute key used to store plans.
+     */
+    private static final String PLAN_KEY =
+            "com.sun.webui.jsf.renderkit.html.TableColumnPlan";
+
+    /**
+     * The rendered TableColumn children.
+     */
+    private final TableColumn[] columns;
+
+    /**
+     * Map of List objects containing nested TableColumn children.
+     */
+    private final Map<Integer, List<TableColumn>> columnHeaderMap;
+
+    /**
+     * The row style classes, applied in turn to each row.
+     */
+    private final String[] rowStyleClasses;
+
+    /**
+     * The selected row style class.
+     */
+    private final String selectedStyleClass;
+
+    /**
+     * The collapsed row style class, null if not collapsed.
+     */
+    private final String collapsedStyleClass;
+
+    /**
+     * The column cells, keyed by TableColumn.
+     */
+    private final Map<TableColumn, Cell> cells =
+            new IdentityHashMap<TableColumn, Cell>();
+
+    /**
+     * Create a new plan.
+     *
+     * @param group TableRowGroup being rendered.
+     * @param headerMap Map of List objects containing nested TableColumn
+     * children.
+     * @param styleClasses The row style classes.
+     * @param theme The current theme.
+     */
+    private TableColumnPlan(final TableRowGroup group,
+            final Map<Integer, List<TableColumn>> headerMap,
+            final String[] styleClasses, final Theme theme) {
+
+        List<TableColumn> list = new ArrayList<TableColumn>();
+        Iterator<TableColumn> kids = group.getTableColumnChildren();
+        while (kids.hasNext()) {
+            TableColumn col = kids.next();
+            if (col.isRendered()) {
+                list.add(col);
+                addCells(group, col, theme);
+            }
+        }
+        this.columns = list.toArray(new TableColumn[list.size()]);
+        this.columnHeaderMap = headerMap;
+        this.rowStyleClasses = styleClasses;
+        this.selectedStyleClass =
+                theme.getStyleClass(ThemeStyles.TABLE_SELECT_ROW);
+        if (group.isCollapsed()) {
+            this.collapsedStyleClass =
+                    theme.getStyleClass(ThemeStyles.HIDDEN);
+        } else {
+            this.collapsedStyleClass = null;
+        }
+    }
+
+    /**
+     * Create a plan for the given TableRowGroup and make it available to
+     * renderers for the current request.
+     *
+     * @param context FacesContext for the current request.
+     * @param group TableRowGroup being rendered.
+     * @param headerMap Map of List objects containing nested TableColumn
+     * children.
+     * @param styleClasses The row style classes.
+     * @param theme The current theme.
+     * @return TableColumnPlan
+     */
+    static TableColumnPlan create(final FacesContext context,
+            final TableRowGroup group,
+            final Map<Integer, List<TableColumn>> headerMap,
+            final String[] styleClasses, final Theme theme) {
+
+        TableColumnPlan plan = new TableColumnPlan(group, headerMap,
+                styleClasses, theme);
+        Map<TableRowGroup, TableColumnPlan> plans = getPlans(context, true);
+        plans.put(group, plan);
+        return plan;
+    }
+
+    /**
+     * Get the plan of the given TableRowGroup.
+     *
+     * @param context FacesContext for the current request.
+     * @param group TableRowGroup being rendered.
+     * @return TableColumnPlan or null if the TableRowGroup is not being
+     * rendered.
+     */
+    static TableColumnPlan get(final FacesContext context,
+            final TableRowGroup group) {
+
+        if (group == null) {
+            return null;
+        }
+        Map<TableRowGroup, TableColumnPlan> plans = getPlans(context, false);
+        if (plans == null) {
+            return null;
+        }
+        return plans.get(group);
+    }
+
+    /**
+     * Remove the plan of the given TableRowGroup.
+     *
+     * @param context FacesContext for the current request.
+     * @param group TableRowGroup being rendered.
+     */
+    static void remove(final FacesContext context, final TableRowGroup group) {
+        Map<TableRowGroup, TableColumnPlan> plans = getPlans(context, false);
+        if (plans != null) {
+            plans.remove(group);
+        }
+    }
+
+    /**
+     * Get the rendered TableColumn children.
+     *
+     * @return TableColumn[]
+     */
+    TableColumn[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get a copy of the Map of List objects containing nested TableColumn
+     * children.
+     *
+     * @return Map
+     */
+    Map<Integer, List<TableColumn>> getColumnHeaderMap() {
+        Map<Integer, List<TableColumn>> map =
+                new HashMap<Integer, List<TableColumn>>();
+        for (Map.Entry<Integer, List<TableColumn>> entry
+                : columnHeaderMap.entrySet()) {
+            map.put(entry.getKey(),
+                    new ArrayList<TableColumn>(entry.getValue()));
+        }
+        return map;
+    }
+
+    /**
+     * Get the style class of a row.
+     *
+     * @param index The current row index, or -1 for the empty data row.
+     * @param selected Flag indicating the row is selected.
+     * @return The style class or null.
+     */
+    String getRowStyleClass(final int index, final boolean selected) {
+        String styleClass;
+        if (index > -1 && rowStyleClasses.length > 0) {
+            styleClass = rowStyleClasses[index % rowStyleClasses.length];
+        } else {
+            styleClass = null;
+        }
+        if (selected) {
+            styleClass = append(styleClass, selectedStyleClass);
+        }
+        if (collapsedStyleClass != null) {
+            styleClass = append(styleClass, collapsedStyleClass);
+        }
+        return styleClass;
+    }
+
+    /**
+     * Get the cell of the given TableColumn.
+     *
+     * @param col TableColumn being rendered.
+     * @return Cell or null if the column is not part of the plan.
+     */
+    Cell getCell(final TableColumn col) {
+        return cells.get(col);
+    }
+
+    /**
+     * Add the cells of the given TableColumn and its nested TableColumn
+     * children.
+     *
+     * @param group TableRowGroup being rendered.
+     * @param col TableColumn being rendered.
+     * @param theme The current theme.
+     */
+    private void addCells(final TableRowGroup group, final TableColumn col,
+            final Theme theme) {
+
+        Iterator<TableColumn> kids = col.getTableColumnChildren();
+        if (!kids.hasNext()) {
+            cells.put(col, new Cell(group, col, theme));
+            return;
+        }
+        while (kids.hasNext()) {
+            TableColumn kid = kids.next();
+            if (kid.isRendered()) {
+                addCells(group, kid, theme);
+            }
+        }
+    }
+
+    /**
+     * Get the plans of the current request.
+     *
+     * @param context FacesContext for the current request.
+     * @param create Flag indicating the map should be created.
+     * @return Map of plans, keyed by TableRowGroup.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<TableRowGroup, TableColumnPlan> getPlans(
+            final FacesContext context, final boolean create) {
+
+        Map<Object, Object> attributes = context.getAttributes();
+        Map<TableRowGroup, TableColumnPlan> plans =
+                (Map<TableRowGroup, TableColumnPlan>) attributes.get(PLAN_KEY);
+        if (plans == null && create) {
+            plans = new IdentityHashMap<TableRowGroup, TableColumnPlan>();
+            attributes.put(PLAN_KEY, plans);
+        }
+        return plans;
+    }
+
+    /**
+     * Append a style class.
+     *
+     * @param styleClass The style class, may be null.
+     * @param s The style class to append.
+     * @return String
+     */
+    private static String append(final String styleClass, final String s) {
+        if (styleClass != null) {
+            return styleClass + " " + s;
+        }
+        return s;
+    }
+
+    /**
+     * This class holds the resolved values of a TableColumn cell.
+     */
+    static final class Cell {
+
+        /**
+         * Flag indicating the cell is a row header.
+         */
+        private final boolean rowHeader;
+
+        /**
+         * Flag indicating the column is a spacer column.
+         */
+        private final boolean spacer;
+
+        /**
+         * The style class used when no alarm is rendered.
+         */
+        private final String styleClass;
+
+        /**
+         * The alarm style class.
+         */
+        private final String alarmStyleClass;
+
+        /**
+         * Create a new cell.
+         *
+         * @param group TableRowGroup being rendered.
+         * @param col TableColumn being rendered.
+         * @param theme The current theme.
+         */
+        Cell(final TableRowGroup group, final TableColumn col,
+                final Theme theme) {
+
+            // Note: Row header is not valid for select column.
+            rowHeader = col.isRowHeader() && col.getSelectId() == null;
+            spacer = col.isSpacerColumn();
+            alarmStyleClass = theme.getStyleClass(ThemeStyles.TABLE_TD_ALARM);
+
+            // Get sort level.
+            SortCriteria criteria = col.getSortCriteria();
+            int level = group.getSortLevel(criteria);
+
+            String s;
+            if (spacer) {
+                s = ThemeStyles.TABLE_TD_SPACER;
+            } else if (level == 1) {
+                if (col.getSelectId() != null) {
+                    s = ThemeStyles.TABLE_TD_SELECTCOL_SORT;
+                } else {
+                    s = ThemeStyles.TABLE_TD_SORT;
+                }
+            } else {
+                if (col.getSelectId() != null) {
+                    s = ThemeStyles.TABLE_TD_SELECTCOL;
+                } else {
+                    s = ThemeStyles.TABLE_TD_LAYOUT;
+                }
+            }
+            styleClass = theme.getStyleClass(s);
+        }
+
+        /**
+         * Test if the cell is a row header.
+         *
+         * @return {@code boolean}
+         */
+        boolean isRowHeader() {
+            return rowHeader;
+        }
+
+        /**
+         * Get the style class of the cell for the current row.
+         *
+         * @param col TableColumn being rendered.
+         * @return The style class.
+         */
+        String getStyleClass(final TableColumn col) {
+            if (spacer) {
+                return styleClass;
+            }
+            // Alarm severity is data dependent.
+            String severity = col.getSeverity();
+            if (severity != null && !severity.equals(Alarm.SEVERITY_OK)) {
+                return alarmStyleClass;
+            }
+            return styleClass;
+        }
+    }
+}
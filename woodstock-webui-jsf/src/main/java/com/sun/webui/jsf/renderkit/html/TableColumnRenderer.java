@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -221,9 +222,20 @@ public final class TableColumnRenderer extends jakarta.faces.render.Renderer {
             return;
         }
 
+        // Use the column plan of the TableRowGroup, if available.
+        TableColumnPlan.Cell cell = getCell(context, component);
+
         // Note: Row header is not valid for select column.
-        boolean isRowHeader = component.isRowHeader()
-                && component.getSelectId() == null;
+        boolean isRowHeader;
+        String styleClass;
+        if (cell != null) {
+            isRowHeader = cell.isRowHeader();
+            styleClass = cell.getStyleClass(component);
+        } else {
+            isRowHeader = component.isRowHeader()
+                    && component.getSelectId() == null;
+            styleClass = getStyleClass(component);
+        }
 
         writer.writeText("\n", null);
         if (isRowHeader) {
@@ -237,7 +249,7 @@ public final class TableColumnRenderer extends jakarta.faces.render.Renderer {
 
         // Render style class.
         RenderingUtilities.renderStyleClass(context, writer, component,
-                getStyleClass(component));
+                styleClass);
 
         // Render align.
         if (component.getAlign() != null) {
@@ -298,13 +310,41 @@ public final class TableColumnRenderer extends jakarta.faces.render.Renderer {
         }
 
         // Note: Row header is not valid for select column.
-        if (component.isRowHeader() && component.getSelectId() == null) {
+        TableColumnPlan.Cell cell = getCell(context, component);
+        boolean isRowHeader;
+        if (cell != null) {
+            isRowHeader = cell.isRowHeader();
+        } else {
+            isRowHeader = component.isRowHeader()
+                    && component.getSelectId() == null;
+        }
+        if (isRowHeader) {
             writer.endElement("th");
         } else {
             writer.endElement("td");
         }
     }
 
+    /**
+     * Helper method to get the cell of the column plan computed for the
+     * TableRowGroup ancestor.
+     *
+     * @param context FacesContext for the current request.
+     * @param component TableColumn to be rendered
+     *
+     * @return The cell or null if no column plan is available.
+     */
+    private static TableColumnPlan.Cell getCell(final FacesContext context,
+            final TableColumn component) {
+
+        TableColumnPlan plan = TableColumnPlan.get(context,
+                component.getTableRowGroupAncestor());
+        if (plan == null) {
+            return null;
+        }
+        return plan.getCell(component);
+    }
+
     /**
      * Helper method to get column style class for TableColumn components.
      *
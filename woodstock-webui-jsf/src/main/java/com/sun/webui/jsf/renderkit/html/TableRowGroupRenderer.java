@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -109,6 +110,12 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
         TableRowGroup group = (TableRowGroup) component;
         ResponseWriter writer = context.getResponseWriter();
 
+        // Compute the column plan once, so that only data dependent work is
+        // done for each row.
+        TableColumnPlan.remove(context, group);
+        TableColumnPlan.create(context, group, getColumnHeaderMap(group),
+                getRowStyleClasses(group), getTheme());
+
         // Render group and column headers.
         if (group.isAboveColumnHeader()) {
             renderGroupHeader(context, group, writer);
@@ -152,6 +159,15 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
             return;
         }
 
+        // Get rendered TableColumn children.
+        TableColumnPlan plan = TableColumnPlan.get(context, group);
+        TableColumn[] columns;
+        if (plan != null) {
+            columns = plan.getColumns();
+        } else {
+            columns = getRenderedColumns(group);
+        }
+
         // Iterate over the rendered RowKey objects.
         for (int i = 0; i < rowKeys.length; i++) {
             group.setRowKey(rowKeys[i]);
@@ -164,15 +180,7 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
             renderEnclosingTagStart(context, group, writer, i);
 
             // Render children.
-            Iterator kids = group.getTableColumnChildren();
-            while (kids.hasNext()) {
-                TableColumn col = (TableColumn) kids.next();
-                if (!col.isRendered()) {
-                    log("encodeChildren",
-                            "TableColumn not rendered, nothing to display");
-                    continue;
-                }
-                // Render column.
+            for (TableColumn col : columns) {
                 RenderingUtilities.renderComponent(col, context);
             }
             renderEnclosingTagEnd(writer);
@@ -196,6 +204,31 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
 
         TableRowGroup group = (TableRowGroup) component;
         ResponseWriter writer = context.getResponseWriter();
+        try {
+            encodeFooters(context, group, writer);
+        } finally {
+            TableColumnPlan.remove(context, group);
+        }
+    }
+
+    @Override
+    public boolean getRendersChildren() {
+        return true;
+    }
+
+    /**
+     * Render group, column, and table column footers for TableRowGroup
+     * components.
+     *
+     * @param context FacesContext for the current request.
+     * @param group TableRowGroup to be rendered.
+     * @param writer ResponseWriter to which the component should be rendered.
+     *
+     * @exception IOException if an input/output error occurs.
+     */
+    private void encodeFooters(final FacesContext context,
+            final TableRowGroup group, final ResponseWriter writer)
+            throws IOException {
 
         // Do not render footers for an empty table.
         if (group.getRowCount() == 0) {
@@ -227,11 +260,6 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
         group.setRowKey(null);
     }
 
-    @Override
-    public boolean getRendersChildren() {
-        return true;
-    }
-
     /**
      * Render empty data message for TableRowGroup components.
      *
@@ -731,11 +759,19 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
             return;
         }
 
-        Theme theme = getTheme();
         writer.writeText("\n", null);
         writer.startElement("tr", component);
         writer.writeAttribute("id", component.getClientId(context), null);
 
+        // Use the column plan, if available.
+        TableColumnPlan plan = TableColumnPlan.get(context, component);
+        if (plan != null) {
+            renderEnclosingTagAttributes(context, component, writer,
+                    plan.getRowStyleClass(index, component.isSelected()));
+            return;
+        }
+
+        Theme theme = getTheme();
         // Get style class for nonempty table.
         String[] styleClasses = getRowStyleClasses(component);
         String styleClass;
@@ -765,6 +801,23 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
             }
         }
 
+        renderEnclosingTagAttributes(context, component, writer, styleClass);
+    }
+
+    /**
+     * Render enclosing tag attributes for TableRowGroup components.
+     *
+     * @param context FacesContext for the current request.
+     * @param component TableRowGroup to be rendered.
+     * @param writer ResponseWriter to which the component should be rendered.
+     * @param styleClass The row style class.
+     *
+     * @exception IOException if an input/output error occurs.
+     */
+    private void renderEnclosingTagAttributes(final FacesContext context,
+            final TableRowGroup component, final ResponseWriter writer,
+            final String styleClass) throws IOException {
+
         // Render style class.
         RenderingUtilities.renderStyleClass(context, writer, component,
                 styleClass);
@@ -907,6 +960,13 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
                     "Cannot obtain column header map, TableRowGroup is null");
             return map;
         }
+
+        // Use the column plan, if available.
+        TableColumnPlan plan = TableColumnPlan.get(
+                FacesContext.getCurrentInstance(), component);
+        if (plan != null) {
+            return plan.getColumnHeaderMap();
+        }
         Iterator<TableColumn> kids = component.getTableColumnChildren();
         while (kids.hasNext()) {
             TableColumn col = kids.next();
@@ -915,6 +975,27 @@ public final class TableRowGroupRenderer extends jakarta.faces.render.Renderer {
         return map;
     }
 
+    /**
+     * Helper method to get the rendered TableColumn children.
+     *
+     * @param component TableRowGroup to be rendered.
+     * @return An array of TableColumn children.
+     */
+    private TableColumn[] getRenderedColumns(final TableRowGroup component) {
+        List<TableColumn> list = new ArrayList<TableColumn>();
+        Iterator<TableColumn> kids = component.getTableColumnChildren();
+        while (kids.hasNext()) {
+            TableColumn col = kids.next();
+            if (!col.isRendered()) {
+                log("getRenderedColumns",
+                        "TableColumn not rendered, nothing to display");
+                continue;
+            }
+            list.add(col);
+        }
+        return list.toArray(new TableColumn[list.size()]);
+    }
+
     /**
      * Get component id.
      *
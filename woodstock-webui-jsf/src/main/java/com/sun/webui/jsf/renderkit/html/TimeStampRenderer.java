@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,8 +19,8 @@ package com.sun.webui.jsf.renderkit.html;
 import com.sun.faces.annotation.Renderer;
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 import java.io.IOException;
-import java.text.DateFormat;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
 import jakarta.faces.component.UIComponent;
@@ -28,6 +29,7 @@ import com.sun.webui.theme.Theme;
 import com.sun.webui.jsf.theme.ThemeStyles;
 import com.sun.webui.jsf.util.ThemeUtilities;
 import com.sun.webui.jsf.util.RenderingUtilities;
+import com.sun.webui.jsf.util.SharedDateFormat;
 
 /**
  * Renders an instance of the TimeStamp component.
@@ -99,10 +101,10 @@ public final class TimeStampRenderer extends AbstractRenderer {
         Locale locale
                 = FacesContext.getCurrentInstance().getViewRoot().getLocale();
 
-        DateFormat dateFormat = DateFormat.getDateTimeInstance(
+        SharedDateFormat dateFormat = SharedDateFormat.getDateTimeInstance(
                 Integer.parseInt(theme.getMessage("TimeStamp.dateStyle")),
                 Integer.parseInt(theme.getMessage("TimeStamp.timeStyle")),
-                locale);
+                locale, TimeZone.getDefault());
 
         writer.write(dateFormat.format(new Date()));
 
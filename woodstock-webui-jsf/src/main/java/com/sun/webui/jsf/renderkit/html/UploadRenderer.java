@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -28,7 +29,10 @@ import jakarta.faces.component.UIComponent;
 import jakarta.faces.context.ResponseWriter;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.application.FacesMessage;
+import com.sun.webui.jsf.component.ProgressBar;
 import com.sun.webui.jsf.component.Upload;
+import com.sun.webui.jsf.model.UploadedFile;
+import com.sun.webui.jsf.util.ChunkedUpload;
 import com.sun.webui.jsf.util.LogUtil;
 import com.sun.webui.jsf.util.MessageUtil;
 import com.sun.webui.theme.Theme;
@@ -65,7 +69,22 @@ public final class UploadRenderer extends FieldRenderer {
         if (DEBUG) {
             log("\tLooking for id " + id);
         }
-        Map map = context.getExternalContext().getRequestMap();
+        Map<String, Object> map = context.getExternalContext().getRequestMap();
+
+        // a file sent in chunks replaces the empty file input
+        String uploadId = context.getExternalContext()
+                .getRequestParameterMap()
+                .get(component.getClientId(context).concat(Upload.CHUNKED_ID));
+        if (uploadId != null && uploadId.length() > 0) {
+            UploadedFile file = ChunkedUpload.claim(
+                    context.getExternalContext().getSessionMap(), uploadId);
+            if (file != null) {
+                if (DEBUG) {
+                    log("\tClaimed chunked upload " + uploadId);
+                }
+                map.put(id, file);
+            }
+        }
 
         if (map.containsKey(id)) {
             if (DEBUG) {
@@ -134,6 +153,27 @@ public final class UploadRenderer extends FieldRenderer {
             String param = id.concat(Upload.INPUT_PARAM_ID);
             renderHiddenField(component, writer, param, id);
         }
+
+        int chunkSize = ((Upload) component).getChunkSize();
+        if (chunkSize > 0) {
+            renderHiddenField(component, writer, id.concat(Upload.CHUNKED_ID),
+                    "");
+            renderScripTag(writer,
+                    // ws_upload_init_chunked
+                    renderCall("upload_init_chunked", id, chunkSize));
+        }
+
+        String progressBarId = ((Upload) component).getProgressBar();
+        if (progressBarId != null) {
+            UIComponent progressBar = component.findComponent(progressBarId);
+            if (progressBar instanceof ProgressBar) {
+                renderScripTag(writer,
+                        // ws_upload_init_progress
+                        renderCall("upload_init_progress", id,
+                                progressBar.getClientId(context),
+                                ((ProgressBar) progressBar).getRefreshRate()));
+            }
+        }
     }
 
     /**
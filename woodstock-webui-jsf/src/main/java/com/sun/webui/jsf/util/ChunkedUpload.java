@@ -0,0 +1,462 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import com.sun.webui.jsf.model.UploadedFile;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionBindingEvent;
+import jakarta.servlet.http.HttpSessionBindingListener;
+
+/**
+ * File uploaded in chunks by the client script of the Upload component. The
+ * chunks are appended to a file at their offset, and each chunk is verified
+ * with its CRC-32 checksum before the acknowledged offset is advanced, so that
+ * a client can resume an interrupted upload from the last acknowledged
+ * offset.
+ * <p>
+ * The uploads of a session are kept in a session attribute until they are
+ * claimed by the Upload component that submits them, the files of the
+ * uploads still in progress are deleted when the session ends. A session
+ * cannot have more than {@link #MAX_OPEN_UPLOADS} uploads at once.
+ * </p>
+ */
+public final class ChunkedUpload implements Serializable {
+
+    /**
+     * Serialization UID.
+     */
+    private static final long serialVersionUID = 7150893526741380962L;
+
+    /**
+     * Maximum number of uploads of a session not yet claimed.
+     */
+    public static final int MAX_OPEN_UPLOADS = 16;
+
+    /**
+     * Session attribute key of the uploads.
+     */
+    private static final String SESSION_KEY =
+            "com.sun.webui.jsf.util.ChunkedUpload.uploads";
+
+    /**
+     * Maximum number of bytes transferred at once.
+     */
+    private static final long TRANSFER_SIZE = 1L << 20;
+
+    /**
+     * Upload id.
+     */
+    private final String id;
+
+    /**
+     * Path of the file receiving the chunks.
+     */
+    private final String path;
+
+    /**
+     * Name of the file on the user's system.
+     */
+    private final String originalName;
+
+    /**
+     * Content type of the file.
+     */
+    private final String contentType;
+
+    /**
+     * Expected length of the file.
+     */
+    private final long length;
+
+    /**
+     * Acknowledged offset, guarded by this upload.
+     */
+    private long offset = 0;
+
+    /**
+     * Create a new instance.
+     * @param newPath path of the file receiving the chunks
+     * @param newOriginalName name of the file on the user's system
+     * @param newContentType content type of the file
+     * @param newLength expected length of the file
+     */
+    private ChunkedUpload(final Path newPath, final String newOriginalName,
+            final String newContentType, final long newLength) {
+
+        this.id = UUID.randomUUID().toString();
+        this.path = newPath.toString();
+        this.originalName = newOriginalName;
+        this.contentType = newContentType;
+        this.length = newLength;
+    }
+
+    /**
+     * Start a new upload in the given session, unless the session already
+     * has {@link #MAX_OPEN_UPLOADS} uploads.
+     * @param session HTTP session
+     * @param dir directory of the file receiving the chunks
+     * @param originalName name of the file on the user's system
+     * @param contentType content type of the file
+     * @param length expected length of the file
+     * @return ChunkedUpload or {@code null} if the session has too many
+     * uploads
+     * @throws IOException if the file cannot be created
+     */
+    public static ChunkedUpload start(final HttpSession session,
+            final File dir, final String originalName,
+            final String contentType, final long length) throws IOException {
+
+        Uploads uploads = getUploads(session);
+        synchronized (uploads) {
+            if (uploads.size() >= MAX_OPEN_UPLOADS) {
+                return null;
+            }
+            Path file = Files.createTempFile(dir.toPath(), "upload_",
+                    ".part");
+            ChunkedUpload upload = new ChunkedUpload(file, originalName,
+                    contentType, length);
+            uploads.put(upload.getId(), upload);
+            session.setAttribute(SESSION_KEY, uploads);
+            return upload;
+        }
+    }
+
+    /**
+     * Get an upload of the given session.
+     * @param session HTTP session, may be {@code null}
+     * @param id upload id
+     * @return ChunkedUpload or {@code null} if not found
+     */
+    public static ChunkedUpload get(final HttpSession session,
+            final String id) {
+
+        if (session == null || id == null) {
+            return null;
+        }
+        Uploads uploads = (Uploads) session.getAttribute(SESSION_KEY);
+        if (uploads == null) {
+            return null;
+        }
+        return uploads.get(id);
+    }
+
+    /**
+     * Remove a complete upload from the session attributes and return its
+     * file. The caller owns the returned file and must dispose it.
+     * @param sessionMap session attributes
+     * @param id upload id
+     * @return UploadedFile or {@code null} if there is no complete upload
+     * with the given id
+     */
+    public static UploadedFile claim(final Map<String, Object> sessionMap,
+            final String id) {
+
+        if (sessionMap == null || id == null) {
+            return null;
+        }
+        Object uploads = sessionMap.get(SESSION_KEY);
+        if (!(uploads instanceof Uploads)) {
+            return null;
+        }
+        ChunkedUpload upload = ((Uploads) uploads).get(id);
+        if (upload == null || !upload.isComplete()) {
+            return null;
+        }
+        if (((Uploads) uploads).remove(id) == null) {
+            // claimed by a concurrent request
+            return null;
+        }
+        sessionMap.put(SESSION_KEY, uploads);
+        return new FileChannelUploadSink.StoredFile(upload.path,
+                upload.originalName, upload.contentType, upload.length);
+    }
+
+    /**
+     * Get the upload map of a session, creating it if needed.
+     * @param session HTTP session
+     * @return Uploads
+     */
+    private static Uploads getUploads(final HttpSession session) {
+        synchronized (session) {
+            Uploads uploads = (Uploads) session.getAttribute(SESSION_KEY);
+            if (uploads == null) {
+                uploads = new Uploads();
+                session.setAttribute(SESSION_KEY, uploads);
+            }
+            return uploads;
+        }
+    }
+
+    /**
+     * Get the upload id.
+     * @return String
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the expected length of the file.
+     * @return long
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Get the acknowledged offset, up to which the file has been received
+     * and verified.
+     * @return long
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Test if the whole file has been received.
+     * @return {@code boolean}
+     */
+    public synchronized boolean isComplete() {
+        return offset == length;
+    }
+
+    /**
+     * Append a chunk at the given position. The chunk is accepted if the
+     * position is the acknowledged offset, the chunk fits in the expected
+     * length and its CRC-32 checksum matches. Otherwise the received bytes
+     * are discarded.
+     * <p>
+     * The chunk is received in a file of its own without holding the lock of
+     * this upload, so that a stalled request does not block the status
+     * requests or the retry of the chunk. The lock is only held to copy a
+     * complete chunk to the file of the upload, if no other request has
+     * acknowledged it in the meantime. The session attribute of the uploads
+     * is then set again so that a replicated session sees the new offset.
+     * </p>
+     *
+     * @param session HTTP session of the upload
+     * @param position position of the chunk
+     * @param count number of bytes of the chunk
+     * @param checksum CRC-32 checksum of the chunk
+     * @param in chunk contents
+     * @return {@code true} if the chunk was accepted
+     * @throws IOException if an error occurs while reading or writing the
+     * chunk
+     */
+    public boolean append(final HttpSession session, final long position,
+            final long count, final long checksum, final InputStream in)
+            throws IOException {
+
+        if (!isExpected(position, count)) {
+            return false;
+        }
+        Path file = Paths.get(path);
+        Path chunk = Files.createTempFile(file.getParent(), "chunk_",
+                ".part");
+        try {
+            if (!receive(chunk, count, checksum, in)) {
+                return false;
+            }
+            synchronized (this) {
+                if (!isExpected(position, count)) {
+                    // acknowledged by a concurrent request
+                    return false;
+                }
+                try (FileChannel source = FileChannel.open(chunk,
+                        StandardOpenOption.READ);
+                        FileChannel target = FileChannel.open(file,
+                                StandardOpenOption.WRITE)) {
+                    long copied = 0;
+                    while (copied < count) {
+                        long transferred = target.transferFrom(source,
+                                position + copied, count - copied);
+                        if (transferred <= 0) {
+                            throw new IOException("Cannot copy chunk");
+                        }
+                        copied += transferred;
+                    }
+                }
+                offset += count;
+            }
+        } finally {
+            Files.deleteIfExists(chunk);
+        }
+        Object uploads = session.getAttribute(SESSION_KEY);
+        if (uploads != null) {
+            session.setAttribute(SESSION_KEY, uploads);
+        }
+        return true;
+    }
+
+    /**
+     * Test if a chunk is the next one expected.
+     * @param position position of the chunk
+     * @param count number of bytes of the chunk
+     * @return {@code boolean}
+     */
+    private synchronized boolean isExpected(final long position,
+            final long count) {
+
+        return position == offset && count >= 0 && count <= length - offset;
+    }
+
+    /**
+     * Receive a chunk in a file.
+     * @param chunk file receiving the chunk
+     * @param count number of bytes of the chunk
+     * @param checksum CRC-32 checksum of the chunk
+     * @param in chunk contents
+     * @return {@code true} if the whole chunk was received and its checksum
+     * matches
+     * @throws IOException if an error occurs while reading or writing the
+     * chunk
+     */
+    private static boolean receive(final Path chunk, final long count,
+            final long checksum, final InputStream in) throws IOException {
+
+        CheckedInputStream checked = new CheckedInputStream(in, new CRC32());
+        long received = 0;
+        try (FileChannel channel = FileChannel.open(chunk,
+                StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(checked);
+            while (received < count) {
+                long transferred = channel.transferFrom(source, received,
+                        Math.min(TRANSFER_SIZE, count - received));
+                if (transferred <= 0) {
+                    break;
+                }
+                received += transferred;
+            }
+        }
+        return received == count
+                && checked.getChecksum().getValue() == checksum;
+    }
+
+    /**
+     * Write this upload, holding its lock so that the offset is consistent.
+     * @param out object output stream
+     * @throws IOException if an error occurs
+     */
+    private synchronized void writeObject(final ObjectOutputStream out)
+            throws IOException {
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Delete the file of this upload.
+     */
+    private void delete() {
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException ex) {
+            // the file is left for the temporary directory cleanup
+        }
+    }
+
+    /**
+     * Uploads of a session, deleted when the session ends. The uploads are
+     * serializable so that the session can be persisted or replicated, the
+     * files are found again on a node sharing the upload directory.
+     */
+    private static final class Uploads
+            implements HttpSessionBindingListener, Serializable {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = -4836102957734120815L;
+
+        /**
+         * Uploads by id.
+         */
+        private final Map<String, ChunkedUpload> map =
+                new ConcurrentHashMap<String, ChunkedUpload>();
+
+        /**
+         * Get an upload.
+         * @param id upload id
+         * @return ChunkedUpload
+         */
+        ChunkedUpload get(final String id) {
+            return map.get(id);
+        }
+
+        /**
+         * Add an upload.
+         * @param id upload id
+         * @param upload upload to add
+         */
+        void put(final String id, final ChunkedUpload upload) {
+            map.put(id, upload);
+        }
+
+        /**
+         * Get the number of uploads.
+         * @return int
+         */
+        int size() {
+            return map.size();
+        }
+
+        /**
+         * Remove an upload.
+         * @param id upload id
+         * @return the removed upload, or {@code null}
+         */
+        ChunkedUpload remove(final String id) {
+            return map.remove(id);
+        }
+
+        @Override
+        public void valueBound(final HttpSessionBindingEvent event) {
+            // do nothing
+        }
+
+        @Override
+        public void valueUnbound(final HttpSessionBindingEvent event) {
+            try {
+                if (event.getSession().getAttribute(event.getName())
+                        == this) {
+                    // set again after a change, not removed
+                    return;
+                }
+            } catch (IllegalStateException ex) {
+                // the session is invalidated
+            }
+            for (ChunkedUpload upload : map.values()) {
+                upload.delete();
+            }
+            map.clear();
+        }
+    }
+}
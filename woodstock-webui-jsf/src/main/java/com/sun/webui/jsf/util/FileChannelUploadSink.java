@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import com.sun.webui.jsf.model.UploadedFile;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link UploadSink} that transfers each file part into a file of a directory
+ * with a {@code FileChannel}. The {@link UploadedFile#write} method of the
+ * stored files moves the file to its destination instead of copying it when
+ * both are on the same file system.
+ */
+public class FileChannelUploadSink implements UploadSink {
+
+    /**
+     * Maximum number of bytes transferred at once.
+     */
+    private static final long TRANSFER_SIZE = 1L << 20;
+
+    /**
+     * Directory of the stored files.
+     */
+    private final File directory;
+
+    /**
+     * Create a new sink storing files in the directory specified by the
+     * system property "java.io.tmpdir".
+     */
+    public FileChannelUploadSink() {
+        this(new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Create a new sink storing files in the given directory.
+     * @param dir directory of the stored files
+     */
+    public FileChannelUploadSink(final File dir) {
+        this.directory = dir;
+    }
+
+    /**
+     * Get the directory of the stored files.
+     * @return File
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public UploadedFile store(final String fieldName, final String fileName,
+            final String contentType, final InputStream in)
+            throws IOException {
+
+        Path path = Files.createTempFile(directory.toPath(), "upload_",
+                ".tmp");
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.WRITE);
+                ReadableByteChannel source = Channels.newChannel(in)) {
+            long count = channel.transferFrom(source, size, TRANSFER_SIZE);
+            while (count > 0) {
+                size += count;
+                count = channel.transferFrom(source, size, TRANSFER_SIZE);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+        return new StoredFile(path.toString(), fileName, contentType, size);
+    }
+
+    /**
+     * Uploaded file stored in a file, deleted on dispose unless it has been
+     * written to a destination.
+     */
+    static final class StoredFile implements UploadedFile {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = 4383104935853496512L;
+
+        /**
+         * Path of the stored file.
+         */
+        private String path;
+
+        /**
+         * Name of the file on the user's system.
+         */
+        private final String originalName;
+
+        /**
+         * Content type of the file.
+         */
+        private final String contentType;
+
+        /**
+         * Size of the file.
+         */
+        private final long size;
+
+        /**
+         * Flag indicating that the stored file has not been written to a
+         * destination and is deleted on dispose.
+         */
+        private boolean temporary = true;
+
+        /**
+         * Create a new instance.
+         * @param newPath path of the stored file
+         * @param newOriginalName name of the file on the user's system
+         * @param newContentType content type
+         * @param newSize size of the file
+         */
+        StoredFile(final String newPath, final String newOriginalName,
+                final String newContentType, final long newSize) {
+
+            this.path = newPath;
+            this.originalName = newOriginalName;
+            this.contentType = newContentType;
+            this.size = newSize;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(Paths.get(path));
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getOriginalName() {
+            return originalName;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            try {
+                return Files.readAllBytes(Paths.get(path));
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public String getAsString() {
+            byte[] bytes = getBytes();
+            if (bytes == null) {
+                return null;
+            }
+            return new String(bytes, getCharset());
+        }
+
+        /**
+         * Get the charset of the content type, or ISO-8859-1 if the content
+         * type does not specify a supported charset.
+         * @return Charset
+         */
+        private Charset getCharset() {
+            if (contentType != null) {
+                String lower = contentType.toLowerCase();
+                int index = lower.indexOf("charset=");
+                if (index != -1) {
+                    String name = contentType
+                            .substring(index + "charset=".length());
+                    int end = name.indexOf(';');
+                    if (end != -1) {
+                        name = name.substring(0, end);
+                    }
+                    name = name.trim().replace("\"", "");
+                    try {
+                        return Charset.forName(name);
+                    } catch (IllegalArgumentException ex) {
+                        // fall back to the default below
+                    }
+                }
+            }
+            return StandardCharsets.ISO_8859_1;
+        }
+
+        @Override
+        public void write(final File file) throws Exception {
+            Path target = file.toPath();
+            if (temporary) {
+                Files.move(Paths.get(path), target,
+                        StandardCopyOption.REPLACE_EXISTING);
+                path = target.toString();
+                temporary = false;
+            } else {
+                Files.copy(Paths.get(path), target,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (temporary) {
+                try {
+                    Files.deleteIfExists(Paths.get(path));
+                } catch (IOException ex) {
+                    // the file is left for the temporary directory cleanup
+                }
+            }
+        }
+    }
+}
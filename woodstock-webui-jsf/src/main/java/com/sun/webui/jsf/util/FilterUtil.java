@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -15,35 +16,113 @@
  */
 package com.sun.webui.jsf.util;
 
-import java.util.StringTokenizer;
 import java.io.File;
 import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A utility class that checks if a file or folder should be displayed based on
  * the filter entered by the user.
+ * <p>
+ * The filter is a comma separated list of glob patterns, such as
+ * {@code *.log,*.gz}. A file is accepted if its name matches one of the
+ * patterns:
+ * </p>
+ * <ul>
+ * <li>{@code *} matches any sequence of characters</li>
+ * <li>{@code ?} matches one character</li>
+ * <li>{@code [abc]}, {@code [a-z]} and {@code [!abc]} match one character
+ * of a set</li>
+ * <li>{@code {foo,bar}} matches one of the alternatives</li>
+ * <li>{@code \} escapes the next character</li>
+ * </ul>
+ * <p>
+ * Matching is case sensitive. An empty filter or {@code *} accepts all the
+ * files, and a file whose name is the whole filter string is always
+ * accepted. A pattern with an unbalanced bracket or brace is matched
+ * literally.
+ * </p>
+ * <p>
+ * The braces are expanded when the filter is compiled, and the patterns are
+ * matched without backtracking other than to the last {@code *}, so the
+ * time to match a name is bounded by the product of the name and pattern
+ * lengths. A filter is limited to {@value #MAX_GLOBS} patterns, further
+ * patterns are ignored, and to {@value #MAX_ALTERNATIVES} patterns once
+ * the braces are expanded, a pattern that would exceed it is matched
+ * literally. The compiled filters are shared, see
+ * {@link #getInstance(String)}. This class is thread safe.
+ * </p>
  */
 public final class FilterUtil implements FileFilter {
 
     /**
-     * Filter string.
+     * The maximum number of patterns in a filter.
+     */
+    public static final int MAX_GLOBS = 32;
+
+    /**
+     * The maximum number of patterns in a filter once the braces are
+     * expanded.
+     */
+    public static final int MAX_ALTERNATIVES = 256;
+
+    /**
+     * The maximum number of braces expanded in a pattern.
+     */
+    private static final int MAX_BRACES = 32;
+
+    /**
+     * The maximum number of shared filters.
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    /**
+     * The initial capacity of the shared filters map.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor of the shared filters map.
      */
-    private String filterString = null;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The shared filters, by filter string, in access order.
+     */
+    private static final Map<String, FilterUtil> INSTANCES =
+            new LinkedHashMap<String, FilterUtil>(INITIAL_CAPACITY,
+                    LOAD_FACTOR, true) {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = -2391465734851947064L;
+
+        @Override
+        protected boolean removeEldestEntry(
+                final Map.Entry<String, FilterUtil> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
 
     /**
-     * Extension pattern.
+     * Filter string.
      */
-    private String extPattern = null;
+    private final String filterString;
 
     /**
-     * Name pattern.
+     * Compiled patterns, {@code null} if all the files are accepted.
      */
-    private String namePattern = null;
+    private final Glob[] globs;
 
     /**
      * Create a new instance.
      */
     public FilterUtil() {
+        this(null);
     }
 
     /**
@@ -51,180 +130,463 @@ public final class FilterUtil implements FileFilter {
      * @param filterStr filter string
      */
     public FilterUtil(final String filterStr) {
-        if (filterStr != null) {
-            this.filterString = filterStr;
+        if (filterStr == null) {
+            this.filterString = null;
+            this.globs = null;
+        } else {
             this.filterString = filterStr.trim();
-            int index = filterString.indexOf('.');
-            if (index == -1) {
-                namePattern = filterString;
-            } else if (index == 0) {
-                if (filterString.length() > 1) {
-                    extPattern = filterString.substring(1);
-                }
-            } else if (index == (filterString.length() - 1)) {
-                namePattern = filterString.substring(0, index - 1);
-            } else {
-                namePattern = filterString.substring(0, index);
-                extPattern = filterString.substring(index + 1);
+            this.globs = compile(filterString);
+        }
+    }
+
+    /**
+     * Get the shared filter for a filter string. The filter string is
+     * compiled on the first call only.
+     * @param filterStr filter string
+     * @return FilterUtil
+     */
+    public static FilterUtil getInstance(final String filterStr) {
+        if (filterStr == null) {
+            return new FilterUtil(null);
+        }
+        synchronized (INSTANCES) {
+            FilterUtil filter = INSTANCES.get(filterStr);
+            if (filter == null) {
+                filter = new FilterUtil(filterStr);
+                INSTANCES.put(filterStr, filter);
             }
+            return filter;
         }
     }
 
     @Override
     public boolean accept(final File f) {
+        return f.isDirectory() || accept(f.getName());
+    }
 
-        if (f.isDirectory()
-                || filterString == null
-                || filterString.length() == 0
-                || filterString.equals("*")) {
+    /**
+     * Test if a file name is accepted by this filter. Unlike
+     * {@link #accept(File)}, this method does not access the file system and
+     * must only be called for files that are not directories.
+     * @param fileName file name
+     * @return {@code boolean}
+     */
+    public boolean accept(final String fileName) {
+        if (globs == null) {
             return true;
         }
-
-        String fileName = f.getName();
         if (filterString.equals(fileName)) {
             return true;
         }
-
-        // Now we should get both name and extension
-        // and then match name against name pattern and
-        // extension against ext pattern. Only if both
-        // match return true.
-        String extension = getExtension(fileName);
-        String name = getName(fileName);
-
-        // if pattern does not have a dot there is no need to
-        // check for filename and the extension separately.
-        if (filterString.indexOf('.') == -1) {
-            return check(fileName, filterString);
-        }
-
-        // if filename does not have an extension and there
-        // exists an extension pattern return false
-        if (filterString.indexOf('.') != -1) {
-            if (fileName.indexOf('.') == -1) {
-                return false;
+        for (Glob glob : globs) {
+            if (glob.matches(fileName)) {
+                return true;
             }
         }
-
-        // check for name and extension match separately and
-        // return true if both are true
-        boolean nameFlag = check(name, namePattern);
-        boolean extFlag = check(extension, extPattern);
-        return (nameFlag && extFlag);
+        return false;
     }
 
     /**
-     * This function checks to see if the value matches a pattern. If the value
-     * is null and the pattern is * this is also considered a match. The result
-     * of the comparison is returned as a {@code boolean} value.
-     * @param value value to check
-     * @param pattern pattern to use
-     * @return {@code boolean}
+     * Compile a filter string.
+     * @param filterStr trimmed filter string
+     * @return compiled patterns, or {@code null} if all the files are
+     * accepted
      */
-    private static boolean check(final String value, final String pattern) {
-        boolean flag = false;
-        if ((value == null) && (pattern == null)) {
-            flag = true;
-        } else if ((value == null) && (pattern != null)) {
+    private static Glob[] compile(final String filterStr) {
+        List<String> patterns = split(filterStr);
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        List<Glob> compiled = new ArrayList<Glob>();
+        List<String> expanded = new ArrayList<String>();
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
             if (pattern.equals("*")) {
-                flag = true;
+                return null;
             }
-        } else if ((value != null) && (pattern != null)) {
-            if (pattern.equals("*")) {
-                flag = true;
-            } else if (pattern.equals(value)) {
-                flag = true;
-            } else {
-                // match patterns of type *foo*bar*
-                StringTokenizer st = new StringTokenizer(pattern, "*");
-                if (st.countTokens() == 1) {
-                    if (pattern.endsWith("*") && pattern.startsWith("*")) {
-                        flag = checkPattern(st, value);
-                    } else if (pattern.endsWith("*")) {
-                        String prefix = pattern.substring(0,
-                                pattern.length() - 1);
-                        flag = value.startsWith(prefix);
-                    } else if (pattern.startsWith("*")) {
-                        String suffix = pattern.substring(1, pattern.length());
-                        flag = value.endsWith(suffix);
+            // keep room for the remaining patterns
+            int limit = MAX_ALTERNATIVES - compiled.size()
+                    - (patterns.size() - i - 1);
+            expanded.clear();
+            Glob glob = null;
+            if (expand(pattern, expanded, limit, 0)) {
+                List<Glob> alternatives = new ArrayList<Glob>();
+                for (String alternative : expanded) {
+                    glob = Glob.parse(alternative);
+                    if (glob == null) {
+                        break;
                     }
-                } else {
-                    flag = checkPattern(st, value);
+                    alternatives.add(glob);
+                }
+                if (glob != null) {
+                    compiled.addAll(alternatives);
                 }
             }
+            if (glob == null) {
+                // unbalanced bracket or brace, or too many alternatives
+                compiled.add(Glob.literal(pattern));
+            }
         }
-        return flag;
+        return compiled.toArray(new Glob[compiled.size()]);
     }
 
     /**
-     * Get the extension of a file.
-     * @param token tokenizer to use
-     * @param name file name
-     * @return {@code true} if the filename has an extension, {@code false}
-     *  otherwise
-     */
-    private static boolean checkPattern(final StringTokenizer token,
-            final String name) {
-
-        int position = 0;
-        boolean flag = true;
-        while (token.hasMoreTokens()) {
-            String subset = token.nextToken();
-            int index = name.indexOf(subset, position);
-            if (index == -1) {
-                flag = false;
-                break;
-            } else {
-                position = index + subset.length();
+     * Split a filter string into its patterns, on the commas that are not
+     * inside brackets or braces.
+     * @param filterStr filter string
+     * @return list of the non empty patterns, at most {@link #MAX_GLOBS}
+     */
+    private static List<String> split(final String filterStr) {
+        List<String> patterns = new ArrayList<String>();
+        int depth = 0;
+        boolean inClass = false;
+        int start = 0;
+        for (int i = 0; i < filterStr.length()
+                && patterns.size() < MAX_GLOBS; i++) {
+            char c = filterStr.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addPattern(patterns, filterStr.substring(start, i));
+                start = i + 1;
             }
         }
-        return flag;
+        if (patterns.size() < MAX_GLOBS && start <= filterStr.length()) {
+            addPattern(patterns, filterStr.substring(start));
+        }
+        return patterns;
     }
 
     /**
-     * Get the extension of a file.
-     * @param name file name
-     * @return String
+     * Add a pattern to a list if it is not blank.
+     * @param patterns list of patterns
+     * @param pattern pattern to add
      */
-    private static String getExtension(final String name) {
-        String ext = null;
-        if (name != null) {
-            int i = name.indexOf('.');
-            if (i == -1) {
-                return null;
-            } else if (i == 0) {  // its a .file
-                ext = name.substring(1);
-            } else if (i < name.length() - 1) {
-                // this change makes filter case sensitive
-                // ext = name.substring(i+1).toLowerCase();
-                ext = name.substring(i + 1);
+    private static void addPattern(final List<String> patterns,
+            final String pattern) {
+
+        String trimmed = pattern.trim();
+        if (trimmed.length() > 0) {
+            patterns.add(trimmed);
+        }
+    }
+
+    /**
+     * Expand the braces of a pattern.
+     * @param pattern pattern to expand
+     * @param expanded list the patterns without braces are added to
+     * @param limit the maximum size of the list
+     * @param braces the number of braces already expanded
+     * @return {@code false} if a brace is unbalanced, or if the list or the
+     * number of braces would exceed their limit
+     */
+    private static boolean expand(final String pattern,
+            final List<String> expanded, final int limit, final int braces) {
+
+        int open = -1;
+        int depth = 0;
+        boolean inClass = false;
+        List<Integer> commas = new ArrayList<Integer>();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+                // a leading bracket is part of the set, as in parseSet
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '!') {
+                    i++;
+                }
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == '{') {
+                if (depth == 0) {
+                    open = i;
+                }
+                depth++;
+            } else if (c == '}' && depth > 0) {
+                depth--;
+                if (depth == 0) {
+                    if (braces >= MAX_BRACES) {
+                        return false;
+                    }
+                    String prefix = pattern.substring(0, open);
+                    String suffix = pattern.substring(i + 1);
+                    int from = open + 1;
+                    commas.add(i);
+                    for (int comma : commas) {
+                        String alternative = pattern.substring(from, comma);
+                        if (!expand(prefix + alternative + suffix, expanded,
+                                limit, braces + 1)) {
+                            return false;
+                        }
+                        from = comma + 1;
+                    }
+                    return true;
+                }
+            } else if (c == ',' && depth == 1) {
+                commas.add(i);
             }
         }
-        return ext;
+        if (depth > 0 || expanded.size() >= limit) {
+            return false;
+        }
+        expanded.add(pattern);
+        return true;
     }
 
     /**
-     * Get the name part of a file.
-     * @param name file name
-     * @return String
+     * A glob pattern without braces, matched one character at a time.
      */
-    private static String getName(final String name) {
-        if (name == null) {
-            return null;
+    private static final class Glob {
+
+        /**
+         * Element matching a literal character.
+         */
+        private static final int LITERAL = 0;
+
+        /**
+         * Element matching any character.
+         */
+        private static final int ANY = 1;
+
+        /**
+         * Element matching a character of a set.
+         */
+        private static final int SET = 2;
+
+        /**
+         * Element matching a character not in a set.
+         */
+        private static final int NOT_SET = 3;
+
+        /**
+         * Element matching any sequence of characters.
+         */
+        private static final int STAR = 4;
+
+        /**
+         * Element types.
+         */
+        private final int[] types;
+
+        /**
+         * Element characters, for the literal elements.
+         */
+        private final char[] chars;
+
+        /**
+         * Element sets, as pairs of first and last characters of the ranges,
+         * for the set elements.
+         */
+        private final String[] sets;
+
+        /**
+         * Create a new instance.
+         * @param newTypes element types
+         * @param newChars element characters
+         * @param newSets element sets
+         */
+        private Glob(final int[] newTypes, final char[] newChars,
+                final String[] newSets) {
+
+            this.types = newTypes;
+            this.chars = newChars;
+            this.sets = newSets;
         }
-        String fileName = null;
-        int length = name.length();
-        int i = name.indexOf('.');
 
-        if (i == -1) {
-            // entire thing is the file name
-            fileName = name;
-        } else if (i == 0) {
-            // its a .file
-            fileName = null;
-        } else if (i <= length - 1) {
-            fileName = name.substring(0, i);
+        /**
+         * Create a pattern matching a string literally.
+         * @param literal literal string
+         * @return Glob
+         */
+        static Glob literal(final String literal) {
+            int length = literal.length();
+            return new Glob(new int[length], literal.toCharArray(),
+                    new String[length]);
+        }
+
+        /**
+         * Parse a glob pattern without braces.
+         * @param pattern glob pattern
+         * @return Glob, or {@code null} if a bracket is unbalanced
+         */
+        static Glob parse(final String pattern) {
+            int length = pattern.length();
+            int[] types = new int[length];
+            char[] chars = new char[length];
+            String[] sets = new String[length];
+            int size = 0;
+            for (int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 < length) {
+                        i++;
+                        c = pattern.charAt(i);
+                    }
+                    chars[size++] = c;
+                } else if (c == '*') {
+                    // consecutive stars are the same as one
+                    if (size == 0 || types[size - 1] != STAR) {
+                        types[size++] = STAR;
+                    }
+                } else if (c == '?') {
+                    types[size++] = ANY;
+                } else if (c == '[') {
+                    int end = parseSet(pattern, i + 1, sets, size);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (pattern.charAt(i + 1) == '!') {
+                        types[size++] = NOT_SET;
+                    } else {
+                        types[size++] = SET;
+                    }
+                    i = end;
+                } else {
+                    chars[size++] = c;
+                }
+            }
+            int[] newTypes = new int[size];
+            char[] newChars = new char[size];
+            String[] newSets = new String[size];
+            System.arraycopy(types, 0, newTypes, 0, size);
+            System.arraycopy(chars, 0, newChars, 0, size);
+            System.arraycopy(sets, 0, newSets, 0, size);
+            return new Glob(newTypes, newChars, newSets);
+        }
+
+        /**
+         * Parse a set of characters.
+         * @param pattern glob pattern
+         * @param start index following the opening bracket
+         * @param sets element sets the set is stored in
+         * @param index element index
+         * @return index of the closing bracket, or {@code -1} if there is
+         * none
+         */
+        private static int parseSet(final String pattern, final int start,
+                final String[] sets, final int index) {
+
+            int length = pattern.length();
+            int i = start;
+            if (i < length && pattern.charAt(i) == '!') {
+                i++;
+            }
+            StringBuilder ranges = new StringBuilder();
+            // a leading bracket is part of the set
+            boolean first = true;
+            while (i < length) {
+                char c = pattern.charAt(i);
+                if (c == ']' && !first) {
+                    sets[index] = ranges.toString();
+                    return i;
+                }
+                first = false;
+                if (c == '\\' && i + 1 < length) {
+                    i++;
+                    c = pattern.charAt(i);
+                }
+                char last = c;
+                if (i + 2 < length && pattern.charAt(i + 1) == '-'
+                        && pattern.charAt(i + 2) != ']') {
+                    i += 2;
+                    last = pattern.charAt(i);
+                    if (last == '\\' && i + 1 < length) {
+                        i++;
+                        last = pattern.charAt(i);
+                    }
+                }
+                ranges.append(c).append(last);
+                i++;
+            }
+            return -1;
+        }
+
+        /**
+         * Test if an element matches a character.
+         * @param index element index
+         * @param c character
+         * @return {@code boolean}
+         */
+        private boolean matches(final int index, final char c) {
+            switch (types[index]) {
+                case LITERAL:
+                    return chars[index] == c;
+                case ANY:
+                    return true;
+                case SET:
+                    return contains(sets[index], c);
+                case NOT_SET:
+                    return !contains(sets[index], c);
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Test if a set contains a character.
+         * @param ranges pairs of first and last characters of the ranges
+         * @param c character
+         * @return {@code boolean}
+         */
+        private static boolean contains(final String ranges, final char c) {
+            for (int i = 0; i + 1 < ranges.length(); i += 2) {
+                if (c >= ranges.charAt(i) && c <= ranges.charAt(i + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Test if a string matches this pattern. Only the last star seen is
+         * retried on a mismatch, since a match of the elements following it
+         * can always be shifted right to the position found by an earlier
+         * star.
+         * @param str string to match
+         * @return {@code boolean}
+         */
+        boolean matches(final String str) {
+            int length = str.length();
+            int pos = 0;
+            int index = 0;
+            int star = -1;
+            int mark = 0;
+            while (pos < length) {
+                if (index < types.length && types[index] == STAR) {
+                    star = index++;
+                    mark = pos;
+                } else if (index < types.length
+                        && matches(index, str.charAt(pos))) {
+                    index++;
+                    pos++;
+                } else if (star >= 0) {
+                    index = star + 1;
+                    pos = ++mark;
+                } else {
+                    return false;
+                }
+            }
+            while (index < types.length && types[index] == STAR) {
+                index++;
+            }
+            return index == types.length;
         }
-        return fileName;
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2019, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,6 +23,7 @@ import java.util.Map;
 import jakarta.json.Json;
 import jakarta.json.JsonBuilderFactory;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonWriter;
 import jakarta.json.JsonWriterFactory;
@@ -51,6 +53,12 @@ public final class JsonUtilities {
     public static final JsonWriterFactory JSON_WRITER_FACTORY
             = createJsonWriterFactory();
 
+    /**
+     * JSON writer factory without pretty printing, used for compact payloads.
+     */
+    public static final JsonWriterFactory JSON_COMPACT_WRITER_FACTORY
+            = Json.createWriterFactory(null);
+
     /**
      * JSON parser factory.
      */
@@ -69,6 +77,19 @@ public final class JsonUtilities {
         jsonWriter.writeObject(json);
     }
 
+    /**
+     * Write a given JSON structure without pretty printing.
+     * @param json the object or array to write
+     * @param writer the writer to use
+     */
+    public static void writeCompactJson(final JsonStructure json,
+            final Writer writer) {
+
+        JsonWriter jsonWriter = JSON_COMPACT_WRITER_FACTORY
+                .createWriter(writer);
+        jsonWriter.write(json);
+    }
+
     /**
      * Parse the given string as a JSON object.
      * @param input the input string to parse
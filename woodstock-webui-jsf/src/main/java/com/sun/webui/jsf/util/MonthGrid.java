@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The days displayed by a calendar month, laid out in weeks.
+ * <p>
+ * A month grid starts on the first day of the week on or before the first
+ * day of the month, and ends on the last day of the week on or after the
+ * last day of the month. If the month spans less than {@link #MAX_ROWS}
+ * weeks, one more week is added as a hidden row so that the table can be
+ * updated on the client side without adding rows. For each day, the grid
+ * holds the day label, the ISO date, the date formatted for display and
+ * the weekend flag.
+ * </p><p>
+ * The days are ISO dates. A month of the calendar of the locale, such as
+ * the Thai Buddhist or the Japanese imperial calendar, is converted to the
+ * ISO month of its first day, see
+ * {@link #getInstance(Calendar, SharedDateFormat)}.
+ * </p><p>
+ * One shared instance exists per year, month, first day of the week and
+ * date format (pattern, locale and time zone), see
+ * {@link #getInstance(int, int, int, SharedDateFormat)}. Month grids are
+ * immutable; the selection, today's date and the available range are
+ * overlaid by the renderer.
+ * </p>
+ * This class is thread safe.
+ */
+public final class MonthGrid {
+
+    /**
+     * The maximum number of shared instances.
+     */
+    public static final int MAX_ENTRIES = 256;
+
+    /**
+     * The number of days in a week.
+     */
+    public static final int DAYS_PER_WEEK = 7;
+
+    /**
+     * The maximum number of rows of a month grid.
+     */
+    public static final int MAX_ROWS = 6;
+
+    /**
+     * The shared instances, keyed by month, first day of week and date
+     * format.
+     */
+    private static final ConcurrentMap<String, MonthGrid> INSTANCES =
+            new ConcurrentHashMap<String, MonthGrid>();
+
+    /**
+     * The displayed year.
+     */
+    private final int year;
+
+    /**
+     * The displayed month, from 1 to 12.
+     */
+    private final int month;
+
+    /**
+     * The first day of the grid.
+     */
+    private final LocalDate firstDate;
+
+    /**
+     * The number of visible rows.
+     */
+    private final int visibleRows;
+
+    /**
+     * The number of rows, including the hidden row.
+     */
+    private final int rows;
+
+    /**
+     * The day of month labels.
+     */
+    private final String[] labels;
+
+    /**
+     * The ISO dates, {@code yyyy-MM-dd}.
+     */
+    private final String[] isoDates;
+
+    /**
+     * The dates formatted with the date format of this grid.
+     */
+    private final String[] formattedDates;
+
+    /**
+     * The weekend flags.
+     */
+    private final boolean[] weekends;
+
+    /**
+     * The index of the first day of the displayed month.
+     */
+    private final int monthStart;
+
+    /**
+     * The index of the last day of the displayed month.
+     */
+    private final int monthEnd;
+
+    /**
+     * Create a new instance.
+     *
+     * @param newYear The year.
+     * @param newMonth The month, from 1 to 12.
+     * @param firstDayOfWeek The first day of the week, as
+     * {@code java.util.Calendar.SUNDAY} to {@code SATURDAY}.
+     * @param dateFormat The date format.
+     */
+    private MonthGrid(final int newYear, final int newMonth,
+            final int firstDayOfWeek, final SharedDateFormat dateFormat) {
+
+        this.year = newYear;
+        this.month = newMonth;
+
+        LocalDate first = LocalDate.of(newYear, newMonth, 1);
+        LocalDate last = first.plusMonths(1).minusDays(1);
+        int lead = Math.floorMod(toCalendarDay(first.getDayOfWeek())
+                - firstDayOfWeek, DAYS_PER_WEEK);
+        int trail = DAYS_PER_WEEK - 1
+                - Math.floorMod(toCalendarDay(last.getDayOfWeek())
+                        - firstDayOfWeek, DAYS_PER_WEEK);
+
+        this.firstDate = first.minusDays(lead);
+        this.monthStart = lead;
+        this.monthEnd = lead + last.getDayOfMonth() - 1;
+        this.visibleRows = (monthEnd + trail + 1) / DAYS_PER_WEEK;
+        if (visibleRows < MAX_ROWS) {
+            this.rows = visibleRows + 1;
+        } else {
+            this.rows = visibleRows;
+        }
+
+        int size = rows * DAYS_PER_WEEK;
+        ZoneId zone = dateFormat.getTimeZone().toZoneId();
+        labels = new String[size];
+        isoDates = new String[size];
+        formattedDates = new String[size];
+        weekends = new boolean[size];
+        LocalDate date = firstDate;
+        for (int i = 0; i < size; i++) {
+            labels[i] = String.valueOf(date.getDayOfMonth());
+            isoDates[i] = date.toString();
+            formattedDates[i] = dateFormat.format(
+                    Date.from(date.atStartOfDay(zone).toInstant()));
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            weekends[i] = dayOfWeek == DayOfWeek.SATURDAY
+                    || dayOfWeek == DayOfWeek.SUNDAY;
+            date = date.plusDays(1);
+        }
+    }
+
+    /**
+     * Get the shared month grid for the month of a calendar. The calendar
+     * may be of any type, its year and month fields are not used directly:
+     * the grid is built for the ISO month of the first day of the calendar
+     * month, in the time zone of the calendar.
+     *
+     * @param calendar A calendar set to a day of the month, its first day
+     * of the week is used.
+     * @param dateFormat The date format of the displayed dates.
+     * @return MonthGrid
+     */
+    public static MonthGrid getInstance(final Calendar calendar,
+            final SharedDateFormat dateFormat) {
+
+        Calendar first = (Calendar) calendar.clone();
+        first.set(Calendar.DAY_OF_MONTH, 1);
+        LocalDate date = toLocalDate(first);
+        return getInstance(date.getYear(), date.getMonthValue(),
+                calendar.getFirstDayOfWeek(), dateFormat);
+    }
+
+    /**
+     * Get the ISO date of a calendar, in the time zone of the calendar.
+     *
+     * @param calendar A calendar of any type.
+     * @return LocalDate
+     */
+    public static LocalDate toLocalDate(final Calendar calendar) {
+        return calendar.getTime().toInstant()
+                .atZone(calendar.getTimeZone().toZoneId()).toLocalDate();
+    }
+
+    /**
+     * Get the shared month grid for an ISO month.
+     *
+     * @param year The ISO year.
+     * @param month The month, from 1 to 12.
+     * @param firstDayOfWeek The first day of the week, as
+     * {@code java.util.Calendar.SUNDAY} to {@code SATURDAY}.
+     * @param dateFormat The date format of the displayed dates.
+     * @return MonthGrid
+     */
+    public static MonthGrid getInstance(final int year, final int month,
+            final int firstDayOfWeek, final SharedDateFormat dateFormat) {
+
+        String key = year + "-" + month + "|" + firstDayOfWeek + "|"
+                + dateFormat.getKey();
+        MonthGrid grid = INSTANCES.get(key);
+        if (grid == null) {
+            grid = new MonthGrid(year, month, firstDayOfWeek, dateFormat);
+            if (INSTANCES.size() >= MAX_ENTRIES) {
+                INSTANCES.clear();
+            }
+            MonthGrid existing = INSTANCES.putIfAbsent(key, grid);
+            if (existing != null) {
+                grid = existing;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Get the displayed year.
+     *
+     * @return int
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Get the displayed month, from 1 to 12.
+     *
+     * @return int
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Get the number of rows of this grid, including the hidden row.
+     *
+     * @return int
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the number of visible rows of this grid.
+     *
+     * @return int
+     */
+    public int getVisibleRows() {
+        return visibleRows;
+    }
+
+    /**
+     * Get the number of days of this grid, including the hidden row.
+     *
+     * @return int
+     */
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * Get the first day of this grid.
+     *
+     * @return LocalDate
+     */
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Get the last visible day of this grid.
+     *
+     * @return LocalDate
+     */
+    public LocalDate getLastVisibleDate() {
+        return firstDate.plusDays(visibleRows * DAYS_PER_WEEK - 1);
+    }
+
+    /**
+     * Get the day at the given index.
+     *
+     * @param index The index of the day in the grid.
+     * @return LocalDate
+     */
+    public LocalDate getDate(final int index) {
+        return firstDate.plusDays(index);
+    }
+
+    /**
+     * Get the index of a date in this grid.
+     *
+     * @param date The date.
+     * @return the index, or {@code -1} if the date is not in this grid.
+     */
+    public int indexOf(final LocalDate date) {
+        long index = ChronoUnit.DAYS.between(firstDate, date);
+        if (index < 0 || index >= labels.length) {
+            return -1;
+        }
+        return (int) index;
+    }
+
+    /**
+     * Get the day of month label of the day at the given index.
+     *
+     * @param index The index of the day in the grid.
+     * @return String
+     */
+    public String getLabel(final int index) {
+        return labels[index];
+    }
+
+    /**
+     * Get the ISO date ({@code yyyy-MM-dd}) of the day at the given index.
+     *
+     * @param index The index of the day in the grid.
+     * @return String
+     */
+    public String getIsoDate(final int index) {
+        return isoDates[index];
+    }
+
+    /**
+     * Get the day at the given index formatted with the date format of this
+     * grid.
+     *
+     * @param index The index of the day in the grid.
+     * @return String
+     */
+    public String getFormattedDate(final int index) {
+        return formattedDates[index];
+    }
+
+    /**
+     * Test if the day at the given index is a Saturday or a Sunday.
+     *
+     * @param index The index of the day in the grid.
+     * @return {@code boolean}
+     */
+    public boolean isWeekend(final int index) {
+        return weekends[index];
+    }
+
+    /**
+     * Test if the day at the given index is in the displayed month.
+     *
+     * @param index The index of the day in the grid.
+     * @return {@code boolean}
+     */
+    public boolean isInMonth(final int index) {
+        return index >= monthStart && index <= monthEnd;
+    }
+
+    /**
+     * Convert a day of week to a {@code java.util.Calendar} day of week.
+     *
+     * @param dayOfWeek The day of week.
+     * @return int, {@code Calendar.SUNDAY} (1) to {@code SATURDAY} (7).
+     */
+    private static int toCalendarDay(final DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() % DAYS_PER_WEEK + 1;
+    }
+}
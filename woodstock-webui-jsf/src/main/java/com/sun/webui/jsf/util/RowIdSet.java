@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.webui.jsf.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A compact set of row identifiers.
+ * <p>
+ * Row identifiers of the default data providers are the string form of
+ * non-negative integer row indexes. Such identifiers are stored in a
+ * two-level bitmap: the high 16 bits of the index select a chunk, and each
+ * chunk holds the low 16 bits either as a sorted {@code char} array (sparse
+ * chunks) or as a 65536 bit bitmap (dense chunks). Selecting 100,000
+ * consecutive rows takes about 16 KB. Any other identifier is kept in a
+ * {@code HashSet} fallback.
+ * </p>
+ * This class is not thread safe.
+ */
+public final class RowIdSet implements Serializable {
+
+    /**
+     * Serialization UID.
+     */
+    private static final long serialVersionUID = 2380364516281738525L;
+
+    /**
+     * Number of low bits stored in a chunk.
+     */
+    private static final int CHUNK_BITS = 16;
+
+    /**
+     * Mask for the low bits stored in a chunk.
+     */
+    private static final int CHUNK_MASK = 0xFFFF;
+
+    /**
+     * Cardinality above which a sparse chunk is converted to a bitmap.
+     */
+    private static final int SPARSE_MAX = 4096;
+
+    /**
+     * Number of words of a bitmap chunk.
+     */
+    private static final int BITMAP_WORDS = 1024;
+
+    /**
+     * Number of bits to shift a low value to obtain its bitmap word.
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Max number of digits of an identifier stored in the bitmap.
+     */
+    private static final int MAX_DIGITS = 9;
+
+    /**
+     * Initial capacity of a sparse chunk.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Sorted high bits of the chunks.
+     */
+    private int[] keys = new int[0];
+
+    /**
+     * Chunks, in the same order as the keys.
+     */
+    private Chunk[] chunks = new Chunk[0];
+
+    /**
+     * Number of chunks in use.
+     */
+    private int chunkCount = 0;
+
+    /**
+     * Identifiers that are not integer indexes.
+     */
+    private Set<String> strings = null;
+
+    /**
+     * Add the given row identifier.
+     *
+     * @param rowId row identifier
+     * @return {@code true} if the identifier was not already present
+     */
+    public boolean add(final String rowId) {
+        int index = toIndex(rowId);
+        if (index < 0) {
+            if (strings == null) {
+                strings = new HashSet<String>();
+            }
+            return strings.add(rowId);
+        }
+        int key = index >>> CHUNK_BITS;
+        int pos = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (pos < 0) {
+            pos = -pos - 1;
+            insertChunk(pos, key);
+        }
+        Chunk chunk = chunks[pos];
+        boolean added = chunk.add((char) (index & CHUNK_MASK));
+        if (chunk.values != null && chunk.cardinality > SPARSE_MAX) {
+            chunk.toBitmap();
+        }
+        return added;
+    }
+
+    /**
+     * Remove the given row identifier.
+     *
+     * @param rowId row identifier
+     * @return {@code true} if the identifier was present
+     */
+    public boolean remove(final String rowId) {
+        int index = toIndex(rowId);
+        if (index < 0) {
+            return strings != null && strings.remove(rowId);
+        }
+        int pos = Arrays.binarySearch(keys, 0, chunkCount,
+                index >>> CHUNK_BITS);
+        if (pos < 0) {
+            return false;
+        }
+        Chunk chunk = chunks[pos];
+        boolean removed = chunk.remove((char) (index & CHUNK_MASK));
+        if (chunk.cardinality == 0) {
+            removeChunk(pos);
+        }
+        return removed;
+    }
+
+    /**
+     * Test if the given row identifier is present.
+     *
+     * @param rowId row identifier
+     * @return {@code true} if present
+     */
+    public boolean contains(final String rowId) {
+        int index = toIndex(rowId);
+        if (index < 0) {
+            return strings != null && strings.contains(rowId);
+        }
+        int pos = Arrays.binarySearch(keys, 0, chunkCount,
+                index >>> CHUNK_BITS);
+        return pos >= 0 && chunks[pos].contains((char) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Get the number of row identifiers in this set.
+     *
+     * @return int
+     */
+    public int size() {
+        int size = 0;
+        if (strings != null) {
+            size = strings.size();
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            size += chunks[i].cardinality;
+        }
+        return size;
+    }
+
+    /**
+     * Test if this set is empty.
+     *
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return chunkCount == 0 && (strings == null || strings.isEmpty());
+    }
+
+    /**
+     * Remove all row identifiers.
+     */
+    public void clear() {
+        keys = new int[0];
+        chunks = new Chunk[0];
+        chunkCount = 0;
+        strings = null;
+    }
+
+    /**
+     * Insert a new empty chunk.
+     *
+     * @param pos insertion position
+     * @param key high bits of the chunk
+     */
+    private void insertChunk(final int pos, final int key) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, chunkCount - pos);
+        System.arraycopy(chunks, pos, chunks, pos + 1, chunkCount - pos);
+        keys[pos] = key;
+        chunks[pos] = new Chunk();
+        chunkCount++;
+    }
+
+    /**
+     * Remove the chunk at the given position.
+     *
+     * @param pos chunk position
+     */
+    private void removeChunk(final int pos) {
+        System.arraycopy(keys, pos + 1, keys, pos, chunkCount - pos - 1);
+        System.arraycopy(chunks, pos + 1, chunks, pos, chunkCount - pos - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+
+    /**
+     * Convert a row identifier to a non-negative integer index.
+     *
+     * @param rowId row identifier
+     * @return the index, or -1 if the identifier is not the canonical string
+     * form of a non-negative integer
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int toIndex(final String rowId) {
+        if (rowId == null) {
+            return -1;
+        }
+        int len = rowId.length();
+        if (len == 0 || len > MAX_DIGITS
+                || (len > 1 && rowId.charAt(0) == '0')) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < len; i++) {
+            char c = rowId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Holds the low bits of the identifiers that share the same high bits,
+     * either as a sorted array or as a bitmap.
+     */
+    private static final class Chunk implements Serializable {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = -4914361216377036124L;
+
+        /**
+         * Sorted values, null when using the bitmap.
+         */
+        private char[] values = new char[INITIAL_CAPACITY];
+
+        /**
+         * Bitmap words, null when using the sorted values.
+         */
+        private long[] words = null;
+
+        /**
+         * Number of values.
+         */
+        private int cardinality = 0;
+
+        /**
+         * Add a value.
+         *
+         * @param value value to add
+         * @return {@code true} if the value was not already present
+         */
+        boolean add(final char value) {
+            if (words != null) {
+                int word = value >>> WORD_SHIFT;
+                long bit = 1L << value;
+                if ((words[word] & bit) != 0) {
+                    return false;
+                }
+                words[word] |= bit;
+                cardinality++;
+                return true;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, value);
+            if (pos >= 0) {
+                return false;
+            }
+            pos = -pos - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, cardinality * 2);
+            }
+            System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+            values[pos] = value;
+            cardinality++;
+            return true;
+        }
+
+        /**
+         * Remove a value.
+         *
+         * @param value value to remove
+         * @return {@code true} if the value was present
+         */
+        boolean remove(final char value) {
+            if (words != null) {
+                int word = value >>> WORD_SHIFT;
+                long bit = 1L << value;
+                if ((words[word] & bit) == 0) {
+                    return false;
+                }
+                words[word] &= ~bit;
+                cardinality--;
+                return true;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, value);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(values, pos + 1, values, pos,
+                    cardinality - pos - 1);
+            cardinality--;
+            return true;
+        }
+
+        /**
+         * Test if a value is present.
+         *
+         * @param value value to test
+         * @return {@code true} if present
+         */
+        boolean contains(final char value) {
+            if (words != null) {
+                return (words[value >>> WORD_SHIFT] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        /**
+         * Convert the sorted values to a bitmap.
+         */
+        void toBitmap() {
+            words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                char value = values[i];
+                words[value >>> WORD_SHIFT] |= 1L << value;
+            }
+            values = null;
+        }
+    }
+}
@@ -0,0 +1,639 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import java.text.DateFormat;
+import java.text.DateFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.FormatStyle;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A shared, immutable date format for a pattern or a style, a locale and a
+ * time zone.
+ * <p>
+ * {@code SimpleDateFormat} is not thread safe, so components and renderers
+ * used to create one per use, or to keep one in their attributes where it
+ * ended up in the saved state. A {@code SharedDateFormat} is created once
+ * per pattern, locale and time zone, see
+ * {@link #getInstance(String, Locale, TimeZone)}, and formats and parses
+ * {@code java.util.Date} values with a {@link DateTimeFormatter}.
+ * </p><p>
+ * {@code SimpleDateFormat} patterns are translated to {@code java.time}
+ * patterns. Patterns that cannot be translated exactly, such as two digit
+ * years, and locales whose calendar is not gregorian are formatted with a
+ * copy of a {@code SimpleDateFormat} instead, see {@link #toDateFormat()}.
+ * Parsing is strict: the whole text must match the pattern, and invalid
+ * dates are rejected. Like {@code SimpleDateFormat}, parsing ignores the
+ * case of month and day names.
+ * </p>
+ * This class is thread safe.
+ */
+public final class SharedDateFormat {
+
+    /**
+     * The maximum number of shared instances.
+     */
+    public static final int MAX_ENTRIES = 512;
+
+    /**
+     * No style, for the date or the time.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The shared instances, keyed by pattern or style, locale and zone.
+     */
+    private static final ConcurrentMap<String, SharedDateFormat> INSTANCES =
+            new ConcurrentHashMap<String, SharedDateFormat>();
+
+    /**
+     * The key of this format in the shared instances.
+     */
+    private final String key;
+
+    /**
+     * The locale.
+     */
+    private final Locale locale;
+
+    /**
+     * The time zone.
+     */
+    private final TimeZone timeZone;
+
+    /**
+     * The {@code SimpleDateFormat} pattern, {@code null} for a style.
+     */
+    private final String pattern;
+
+    /**
+     * The date style, or {@link #NONE}.
+     */
+    private final int dateStyle;
+
+    /**
+     * The time style, or {@link #NONE}.
+     */
+    private final int timeStyle;
+
+    /**
+     * The formatter, {@code null} if the format cannot be expressed with
+     * {@code java.time}.
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * The date format copied by {@link #toDateFormat()}, created on first
+     * use.
+     */
+    private volatile SimpleDateFormat prototype;
+
+    /**
+     * Create a new instance.
+     *
+     * @param newKey The key of this format.
+     * @param newPattern The pattern, or {@code null} for a style.
+     * @param newDateStyle The date style.
+     * @param newTimeStyle The time style.
+     * @param newLocale The locale.
+     * @param newTimeZone The time zone.
+     */
+    private SharedDateFormat(final String newKey, final String newPattern,
+            final int newDateStyle, final int newTimeStyle,
+            final Locale newLocale, final TimeZone newTimeZone) {
+
+        this.key = newKey;
+        this.pattern = newPattern;
+        this.dateStyle = newDateStyle;
+        this.timeStyle = newTimeStyle;
+        this.locale = newLocale;
+        this.timeZone = newTimeZone;
+        this.formatter = createFormatter();
+    }
+
+    /**
+     * Get the shared instance for a {@code SimpleDateFormat} pattern.
+     *
+     * @param pattern The pattern.
+     * @param locale The locale.
+     * @param timeZone The time zone, or {@code null} for the default time
+     * zone.
+     * @return SharedDateFormat
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static SharedDateFormat getInstance(final String pattern,
+            final Locale locale, final TimeZone timeZone) {
+
+        if (pattern == null) {
+            throw new NullPointerException("pattern");
+        }
+        return getInstance(pattern, NONE, NONE, locale, timeZone);
+    }
+
+    /**
+     * Get the shared instance for a date style, like
+     * {@code DateFormat.getDateInstance(int, Locale)}.
+     *
+     * @param dateStyle The date style, {@code DateFormat.SHORT},
+     * {@code MEDIUM}, {@code LONG} or {@code FULL}.
+     * @param locale The locale.
+     * @param timeZone The time zone, or {@code null} for the default time
+     * zone.
+     * @return SharedDateFormat
+     */
+    public static SharedDateFormat getDateInstance(final int dateStyle,
+            final Locale locale, final TimeZone timeZone) {
+
+        return getInstance(null, dateStyle, NONE, locale, timeZone);
+    }
+
+    /**
+     * Get the shared instance for a date and a time style, like
+     * {@code DateFormat.getDateTimeInstance(int, int, Locale)}.
+     *
+     * @param dateStyle The date style, {@code DateFormat.SHORT},
+     * {@code MEDIUM}, {@code LONG} or {@code FULL}.
+     * @param timeStyle The time style.
+     * @param locale The locale.
+     * @param timeZone The time zone, or {@code null} for the default time
+     * zone.
+     * @return SharedDateFormat
+     */
+    public static SharedDateFormat getDateTimeInstance(final int dateStyle,
+            final int timeStyle, final Locale locale,
+            final TimeZone timeZone) {
+
+        return getInstance(null, dateStyle, timeStyle, locale, timeZone);
+    }
+
+    /**
+     * Get a shared instance.
+     *
+     * @param pattern The pattern, or {@code null} for a style.
+     * @param dateStyle The date style.
+     * @param timeStyle The time style.
+     * @param locale The locale.
+     * @param timeZone The time zone, or {@code null}.
+     * @return SharedDateFormat
+     */
+    private static SharedDateFormat getInstance(final String pattern,
+            final int dateStyle, final int timeStyle, final Locale locale,
+            final TimeZone timeZone) {
+
+        TimeZone zone = timeZone;
+        if (zone == null) {
+            zone = TimeZone.getDefault();
+        }
+        StringBuilder key = new StringBuilder();
+        if (pattern == null) {
+            key.append('#').append(dateStyle).append(',').append(timeStyle);
+        } else {
+            key.append('\'').append(pattern);
+        }
+        key.append('|').append(locale.toLanguageTag())
+                .append('|').append(zone.getID());
+
+        String cacheKey = key.toString();
+        SharedDateFormat format = INSTANCES.get(cacheKey);
+        if (format == null) {
+            format = new SharedDateFormat(cacheKey, pattern, dateStyle,
+                    timeStyle, locale, zone);
+            if (INSTANCES.size() >= MAX_ENTRIES) {
+                INSTANCES.clear();
+            }
+            SharedDateFormat existing = INSTANCES.putIfAbsent(cacheKey,
+                    format);
+            if (existing != null) {
+                format = existing;
+            }
+        }
+        return format;
+    }
+
+    /**
+     * Get the key of this format, unique per pattern or style, locale and
+     * time zone.
+     *
+     * @return String
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the {@code SimpleDateFormat} pattern of this format.
+     *
+     * @return String
+     */
+    public String getPattern() {
+        if (pattern != null) {
+            return pattern;
+        }
+        return getPrototype().toPattern();
+    }
+
+    /**
+     * Get the localized {@code SimpleDateFormat} pattern of this format.
+     *
+     * @return String
+     */
+    public String getLocalizedPattern() {
+        return getPrototype().toLocalizedPattern();
+    }
+
+    /**
+     * Get the locale of this format.
+     *
+     * @return Locale
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Get the time zone of this format.
+     *
+     * @return TimeZone
+     */
+    public TimeZone getTimeZone() {
+        return (TimeZone) timeZone.clone();
+    }
+
+    /**
+     * Get the names of the months in the locale of this format, as
+     * {@code DateFormatSymbols.getMonths()}.
+     *
+     * @return String[]
+     */
+    public String[] getMonths() {
+        return DateFormatSymbols.getInstance(locale).getMonths();
+    }
+
+    /**
+     * Get the {@code java.time} formatter of this format.
+     *
+     * @return DateTimeFormatter, or {@code null} if this format cannot be
+     * expressed with {@code java.time}.
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Format a date.
+     *
+     * @param date The date to format.
+     * @return String
+     */
+    public String format(final Date date) {
+        if (formatter != null) {
+            return formatter.format(date.toInstant());
+        }
+        return toDateFormat().format(date);
+    }
+
+    /**
+     * Parse a date. The whole text must match the format.
+     *
+     * @param text The text to parse.
+     * @return Date
+     * @throws ParseException if the text is not a valid date.
+     */
+    public Date parse(final String text) throws ParseException {
+        if (formatter == null) {
+            DateFormat dateFormat = toDateFormat();
+            dateFormat.setLenient(false);
+            return dateFormat.parse(text);
+        }
+        TemporalAccessor parsed;
+        try {
+            parsed = formatter.parse(text);
+        } catch (DateTimeParseException ex) {
+            ParseException pe = new ParseException(ex.getMessage(),
+                    ex.getErrorIndex());
+            pe.initCause(ex);
+            throw pe;
+        }
+        try {
+            if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+                return Date.from(Instant.from(parsed));
+            }
+            LocalDate date = parsed.query(TemporalQueries.localDate());
+            if (date == null) {
+                // no year, month or day in the pattern
+                DateFormat dateFormat = toDateFormat();
+                dateFormat.setLenient(false);
+                return dateFormat.parse(text);
+            }
+            LocalTime time = parsed.query(TemporalQueries.localTime());
+            if (time == null) {
+                time = LocalTime.MIDNIGHT;
+            }
+            ZoneId zone = parsed.query(TemporalQueries.zone());
+            return Date.from(ZonedDateTime.of(date, time, zone).toInstant());
+        } catch (DateTimeException ex) {
+            ParseException pe = new ParseException(ex.getMessage(), 0);
+            pe.initCause(ex);
+            throw pe;
+        }
+    }
+
+    /**
+     * Get a new {@code SimpleDateFormat} equivalent to this format, for the
+     * APIs that expose a {@code DateFormat}. The returned instance is not
+     * shared and can be modified.
+     *
+     * @return SimpleDateFormat
+     */
+    public SimpleDateFormat toDateFormat() {
+        return (SimpleDateFormat) getPrototype().clone();
+    }
+
+    /**
+     * Get the date format copied by {@link #toDateFormat()}.
+     *
+     * @return SimpleDateFormat
+     */
+    private SimpleDateFormat getPrototype() {
+        SimpleDateFormat format = prototype;
+        if (format == null) {
+            if (pattern != null) {
+                format = new SimpleDateFormat(pattern, locale);
+            } else if (timeStyle == NONE) {
+                format = (SimpleDateFormat) DateFormat.getDateInstance(
+                        dateStyle, locale);
+            } else {
+                format = (SimpleDateFormat) DateFormat.getDateTimeInstance(
+                        dateStyle, timeStyle, locale);
+            }
+            format.setTimeZone(timeZone);
+            prototype = format;
+        }
+        return format;
+    }
+
+    /**
+     * Create the {@code java.time} formatter of this format.
+     *
+     * @return DateTimeFormatter, or {@code null} if this format cannot be
+     * expressed with {@code java.time}.
+     */
+    private DateTimeFormatter createFormatter() {
+        // java.time formatters use the ISO calendar, the Thai Buddhist
+        // calendar is a GregorianCalendar subclass
+        if (!"gregory".equals(Calendar.getInstance(timeZone, locale)
+                .getCalendarType())) {
+            return null;
+        }
+        DateTimeFormatter dtf;
+        if (pattern == null) {
+            FormatStyle timeFormatStyle = null;
+            if (timeStyle != NONE) {
+                timeFormatStyle = toFormatStyle(timeStyle);
+            }
+            dtf = new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendLocalized(toFormatStyle(dateStyle),
+                            timeFormatStyle)
+                    .toFormatter(locale);
+        } else {
+            // Validate the pattern as SimpleDateFormat would.
+            new SimpleDateFormat(pattern, locale);
+            String javaTimePattern = toJavaTimePattern(pattern);
+            if (javaTimePattern == null) {
+                return null;
+            }
+            try {
+                // Accept numbers with fewer digits, any text style and any
+                // case, as SimpleDateFormat does.
+                dtf = new DateTimeFormatterBuilder()
+                        .parseCaseInsensitive()
+                        .parseLenient()
+                        .appendPattern(javaTimePattern)
+                        .toFormatter(locale);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+        return dtf.withResolverStyle(ResolverStyle.STRICT)
+                .withZone(timeZone.toZoneId());
+    }
+
+    /**
+     * Convert a {@code DateFormat} style to a {@code FormatStyle}.
+     *
+     * @param style The {@code DateFormat} style.
+     * @return FormatStyle
+     */
+    private static FormatStyle toFormatStyle(final int style) {
+        switch (style) {
+            case DateFormat.FULL:
+                return FormatStyle.FULL;
+            case DateFormat.LONG:
+                return FormatStyle.LONG;
+            case DateFormat.MEDIUM:
+                return FormatStyle.MEDIUM;
+            case DateFormat.SHORT:
+                return FormatStyle.SHORT;
+            default:
+                throw new IllegalArgumentException("Illegal style " + style);
+        }
+    }
+
+    /**
+     * Translate a {@code SimpleDateFormat} pattern to a
+     * {@code DateTimeFormatter} pattern.
+     *
+     * @param sdfPattern The {@code SimpleDateFormat} pattern.
+     * @return String, or {@code null} if a letter of the pattern has no
+     * exact equivalent.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static String toJavaTimePattern(final String sdfPattern) {
+        boolean hasEra = false;
+        boolean monthOnly = false;
+        int fields = 0;
+        char previous = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sdfPattern.length(); i++) {
+            char c = sdfPattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == 'G' && !quoted) {
+                hasEra = true;
+            }
+            if (quoted || !isAsciiLetter(c)) {
+                previous = 0;
+            } else if (c != previous) {
+                // a new field
+                fields++;
+                monthOnly = fields == 1 && c == 'M';
+                previous = c;
+            }
+        }
+
+        StringBuilder result = new StringBuilder(sdfPattern.length());
+        StringBuilder literal = new StringBuilder();
+        quoted = false;
+        int i = 0;
+        while (i < sdfPattern.length()) {
+            char c = sdfPattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < sdfPattern.length()
+                        && sdfPattern.charAt(i + 1) == '\'') {
+                    literal.append(c);
+                    i += 2;
+                } else {
+                    quoted = !quoted;
+                    i++;
+                }
+                continue;
+            }
+            if (quoted || !isAsciiLetter(c)) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            appendLiteral(result, literal);
+            int count = 1;
+            while (i + count < sdfPattern.length()
+                    && sdfPattern.charAt(i + count) == c) {
+                count++;
+            }
+            char letter = c;
+            int width = count;
+            switch (c) {
+                case 'y':
+                    // two digit years use a sliding century
+                    if (count == 2) {
+                        return null;
+                    }
+                    if (!hasEra) {
+                        letter = 'u';
+                    }
+                    break;
+                case 'S':
+                    // milliseconds, not a fraction of second
+                    if (count != 3) {
+                        return null;
+                    }
+                    break;
+                case 'Z':
+                    if (count > 3) {
+                        return null;
+                    }
+                    break;
+                case 'M':
+                    // SimpleDateFormat uses the standalone month names
+                    // when the month is the only field of the pattern
+                    if (monthOnly && count >= 3) {
+                        letter = 'L';
+                    }
+                    width = Math.min(count, 4);
+                    break;
+                case 'L':
+                case 'E':
+                case 'z':
+                    // four letters or more are the full text, five are the
+                    // narrow text in java.time
+                    width = Math.min(count, 4);
+                    break;
+                case 'G':
+                case 'a':
+                    // SimpleDateFormat has only one text style for these
+                    width = 1;
+                    break;
+                case 'd':
+                case 'D':
+                case 'H':
+                case 'k':
+                case 'K':
+                case 'h':
+                case 'm':
+                case 's':
+                case 'X':
+                case 'w':
+                case 'W':
+                case 'Y':
+                    break;
+                default:
+                    return null;
+            }
+            for (int j = 0; j < width; j++) {
+                result.append(letter);
+            }
+            i += count;
+        }
+        appendLiteral(result, literal);
+        return result.toString();
+    }
+
+    /**
+     * Append literal text to a {@code DateTimeFormatter} pattern, quoted so
+     * that the characters reserved by {@code java.time} patterns are not
+     * interpreted.
+     *
+     * @param result The pattern to append to.
+     * @param literal The literal text, cleared by this method.
+     */
+    private static void appendLiteral(final StringBuilder result,
+            final StringBuilder literal) {
+
+        if (literal.length() == 0) {
+            return;
+        }
+        result.append('\'');
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '\'') {
+                result.append(c);
+            }
+            result.append(c);
+        }
+        result.append('\'');
+        literal.setLength(0);
+    }
+
+    /**
+     * Test if a character is an ASCII letter.
+     *
+     * @param c The character.
+     * @return {@code boolean}
+     */
+    private static boolean isAsciiLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
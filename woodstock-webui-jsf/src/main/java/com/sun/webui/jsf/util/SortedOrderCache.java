@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import com.sun.data.provider.RowKey;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, application wide cache of table sort orders.
+ * <p>
+ * Entries are keyed by the data provider instance, its data revision and a
+ * key describing the sort criteria. Each entry holds the row identifiers that
+ * were sorted and the resulting permutation, so that a hit is only used for
+ * the exact same set of (filtered) rows. The least recently used entry is
+ * evicted when the cache is full. Providers are referenced weakly; entries of
+ * providers that have been garbage collected never match and are eventually
+ * evicted.
+ * </p><p>
+ * The cache exposes hit and miss counters to allow the hit rate to be
+ * monitored. Setting the maximum number of entries to zero disables the
+ * cache.
+ * </p>
+ * This class is thread safe.
+ */
+public final class SortedOrderCache {
+
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+
+    /**
+     * The shared instance.
+     */
+    private static final SortedOrderCache INSTANCE = new SortedOrderCache();
+
+    /**
+     * The initial capacity of the entries map.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The load factor of the entries map.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The cached entries, in access order.
+     */
+    private final LinkedHashMap<Key, Entry> entries =
+            new LinkedHashMap<Key, Entry>(INITIAL_CAPACITY, LOAD_FACTOR,
+                    true) {
+
+        /**
+         * Serialization UID.
+         */
+        private static final long serialVersionUID = -2410977236516436517L;
+
+        @Override
+        protected boolean removeEldestEntry(
+                final Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * The maximum number of entries.
+     */
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /**
+     * The number of cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The number of cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create a new instance.
+     */
+    private SortedOrderCache() {
+    }
+
+    /**
+     * Get the shared instance.
+     *
+     * @return SortedOrderCache
+     */
+    public static SortedOrderCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the maximum number of entries.
+     *
+     * @return The maximum number of entries.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Set the maximum number of entries, zero disables the cache.
+     *
+     * @param newMaxEntries The maximum number of entries.
+     * @exception IllegalArgumentException for negative values.
+     */
+    public void setMaxEntries(final int newMaxEntries) {
+        if (newMaxEntries < 0) {
+            throw new IllegalArgumentException(
+                    Integer.toString(newMaxEntries));
+        }
+        maxEntries = newMaxEntries;
+        synchronized (entries) {
+            if (newMaxEntries == 0) {
+                entries.clear();
+            } else {
+                Iterator<Key> keys = entries.keySet().iterator();
+                while (entries.size() > newMaxEntries && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test if the cache is enabled.
+     *
+     * @return {@code true} if entries may be cached.
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Get a cached sort order.
+     *
+     * @param provider The data provider.
+     * @param revision The data revision of the provider.
+     * @param sortKey The key describing the sort criteria.
+     * @param rowKeys The row keys to sort.
+     * @return The sorted row keys, or null if no matching order is cached.
+     */
+    public RowKey[] get(final Object provider, final long revision,
+            final String sortKey, final RowKey[] rowKeys) {
+
+        if (!isEnabled() || provider == null || rowKeys == null) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(new Key(provider, revision, sortKey));
+        }
+        if (entry == null || !entry.matches(rowKeys)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        RowKey[] result = new RowKey[rowKeys.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = rowKeys[entry.order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Cache a sort order.
+     *
+     * @param provider The data provider.
+     * @param revision The data revision of the provider.
+     * @param sortKey The key describing the sort criteria.
+     * @param rowKeys The row keys that were sorted.
+     * @param sortedRowKeys The sorted row keys.
+     */
+    public void put(final Object provider, final long revision,
+            final String sortKey, final RowKey[] rowKeys,
+            final RowKey[] sortedRowKeys) {
+
+        if (!isEnabled() || provider == null || rowKeys == null
+                || sortedRowKeys == null
+                || rowKeys.length != sortedRowKeys.length) {
+            return;
+        }
+        String[] rowIds = getRowIds(rowKeys);
+        Map<String, Integer> positions =
+                new HashMap<String, Integer>(rowIds.length * 2);
+        for (int i = 0; i < rowIds.length; i++) {
+            positions.put(rowIds[i], i);
+        }
+        int[] order = new int[sortedRowKeys.length];
+        for (int i = 0; i < order.length; i++) {
+            Integer position = positions.get(sortedRowKeys[i].getRowId());
+            if (position == null) {
+                // Sorter returned unknown rows, do not cache.
+                return;
+            }
+            order[i] = position;
+        }
+        synchronized (entries) {
+            entries.put(new Key(provider, revision, sortKey),
+                    new Entry(rowIds, order));
+        }
+    }
+
+    /**
+     * Remove all entries and reset the hit and miss counters.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Get the number of cache hits.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of cache misses.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the ratio of cache hits to lookups.
+     *
+     * @return The hit rate, between 0 and 1.
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) h / total;
+    }
+
+    /**
+     * Get the row identifiers of the given row keys.
+     *
+     * @param rowKeys The row keys.
+     * @return String[]
+     */
+    private static String[] getRowIds(final RowKey[] rowKeys) {
+        String[] rowIds = new String[rowKeys.length];
+        for (int i = 0; i < rowKeys.length; i++) {
+            rowIds[i] = rowKeys[i].getRowId();
+        }
+        return rowIds;
+    }
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        /**
+         * The data provider.
+         */
+        private final WeakReference<Object> provider;
+
+        /**
+         * The identity hash code of the data provider.
+         */
+        private final int providerHash;
+
+        /**
+         * The data revision.
+         */
+        private final long revision;
+
+        /**
+         * The sort criteria key.
+         */
+        private final String sortKey;
+
+        /**
+         * Create a new key.
+         *
+         * @param newProvider The data provider.
+         * @param newRevision The data revision.
+         * @param newSortKey The sort criteria key.
+         */
+        Key(final Object newProvider, final long newRevision,
+                final String newSortKey) {
+            provider = new WeakReference<Object>(newProvider);
+            providerHash = System.identityHashCode(newProvider);
+            revision = newRevision;
+            sortKey = newSortKey;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:magicnumber")
+        public int hashCode() {
+            int hash = providerHash;
+            hash = 31 * hash + (int) (revision ^ (revision >>> 32));
+            if (sortKey != null) {
+                hash = 31 * hash + sortKey.hashCode();
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) obj;
+            Object referent = provider.get();
+            if (referent == null || referent != key.provider.get()) {
+                return false;
+            }
+            if (revision != key.revision) {
+                return false;
+            }
+            if (sortKey == null) {
+                return key.sortKey == null;
+            }
+            return sortKey.equals(key.sortKey);
+        }
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * The row identifiers that were sorted.
+         */
+        private final String[] rowIds;
+
+        /**
+         * The sorted permutation of the row identifiers.
+         */
+        private final int[] order;
+
+        /**
+         * Create a new entry.
+         *
+         * @param newRowIds The row identifiers that were sorted.
+         * @param newOrder The sorted permutation.
+         */
+        Entry(final String[] newRowIds, final int[] newOrder) {
+            rowIds = newRowIds;
+            order = newOrder;
+        }
+
+        /**
+         * Test if this entry was computed for the given row keys.
+         *
+         * @param rowKeys The row keys to sort.
+         * @return {@code boolean}
+         */
+        boolean matches(final RowKey[] rowKeys) {
+            if (rowKeys.length != rowIds.length) {
+                return false;
+            }
+            for (int i = 0; i < rowKeys.length; i++) {
+                if (!rowIds[i].equals(rowKeys[i].getRowId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -18,11 +19,15 @@ package com.sun.webui.jsf.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.StringTokenizer;
 import java.util.TreeMap;
 
 import jakarta.servlet.Filter;
@@ -33,15 +38,22 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 
 import com.sun.webui.jsf.component.Upload;
+import com.sun.webui.jsf.model.UploadedFile;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase.FileUploadIOException;
 import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.disk.DiskFileItemFactory;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
 
 /**
  * <p>
@@ -81,7 +93,47 @@ import org.apache.commons.fileupload.servlet.ServletFileUpload;
  * <li>{@code tmpDir} Use this directory to specify the directory to be
  * used for temporary storage of files. The default behaviour is to use the
  * directory specified in the system property "java.io.tmpdir". </li>
+ * <li>{@code streaming} Set to "true" to parse the request with the
+ * streaming API of the fileupload package. Form fields are read as they
+ * arrive and each uploaded file is handed to an {@link UploadSink} that
+ * stores it without a temporary copy. The request attribute of an Upload
+ * component then holds the {@link UploadedFile} returned by the sink. The
+ * {@code maxSize} is enforced while the request is read. The default value
+ * is "false".</li>
+ * <li>{@code uploadSink} The class name of the {@link UploadSink} used in
+ * streaming mode. The default is a {@link FileChannelUploadSink} storing the
+ * files in {@code tmpDir}.</li>
+ * <li>{@code chunked} Set to "true" to accept the chunked uploads of the
+ * Upload components with a {@code chunkSize}. The client script of these
+ * components sends the file in chunks with the {@value #CHUNKED_UPLOAD}
+ * request header, which the filter answers directly without invoking the
+ * rest of the chain. See {@link ChunkedUpload}. The default value is
+ * "false".</li>
+ * <li>{@code chunkedMaxSize} The maximum allowed size in bytes of a chunked
+ * upload. If negative, there is no maximum. The default value is the
+ * {@code maxSize}.</li>
+ * <li>{@code progress} Set to "true" to record the progress of the requests
+ * whose query string has the {@value #PROGRESS_PARAM} parameter, set by the
+ * client script of the Upload components with a {@code progressBar}. The
+ * progress is answered to the requests with the {@value #UPLOAD_PROGRESS}
+ * header set to the same id, without invoking the rest of the chain, as a
+ * JSON object with the {@code bytesRead}, {@code contentLength},
+ * {@code percent} and {@code complete} properties. See
+ * {@link UploadProgress}. The default value is "false".</li>
  * </ul>  *
+ * <p>
+ * A chunked upload is started by a request with the {@value #CHUNKED_UPLOAD}
+ * header set to "create", and the {@value #UPLOAD_LENGTH},
+ * {@value #UPLOAD_NAME} (URI encoded) and {@value #UPLOAD_TYPE} headers. Each
+ * chunk is then sent in the body of a PUT request with the
+ * {@value #CHUNKED_UPLOAD} header set to the upload id, and the
+ * {@value #UPLOAD_OFFSET} and {@value #UPLOAD_CHECKSUM} (decimal CRC-32)
+ * headers. Any other request with the upload id returns the status of the
+ * upload. All the responses are JSON objects with the {@code id},
+ * {@code offset} and {@code length} of the upload, a chunk that is not
+ * accepted is answered with the status code 409 and the offset to resume
+ * from.
+ * </p>
  */
 public final class UploadFilter implements Filter {
 
@@ -103,6 +155,82 @@ public final class UploadFilter implements Filter {
      */
     public static final String TMP_DIR = "tmpDir";
 
+    /**
+     * The name of the filter init parameter used to enable the streaming
+     * parsing of the requests.
+     */
+    public static final String STREAMING = "streaming";
+
+    /**
+     * The name of the filter init parameter used to specify the class name of
+     * the {@link UploadSink} used in streaming mode.
+     */
+    public static final String UPLOAD_SINK = "uploadSink";
+
+    /**
+     * The name of the filter init parameter used to enable the chunked
+     * uploads.
+     */
+    public static final String CHUNKED = "chunked";
+
+    /**
+     * The name of the filter init parameter used to specify the maximum
+     * allowable size of a chunked upload.
+     */
+    public static final String CHUNKED_MAX_SIZE = "chunkedMaxSize";
+
+    /**
+     * Request header of the chunked upload requests.
+     */
+    public static final String CHUNKED_UPLOAD = "X-Woodstock-Upload";
+
+    /**
+     * Value of the {@link #CHUNKED_UPLOAD} header that starts an upload.
+     */
+    public static final String CHUNKED_UPLOAD_CREATE = "create";
+
+    /**
+     * Request header of the length of a chunked upload.
+     */
+    public static final String UPLOAD_LENGTH = "X-Upload-Length";
+
+    /**
+     * Request header of the file name of a chunked upload.
+     */
+    public static final String UPLOAD_NAME = "X-Upload-Name";
+
+    /**
+     * Request header of the content type of a chunked upload.
+     */
+    public static final String UPLOAD_TYPE = "X-Upload-Type";
+
+    /**
+     * Request header of the offset of a chunk.
+     */
+    public static final String UPLOAD_OFFSET = "X-Upload-Offset";
+
+    /**
+     * Request header of the CRC-32 checksum of a chunk.
+     */
+    public static final String UPLOAD_CHECKSUM = "X-Upload-Checksum";
+
+    /**
+     * The name of the filter init parameter used to enable the upload
+     * progress.
+     */
+    public static final String PROGRESS = "progress";
+
+    /**
+     * Query string parameter of the progress id of a multipart request.
+     */
+    public static final String PROGRESS_PARAM =
+            "com.sun.webui.jsf.uploadProgress";
+
+    /**
+     * Request header of the upload progress requests.
+     */
+    public static final String UPLOAD_PROGRESS = "X-Woodstock-Upload-Progress";
+
     /**
      * Max upload size in byte.
      */
@@ -120,6 +248,31 @@ public final class UploadFilter implements Filter {
      */
     private String tmpDir = System.getProperty("java.io.tmpdir");
 
+    /**
+     * Streaming flag.
+     */
+    private boolean streaming = false;
+
+    /**
+     * Sink of the uploaded files in streaming mode.
+     */
+    private UploadSink uploadSink = null;
+
+    /**
+     * Chunked uploads flag.
+     */
+    private boolean chunked = false;
+
+    /**
+     * Max chunked upload size in byte.
+     */
+    private long chunkedMaxSize;
+
+    /**
+     * Upload progress flag.
+     */
+    private boolean progress = false;
+
     /**
      * Messages resource bundle id.
      */
@@ -131,6 +284,11 @@ public final class UploadFilter implements Filter {
      */
     private static final boolean DEBUG = false;
 
+    /**
+     * Status code sent when a session has too many chunked uploads.
+     */
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
     /**
      * The upload filter checks if the incoming request has multipart content.
      * If it doesn't, the request is passed on as is to the next filter in the
@@ -148,7 +306,9 @@ public final class UploadFilter implements Filter {
      * package to process the file upload. When it detects input from an Upload
      * component, a {@code org.apache.commons.fileupload.FileItem} is placed in
      * a request attribute whose name is the ID of the HTML input element
-     * written by the Upload component.
+     * written by the Upload component. In streaming mode, the request
+     * attribute holds the {@link UploadedFile} returned by the
+     * {@link UploadSink} instead.
      *
      * @param response The servlet response
      * @param request The servlet request we are processing
@@ -164,10 +324,36 @@ public final class UploadFilter implements Filter {
 
         HttpServletRequest req = (HttpServletRequest) request;
 
+        String progressId = req.getHeader(UPLOAD_PROGRESS);
+        if (progress && progressId != null) {
+            handleProgress(req, (HttpServletResponse) response, progressId);
+            return;
+        }
+
+        String uploadId = req.getHeader(CHUNKED_UPLOAD);
+        if (chunked && uploadId != null) {
+            handleChunkedUpload(req, (HttpServletResponse) response, uploadId);
+            return;
+        }
+
         if (ServletFileUpload.isMultipartContent(req)) {
 
-            ServletFileUpload fu = new ServletFileUpload(
-                    new DiskFileItemFactory(sizeThreshold, new File(tmpDir)));
+            ServletFileUpload fu;
+            if (streaming) {
+                fu = new ServletFileUpload();
+            } else {
+                fu = new ServletFileUpload(new DiskFileItemFactory(
+                        sizeThreshold, new File(tmpDir)));
+            }
+            UploadProgress uploadProgress = null;
+            if (progress) {
+                progressId = getQueryParameter(req, PROGRESS_PARAM);
+                if (progressId != null) {
+                    uploadProgress = UploadProgress.start(
+                            getProgressKey(req, progressId));
+                    fu.setProgressListener(uploadProgress);
+                }
+            }
             // maximum size before a FileUploadException will be thrown
             // Store this in a context parameter perhaps?
 
@@ -187,19 +373,26 @@ public final class UploadFilter implements Filter {
                 fu.setHeaderEncoding("UTF-8");
             }
             List fileItems = null;
+            List<UploadedFile> storedFiles = null;
             HashMap<String, String[]> parameters;
-            try {
-                fileItems = fu.parseRequest(req);
-            } catch (FileUploadException fue) {
-                request.setAttribute(Upload.UPLOAD_ERROR_KEY, fue);
-                request.setAttribute(Upload.FILE_SIZE_KEY,
-                        String.valueOf(maxSize));
-            }
-
-            if (fileItems != null) {
-                parameters = parseRequest(fileItems, req);
+            if (streaming) {
+                storedFiles = new ArrayList<UploadedFile>();
+                parameters = parseStream(fu, req, storedFiles);
             } else {
-                parameters = new HashMap<String, String[]>();
+                try {
+                    fileItems = fu.parseRequest(req);
+                } catch (FileUploadException fue) {
+                    setUploadError(req, fue);
+                }
+
+                if (fileItems != null) {
+                    parameters = parseRequest(fileItems, req);
+                } else {
+                    parameters = new HashMap<String, String[]>();
+                }
+            }
+            if (uploadProgress != null) {
+                uploadProgress.setComplete();
             }
 
             // Need to add the parameters from the original request
@@ -222,13 +415,22 @@ public final class UploadFilter implements Filter {
             }
 
             UploadRequest wrappedRequest = new UploadRequest(req, parameters);
-            chain.doFilter(wrappedRequest, response);
+            try {
+                chain.doFilter(wrappedRequest, response);
+            } finally {
+                if (storedFiles != null) {
+                    disposeAll(storedFiles);
+                }
+            }
 
             Enumeration e = request.getAttributeNames();
             while (e.hasMoreElements()) {
                 Object o = request.getAttribute(e.nextElement().toString());
                 if (o instanceof FileItem) {
                     ((FileItem) o).delete();
+                } else if (o instanceof UploadedFile) {
+                    // includes the claimed chunked uploads
+                    ((UploadedFile) o).dispose();
                 }
             }
         } else {
@@ -236,6 +438,290 @@ public final class UploadFilter implements Filter {
         }
     }
 
+    /**
+     * Answer a chunked upload request.
+     * @param request incoming request
+     * @param response response
+     * @param uploadId value of the {@link #CHUNKED_UPLOAD} header
+     * @throws IOException if an input/output error occurs
+     */
+    private void handleChunkedUpload(final HttpServletRequest request,
+            final HttpServletResponse response, final String uploadId)
+            throws IOException {
+
+        ChunkedUpload upload;
+        if (CHUNKED_UPLOAD_CREATE.equals(uploadId)) {
+            long length = parseHeader(request, UPLOAD_LENGTH);
+            if (length < 0) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            if (chunkedMaxSize >= 0 && length > chunkedMaxSize) {
+                response.sendError(
+                        HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+            String name = request.getHeader(UPLOAD_NAME);
+            if (name != null) {
+                name = URLDecoder.decode(name, "UTF-8");
+            }
+            upload = ChunkedUpload.start(request.getSession(true),
+                    new File(tmpDir), name, request.getHeader(UPLOAD_TYPE),
+                    length);
+            if (upload == null) {
+                response.sendError(SC_TOO_MANY_REQUESTS);
+                return;
+            }
+        } else {
+            upload = ChunkedUpload.get(request.getSession(false), uploadId);
+            if (upload == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            if ("PUT".equals(request.getMethod())) {
+                long position = parseHeader(request, UPLOAD_OFFSET);
+                long checksum = parseHeader(request, UPLOAD_CHECKSUM);
+                long count = request.getContentLengthLong();
+                if (position < 0 || checksum < 0 || count < 0) {
+                    response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                    return;
+                }
+                if (!upload.append(request.getSession(false), position,
+                        count, checksum, request.getInputStream())) {
+                    response.setStatus(HttpServletResponse.SC_CONFLICT);
+                }
+            }
+        }
+        writeJson(response, "{\"id\":\"" + upload.getId()
+                + "\",\"offset\":" + upload.getOffset()
+                + ",\"length\":" + upload.getLength() + "}");
+    }
+
+    /**
+     * Answer an upload progress request.
+     * @param request incoming request
+     * @param response response
+     * @param progressId value of the {@link #UPLOAD_PROGRESS} header
+     * @throws IOException if an input/output error occurs
+     */
+    private static void handleProgress(final HttpServletRequest request,
+            final HttpServletResponse response, final String progressId)
+            throws IOException {
+
+        UploadProgress uploadProgress = UploadProgress.get(
+                getProgressKey(request, progressId));
+        if (uploadProgress == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // read the completion first, the byte counts are then final
+        boolean complete = uploadProgress.isComplete();
+        writeJson(response, "{\"bytesRead\":"
+                + uploadProgress.getBytesRead()
+                + ",\"contentLength\":" + uploadProgress.getContentLength()
+                + ",\"percent\":" + uploadProgress.getPercent()
+                + ",\"complete\":" + complete + "}");
+    }
+
+    /**
+     * Get the registry key of an upload progress, scoped to the session if
+     * there is one.
+     * @param request incoming request
+     * @param progressId progress id
+     * @return String
+     */
+    private static String getProgressKey(final HttpServletRequest request,
+            final String progressId) {
+
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return progressId;
+        }
+        return session.getId() + ":" + progressId;
+    }
+
+    /**
+     * Get a parameter of the query string, without reading the request body.
+     * @param request incoming request
+     * @param name parameter name
+     * @return the first value of the parameter, or {@code null}
+     * @throws IOException if the value cannot be decoded
+     */
+    private static String getQueryParameter(final HttpServletRequest request,
+            final String name) throws IOException {
+
+        String query = request.getQueryString();
+        if (query == null) {
+            return null;
+        }
+        String prefix = name + "=";
+        StringTokenizer st = new StringTokenizer(query, "&");
+        while (st.hasMoreTokens()) {
+            String token = st.nextToken();
+            if (token.startsWith(prefix)) {
+                return URLDecoder.decode(token.substring(prefix.length()),
+                        "UTF-8");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Write a JSON response that is not cached.
+     * @param response response
+     * @param json JSON text
+     * @throws IOException if an input/output error occurs
+     */
+    private static void writeJson(final HttpServletResponse response,
+            final String json) throws IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter writer = response.getWriter();
+        writer.print(json);
+        writer.flush();
+    }
+
+    /**
+     * Parse a non negative numeric request header.
+     * @param request incoming request
+     * @param name header name
+     * @return the header value, or -1 if it is missing or invalid
+     */
+    private static long parseHeader(final HttpServletRequest request,
+            final String name) {
+
+        String value = request.getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Record an upload error for the Upload components.
+     * @param request incoming request
+     * @param error upload error
+     */
+    private void setUploadError(final HttpServletRequest request,
+            final Throwable error) {
+
+        request.setAttribute(Upload.UPLOAD_ERROR_KEY, error);
+        request.setAttribute(Upload.FILE_SIZE_KEY, String.valueOf(maxSize));
+    }
+
+    /**
+     * Dispose the given uploaded files.
+     * @param files files to dispose
+     */
+    private static void disposeAll(final List<UploadedFile> files) {
+        for (UploadedFile file : files) {
+            file.dispose();
+        }
+        files.clear();
+    }
+
+    /**
+     * Parse a request with the streaming API. Form fields are collected as
+     * request parameters and file parts are stored with the upload sink. The
+     * stored files are added to the given list, and the files of the Upload
+     * components are set as request attributes, as {@link #parseRequest}
+     * does for the file items. File parts that do not belong to an Upload
+     * component are not exposed as request parameters.
+     *
+     * @param fu file upload
+     * @param request incoming request
+     * @param storedFiles list of the stored files
+     * @return Map
+     * @throws IOException if an error occurs while storing a file
+     */
+    private HashMap<String, String[]> parseStream(final ServletFileUpload fu,
+            final HttpServletRequest request,
+            final List<UploadedFile> storedFiles) throws IOException {
+
+        if (DEBUG) {
+            log("parseStream()");
+        }
+        String encoding = fu.getHeaderEncoding();
+        Map<String, List<String>> fields = new TreeMap<String, List<String>>();
+        Map<String, UploadedFile> files = new HashMap<String, UploadedFile>();
+        try {
+            FileItemIterator items = fu.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                String fieldID = item.getFieldName();
+                try (InputStream in = item.openStream()) {
+                    if (item.isFormField()) {
+                        List<String> valueList = fields.get(fieldID);
+                        if (valueList == null) {
+                            valueList = new ArrayList<String>(1);
+                            fields.put(fieldID, valueList);
+                        }
+                        valueList.add(Streams.asString(in, encoding));
+                    } else {
+                        UploadedFile file = uploadSink.store(fieldID,
+                                item.getName(), item.getContentType(), in);
+                        storedFiles.add(file);
+                        if (!files.containsKey(fieldID)) {
+                            files.put(fieldID, file);
+                        }
+                        if (DEBUG) {
+                            log("\tStored file for " + fieldID);
+                        }
+                    }
+                }
+            }
+        } catch (FileUploadException fue) {
+            disposeAll(storedFiles);
+            setUploadError(request, fue);
+            return new HashMap<String, String[]>();
+        } catch (FileUploadIOException fuioe) {
+            // the size limit is detected while reading a part
+            disposeAll(storedFiles);
+            setUploadError(request, fuioe.getCause());
+            return new HashMap<String, String[]>();
+        } catch (IOException | RuntimeException ex) {
+            disposeAll(storedFiles);
+            throw ex;
+        }
+
+        // files of the Upload components rendered with a label
+        for (Map.Entry<String, UploadedFile> entry : files.entrySet()) {
+            if (entry.getKey().endsWith(Upload.INPUT_ID)) {
+                request.setAttribute(entry.getKey(), entry.getValue());
+            }
+        }
+
+        // files of the Upload components rendered without a label, whose
+        // input element id is the value of a hidden field
+        Iterator<Map.Entry<String, List<String>>> fieldsIt =
+                fields.entrySet().iterator();
+        while (fieldsIt.hasNext()) {
+            Map.Entry<String, List<String>> entry = fieldsIt.next();
+            if (entry.getKey().endsWith(Upload.INPUT_PARAM_ID)) {
+                String param = entry.getValue().get(0);
+                UploadedFile file = files.get(param);
+                if (file != null) {
+                    request.setAttribute(param.concat(Upload.INPUT_ID), file);
+                }
+                fieldsIt.remove();
+            }
+        }
+
+        HashMap<String, String[]> parameters = new HashMap<String, String[]>();
+        for (Map.Entry<String, List<String>> entry : fields.entrySet()) {
+            List<String> valueList = entry.getValue();
+            parameters.put(entry.getKey(),
+                    valueList.toArray(new String[valueList.size()]));
+        }
+        return parameters;
+    }
+
     /**
      * Parse a request.
      * @param fileItems file items
@@ -428,6 +914,46 @@ public final class UploadFilter implements Filter {
                 errorMessageBuffer.append(msg);
             }
         }
+        chunkedMaxSize = maxSize;
+        param = filterConfig.getInitParameter(CHUNKED_MAX_SIZE);
+        if (param != null) {
+            try {
+                chunkedMaxSize = Long.parseLong(param);
+            } catch (NumberFormatException nfe) {
+                Object[] params = {CHUNKED_MAX_SIZE, param};
+                errorMessageBuffer.append(" ");
+                String msg = MessageUtil.getMessage(MESSAGES,
+                        "Upload.invalidLong", params);
+                errorMessageBuffer.append(msg);
+            }
+        }
+        chunked = Boolean.parseBoolean(filterConfig.getInitParameter(CHUNKED));
+        progress = Boolean.parseBoolean(
+                filterConfig.getInitParameter(PROGRESS));
+        streaming = Boolean.parseBoolean(
+                filterConfig.getInitParameter(STREAMING));
+        param = filterConfig.getInitParameter(UPLOAD_SINK);
+        if (param != null) {
+            try {
+                uploadSink = (UploadSink) ClassLoaderFinder
+                        .getCurrentLoader(this)
+                        .loadClass(param)
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | ClassCastException ex) {
+                Object[] params = {
+                    UPLOAD_SINK,
+                    param,
+                    UploadSink.class.getName()
+                };
+                errorMessageBuffer.append(" ");
+                String msg = MessageUtil.getMessage(MESSAGES,
+                        "Upload.invalidSink", params);
+                errorMessageBuffer.append(msg);
+            }
+        } else {
+            uploadSink = new FileChannelUploadSink(new File(tmpDir));
+        }
         String error = errorMessageBuffer.toString();
         if (error.length() > 0) {
             throw new RuntimeException(error);
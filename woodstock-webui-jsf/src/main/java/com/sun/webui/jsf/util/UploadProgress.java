@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.fileupload.ProgressListener;
+
+/**
+ * Progress of a multipart request read by the {@link UploadFilter}. The
+ * filter registers the progress of the requests that carry a progress id and
+ * updates it as the request body is read, the progress is then read by the
+ * polling requests of the client script without entering the JSF lifecycle.
+ * <p>
+ * The registry is a concurrent map, and the progress values are volatile
+ * fields written by the thread reading the upload only, so neither the
+ * updates nor the polling requests take a lock. Entries are removed once
+ * they have been complete or idle for {@link #EXPIRY} milliseconds.
+ * </p>
+ */
+public final class UploadProgress implements ProgressListener {
+
+    /**
+     * Time in milliseconds after which a complete or idle progress is
+     * removed.
+     */
+    public static final long EXPIRY = 60000;
+
+    /**
+     * Registered progress by key.
+     */
+    private static final Map<String, UploadProgress> REGISTRY =
+            new ConcurrentHashMap<String, UploadProgress>();
+
+    /**
+     * Number of bytes read.
+     */
+    private volatile long bytesRead = 0;
+
+    /**
+     * Expected number of bytes, or -1 if unknown.
+     */
+    private volatile long contentLength = -1;
+
+    /**
+     * Completion flag.
+     */
+    private volatile boolean complete = false;
+
+    /**
+     * Time of the last update.
+     */
+    private volatile long updated = System.currentTimeMillis();
+
+    /**
+     * Create a new instance.
+     */
+    private UploadProgress() {
+    }
+
+    /**
+     * Register a new progress, replacing any previous progress with the same
+     * key.
+     * @param key progress key
+     * @return UploadProgress
+     */
+    public static UploadProgress start(final String key) {
+        expire();
+        UploadProgress progress = new UploadProgress();
+        REGISTRY.put(key, progress);
+        return progress;
+    }
+
+    /**
+     * Get a registered progress.
+     * @param key progress key
+     * @return UploadProgress or {@code null} if not found
+     */
+    public static UploadProgress get(final String key) {
+        if (key == null) {
+            return null;
+        }
+        return REGISTRY.get(key);
+    }
+
+    /**
+     * Remove the expired entries of the registry.
+     */
+    private static void expire() {
+        long limit = System.currentTimeMillis() - EXPIRY;
+        Iterator<UploadProgress> it = REGISTRY.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().updated < limit) {
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public void update(final long newBytesRead, final long newContentLength,
+            final int items) {
+
+        this.contentLength = newContentLength;
+        this.bytesRead = newBytesRead;
+        this.updated = System.currentTimeMillis();
+    }
+
+    /**
+     * Mark the upload as complete.
+     */
+    public void setComplete() {
+        this.complete = true;
+        this.updated = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the number of bytes read.
+     * @return long
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Get the expected number of bytes.
+     * @return long, -1 if unknown
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Test if the upload is complete.
+     * @return {@code boolean}
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Get the progress in percent, or -1 if the expected number of bytes is
+     * unknown.
+     * @return int
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public int getPercent() {
+        if (complete) {
+            return 100;
+        }
+        long length = contentLength;
+        if (length <= 0) {
+            return -1;
+        }
+        return (int) Math.min(100, bytesRead * 100 / length);
+    }
+}
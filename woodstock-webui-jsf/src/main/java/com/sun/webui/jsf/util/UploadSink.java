@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import com.sun.webui.jsf.model.UploadedFile;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Destination of the file parts of a multipart request parsed by the
+ * {@link UploadFilter} in streaming mode. The filter hands each file part to
+ * the sink as it is read from the request, so that the contents are consumed
+ * once and stored directly where the sink puts them, without an intermediate
+ * temporary copy.
+ * <p>
+ * Implementations must be thread safe and provide a public no-argument
+ * constructor to be configured with the {@code uploadSink} init parameter of
+ * the filter. The filter calls {@link UploadedFile#dispose} on the returned
+ * files at the end of the request, sinks that store files at their final
+ * location should only release temporary resources there.
+ * </p>
+ */
+public interface UploadSink {
+
+    /**
+     * Store the contents of a file part. The stream must be read until the
+     * end of the part, it enforces the maximum upload size of the filter and
+     * throws an {@code IOException} when the size is exceeded.
+     *
+     * @param fieldName name of the form field of the part
+     * @param fileName name of the file on the user's system, may be
+     * {@code null}
+     * @param contentType content type of the part, may be {@code null}
+     * @param in contents of the part
+     * @return UploadedFile for the stored contents
+     * @throws IOException if an error occurs while reading or storing the
+     * contents
+     */
+    UploadedFile store(String fieldName, String fileName, String contentType,
+            InputStream in) throws IOException;
+}
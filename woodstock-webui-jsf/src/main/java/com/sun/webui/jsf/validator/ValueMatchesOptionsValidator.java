@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
  * Copyright (c) 2007, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2020 Payara Services Ltd.
  *
@@ -18,15 +19,15 @@ package com.sun.webui.jsf.validator;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.validator.Validator;
 import jakarta.faces.validator.ValidatorException;
 import com.sun.webui.jsf.component.ListSelector;
-import com.sun.webui.jsf.model.list.ListItem;
+import com.sun.webui.jsf.model.OptionSource;
 import com.sun.webui.jsf.util.LogUtil;
 import com.sun.webui.jsf.util.ThemeUtilities;
 
@@ -132,36 +133,29 @@ public final class ValueMatchesOptionsValidator
         }
 
         Object currentValue;
-        Iterator itemsIterator;
-        ListItem listItem;
-        Object listObject;
         boolean foundValue;
         boolean error = false;
 
+        // Options bound to an OptionSource are looked up by value, the list
+        // items only hold the rendered window of options. Otherwise use the
+        // option values computed once per request.
+        OptionSource source = list.getOptionSource();
+        Set<Object> optionValues = null;
+        if (source == null) {
+            optionValues = list.getOptionValues();
+        }
+
         for (int counter = 0; counter < numValues; ++counter) {
             currentValue = Array.get(valuesAsArray, counter);
-            itemsIterator = list.getListItems();
-            foundValue = false;
 
             if (DEBUG) {
                 log("\tChecking: " + String.valueOf(currentValue));
             }
-            while (itemsIterator.hasNext()) {
-                listObject = itemsIterator.next();
-                if (!(listObject instanceof ListItem)) {
-                    continue;
-                }
-                listItem = (ListItem) listObject;
-                if (DEBUG) {
-                    log("ListItem is " + listItem.getLabel());
-                }
-                if (currentValue.equals(listItem.getValueObject())) {
-                    if (DEBUG) {
-                        log("Found match");
-                    }
-                    foundValue = true;
-                    break;
-                }
+            if (source != null) {
+                foundValue = currentValue != null
+                        && source.getOption(currentValue) != null;
+            } else {
+                foundValue = optionValues.contains(currentValue);
             }
             if (!foundValue) {
                 if (DEBUG) {
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Matching of virtual form id patterns by the compiled index, compared with
+ * {@link Form#fQIdMatchesPattern}.
+ */
+public class FormIdPatternIndexTest {
+
+    /**
+     * Id segments, including prefixes of each other.
+     */
+    private static final String[] SEGMENTS = {"a", "b", "ab", "ba", "c"};
+
+    @Test
+    public void testPatternKinds() {
+        Form.IdPatternIndex index = new Form.IdPatternIndex(Arrays.asList(
+                ":form:table:*", "name", "group:*", ":form:submit"));
+
+        assertTrue(index.matches(":form:table"));
+        assertTrue(index.matches(":form:table:row:name"));
+        assertTrue(index.matches(":other:name"));
+        assertTrue(index.matches(":x:group:y"));
+        assertTrue(index.matches(":x:group"));
+        assertTrue(index.matches(":form:submit"));
+        assertFalse(index.matches(":form:tables"));
+        assertFalse(index.matches(":form:lastname"));
+        assertFalse(index.matches(":x:subgroup:y"));
+        assertFalse(index.matches(":form:submit:x"));
+        assertFalse(index.matches("form:submit"));
+    }
+
+    @Test
+    public void testMatchAll() {
+        Form.IdPatternIndex index = new Form.IdPatternIndex(
+                Arrays.asList(":*"));
+        assertTrue(index.matches(":"));
+        assertTrue(index.matches(":a:b"));
+        assertFalse(index.matches("a"));
+    }
+
+    @Test
+    public void testSameAsFQIdMatchesPattern() {
+        Random random = new Random(40L);
+        for (int i = 0; i < 300000; i++) {
+            List<String> patterns = new ArrayList<String>();
+            int count = 1 + random.nextInt(3);
+            for (int j = 0; j < count; j++) {
+                patterns.add(randomPattern(random));
+            }
+            String fqId = randomId(random);
+            boolean expected = false;
+            for (String pattern : patterns) {
+                if (Form.fQIdMatchesPattern(fqId, pattern)) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals(fqId + " " + patterns, expected,
+                    new Form.IdPatternIndex(patterns).matches(fqId));
+        }
+    }
+
+    /**
+     * Create a random fully qualified id, sometimes invalid.
+     * @param random random generator
+     * @return String
+     */
+    private static String randomId(final Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(20) != 0) {
+            sb.append(':');
+        }
+        int length = random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(':');
+            }
+            sb.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+        }
+        if (random.nextInt(30) == 0) {
+            sb.append(':');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Create a random pattern: bare, partially or fully qualified, with or
+     * without a wildcard, sometimes with empty segments or invalid.
+     * @param random random generator
+     * @return String
+     */
+    private static String randomPattern(final Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextBoolean()) {
+            sb.append(':');
+        }
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                sb.append(':');
+            }
+            if (random.nextInt(15) != 0) {
+                sb.append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+            }
+        }
+        switch (random.nextInt(12)) {
+            case 0:
+                sb.append(':');
+                break;
+            case 1:
+                sb.append('*');
+                break;
+            case 2:
+                sb.append(' ');
+                break;
+            case 3:
+            case 4:
+            case 5:
+                sb.append(":*");
+                break;
+            default:
+                break;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.component;
+
+import com.sun.webui.jsf.util.ConversionUtilities;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import jakarta.faces.component.UIInput;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Round trip of the per-row state of a table row checkbox across requests.
+ */
+public class TableRowGroupSavedStateTest {
+
+    @Test
+    public void testRenderedNullSurvivesPostback() throws Exception {
+        UIInput checkbox = new UIInput();
+        TableRowGroup.SavedRows rows = new TableRowGroup.SavedRows();
+        TableRowGroup.SavedState state = rows.getState("checkbox");
+        int position = rows.getPosition(null, true);
+
+        // render: the checkbox value is null for this row
+        ConversionUtilities.setRenderedValue(checkbox, null);
+        state.save(position, checkbox);
+
+        // the state is saved with the view and restored on the postback
+        rows = serialize(rows);
+        state = rows.getState("checkbox");
+
+        // the postback discards the values but not the rendered null flags
+        assertTrue(rows.clearValues());
+        ConversionUtilities.removeRenderedValue(checkbox);
+        state.restore(rows.getPosition(null, false), checkbox);
+        assertTrue(ConversionUtilities.renderedNull(checkbox));
+    }
+
+    @Test
+    public void testRenderedValueIsCleared() throws Exception {
+        UIInput checkbox = new UIInput();
+        TableRowGroup.SavedRows rows = new TableRowGroup.SavedRows();
+        TableRowGroup.SavedState state = rows.getState("checkbox");
+        int position = rows.getPosition(null, true);
+
+        ConversionUtilities.setRenderedValue(checkbox, Boolean.TRUE);
+        state.save(position, checkbox);
+        rows = serialize(rows);
+        state = rows.getState("checkbox");
+
+        assertFalse(rows.clearValues());
+        ConversionUtilities.setRenderedValue(checkbox, null);
+        state.restore(rows.getPosition(null, false), checkbox);
+        assertFalse(ConversionUtilities.renderedNull(checkbox));
+    }
+
+    /**
+     * Serialize and deserialize saved rows.
+     *
+     * @param rows saved rows
+     * @return the deserialized copy
+     * @throws Exception if an error occurs
+     */
+    private static TableRowGroup.SavedRows serialize(
+            final TableRowGroup.SavedRows rows) throws Exception {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(rows);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()));
+        return (TableRowGroup.SavedRows) in.readObject();
+    }
+}
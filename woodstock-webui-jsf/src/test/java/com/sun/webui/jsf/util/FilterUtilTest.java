@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Matching of file chooser filters, compared with the translation of the
+ * glob patterns into regular expressions used previously.
+ */
+public class FilterUtilTest {
+
+    /**
+     * Tokens of the random filters. Ranges are only generated in ascending
+     * order, since an inverted range is a syntax error of the regular
+     * expressions but an empty set of the globs.
+     */
+    private static final String[] FILTER_TOKENS = {
+        "a", "b", ".", "*", "?", "[", "]", "!", "{", "}", ",", "\\", " ",
+        "a-b"
+    };
+
+    /**
+     * Characters of the random file names.
+     */
+    private static final String NAME_CHARS = "ab.-]!{},\\";
+
+    /**
+     * Regular expression meta characters.
+     */
+    private static final String REGEX_META = "\\^$.|?*+()[]{}";
+
+    @Test
+    public void testGlobs() {
+        FilterUtil filter = new FilterUtil("*.log, *.{gz,zip}, [a-c]?.txt");
+        assertTrue(filter.accept("server.log"));
+        assertTrue(filter.accept("archive.gz"));
+        assertTrue(filter.accept("archive.zip"));
+        assertTrue(filter.accept("b1.txt"));
+        assertFalse(filter.accept("d1.txt"));
+        assertFalse(filter.accept("archive.tar"));
+        assertTrue(new FilterUtil("[!a]*").accept("b"));
+        assertFalse(new FilterUtil("[!a]*").accept("a"));
+        assertTrue(new FilterUtil("\\*").accept("*"));
+        assertFalse(new FilterUtil("\\*").accept("a"));
+    }
+
+    @Test
+    public void testAcceptAll() {
+        assertTrue(new FilterUtil(null).accept("a"));
+        assertTrue(new FilterUtil("").accept("a"));
+        assertTrue(new FilterUtil(" * ").accept("a"));
+        assertTrue(new FilterUtil("*.log,*").accept("a"));
+    }
+
+    @Test
+    public void testUnbalancedPatternIsLiteral() {
+        assertTrue(new FilterUtil("a[b").accept("a[b"));
+        assertFalse(new FilterUtil("a[b").accept("ab"));
+        assertTrue(new FilterUtil("a{b").accept("a{b"));
+        assertFalse(new FilterUtil("a{b").accept("ab"));
+    }
+
+    @Test(timeout = 10000)
+    public void testNoCatastrophicBacktracking() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            name.append('a');
+        }
+        FilterUtil filter = new FilterUtil("*a*a*a*a*a*a*a*a*a*a*b");
+        for (int i = 0; i < 10; i++) {
+            assertFalse(filter.accept(name.toString()));
+        }
+    }
+
+    @Test
+    public void testSameAsRegex() {
+        Random random = new Random(47L);
+        for (int i = 0; i < 200000; i++) {
+            String filterStr = randomFilter(random, 12);
+            FilterUtil filter = new FilterUtil(filterStr);
+            Pattern pattern = compileRegex(filterStr.trim());
+            for (int j = 0; j < 4; j++) {
+                String name = randomString(random, NAME_CHARS, 8);
+                boolean expected = pattern == null
+                        || filterStr.trim().equals(name)
+                        || pattern.matcher(name).matches();
+                assertEquals("filter [" + filterStr + "] name [" + name
+                        + "]", expected, filter.accept(name));
+            }
+        }
+    }
+
+    /**
+     * Create a random filter string.
+     * @param random random generator
+     * @param maxTokens maximum number of tokens
+     * @return String
+     */
+    private static String randomFilter(final Random random,
+            final int maxTokens) {
+
+        int length = random.nextInt(maxTokens + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(FILTER_TOKENS[random.nextInt(FILTER_TOKENS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Create a random string.
+     * @param random random generator
+     * @param chars characters of the string
+     * @param maxLength maximum length
+     * @return String
+     */
+    private static String randomString(final Random random,
+            final String chars, final int maxLength) {
+
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Compile a trimmed filter string into a single regular expression.
+     * @param filterStr trimmed filter string
+     * @return Pattern, or {@code null} if all the files are accepted
+     */
+    private static Pattern compileRegex(final String filterStr) {
+        List<String> globs = split(filterStr);
+        if (globs.isEmpty()) {
+            return null;
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String glob : globs) {
+            if (glob.equals("*")) {
+                return null;
+            }
+            String globRegex = toRegex(glob);
+            try {
+                Pattern.compile(globRegex);
+            } catch (PatternSyntaxException ex) {
+                // unbalanced bracket or brace, match the pattern literally
+                globRegex = Pattern.quote(glob);
+            }
+            if (regex.length() > 0) {
+                regex.append('|');
+            }
+            regex.append("(?:").append(globRegex).append(')');
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * Split a filter string into its patterns, on the commas that are not
+     * inside brackets or braces.
+     * @param filterStr filter string
+     * @return list of the non empty patterns
+     */
+    private static List<String> split(final String filterStr) {
+        List<String> globs = new ArrayList<String>();
+        int depth = 0;
+        boolean inClass = false;
+        int start = 0;
+        for (int i = 0; i < filterStr.length(); i++) {
+            char c = filterStr.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addGlob(globs, filterStr.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addGlob(globs, filterStr.substring(Math.min(start,
+                filterStr.length())));
+        return globs;
+    }
+
+    /**
+     * Add a pattern to a list if it is not blank.
+     * @param globs list of patterns
+     * @param glob pattern to add
+     */
+    private static void addGlob(final List<String> globs, final String glob) {
+        String trimmed = glob.trim();
+        if (trimmed.length() > 0) {
+            globs.add(trimmed);
+        }
+    }
+
+    /**
+     * Translate a glob pattern into a regular expression.
+     * @param glob glob pattern
+     * @return String
+     */
+    private static String toRegex(final String glob) {
+        StringBuilder regex = new StringBuilder();
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '\\') {
+                i++;
+                if (i < glob.length()) {
+                    quote(regex, glob.charAt(i));
+                } else {
+                    quote(regex, c);
+                }
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                    regex.append(c);
+                } else if (c == '-') {
+                    regex.append(c);
+                } else {
+                    quote(regex, c);
+                }
+            } else if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[') {
+                inClass = true;
+                regex.append('[');
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+                    regex.append('^');
+                    i++;
+                }
+                // a leading bracket is part of the set
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == ']') {
+                    regex.append("\\]");
+                    i++;
+                }
+            } else if (c == '{') {
+                depth++;
+                regex.append("(?:");
+            } else if (c == '}' && depth > 0) {
+                depth--;
+                regex.append(')');
+            } else if (c == ',' && depth > 0) {
+                regex.append('|');
+            } else {
+                quote(regex, c);
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Append a character to a regular expression, quoted if needed.
+     * @param regex regular expression
+     * @param c character to append
+     */
+    private static void quote(final StringBuilder regex, final char c) {
+        if (REGEX_META.indexOf(c) != -1) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+}
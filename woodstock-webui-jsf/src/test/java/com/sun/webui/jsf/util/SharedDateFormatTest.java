@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.webui.jsf.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Formatting and parsing of dates by {@link SharedDateFormat}, compared with
+ * {@link SimpleDateFormat}.
+ */
+public class SharedDateFormatTest {
+
+    /**
+     * Pattern letters of the random patterns.
+     */
+    private static final String LETTERS = "GyMdkHmsSEDFwWahKzZLuXY";
+
+    /**
+     * Separators of the random date patterns.
+     */
+    private static final String[] SEPARATORS = {"/", "-", ".", " ", ", "};
+
+    /**
+     * Locales of the comparisons, including a non Gregorian calendar.
+     */
+    private static final Locale[] LOCALES = {
+        Locale.US, Locale.FRANCE, Locale.GERMANY, Locale.JAPAN,
+        new Locale("th", "TH")
+    };
+
+    /**
+     * Time zone of the comparisons.
+     */
+    private static final TimeZone TIME_ZONE =
+            TimeZone.getTimeZone("America/New_York");
+
+    /**
+     * First date of the comparisons, in 1901.
+     */
+    private static final long FIRST_DATE = -2177452800000L;
+
+    /**
+     * Range of the dates of the comparisons, 200 years.
+     */
+    private static final long DATE_RANGE = 6311390400000L;
+
+    @Test
+    public void testFormatSameAsSimpleDateFormat() {
+        Random random = new Random(48L);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder pattern = new StringBuilder();
+            int fields = 1 + random.nextInt(4);
+            for (int j = 0; j < fields; j++) {
+                char c = LETTERS.charAt(random.nextInt(LETTERS.length()));
+                int count = 1 + random.nextInt(6);
+                for (int k = 0; k < count; k++) {
+                    pattern.append(c);
+                }
+                pattern.append(' ');
+            }
+            Locale locale = LOCALES[random.nextInt(LOCALES.length)];
+            Date date = randomDate(random);
+            SimpleDateFormat expected;
+            try {
+                expected = new SimpleDateFormat(pattern.toString(), locale);
+            } catch (IllegalArgumentException ex) {
+                // too many letters, the pattern is invalid
+                continue;
+            }
+            expected.setTimeZone(TIME_ZONE);
+            SharedDateFormat format = SharedDateFormat.getInstance(
+                    pattern.toString(), locale, TIME_ZONE);
+            assertEquals(locale + " [" + pattern + "] " + date.getTime(),
+                    expected.format(date), format.format(date));
+        }
+    }
+
+    @Test
+    public void testParseSameAsSimpleDateFormat() throws Exception {
+        Random random = new Random(480L);
+        for (int i = 0; i < 20000; i++) {
+            String pattern = randomDatePattern(random);
+            Locale locale = LOCALES[random.nextInt(LOCALES.length)];
+            SimpleDateFormat expected = new SimpleDateFormat(pattern, locale);
+            expected.setTimeZone(TIME_ZONE);
+            expected.setLenient(false);
+            SharedDateFormat format = SharedDateFormat.getInstance(pattern,
+                    locale, TIME_ZONE);
+            String text = expected.format(randomDate(random));
+            String message = locale + " [" + pattern + "] " + text;
+            Date date = expected.parse(text);
+            assertEquals(message, date, format.parse(text));
+            // the month and day names are matched ignoring the case
+            assertEquals(message, date,
+                    format.parse(text.toUpperCase(locale)));
+        }
+    }
+
+    /**
+     * Create a random date pattern made of a year, a month and a day.
+     * @param random random generator
+     * @return String
+     */
+    private static String randomDatePattern(final Random random) {
+        String year;
+        if (random.nextBoolean()) {
+            year = "yyyy";
+        } else {
+            year = "yy";
+        }
+        String month = "MMMMMM".substring(random.nextInt(5));
+        String day = "dd".substring(random.nextInt(2));
+        String separator = SEPARATORS[random.nextInt(SEPARATORS.length)];
+        switch (random.nextInt(3)) {
+            case 0:
+                return month + separator + day + separator + year;
+            case 1:
+                return day + separator + month + separator + year;
+            default:
+                return year + separator + month + separator + day;
+        }
+    }
+
+    /**
+     * Create a random date between 1901 and 2101.
+     * @param random random generator
+     * @return Date
+     */
+    private static Date randomDate(final Random random) {
+        return new Date(FIRST_DATE
+                + (long) (random.nextDouble() * DATE_RANGE));
+    }
+}